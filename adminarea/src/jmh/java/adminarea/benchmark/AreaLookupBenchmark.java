@@ -0,0 +1,40 @@
+package adminarea.benchmark;
+
+import adminarea.area.Area;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Area lookups by position, the first step of nearly every protection check
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class AreaLookupBenchmark {
+    private int next;
+
+    @Benchmark
+    public List<Area> getAreasAtLocation(SyntheticWorld world) {
+        int i = next++ & (SyntheticWorld.SAMPLE_COUNT - 1);
+        return world.areaManager.getAreasAtLocation(SyntheticWorld.WORLD, world.xs[i], world.ys[i], world.zs[i]);
+    }
+
+    @Benchmark
+    public Area getHighestPriorityArea(SyntheticWorld world) {
+        int i = next++ & (SyntheticWorld.SAMPLE_COUNT - 1);
+        return world.areaManager.getHighestPriorityArea(SyntheticWorld.WORLD, world.xs[i], world.ys[i], world.zs[i]);
+    }
+}
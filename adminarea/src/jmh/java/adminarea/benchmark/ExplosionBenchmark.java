@@ -0,0 +1,99 @@
+package adminarea.benchmark;
+
+import adminarea.area.Area;
+import adminarea.area.AreaDTO;
+import adminarea.listeners.ProtectionListener;
+import cn.nukkit.block.Block;
+import cn.nukkit.block.BlockStone;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-block filtering of a TNT-sized explosion against the areas it touches.
+ * processExplosionBlocks is private to the listener, so it is called through a method
+ * handle; the explosions are generated once per trial at the world's sample points.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ExplosionBenchmark {
+    private static final int EXPLOSION_COUNT = 64;
+    private static final int RADIUS = 4;
+    private static final String PERMISSION = "gui.permissions.toggles.allowTNT";
+
+    private ProtectionListener listener;
+    private MethodHandle processExplosionBlocks;
+    private List<List<Block>> blocks;
+    private List<List<Area>> areas;
+    private int next;
+
+    @Setup
+    public void setUp(SyntheticWorld world) throws ReflectiveOperationException {
+        listener = new ProtectionListener(world.plugin);
+        processExplosionBlocks = MethodHandles.privateLookupIn(ProtectionListener.class, MethodHandles.lookup())
+            .findVirtual(ProtectionListener.class, "processExplosionBlocks",
+                MethodType.methodType(List.class, String.class, List.class, List.class, String.class));
+
+        blocks = new ArrayList<>(EXPLOSION_COUNT);
+        areas = new ArrayList<>(EXPLOSION_COUNT);
+        for (int i = 0; i < EXPLOSION_COUNT; i++) {
+            int cx = (int) world.xs[i];
+            int cy = Math.max(RADIUS, (int) world.ys[i]);
+            int cz = (int) world.zs[i];
+
+            List<Block> sphere = new ArrayList<>();
+            for (int dx = -RADIUS; dx <= RADIUS; dx++) {
+                for (int dy = -RADIUS; dy <= RADIUS; dy++) {
+                    for (int dz = -RADIUS; dz <= RADIUS; dz++) {
+                        if (dx * dx + dy * dy + dz * dz <= RADIUS * RADIUS) {
+                            Block block = new BlockStone();
+                            block.x = cx + dx;
+                            block.y = cy + dy;
+                            block.z = cz + dz;
+                            block.level = world.level;
+                            sphere.add(block);
+                        }
+                    }
+                }
+            }
+            blocks.add(sphere);
+
+            // Same candidates the listener's range query returns: areas intersecting the blast box
+            List<Area> touched = new ArrayList<>();
+            for (Area area : world.areas) {
+                AreaDTO.Bounds b = area.getBounds();
+                if (b.xMax() >= cx - RADIUS && b.xMin() <= cx + RADIUS &&
+                    b.yMax() >= cy - RADIUS && b.yMin() <= cy + RADIUS &&
+                    b.zMax() >= cz - RADIUS && b.zMin() <= cz + RADIUS) {
+                    touched.add(area);
+                }
+            }
+            areas.add(touched);
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public List<Block> processExplosionBlocks() throws Throwable {
+        int i = next++ & (EXPLOSION_COUNT - 1);
+        return (List<Block>) processExplosionBlocks.invoke(listener, SyntheticWorld.WORLD, blocks.get(i), areas.get(i), PERMISSION);
+    }
+}
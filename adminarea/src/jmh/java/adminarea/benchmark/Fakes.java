@@ -0,0 +1,489 @@
+package adminarea.benchmark;
+
+import adminarea.AdminAreaProtectionPlugin;
+import adminarea.area.Area;
+import adminarea.managers.AreaManager;
+import adminarea.managers.ConfigManager;
+import adminarea.managers.LanguageManager;
+import adminarea.permissions.PermissionChecker;
+import adminarea.permissions.PermissionOverrideManager;
+import adminarea.util.PerformanceMonitor;
+import adminarea.util.TickScheduler;
+import cn.nukkit.AdventureSettings;
+import cn.nukkit.Player;
+import cn.nukkit.Server;
+import cn.nukkit.level.Level;
+import cn.nukkit.math.Vector3;
+import cn.nukkit.plugin.Plugin;
+import cn.nukkit.plugin.PluginDescription;
+import cn.nukkit.plugin.PluginLogger;
+import cn.nukkit.potion.Effect;
+import cn.nukkit.scheduler.ServerScheduler;
+import cn.nukkit.scheduler.Task;
+import cn.nukkit.scheduler.TaskHandler;
+import cn.nukkit.utils.ConfigSection;
+import cn.nukkit.utils.LogLevel;
+import org.objenesis.Objenesis;
+import org.objenesis.ObjenesisStd;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Hand-written stand-ins for the server and for the plugin services the benchmarks do not
+ * measure. Each one overrides only what the measured code calls, so those calls are plain
+ * virtual calls and return the stored values without copying.
+ * <p>
+ * Nukkit's Server, Level and Player constructors need a running server, and the permission
+ * override manager opens its database when constructed, so those stand-ins are allocated
+ * without running a constructor. Their other fields stay unset; a handler that reaches one
+ * fails, and the load simulator reports it in the handler's error column.
+ */
+final class Fakes {
+    private static final Objenesis OBJENESIS = new ObjenesisStd();
+
+    private static final String DESCRIPTION = """
+        name: AdminAreaProtection
+        version: benchmark
+        main: adminarea.AdminAreaProtectionPlugin
+        api: [1.1.0]
+        """;
+
+    private Fakes() {
+    }
+
+    /**
+     * Allocates an object without running any constructor
+     */
+    static <T> T allocate(Class<T> type) {
+        return OBJENESIS.newInstance(type);
+    }
+
+    /**
+     * The plugin with the services set by {@link SyntheticWorld}. Services that are not set
+     * are null, as they are before onEnable.
+     */
+    static final class FakePlugin extends AdminAreaProtectionPlugin {
+        final ConfigManager configManager = new FakeConfig(this);
+        final LanguageManager languageManager = allocate(FakeLanguage.class);
+        final RecentSaveTracker recentSaveTracker = new RecentSaveTracker();
+        final TickScheduler tickScheduler = new TickScheduler(this);
+        final PluginLogger logger;
+        PerformanceMonitor performanceMonitor;
+        PermissionOverrideManager permissionOverrideManager;
+        AreaManager areaManager;
+
+        FakePlugin(Server server, File dataFolder) {
+            init(null, server, new PluginDescription(DESCRIPTION), dataFolder, null);
+            // The server's logger is gone, and nothing the benchmarks log is worth keeping
+            this.logger = new PluginLogger(this) {
+                @Override
+                public void log(LogLevel level, String message) {
+                }
+
+                @Override
+                public void log(LogLevel level, String message, Throwable t) {
+                }
+            };
+        }
+
+        @Override
+        public PluginLogger getLogger() {
+            return logger;
+        }
+
+        @Override
+        public ConfigManager getConfigManager() {
+            return configManager;
+        }
+
+        @Override
+        public LanguageManager getLanguageManager() {
+            return languageManager;
+        }
+
+        @Override
+        public RecentSaveTracker getRecentSaveTracker() {
+            return recentSaveTracker;
+        }
+
+        @Override
+        public TickScheduler getTickScheduler() {
+            return tickScheduler;
+        }
+
+        @Override
+        public PerformanceMonitor getPerformanceMonitor() {
+            return performanceMonitor;
+        }
+
+        @Override
+        public PermissionOverrideManager getPermissionOverrideManager() {
+            return permissionOverrideManager;
+        }
+
+        @Override
+        public AreaManager getAreaManager() {
+            return areaManager;
+        }
+
+        @Override
+        public Area getArea(String name) {
+            return areaManager.getArea(name);
+        }
+
+        @Override
+        public List<Area> getAreas() {
+            return areaManager.getAllAreas();
+        }
+
+        @Override
+        public boolean hasArea(String name) {
+            return areaManager.hasArea(name);
+        }
+
+        @Override
+        public Area getHighestPriorityArea(String world, double x, double y, double z) {
+            return areaManager.getHighestPriorityArea(world, x, y, z);
+        }
+
+        @Override
+        public List<Area> getApplicableAreas(String world, double x, double y, double z) {
+            return areaManager.getAreasAtLocation(world, x, y, z);
+        }
+    }
+
+    /**
+     * Settings at their defaults, without a config file. The snapshot writer is off since
+     * there is nothing to persist.
+     */
+    static final class FakeConfig extends ConfigManager {
+        FakeConfig(AdminAreaProtectionPlugin plugin) {
+            super(plugin);
+        }
+
+        @Override
+        public int getInt(String path, int defaultValue) {
+            return defaultValue;
+        }
+
+        @Override
+        public boolean getBoolean(String path, boolean defaultValue) {
+            return !"database.snapshot.enabled".equals(path) && defaultValue;
+        }
+
+        @Override
+        public String getSettingString(String path, String defaultValue) {
+            return defaultValue;
+        }
+
+        @Override
+        public ConfigSection getSection(String path) {
+            return null;
+        }
+
+        @Override
+        public Map<String, Object> getTitleConfig(String type) {
+            return Map.of();
+        }
+    }
+
+    /**
+     * Messages are their keys
+     */
+    static final class FakeLanguage extends LanguageManager {
+        private FakeLanguage() {
+            super(null);
+        }
+
+        @Override
+        public String get(String path) {
+            return path;
+        }
+
+        @Override
+        public String get(String path, Map<String, String> placeholders) {
+            return path;
+        }
+
+        @Override
+        public String getProtectionMessage(String path, String areaName) {
+            return path;
+        }
+
+        @Override
+        public String getProtectionMessage(String path, String areaName, Player player) {
+            return path;
+        }
+
+        @Override
+        public String getAreaTransitionMessage(String path, String areaName, String playerName) {
+            return path;
+        }
+    }
+
+    /**
+     * Serves player and group permissions from maps keyed by area name, then subject.
+     * Nothing is ever marked as updated, so the checker's caches stay warm.
+     */
+    static final class FakeOverrides extends PermissionOverrideManager {
+        private Map<String, Map<String, Map<String, Boolean>>> players;
+        private Map<String, Map<String, Map<String, Boolean>>> groups;
+        private PermissionChecker checker;
+
+        private FakeOverrides() {
+            super(null);
+        }
+
+        static FakeOverrides create(Map<String, Map<String, Map<String, Boolean>>> players,
+                                    Map<String, Map<String, Map<String, Boolean>>> groups) {
+            FakeOverrides overrides = allocate(FakeOverrides.class);
+            overrides.players = players;
+            overrides.groups = groups;
+            return overrides;
+        }
+
+        void setPermissionChecker(PermissionChecker checker) {
+            this.checker = checker;
+        }
+
+        @Override
+        public Map<String, Boolean> getPlayerPermissions(String areaName, String playerName) {
+            return getAllPlayerPermissions(areaName).getOrDefault(playerName, Map.of());
+        }
+
+        @Override
+        public Map<String, Map<String, Boolean>> getAllPlayerPermissions(String areaName) {
+            return players.getOrDefault(areaName, Map.of());
+        }
+
+        @Override
+        public Map<String, Boolean> getGroupPermissions(String areaName, String groupName) {
+            return getAllGroupPermissions(areaName).getOrDefault(groupName, Map.of());
+        }
+
+        @Override
+        public Map<String, Map<String, Boolean>> getAllGroupPermissions(String areaName) {
+            return groups.getOrDefault(areaName, Map.of());
+        }
+
+        @Override
+        public boolean hasGroupPermissions(String areaName) {
+            return groups.containsKey(areaName);
+        }
+
+        @Override
+        public Map<String, Boolean> getTrackPermissions(String areaName, String trackName) {
+            return Map.of();
+        }
+
+        @Override
+        public Map<String, Map<String, Boolean>> getAllTrackPermissions(String areaName) {
+            return Map.of();
+        }
+
+        @Override
+        public boolean hasUpdatedPlayerPermissions(String areaName, String playerName) {
+            return false;
+        }
+
+        @Override
+        public boolean hasUpdatedGroupPermissions(String groupName) {
+            return false;
+        }
+
+        @Override
+        public boolean hasUpdatedTrackPermissions(String trackName) {
+            return false;
+        }
+
+        @Override
+        public PermissionChecker getPermissionChecker() {
+            return checker;
+        }
+    }
+
+    /**
+     * An online player without a connection. Position, level and chunk getters are
+     * Nukkit's own and read the coordinate fields; packets are dropped.
+     */
+    static final class FakePlayer extends Player {
+        private String name;
+        private AdventureSettings settings;
+
+        private FakePlayer() {
+            super(null, null, null);
+        }
+
+        static FakePlayer create(String name, Level level) {
+            FakePlayer player = allocate(FakePlayer.class);
+            player.name = name;
+            player.level = level;
+            return player;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean isOnline() {
+            return true;
+        }
+
+        @Override
+        public boolean isConnected() {
+            return true;
+        }
+
+        @Override
+        public boolean isOp() {
+            return false;
+        }
+
+        @Override
+        public boolean hasPermission(String permission) {
+            return false;
+        }
+
+        @Override
+        public AdventureSettings getAdventureSettings() {
+            if (settings == null) {
+                settings = new AdventureSettings(this);
+            }
+            return settings;
+        }
+
+        @Override
+        public Effect getEffect(int effectId) {
+            return null;
+        }
+
+        @Override
+        public boolean hasEffect(int effectId) {
+            return false;
+        }
+
+        @Override
+        public void sendMessage(String message) {
+        }
+
+        @Override
+        public void sendTitle(String title, String subTitle, int fadeIn, int stay, int fadeOut) {
+        }
+    }
+
+    /**
+     * A level with every chunk loaded and the world's players in it
+     */
+    static final class FakeLevel extends Level {
+        private String name;
+        private Map<Long, Player> players;
+
+        private FakeLevel() {
+            super(null, null, null, null);
+        }
+
+        static FakeLevel create(String name, Map<Long, Player> players) {
+            FakeLevel level = allocate(FakeLevel.class);
+            level.name = name;
+            level.players = players;
+            return level;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getFolderName() {
+            return name;
+        }
+
+        @Override
+        public boolean isChunkLoaded(int x, int z) {
+            return true;
+        }
+
+        @Override
+        public Map<Long, Player> getPlayers() {
+            return players;
+        }
+
+        @Override
+        public void sendBlocks(Player[] target, Vector3[] blocks) {
+        }
+    }
+
+    /**
+     * A server with one level and the world's players online. Scheduled tasks are dropped.
+     */
+    static final class FakeServer extends Server {
+        private Level level;
+        private Map<UUID, Player> onlinePlayers;
+        private ServerScheduler scheduler;
+
+        private FakeServer() {
+            super(null, null, null, null);
+        }
+
+        static FakeServer create(Level level, Map<UUID, Player> onlinePlayers) {
+            FakeServer server = allocate(FakeServer.class);
+            server.level = level;
+            server.onlinePlayers = onlinePlayers;
+            server.scheduler = allocate(FakeScheduler.class);
+            return server;
+        }
+
+        @Override
+        public ServerScheduler getScheduler() {
+            return scheduler;
+        }
+
+        @Override
+        public Map<UUID, Player> getOnlinePlayers() {
+            return onlinePlayers;
+        }
+
+        @Override
+        public Map<Integer, Level> getLevels() {
+            return Map.of(0, level);
+        }
+
+        @Override
+        public Level getLevelByName(String name) {
+            return level.getName().equals(name) ? level : null;
+        }
+
+        @Override
+        public boolean isLevelLoaded(String name) {
+            return level.getName().equals(name);
+        }
+    }
+
+    static final class FakeScheduler extends ServerScheduler {
+        @Override
+        public TaskHandler scheduleTask(Plugin plugin, Runnable task) {
+            return null;
+        }
+
+        @Override
+        public TaskHandler scheduleDelayedTask(Task task, int delay) {
+            return null;
+        }
+
+        @Override
+        public TaskHandler scheduleDelayedTask(Plugin plugin, Runnable task, int delay) {
+            return null;
+        }
+
+        @Override
+        public TaskHandler scheduleRepeatingTask(Plugin plugin, Runnable task, int period) {
+            return null;
+        }
+    }
+}
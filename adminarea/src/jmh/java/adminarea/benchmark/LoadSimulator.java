@@ -0,0 +1,460 @@
+package adminarea.benchmark;
+
+import adminarea.managers.ListenerManager;
+import cn.nukkit.Player;
+import cn.nukkit.block.Block;
+import cn.nukkit.block.BlockRedstoneWire;
+import cn.nukkit.block.BlockStone;
+import cn.nukkit.block.BlockWater;
+import cn.nukkit.entity.Entity;
+import cn.nukkit.entity.item.EntityPrimedTNT;
+import cn.nukkit.entity.mob.EntityZombie;
+import cn.nukkit.event.Cancellable;
+import cn.nukkit.event.Event;
+import cn.nukkit.event.EventHandler;
+import cn.nukkit.event.Listener;
+import cn.nukkit.event.block.BlockBreakEvent;
+import cn.nukkit.event.block.BlockPlaceEvent;
+import cn.nukkit.event.block.LiquidFlowEvent;
+import cn.nukkit.event.entity.EntityExplodeEvent;
+import cn.nukkit.event.entity.EntitySpawnEvent;
+import cn.nukkit.event.player.PlayerMoveEvent;
+import cn.nukkit.event.redstone.RedstoneUpdateEvent;
+import cn.nukkit.item.Item;
+import cn.nukkit.item.ItemPickaxeDiamond;
+import cn.nukkit.level.Location;
+import cn.nukkit.level.Position;
+import org.HdrHistogram.Histogram;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a stream of server events through the plugin's listeners without a server.
+ * The listeners are the ones ListenerManager registers, running against the in-memory
+ * AreaManager of a {@link SyntheticWorld}. Events are dispatched the way the server
+ * does it: every {@link EventHandler} method whose parameter accepts the event, in
+ * priority order, skipping cancelled events for handlers that ignore them.
+ * <p>
+ * The scenario is a JSON file; every key is optional:
+ * <pre>
+ * {
+ *   "seed": 42,
+ *   "areas": 1000,
+ *   "players": 200,
+ *   "layout": {"cellSize": 48, "minAreaSize": 16, "maxAreaSize": 80},
+ *   "warmupEvents": 200000,
+ *   "events": 1000000,
+ *   "mix": {"move": 70, "blockBreak": 8, "blockPlace": 8, "liquidFlow": 6,
+ *           "redstone": 5, "explosion": 1, "entitySpawn": 2},
+ *   "replay": "events.csv"
+ * }
+ * </pre>
+ * When "replay" is set the events come from a CSV file with one event per line,
+ * {@code type,player,x,y,z}, using the same type names as the mix, instead of the
+ * random mix. The file is replayed in order until the event count is reached.
+ * <p>
+ * The report gives throughput, latency percentiles per handler and per event type, and
+ * the bytes allocated while dispatching. The server, players and entities are the
+ * stand-ins in {@link Fakes}, which drop packets and scheduled tasks; compare runs rather
+ * than reading the numbers as server timings.
+ */
+public class LoadSimulator {
+
+    /**
+     * Event types the simulator can generate, keyed by their scenario name
+     */
+    enum EventType {
+        MOVE("move", 70),
+        BLOCK_BREAK("blockBreak", 8),
+        BLOCK_PLACE("blockPlace", 8),
+        LIQUID_FLOW("liquidFlow", 6),
+        REDSTONE("redstone", 5),
+        EXPLOSION("explosion", 1),
+        ENTITY_SPAWN("entitySpawn", 2);
+
+        private final String key;
+        private final int defaultWeight;
+
+        EventType(String key, int defaultWeight) {
+            this.key = key;
+            this.defaultWeight = defaultWeight;
+        }
+
+        static EventType fromKey(String key) {
+            for (EventType type : values()) {
+                if (type.key.equalsIgnoreCase(key)) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown event type: " + key);
+        }
+    }
+
+    /**
+     * One line of a recorded event stream
+     */
+    private record RecordedEvent(EventType type, int player, double x, double y, double z) {
+    }
+
+    /**
+     * One event handler method bound to its listener
+     */
+    private static final class Handler {
+        final String name;
+        final Class<?> eventType;
+        final int priority;
+        final boolean ignoreCancelled;
+        final MethodHandle handle;
+        final Histogram latency = new Histogram(3);
+        long errors;
+        String firstError;
+
+        Handler(Listener listener, Method method, EventHandler annotation) throws IllegalAccessException {
+            this.name = listener.getClass().getSimpleName() + "." + method.getName();
+            this.eventType = method.getParameterTypes()[0];
+            this.priority = annotation.priority().ordinal();
+            this.ignoreCancelled = annotation.ignoreCancelled();
+            method.setAccessible(true);
+            this.handle = MethodHandles.lookup().unreflect(method).bindTo(listener);
+        }
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final SyntheticWorld world;
+    private final Random random;
+    private final List<Handler> handlers = new ArrayList<>();
+    private final Map<Class<?>, List<Handler>> handlersByEvent = new HashMap<>();
+    private final Map<EventType, Histogram> latencyByType = new EnumMap<>(EventType.class);
+    private final Map<EventType, long[]> allocationByType = new EnumMap<>(EventType.class);
+    private final EventType[] mix;
+    private final List<RecordedEvent> recorded;
+    private final Item tool = new ItemPickaxeDiamond();
+    private final Entity[] entities = new Entity[16];
+    private int nextRecorded;
+    private int nextEntity;
+
+    LoadSimulator(SyntheticWorld world, ListenerManager listenerManager, JSONObject scenario) throws IOException, IllegalAccessException {
+        this.world = world;
+        this.random = new Random(scenario.optLong("seed", 42));
+
+        for (Listener listener : listenerManager.getListeners()) {
+            for (Method method : listener.getClass().getDeclaredMethods()) {
+                EventHandler annotation = method.getAnnotation(EventHandler.class);
+                if (annotation != null && method.getParameterCount() == 1
+                        && Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                    handlers.add(new Handler(listener, method, annotation));
+                }
+            }
+        }
+
+        for (EventType type : EventType.values()) {
+            latencyByType.put(type, new Histogram(3));
+            allocationByType.put(type, new long[1]);
+        }
+
+        // Weighted table: each type appears once per unit of weight
+        JSONObject weights = scenario.optJSONObject("mix", new JSONObject());
+        List<EventType> table = new ArrayList<>();
+        for (EventType type : EventType.values()) {
+            int weight = Math.max(0, weights.optInt(type.key, weights.isEmpty() ? type.defaultWeight : 0));
+            for (int i = 0; i < weight; i++) {
+                table.add(type);
+            }
+        }
+        if (table.isEmpty()) {
+            throw new IllegalArgumentException("Scenario mix has no event types with a positive weight");
+        }
+        this.mix = table.toArray(new EventType[0]);
+
+        String replay = scenario.optString("replay", null);
+        this.recorded = replay != null ? readRecording(Path.of(replay)) : null;
+
+        for (int i = 0; i < entities.length; i++) {
+            // Real entity classes with only their position fields set
+            Entity entity = Fakes.allocate(i == 0 ? EntityPrimedTNT.class : EntityZombie.class);
+            entity.level = world.level;
+            entities[i] = entity;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        JSONObject scenario = args.length > 0
+            ? new JSONObject(Files.readString(Path.of(args[0])))
+            : new JSONObject();
+
+        SyntheticWorld world = new SyntheticWorld();
+        world.seed = scenario.optLong("seed", 42);
+        world.areaCount = scenario.optInt("areas", 1000);
+        world.playerCount = scenario.optInt("players", 200);
+        JSONObject layout = scenario.optJSONObject("layout", new JSONObject());
+        world.cellSize = layout.optInt("cellSize", world.cellSize);
+        world.minAreaSize = layout.optInt("minAreaSize", world.minAreaSize);
+        world.maxAreaSize = layout.optInt("maxAreaSize", world.maxAreaSize);
+
+        System.out.printf("Building world: %d areas, %d players%n", world.areaCount, world.playerCount);
+        world.setUp();
+        ListenerManager listenerManager = new ListenerManager(world.plugin);
+
+        try {
+            LoadSimulator simulator = new LoadSimulator(world, listenerManager, scenario);
+            int warmup = scenario.optInt("warmupEvents", 200_000);
+            int events = scenario.optInt("events", 1_000_000);
+
+            System.out.printf("Warming up with %,d events%n", warmup);
+            simulator.run(warmup);
+            simulator.reset();
+
+            System.out.printf("Replaying %,d events through %d handlers%n", events, simulator.handlers.size());
+            long gcCount = gcCount();
+            long gcTime = gcTime();
+            long allocated = THREADS.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            simulator.run(events);
+            long elapsed = System.nanoTime() - start;
+            allocated = THREADS.getCurrentThreadAllocatedBytes() - allocated;
+
+            simulator.report(events, elapsed, allocated, gcCount() - gcCount, gcTime() - gcTime);
+        } finally {
+            listenerManager.cleanup();
+            world.tearDown();
+        }
+        // Listener caches may leave non-daemon threads behind
+        System.exit(0);
+    }
+
+    void run(int count) {
+        for (int i = 0; i < count; i++) {
+            EventType type;
+            Event event;
+            if (recorded != null) {
+                RecordedEvent next = recorded.get(nextRecorded++ % recorded.size());
+                type = next.type();
+                event = create(type, world.players[next.player() % world.players.length], next.x(), next.y(), next.z());
+            } else {
+                type = mix[random.nextInt(mix.length)];
+                Player player = world.players[random.nextInt(world.players.length)];
+                event = create(type, player, player.x + random.nextInt(17) - 8, player.y, player.z + random.nextInt(17) - 8);
+            }
+
+            long allocated = THREADS.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            dispatch(event);
+            latencyByType.get(type).recordValue(System.nanoTime() - start);
+            allocationByType.get(type)[0] += THREADS.getCurrentThreadAllocatedBytes() - allocated;
+        }
+    }
+
+    private void dispatch(Event event) {
+        List<Handler> targets = handlersByEvent.computeIfAbsent(event.getClass(), this::resolve);
+        for (Handler handler : targets) {
+            if (handler.ignoreCancelled && event instanceof Cancellable && event.isCancelled()) {
+                continue;
+            }
+            long start = System.nanoTime();
+            try {
+                handler.handle.invoke(event);
+            } catch (Throwable t) {
+                if (handler.errors++ == 0) {
+                    handler.firstError = t.getClass().getSimpleName() + ": " + t.getMessage();
+                }
+            }
+            handler.latency.recordValue(System.nanoTime() - start);
+        }
+    }
+
+    private List<Handler> resolve(Class<?> eventClass) {
+        List<Handler> targets = new ArrayList<>();
+        for (Handler handler : handlers) {
+            if (handler.eventType.isAssignableFrom(eventClass)) {
+                targets.add(handler);
+            }
+        }
+        targets.sort(Comparator.comparingInt(h -> h.priority));
+        return targets;
+    }
+
+    /**
+     * Builds a server event at the given position. Player moves step the player there.
+     */
+    private Event create(EventType type, Player player, double x, double y, double z) {
+        return switch (type) {
+            case MOVE -> {
+                Location from = player.getLocation();
+                Location to = new Location(x, y, z, player.yaw, player.pitch, world.level);
+                player.x = x;
+                player.y = y;
+                player.z = z;
+                yield new PlayerMoveEvent(player, from, to);
+            }
+            case BLOCK_BREAK -> new BlockBreakEvent(player, block(new BlockStone(), x, y, z), tool, new Item[0]);
+            case BLOCK_PLACE -> {
+                Block placed = block(new BlockStone(), x, y, z);
+                yield new BlockPlaceEvent(player, placed, placed, block(new BlockStone(), x, y - 1, z), tool);
+            }
+            case LIQUID_FLOW -> new LiquidFlowEvent(block(new BlockWater(), x, y, z), block(new BlockWater(), x + 1, y, z), 1);
+            case REDSTONE -> new RedstoneUpdateEvent(block(new BlockRedstoneWire(), x, y, z));
+            case EXPLOSION -> {
+                Entity tnt = entities[0];
+                move(tnt, x, y, z);
+                List<Block> blocks = new ArrayList<>();
+                for (int dx = -2; dx <= 2; dx++) {
+                    for (int dy = -2; dy <= 2; dy++) {
+                        for (int dz = -2; dz <= 2; dz++) {
+                            blocks.add(block(new BlockStone(), x + dx, y + dy, z + dz));
+                        }
+                    }
+                }
+                yield new EntityExplodeEvent(tnt, new Position(x, y, z, world.level), blocks, 1.0);
+            }
+            case ENTITY_SPAWN -> {
+                Entity entity = entities[1 + (nextEntity++ % (entities.length - 1))];
+                move(entity, x, y, z);
+                yield new EntitySpawnEvent(entity);
+            }
+        };
+    }
+
+    private Block block(Block block, double x, double y, double z) {
+        block.x = Math.floor(x);
+        block.y = Math.floor(y);
+        block.z = Math.floor(z);
+        block.level = world.level;
+        return block;
+    }
+
+    private static void move(Entity entity, double x, double y, double z) {
+        entity.x = x;
+        entity.y = y;
+        entity.z = z;
+    }
+
+    private void reset() {
+        for (Handler handler : handlers) {
+            handler.latency.reset();
+            handler.errors = 0;
+            handler.firstError = null;
+        }
+        latencyByType.values().forEach(Histogram::reset);
+        allocationByType.values().forEach(total -> total[0] = 0);
+    }
+
+    private void report(int events, long elapsedNanos, long allocatedBytes, long gcCount, long gcMillis) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.println();
+        System.out.printf("Throughput: %,.0f events/s (%,d events in %.2f s)%n", events / seconds, events, seconds);
+        System.out.printf("Allocation: %,.1f MB/s, %,d bytes/event%n",
+            allocatedBytes / seconds / (1024 * 1024), allocatedBytes / Math.max(1, events));
+        System.out.printf("GC: %d collections, %d ms%n", gcCount, gcMillis);
+
+        System.out.println();
+        System.out.println("Per event type (microseconds):");
+        printHeader("event", "B/event");
+        for (Map.Entry<EventType, Histogram> entry : latencyByType.entrySet()) {
+            Histogram histogram = entry.getValue();
+            if (histogram.getTotalCount() > 0) {
+                long bytes = allocationByType.get(entry.getKey())[0] / histogram.getTotalCount();
+                printRow(entry.getKey().key, histogram, String.valueOf(bytes));
+            }
+        }
+
+        System.out.println();
+        System.out.println("Per handler (microseconds):");
+        printHeader("handler", "errors");
+        Map<String, String> errors = new LinkedHashMap<>();
+        handlers.stream()
+            .filter(handler -> handler.latency.getTotalCount() > 0)
+            .sorted(Comparator.comparingDouble((Handler h) -> h.latency.getMean() * h.latency.getTotalCount()).reversed())
+            .forEach(handler -> {
+                printRow(handler.name, handler.latency, String.valueOf(handler.errors));
+                if (handler.firstError != null) {
+                    errors.put(handler.name, handler.firstError);
+                }
+            });
+
+        if (!errors.isEmpty()) {
+            System.out.println();
+            System.out.println("First error per handler:");
+            errors.forEach((name, error) -> System.out.println("  " + name + ": " + error));
+        }
+    }
+
+    private static void printHeader(String name, String extra) {
+        System.out.printf("  %-48s %10s %9s %9s %9s %9s %9s %9s%n",
+            name, "count", "p50", "p95", "p99", "p999", "max", extra);
+    }
+
+    private static void printRow(String name, Histogram histogram, String extra) {
+        System.out.printf(Locale.ROOT, "  %-48s %10d %9.1f %9.1f %9.1f %9.1f %9.1f %9s%n",
+            name, histogram.getTotalCount(),
+            micros(histogram.getValueAtPercentile(50)),
+            micros(histogram.getValueAtPercentile(95)),
+            micros(histogram.getValueAtPercentile(99)),
+            micros(histogram.getValueAtPercentile(99.9)),
+            micros(histogram.getMaxValue()),
+            extra);
+    }
+
+    private static double micros(long nanos) {
+        return nanos / (double) TimeUnit.MICROSECONDS.toNanos(1);
+    }
+
+    private static List<RecordedEvent> readRecording(Path file) throws IOException {
+        List<RecordedEvent> events = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            if (fields.length != 5) {
+                throw new IllegalArgumentException("Expected type,player,x,y,z but got: " + line);
+            }
+            events.add(new RecordedEvent(
+                EventType.fromKey(fields[0].trim()),
+                Integer.parseInt(fields[1].trim()),
+                Double.parseDouble(fields[2].trim()),
+                Double.parseDouble(fields[3].trim()),
+                Double.parseDouble(fields[4].trim())));
+        }
+        if (events.isEmpty()) {
+            throw new IllegalArgumentException("Recording has no events: " + file);
+        }
+        return events;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return time;
+    }
+}
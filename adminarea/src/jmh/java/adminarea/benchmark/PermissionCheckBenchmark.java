@@ -0,0 +1,48 @@
+package adminarea.benchmark;
+
+import adminarea.area.Area;
+import cn.nukkit.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full permission checks: player overrides, group overrides, then the area toggle
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PermissionCheckBenchmark {
+    private int nextArea;
+    private int nextPlayer;
+    private int nextToggle;
+
+    @Benchmark
+    public boolean isAllowed(SyntheticWorld world) {
+        Area area = world.areas.get(nextArea++ % world.areas.size());
+        Player player = world.players[nextPlayer++ & (SyntheticWorld.PLAYER_COUNT - 1)];
+        String toggle = world.toggles[nextToggle++ % world.toggles.length];
+        return world.permissionChecker.isAllowed(player, area, toggle);
+    }
+
+    /**
+     * Checks without a player, as done for explosions, fire and other world events
+     */
+    @Benchmark
+    public boolean isAllowedWithoutPlayer(SyntheticWorld world) {
+        Area area = world.areas.get(nextArea++ % world.areas.size());
+        String toggle = world.toggles[nextToggle++ % world.toggles.length];
+        return world.permissionChecker.isAllowed((Player) null, area, toggle);
+    }
+}
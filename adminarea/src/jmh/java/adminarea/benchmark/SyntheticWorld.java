@@ -0,0 +1,211 @@
+package adminarea.benchmark;
+
+import adminarea.AdminAreaProtectionPlugin;
+import adminarea.area.Area;
+import adminarea.managers.AreaManager;
+import adminarea.permissions.PermissionChecker;
+import adminarea.permissions.PermissionToggle;
+import adminarea.util.PerformanceMonitor;
+import cn.nukkit.Player;
+import cn.nukkit.level.Level;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * A plugin instance with a generated world of areas, shared by all benchmarks.
+ * The server, the level, the players, the config and the permission override manager
+ * are the hand-written stand-ins in {@link Fakes}; players and entities keep Nukkit's own
+ * coordinate getters. Everything on the measured path (AreaManager, Area,
+ * PermissionChecker, the listeners and the PerformanceMonitor timers) is the real plugin
+ * code.
+ * <p>
+ * Areas are laid out on a grid with random sizes and priorities, so neighbours overlap
+ * the way player-built regions do, and a global area covers the whole world. The layout
+ * is seeded, so every run and every area count sees the same shapes. Outside JMH the
+ * layout fields can be set before calling {@link #setUp()}.
+ */
+@State(Scope.Benchmark)
+public class SyntheticWorld {
+    static final String WORLD = "world";
+    static final int SAMPLE_COUNT = 1024;
+    static final int PLAYER_COUNT = 64;
+
+    private static final String TOGGLE_PREFIX = "gui.permissions.toggles.";
+
+    @Param({"100", "1000", "10000"})
+    public int areaCount;
+
+    // Layout, fixed for benchmarks and read from the scenario by the load simulator
+    long seed = 42;
+    int playerCount = PLAYER_COUNT;
+    int cellSize = 48;
+    int minAreaSize = 16;
+    int maxAreaSize = 80;
+
+    Fakes.FakePlugin plugin;
+    PerformanceMonitor performanceMonitor;
+    AreaManager areaManager;
+    PermissionChecker permissionChecker;
+    Level level;
+
+    List<Area> areas;
+    Player[] players;
+    String[] toggles;
+
+    // Sample points; about three quarters fall inside at least one area
+    double[] xs;
+    double[] ys;
+    double[] zs;
+
+    private Path dataFolder;
+
+    // Area name -> subject -> permissions, served by the permission override manager stand-in
+    private final Map<String, Map<String, Map<String, Boolean>>> playerPermissions = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Map<String, Boolean>>> groupPermissions = new ConcurrentHashMap<>();
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() throws Exception {
+        Random random = new Random(seed);
+        dataFolder = Files.createTempDirectory("adminarea-bench");
+
+        Map<Long, Player> levelPlayers = new HashMap<>();
+        Map<UUID, Player> onlinePlayers = new HashMap<>();
+        level = Fakes.FakeLevel.create(WORLD, levelPlayers);
+        players = new Player[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            Player player = Fakes.FakePlayer.create("player" + i, level);
+            levelPlayers.put((long) i, player);
+            onlinePlayers.put(new UUID(0, i), player);
+            players[i] = player;
+        }
+
+        plugin = new Fakes.FakePlugin(Fakes.FakeServer.create(level, onlinePlayers), dataFolder.toFile());
+        setPluginInstance(plugin);
+
+        performanceMonitor = new PerformanceMonitor(plugin);
+        plugin.performanceMonitor = performanceMonitor;
+
+        Fakes.FakeOverrides overrides = Fakes.FakeOverrides.create(playerPermissions, groupPermissions);
+        plugin.permissionOverrideManager = overrides;
+        permissionChecker = new PermissionChecker(plugin);
+        overrides.setPermissionChecker(permissionChecker);
+
+        List<String> toggleNames = new ArrayList<>();
+        JSONObject defaults = new JSONObject();
+        for (PermissionToggle toggle : PermissionToggle.getDefaultToggles()) {
+            String key = TOGGLE_PREFIX + toggle.getPermissionNode();
+            toggleNames.add(key);
+            defaults.put(key, toggle.getDefaultValue());
+        }
+        toggles = toggleNames.toArray(new String[0]);
+
+        areaManager = new AreaManager(plugin);
+        plugin.areaManager = areaManager;
+
+        areas = new ArrayList<>(areaCount + 1);
+        areaManager.addArea(Area.builder()
+            .name("__global__")
+            .global(WORLD)
+            .priority(0)
+            .toggleStates(new JSONObject(defaults.toMap()))
+            .build());
+
+        int gridSize = (int) Math.ceil(Math.sqrt(areaCount));
+        for (int i = 0; i < areaCount; i++) {
+            int x = (i % gridSize) * cellSize + random.nextInt(16);
+            int z = (i / gridSize) * cellSize + random.nextInt(16);
+            int width = minAreaSize + random.nextInt(Math.max(1, maxAreaSize - minAreaSize));
+            int depth = minAreaSize + random.nextInt(Math.max(1, maxAreaSize - minAreaSize));
+            int yMin = random.nextInt(64);
+
+            JSONObject states = new JSONObject(defaults.toMap());
+            // Vary a few toggles so lookups do not all resolve to the same value
+            for (int t = 0; t < 4; t++) {
+                states.put(toggles[random.nextInt(toggles.length)], random.nextBoolean());
+            }
+
+            Area area = Area.builder()
+                .name("area" + i)
+                .world(WORLD)
+                .coordinates(x, x + width, yMin, yMin + 64 + random.nextInt(192), z, z + depth)
+                .priority(1 + random.nextInt(100))
+                .toggleStates(states)
+                .build();
+            areaManager.addArea(area);
+            areas.add(area);
+
+            if (random.nextInt(4) == 0) {
+                Map<String, Map<String, Boolean>> perArea = new HashMap<>();
+                for (int p = 0; p < 4; p++) {
+                    perArea.put(players[random.nextInt(playerCount)].getName(),
+                        Map.of(toggles[random.nextInt(toggles.length)], random.nextBoolean()));
+                }
+                playerPermissions.put(area.getName(), Map.copyOf(perArea));
+            }
+            if (random.nextInt(8) == 0) {
+                groupPermissions.put(area.getName(),
+                    Map.of("default", Map.of(toggles[random.nextInt(toggles.length)], random.nextBoolean())));
+            }
+        }
+
+        int extent = extent();
+        xs = new double[SAMPLE_COUNT];
+        ys = new double[SAMPLE_COUNT];
+        zs = new double[SAMPLE_COUNT];
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            xs[i] = random.nextInt(extent) + random.nextDouble();
+            ys[i] = random.nextInt(256);
+            zs[i] = random.nextInt(extent) + random.nextDouble();
+        }
+
+        for (int i = 0; i < playerCount; i++) {
+            players[i].x = xs[i & (SAMPLE_COUNT - 1)];
+            players[i].y = ys[i & (SAMPLE_COUNT - 1)];
+            players[i].z = zs[i & (SAMPLE_COUNT - 1)];
+        }
+    }
+
+    /**
+     * Gets the side length of the square the areas are laid out in
+     */
+    int extent() {
+        return (int) Math.ceil(Math.sqrt(areaCount)) * cellSize;
+    }
+
+    @TearDown(org.openjdk.jmh.annotations.Level.Trial)
+    public void tearDown() throws IOException {
+        performanceMonitor.close();
+        try (Stream<Path> files = Files.walk(dataFolder)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    /**
+     * Areas are created through Area's package-private constructor, which reads the
+     * plugin from the static instance the server would normally set on enable
+     */
+    private static void setPluginInstance(AdminAreaProtectionPlugin plugin) throws ReflectiveOperationException {
+        Field instance = AdminAreaProtectionPlugin.class.getDeclaredField("instance");
+        instance.setAccessible(true);
+        instance.set(null, plugin);
+    }
+}
@@ -0,0 +1,44 @@
+package adminarea.benchmark;
+
+import adminarea.area.Area;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Toggle lookups on an area, cycling through areas and toggle keys
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ToggleStateBenchmark {
+    private int nextArea;
+    private int nextToggle;
+
+    @Benchmark
+    public boolean getToggleState(SyntheticWorld world) {
+        Area area = world.areas.get(nextArea++ % world.areas.size());
+        String toggle = world.toggles[nextToggle++ % world.toggles.length];
+        return area.getToggleState(toggle);
+    }
+
+    /**
+     * Short names go through key normalization before the cache lookup
+     */
+    @Benchmark
+    public boolean getToggleStateShortName(SyntheticWorld world) {
+        Area area = world.areas.get(nextArea++ % world.areas.size());
+        return area.getToggleState("allowBlockBreak");
+    }
+}
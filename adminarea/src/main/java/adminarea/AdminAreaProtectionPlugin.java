@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Set;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
@@ -49,8 +50,13 @@ import adminarea.area.Area;
 import adminarea.area.AreaCommand;
 import adminarea.constants.FormIds;
 import adminarea.data.FormTrackingData;
+import adminarea.logging.AsyncLogAppender;
+import adminarea.logging.DebugCategory;
 import adminarea.util.LogFilter;
 import adminarea.util.PerformanceMonitor;
+import adminarea.util.SqliteStorage;
+import adminarea.util.TickScheduler;
+import adminarea.util.WalCheckpointManager;
 import adminarea.util.ValidationUtils;
 import io.micrometer.core.instrument.Timer;
 import adminarea.form.FormRegistry;
@@ -65,6 +71,8 @@ public class AdminAreaProtectionPlugin extends PluginBase implements Listener {
 
     private static AdminAreaProtectionPlugin instance;
     private static final String CLEAN_SHUTDOWN_MARKER = "clean_shutdown.marker";
+    // Debug messages beyond this many waiting for the console are dropped
+    private static final int DEBUG_QUEUE_CAPACITY = 4096;
     private PermissionOverrideManager permissionOverrideManager;
     private DatabaseManager dbManager;
     private AreaCommand areaCommand;
@@ -76,6 +84,8 @@ public class AdminAreaProtectionPlugin extends PluginBase implements Listener {
     private ConfigManager configManager;
     private AreaManager areaManager;
     private PerformanceMonitor performanceMonitor; // Add performance monitor
+    private TickScheduler tickScheduler; // Shared budgeted scheduler for periodic work
+    private SqliteStorage storage; // One writer thread per database file
     private GuiManager guiManager;
     private ListenerManager listenerManager; // Add listener manager
 
@@ -84,7 +94,10 @@ public class AdminAreaProtectionPlugin extends PluginBase implements Listener {
     private boolean enableMessages;
     private LanguageManager languageManager;
 
-    private boolean debugMode = false;  // Change initial value to false
+    private volatile boolean debugMode = false;  // Change initial value to false
+    // Subsystems whose debug messages are written while debug mode is on
+    private volatile Set<DebugCategory> debugCategories = EnumSet.allOf(DebugCategory.class);
+    private AsyncLogAppender debugAppender;
 
     private LuckPermsCache luckPermsCache;
 
@@ -111,6 +124,7 @@ public class AdminAreaProtectionPlugin extends PluginBase implements Listener {
         @Override
         public void onEnable() {
             instance = this;
+            debugAppender = new AsyncLogAppender(getLogger(), "AdminArea-log", DEBUG_QUEUE_CAPACITY);
             performanceMonitor = new PerformanceMonitor(this);
             Timer.Sample startupTimer = performanceMonitor.startTimer();
             LogFilter.registerFilter();
@@ -160,6 +174,9 @@ public class AdminAreaProtectionPlugin extends PluginBase implements Listener {
                     getLogger().info("Debug mode enabled from config");
                 }
 
+                // Shared database access, used by every store below
+                storage = new SqliteStorage(this);
+
                 // Configure logging levels for HikariCP - using SLF4J directly instead of casting
                 try {
                     // Get SLF4J LoggerFactory - avoid direct casts to specific implementation
@@ -203,6 +220,14 @@ public class AdminAreaProtectionPlugin extends PluginBase implements Listener {
                 // Replace direct config access with config manager
                 reloadConfigValues();
                 
+                // Start the shared scheduler before any component registers periodic jobs
+                tickScheduler = new TickScheduler(this);
+                tickScheduler.start();
+                tickScheduler.schedule("cache_stats", 100, performanceMonitor.getCacheRegistry()::refresh);
+
+                // Optional Prometheus scrape endpoint over the performance registry
+                performanceMonitor.startPrometheusEndpoint();
+                
                 // Register container stats listener
                 getServer().getPluginManager().registerEvents(new ContainerListener(this), this);
                 
@@ -294,26 +319,16 @@ public class AdminAreaProtectionPlugin extends PluginBase implements Listener {
                     if (needsAreaRecovery || needsPermRecovery) {
                         // getLogger().info("Detected potential unclean shutdown. Running database recovery...");
                         
-                        // Recover areas database if needed
-                        if (needsAreaRecovery) {
-                            try (Connection conn = dbManager.getConnection();
-                                 Statement stmt = conn.createStatement()) {
-                                stmt.execute("PRAGMA wal_checkpoint(FULL)");
-                                getLogger().info("Area database recovery completed successfully");
-                            } catch (SQLException e) {
-                                getLogger().error("Error during area database recovery", e);
-                            }
+                        // SQLite replays the WAL when the database is opened; fold it into the main
+                        // file through each database's writer so the next start begins with an empty WAL
+                        if (needsAreaRecovery
+                                && dbManager.getCheckpointManager().checkpoint(WalCheckpointManager.Mode.TRUNCATE)) {
+                            getLogger().info("Area database recovery completed successfully");
                         }
                         
-                        // Recover permission database if needed
-                        if (needsPermRecovery && permissionOverrideManager != null) {
-                            try (Connection conn = permissionOverrideManager.getConnection();
-                                 Statement stmt = conn.createStatement()) {
-                                stmt.execute("PRAGMA wal_checkpoint(FULL)");
-                                getLogger().info("Permission database recovery completed successfully");
-                            } catch (SQLException e) {
-                                getLogger().error("Error during permission database recovery", e);
-                            }
+                        if (needsPermRecovery && permissionOverrideManager != null
+                                && permissionOverrideManager.getCheckpointManager().checkpoint(WalCheckpointManager.Mode.TRUNCATE)) {
+                            getLogger().info("Permission database recovery completed successfully");
                         }
                     } else {
                         if (isDebugMode()) {
@@ -330,11 +345,15 @@ public class AdminAreaProtectionPlugin extends PluginBase implements Listener {
                     
                     areaManager = new AreaManager(this);
                     
-                    // Load areas from database
-                    if (isDebugMode()) {
-                        debug("Loading areas from database...");
+                    // Load areas from the snapshot if there is a usable one; the database is
+                    // checked against it in the background
+                    if (!areaManager.loadAreasFromSnapshot()) {
+                        if (isDebugMode()) {
+                            debug("Loading areas from database...");
+                        }
+                        areaManager.loadAreas();
+                        areaManager.getSnapshot().requestWrite();
                     }
-                    areaManager.loadAreas();
                     if (isDebugMode()) {
                         debug("Areas loaded successfully: " + areaManager.getAllAreas().size() + " areas");
                     }
@@ -374,9 +393,13 @@ public class AdminAreaProtectionPlugin extends PluginBase implements Listener {
                     int successCount = 0;
                     int failCount = 0;
                     
+                    // One query per permission table rather than three per area
+                    PermissionOverrideManager.LoadedPermissions loadedPermissions =
+                        permissionOverrideManager.loadAllPermissions();
+                    
                     for (Area area : allAreas) {
                         try {
-                            permissionOverrideManager.synchronizeOnLoad(area);
+                            permissionOverrideManager.synchronizeOnLoad(area, loadedPermissions);
                             successCount++;
                             if (isDebugMode()) {
                                 debug("Loaded permissions for area: " + area.getName());
@@ -598,6 +621,9 @@ public class AdminAreaProtectionPlugin extends PluginBase implements Listener {
             
             try {
                 // Cancel all scheduled tasks first to prevent conflicts
+                if (tickScheduler != null) {
+                    tickScheduler.shutdown();
+                }
                 getServer().getScheduler().cancelTask(this);
                 
                 // Clean up cache data
@@ -662,25 +688,23 @@ public class AdminAreaProtectionPlugin extends PluginBase implements Listener {
                     }
                 }
                 
-                // Step 3: Close databases in proper order, with pre-close checkpoint
+                // Step 3: Commit everything still sitting in the write-behind queues
+                if (dbManager != null) {
+                    dbManager.flushPendingWrites();
+                }
+                if (permissionOverrideManager != null) {
+                    permissionOverrideManager.flushPendingWrites();
+                }
+                
+                // Write the final snapshot now that everything is committed
+                if (areaManager != null) {
+                    areaManager.getSnapshot().close();
+                }
+                
+                // Step 4: Close databases in proper order; each close truncates its WAL
                 Timer.Sample dbCloseTimer = performanceMonitor.startTimer();
                 
-                // First do a soft checkpoint of the area database
                 if (dbManager != null) {
-                    try (Connection conn = dbManager.getConnection();
-                        Statement stmt = conn.createStatement()) {
-                        // First try a passive checkpoint which is less likely to cause locks
-                        stmt.execute("PRAGMA busy_timeout = 5000");
-                        stmt.execute("PRAGMA wal_checkpoint(PASSIVE)");
-                        if (isDebugMode()) {
-                            debug("Executed passive checkpoint on area database before closing");
-                        }
-                    } catch (Exception e) {
-                        // Just log and continue if this fails
-                        getLogger().error("Error checkpointing area database", e);
-                    }
-                    
-                    // Then close the area database
                     try {
                         dbManager.close();
                         getLogger().info("Area database connection closed");
@@ -700,6 +724,11 @@ public class AdminAreaProtectionPlugin extends PluginBase implements Listener {
                     }
                 }
 
+                // Anything still open, such as the statistics database
+                if (storage != null) {
+                    storage.closeAll();
+                }
+
                 performanceMonitor.stopTimer(dbCloseTimer, "database_close");
                 
                 // Write a clean shutdown marker file
@@ -728,6 +757,12 @@ public class AdminAreaProtectionPlugin extends PluginBase implements Listener {
                     }
                 }
                 
+                // Write out queued debug messages
+                if (debugAppender != null) {
+                    debugAppender.close();
+                    debugAppender = null;
+                }
+                
                 getLogger().info("AdminAreaProtectionPlugin disabled.");
             }
         }
@@ -899,6 +934,22 @@ public class AdminAreaProtectionPlugin extends PluginBase implements Listener {
             return performanceMonitor;
         }
     
+        /**
+         * Gets the shared SQLite storage that hands out one database per file.
+         * @return The SqliteStorage instance
+         */
+        public SqliteStorage getStorage() {
+            return storage;
+        }
+    
+        /**
+         * Gets the shared tick-budgeted scheduler for periodic main-thread work.
+         * @return The TickScheduler instance
+         */
+        public TickScheduler getTickScheduler() {
+            return tickScheduler;
+        }
+    
         public void saveArea(Area area) {
             if (area == null) {
                 getLogger().error("Cannot save null area");
@@ -973,30 +1024,55 @@ public class AdminAreaProtectionPlugin extends PluginBase implements Listener {
             return debugMode;
         }
 
+        /**
+         * Sets the subsystems whose debug messages are written, by config name.
+         * An empty list enables all of them.
+         */
+        public void setDebugCategories(List<String> names) {
+            if (names == null || names.isEmpty()) {
+                debugCategories = EnumSet.allOf(DebugCategory.class);
+                return;
+            }
+            Set<DebugCategory> categories = EnumSet.noneOf(DebugCategory.class);
+            for (String name : names) {
+                DebugCategory category = DebugCategory.fromConfigName(name);
+                if (category != null) {
+                    categories.add(category);
+                } else {
+                    getLogger().warning("Unknown debug category '" + name + "' in debugCategories");
+                }
+            }
+            debugCategories = categories;
+        }
+
+        /**
+         * Check if debug messages of a subsystem are written
+         */
+        public boolean isDebugEnabled(DebugCategory category) {
+            return debugMode && debugCategories.contains(category);
+        }
+
         /**
          * Send a debug message if debug mode is enabled
          */
         public void debug(String message) {
-            if (debugMode) {
-                // Use string format with direct console output to avoid logger issues
-                String debugMessage = "[Debug] " + message;
-                System.out.println("[" + getName() + "] " + debugMessage);
-                
-                // Only try logging if not already in a potential recursive situation
-                try {
-                    // Use a special system property to prevent recursive calls
-                    if (!"true".equals(System.getProperty("adminarea.debug.recursion"))) {
-                        System.setProperty("adminarea.debug.recursion", "true");
-                        try {
-                            getLogger().info(debugMessage);
-                        } finally {
-                            System.clearProperty("adminarea.debug.recursion");
-                        }
-                    }
-                } catch (Exception e) {
-                    // Ignore any errors during logging
-                    System.out.println("[AdminAreaProtection] Error logging debug message: " + e.getMessage());
-                }
+            debug(DebugCategory.GENERAL, message);
+        }
+
+        /**
+         * Send a debug message of a subsystem if debug is enabled for it.
+         * The message is written by a background thread, so the caller never waits for the console.
+         */
+        public void debug(DebugCategory category, String message) {
+            if (!isDebugEnabled(category)) {
+                return;
+            }
+            String debugMessage = "[Debug] " + message;
+            AsyncLogAppender appender = debugAppender;
+            if (appender != null) {
+                appender.append(debugMessage);
+            } else {
+                getLogger().info(debugMessage);
             }
         }
 
@@ -1319,13 +1395,8 @@ public class AdminAreaProtectionPlugin extends PluginBase implements Listener {
                             
                             // getLogger().info("Force saved " + forceSavedCount + " track permissions to the database");
                         
-                            // Force a checkpoint to ensure the changes are persisted
-                            try {
-                                stmt.execute("PRAGMA wal_checkpoint(FULL)");
-                                // getLogger().info("Executed full checkpoint to persist track permissions");
-                            } catch (SQLException e) {
-                                getLogger().error("Failed to execute checkpoint", e);
-                            }
+                            // Commit the queued saves; the WAL is checkpointed in the background
+                            permissionOverrideManager.forceFlushPermissions();
                             
                             // Check the permissions count again after saving
                             if (isDebugMode()) {
@@ -1455,13 +1526,8 @@ public class AdminAreaProtectionPlugin extends PluginBase implements Listener {
                             
                             // getLogger().info("Force saved " + forceSavedCount + " group permissions to the database");
                         
-                            // Force a checkpoint to ensure the changes are persisted
-                            try {
-                                stmt.execute("PRAGMA wal_checkpoint(FULL)");
-                                // getLogger().info("Executed full checkpoint to persist group permissions");
-                            } catch (SQLException e) {
-                                getLogger().error("Failed to execute checkpoint", e);
-                            }
+                            // Commit the queued saves; the WAL is checkpointed in the background
+                            permissionOverrideManager.forceFlushPermissions();
                             
                             // Check the permissions count again after saving
                             if (isDebugMode()) {
@@ -5,19 +5,22 @@ import adminarea.permissions.PermissionToggle;
 import adminarea.exception.DatabaseException;
 import adminarea.permissions.PermissionOverrideManager;
 import adminarea.permissions.PermissionChecker;
+import adminarea.util.CacheRegistry;
+import adminarea.logging.DebugCategory;
+import adminarea.util.Logger;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
 import cn.nukkit.math.Vector3;
 import cn.nukkit.math.SimpleAxisAlignedBB;
 import cn.nukkit.level.Position;
 import org.json.JSONObject;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.Statement;
 
 public final class Area {
     private final AreaDTO dto;
@@ -34,6 +37,7 @@ public final class Area {
     // Increased cache size for better hit rate
     private static final int CONTAINS_CACHE_SIZE = 1000;
     private final AdminAreaProtectionPlugin plugin;
+    private static final Logger logger = new Logger(DebugCategory.AREAS, "Area");
     
     // Common string constants to avoid repeated construction
     private static final String GUI_PERMISSIONS_PREFIX = "gui.permissions.toggles.";
@@ -46,6 +50,13 @@ public final class Area {
     // Cache for toggle state lookups
     private final Cache<String, Boolean> toggleStateCache;
     private static final int TOGGLE_CACHE_SIZE = 200;
+
+    // Lookup counts shared by the caches of all areas, reported as one cache each
+    private static final StatsCounter CONTAINS_STATS = new ConcurrentStatsCounter();
+    private static final StatsCounter TOGGLE_STATS = new ConcurrentStatsCounter();
+    private static final CacheRegistry.Counters EFFECTIVE_PERMISSION_STATS = new CacheRegistry.Counters();
+    // Bumped on every toggle change so derived data (e.g. chunk spawn policies) can detect staleness
+    private final AtomicInteger toggleVersion = new AtomicInteger();
     
     // Store potion effects
     private final JSONObject potionEffects;
@@ -72,48 +83,14 @@ public final class Area {
         
         // Convert toggle states
         this.toggleStates = new ConcurrentHashMap<>(32, 0.75f, 1);
-        JSONObject toggles = dto.toggleStates();
-        for (String key : toggles.keySet()) {
-            try {
-                // Normalize key during initialization
-                String normalizedKey = normalizeToggleKey(key);
-                
-                // Handle strength settings (which are integers) differently from toggle settings (which are booleans)
-                if (key.endsWith("Strength") || normalizedKey.endsWith("Strength")) {
-                    // This is a strength setting, store it as an integer
-                    this.toggleStates.put(normalizedKey, toggles.optInt(key, 0));
-                    
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Loaded strength setting: " + normalizedKey + " = " + toggles.optInt(key, 0));
-                    }
-                } else {
-                    // This is a regular toggle setting, store it as a boolean
-                    this.toggleStates.put(normalizedKey, toggles.optBoolean(key, false));
-                    
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Loaded toggle setting: " + normalizedKey + " = " + toggles.optBoolean(key, false));
-                    }
-                }
-            } catch (Exception e) {
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Error loading toggle: " + key + " - " + e.getMessage());
-                }
-                // Use a safe default if there's an error
-                String normalizedKey = normalizeToggleKey(key);
-                if (key.endsWith("Strength") || normalizedKey.endsWith("Strength")) {
-                    this.toggleStates.put(normalizedKey, 0);
-                } else {
-                    this.toggleStates.put(normalizedKey, false);
-                }
-            }
-        }
+        normalizeToggleStates(dto.toggleStates(), this.toggleStates);
+        
+        logger.debug("Loaded toggle settings for area %s: %s", name, this.toggleStates);
         
         // Load potion effects
         this.potionEffects = dto.potionEffects() != null ? dto.potionEffects() : new JSONObject();
         
-        if (plugin.isDebugMode()) {
-            plugin.debug("Loaded potion effects for area " + name + ": " + this.potionEffects.toString());
-        }
+        logger.debug("Loaded potion effects for area %s: %s", name, this.potionEffects);
         
         // Create bounding box for faster contains checks
         this.boundingBox = new SimpleAxisAlignedBB(
@@ -125,12 +102,14 @@ public final class Area {
         this.containsCache = Caffeine.newBuilder()
             .maximumSize(CONTAINS_CACHE_SIZE)
             .expireAfterWrite(5, TimeUnit.MINUTES)
+            .recordStats(() -> CONTAINS_STATS)
             .build();
             
         // Initialize toggle state cache
         this.toggleStateCache = Caffeine.newBuilder()
             .maximumSize(TOGGLE_CACHE_SIZE)
             .expireAfterWrite(1, TimeUnit.MINUTES)
+            .recordStats(() -> TOGGLE_STATS)
             .build();
 
         // Initialize permission maps from DTO
@@ -138,19 +117,33 @@ public final class Area {
         this.trackPermissions = new ConcurrentHashMap<>(dto.trackPermissions());
         this.playerPermissions = new ConcurrentHashMap<>(dto.playerPermissions());
 
-        if (plugin.isDebugMode()) {
-            plugin.debug("Created area " + name + ":");
-            plugin.debug("  Player permissions from DTO: " + dto.playerPermissions());
-            plugin.debug("  Player permissions in area: " + playerPermissions);
-            plugin.debug("  Group permissions in area: " + groupPermissions);
-            plugin.debug("  Track permissions in area: " + trackPermissions);
-        }
+        logger.debug("Created area %s:", name);
+        logger.debug("  Player permissions from DTO: %s", dto.playerPermissions());
+        logger.debug("  Player permissions in area: %s", playerPermissions);
+        logger.debug("  Group permissions in area: %s", groupPermissions);
+        logger.debug("  Track permissions in area: %s", trackPermissions);
     }
 
     public static AreaBuilder builder() {
         return new AreaBuilder();
     }
 
+    /**
+     * Registers the contains, toggle state and effective permission caches of all areas,
+     * each family reported as one cache
+     *
+     * @param caches The cache registry
+     * @param areas Supplies the current areas
+     */
+    public static void registerCaches(CacheRegistry caches, Supplier<? extends Collection<Area>> areas) {
+        caches.registerGroup("area_contains", CONTAINS_STATS,
+            () -> areas.get().stream().map(area -> area.containsCache).toList());
+        caches.registerGroup("area_toggle_states", TOGGLE_STATS,
+            () -> areas.get().stream().map(area -> area.toggleStateCache).toList());
+        caches.registerMapGroup("area_effective_permissions", EFFECTIVE_PERMISSION_STATS,
+            () -> areas.get().stream().map(area -> area.effectivePermissionCache).toList());
+    }
+
     /**
      * Fast check to see if coordinates are inside this area
      * Uses simplified bounds check for better performance
@@ -174,20 +167,16 @@ public final class Area {
                          y >= (bounds.yMin() - EPSILON) && y <= (bounds.yMax() + EPSILON) &&
                          z >= (bounds.zMin() - EPSILON) && z <= (bounds.zMax() + EPSILON);
         
-        // Check if point is near a boundary (for debugging)
-        boolean isEdgeCase = Math.abs(x - bounds.xMin()) < EPSILON || 
-                          Math.abs(x - bounds.xMax()) < EPSILON ||
-                          Math.abs(z - bounds.zMin()) < EPSILON ||
-                          Math.abs(z - bounds.zMax()) < EPSILON;
-        
-        // Log detailed information for edge cases
-        if (isEdgeCase && plugin.isDebugMode()) {
-            plugin.debug("EDGE CASE boundary check for area " + name + ":");
-            plugin.debug("  Position: (" + x + ", " + y + ", " + z + ")");
-            plugin.debug("  Bounds: (" + bounds.xMin() + "-" + bounds.xMax() + ", " + 
-                                     bounds.yMin() + "-" + bounds.yMax() + ", " + 
-                                     bounds.zMin() + "-" + bounds.zMax() + ")");
-            plugin.debug("  Result: " + isInside);
+        // Log detailed information for points near a boundary; only worked out when debugging
+        if (logger.isDebugEnabled() && (Math.abs(x - bounds.xMin()) < EPSILON ||
+                                        Math.abs(x - bounds.xMax()) < EPSILON ||
+                                        Math.abs(z - bounds.zMin()) < EPSILON ||
+                                        Math.abs(z - bounds.zMax()) < EPSILON)) {
+            logger.debug("EDGE CASE boundary check for area %s:", name);
+            logger.debug("  Position: (%s, %s, %s)", x, y, z);
+            logger.debug("  Bounds: (%s-%s, %s-%s, %s-%s)", bounds.xMin(), bounds.xMax(),
+                bounds.yMin(), bounds.yMax(), bounds.zMin(), bounds.zMax());
+            logger.debug("  Result: %s", isInside);
         }
         
         return isInside;
@@ -214,14 +203,38 @@ public final class Area {
         if (group == null || permission == null) return false;
         
         String cacheKey = group + ":" + permission;
+        Boolean cached = effectivePermissionCache.get(cacheKey);
+        if (cached != null) {
+            EFFECTIVE_PERMISSION_STATS.hit();
+            return cached;
+        }
+        EFFECTIVE_PERMISSION_STATS.miss();
         return effectivePermissionCache.computeIfAbsent(cacheKey,
             k -> permissionHandler.calculateEffectivePermission(group, permission));
     }
 
+    /**
+     * Converts stored toggle states to their in-memory form: keys are normalized, strength
+     * settings are integers and all other toggles booleans
+     *
+     * @param toggles The stored toggle states
+     * @param target The map the converted states are put into
+     */
+    public static void normalizeToggleStates(JSONObject toggles, Map<String, Object> target) {
+        for (String key : toggles.keySet()) {
+            String normalizedKey = normalizeToggleKey(key);
+            if (key.endsWith("Strength") || normalizedKey.endsWith("Strength")) {
+                target.put(normalizedKey, toggles.optInt(key, 0));
+            } else {
+                target.put(normalizedKey, toggles.optBoolean(key, false));
+            }
+        }
+    }
+
     /**
      * Normalizes a toggle key to ensure consistent format
      */
-    private String normalizeToggleKey(String key) {
+    private static String normalizeToggleKey(String key) {
         if (key == null || key.isEmpty()) return GUI_PERMISSIONS_PREFIX + "default";
         
         // Already has prefix
@@ -250,19 +263,15 @@ public final class Area {
             boolean currentState = getToggleState(normalizedPermission);
             if (currentState == state) {
                 // No change needed
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Toggle state for " + normalizedPermission + " already set to " + state + " - no change needed");
-                }
+                logger.debug("Toggle state for %s already set to %s - no change needed", normalizedPermission, state);
                 return;
             }
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Changing toggle " + normalizedPermission + " from " + currentState + " to " + state);
-            }
+            logger.debug("Changing toggle %s from %s to %s", normalizedPermission, currentState, state);
             
             // Update cache and storage
             toggleStates.put(normalizedPermission, state);
-            toggleStateCache.invalidateAll(); // Clear the entire toggle state cache
+            invalidateToggleStateCache(); // Clear the entire toggle state cache
             
             // Invalidate all protection caches to ensure changes take effect immediately
             if (plugin.getListenerManager() != null && 
@@ -279,19 +288,17 @@ public final class Area {
                 normalizedPermission.equals("gui.permissions.toggles.allowBlockBreak") ||
                 normalizedPermission.equals("gui.permissions.toggles.allowInteract")) {
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Critical toggle changed - immediately saving to database: " + normalizedPermission + " = " + state);
-                }
+                logger.debug("Critical toggle changed - queueing save to database: %s = %s", normalizedPermission, state);
                 
-                // Save toggle states to database immediately
+                // Queue the toggle states right away instead of waiting for the next area save
                 try {
                     boolean success = saveToggleStates();
                     
-                    if (plugin.isDebugMode()) {
+                    if (logger.isDebugEnabled()) {
                         if (success) {
-                            plugin.debug("  Successfully saved critical toggle to database");
+                            logger.debug("  Queued critical toggle for the database");
                         } else {
-                            plugin.debug("  Failed to save critical toggle to database - using retry mechanism");
+                            logger.debug("  Failed to save critical toggle to database - using retry mechanism");
                         }
                     }
                     
@@ -302,33 +309,12 @@ public final class Area {
                             singleToggle.put(normalizedPermission, state);
                             plugin.getDatabaseManager().updateAreaToggleState(name, normalizedPermission, state);
                             
-                            if (plugin.isDebugMode()) {
-                                plugin.debug("  Updated critical toggle directly in database as fallback");
-                            }
+                            logger.debug("  Queued critical toggle alone as fallback");
                         } catch (Exception singleEx) {
                             plugin.getLogger().error("Failed single toggle update as fallback", singleEx);
                         }
                     }
-                    
-                    // Force reload the area to ensure toggle state is consistent
-                    try {
-                        Area refreshed = plugin.getDatabaseManager().loadArea(name);
-                        if (refreshed != null) {
-                            boolean refreshedState = refreshed.getToggleState(normalizedPermission);
-                            
-                            if (plugin.isDebugMode()) {
-                                plugin.debug("  Verified toggle state after reload: " + normalizedPermission + " = " + refreshedState);
-                            }
-                            
-                            if (refreshedState != state) {
-                                plugin.getLogger().error("Toggle state mismatch after reload - forcing update");
-                                // Force update directly in database
-                                plugin.getDatabaseManager().updateAreaToggleState(name, normalizedPermission, state);
-                            }
-                        }
-                    } catch (Exception refreshEx) {
-                        plugin.getLogger().error("Failed to refresh area after toggle update", refreshEx);
-                    }
+
                 } catch (Exception e) {
                     plugin.getLogger().error("Failed to save critical toggle state to database", e);
                 }
@@ -344,7 +330,7 @@ public final class Area {
         
         // Update cache and storage
         toggleStates.put(normalizedPermission, value);
-        toggleStateCache.invalidateAll();
+        invalidateToggleStateCache();
         
         // We don't need to update settings in DTO since it's not stored in the database
         // Just keep the toggle states updated in memory
@@ -362,9 +348,7 @@ public final class Area {
             }
         }
         
-        if (plugin.isDebugMode()) {
-            plugin.debug("Setting integer toggle state for " + normalizedPermission + " to " + value + " in area " + name);
-        }
+        logger.debug("Setting integer toggle state for %s to %s in area %s", normalizedPermission, value, name);
     }
 
     /**
@@ -377,9 +361,7 @@ public final class Area {
         Set<String> inProgress = savingAreas.get();
         if (inProgress.contains(name)) {
             // We're already saving this area in the current call stack
-            if (plugin.isDebugMode()) {
-                plugin.debug("Preventing recursive save for area " + name);
-            }
+            logger.debug("Preventing recursive save for area %s", name);
             return true; // Return success to avoid disrupting the parent operation
         }
         inProgress.add(name);
@@ -393,9 +375,7 @@ public final class Area {
             // Rate limit database updates
             long currentTime = System.currentTimeMillis();
             if (plugin.getRecentSaveTracker().wasRecentlySaved(name, currentTime)) {
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Skipping save for area " + name + " due to rate limiting");
-                }
+                logger.debug("Skipping save for area %s due to rate limiting", name);
                 return true;
             }
             
@@ -403,10 +383,10 @@ public final class Area {
             JSONObject toggleStatesJson = new JSONObject(toggleStates);
             
             // Only log if we're in debug mode and not in a high-frequency context
-            boolean shouldLog = plugin.isDebugMode() && !plugin.getRecentSaveTracker().isHighFrequencyContext();
+            boolean shouldLog = logger.isDebugEnabled() && !plugin.getRecentSaveTracker().isHighFrequencyContext();
             
             if (shouldLog) {
-                plugin.debug("Saving toggle states to database for area " + name);
+                logger.debug("Saving toggle states to database for area %s", name);
             }
             
             // Update toggle states in database
@@ -417,7 +397,7 @@ public final class Area {
                 plugin.getRecentSaveTracker().markSaved(name, currentTime);
                 
                 if (shouldLog) {
-                    plugin.debug("  Successfully updated toggle states in the database");
+                    logger.debug("  Successfully updated toggle states in the database");
                 }
                 
                 return true;
@@ -468,8 +448,8 @@ public final class Area {
                 // If strength > 0, consider it enabled (true)
                 state = strength > 0;
                 
-                // if (plugin.isDebugMode()) {
-                //     plugin.debug("[Area] Potion effect " + effectName + " has strength " + strength + ", state: " + state);
+                // if (logger.isDebugEnabled()) {
+                //     logger.debug("Potion effect %s has strength %s, state: %s", effectName, strength, state);
                 // }
                 
                 // Cache the result
@@ -485,14 +465,10 @@ public final class Area {
                 PermissionToggle toggle = PermissionToggle.getToggle(permNode);
                 if (toggle != null) {
                     state = toggle.getDefaultValue();
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("[Area] Using default toggle state for " + permNode + ": " + state);
-                    }
+                    logger.debug("Using default toggle state for %s: %s", permNode, state);
                 } else {
                     state = true; // Default to true if not found
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("[Area] No toggle found for " + permNode + ", using default state: " + state);
-                    }
+                    logger.debug("No toggle found for %s, using default state: %s", permNode, state);
                 }
             } else if (value instanceof Boolean) {
                 state = (Boolean) value;
@@ -519,9 +495,9 @@ public final class Area {
      */
     public int getPotionEffectStrength(String effectName) {
         // Normalization issues can occur here
-        if (plugin.isDebugMode() && effectName.contains("Speed")) {
+        if (logger.isDebugEnabled() && effectName.contains("Speed")) {
             // Only log Speed effect for now as it's the one being tested
-            plugin.debug("[Area] Looking up potion effect strength for: " + effectName);
+            logger.debug("Looking up potion effect strength for: %s", effectName);
         }
         
         // Normalize permission name to ensure consistent format
@@ -536,9 +512,9 @@ public final class Area {
         // Check if the effect exists in potionEffects
         if (potionEffects.has(effectKey)) {
             int strength = potionEffects.optInt(effectKey, 0);
-            if (plugin.isDebugMode() && strength > 0 && effectKey.contains("Speed")) {
+            if (logger.isDebugEnabled() && strength > 0 && effectKey.contains("Speed")) {
                 // Only log non-zero values for Speed to reduce spam
-                plugin.debug("[Area] Found in potionEffects: " + effectKey + " = " + strength);
+                logger.debug("Found in potionEffects: %s = %s", effectKey, strength);
             }
             return strength;
         }
@@ -548,9 +524,9 @@ public final class Area {
             String simpleName = effectKey.substring("allowPotion".length());
             if (potionEffects.has(simpleName)) {
                 int strength = potionEffects.optInt(simpleName, 0);
-                if (plugin.isDebugMode() && strength > 0 && simpleName.contains("Speed")) {
+                if (logger.isDebugEnabled() && strength > 0 && simpleName.contains("Speed")) {
                     // Only log non-zero values for Speed to reduce spam
-                    plugin.debug("[Area] Found simplified key: " + simpleName + " = " + strength);
+                    logger.debug("Found simplified key: %s = %s", simpleName, strength);
                 }
                 return strength;
             }
@@ -563,16 +539,16 @@ public final class Area {
         Object value = toggleStates.get(strengthKey);
         if (value instanceof Integer) {
             int strength = (Integer) value;
-            if (plugin.isDebugMode() && strength > 0 && strengthKey.contains("Speed")) {
+            if (logger.isDebugEnabled() && strength > 0 && strengthKey.contains("Speed")) {
                 // Only log non-zero values for Speed to reduce spam
-                plugin.debug("[Area] Found in toggleStates: " + strengthKey + " = " + strength);
+                logger.debug("Found in toggleStates: %s = %s", strengthKey, strength);
             }
             return strength;
         }
         
         // Only log failures for Speed effect to reduce spam
-        if (plugin.isDebugMode() && effectName.contains("Speed")) {
-            plugin.debug("[Area] No strength found for: " + effectName);
+        if (logger.isDebugEnabled() && effectName.contains("Speed")) {
+            logger.debug("No strength found for: %s", effectName);
         }
         return 0;
     }
@@ -605,14 +581,15 @@ public final class Area {
         // so that getToggleState will recompute based on new strength
         String toggleKey = "gui.permissions.toggles." + normalizedKey;
         toggleStateCache.invalidate(toggleKey);
+        toggleVersion.incrementAndGet();
         
         // If it's zero, remove it to keep the data clean
         if (validStrength == 0) {
             potionEffects.remove(normalizedKey);
         }
         
-        // if (plugin.isDebugMode()) {
-        //     plugin.debug("Set potion effect " + normalizedKey + " strength to " + validStrength + 
+        // if (logger.isDebugEnabled()) {
+        //     logger.debug(() -> "Set potion effect " + normalizedKey + " strength to " + validStrength + 
         //         " (requested: " + strength + ")");
         // }
     }
@@ -666,9 +643,7 @@ public final class Area {
             String shortKey = toggle.replace("gui.permissions.toggles.", "");
             updatedSettings.put(shortKey, memoryValue);
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Ensuring critical toggle '" + toggle + "' is consistent: " + memoryValue);
-            }
+            logger.debug("Ensuring critical toggle '%s' is consistent: %s", toggle, memoryValue);
         }
         
         // Use cached permissions instead of fetching from database to avoid recursive calls
@@ -677,16 +652,13 @@ public final class Area {
         Map<String, Map<String, Boolean>> latestPlayerPerms;
         
         try {
-            if (plugin.isDebugMode()) {
-                plugin.debug("Getting latest player permissions from database for DTO creation");
-            }
+            logger.debug("Getting latest player permissions from database for DTO creation");
             latestPlayerPerms = plugin.getPermissionOverrideManager().getAllPlayerPermissions(name);
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Retrieved player permissions for area " + name + ": " + 
-                           latestPlayerPerms.size() + " players");
+            if (logger.isDebugEnabled()) {
+                logger.debug("Retrieved player permissions for area %s: %s players", name, latestPlayerPerms.size());
                 for (Map.Entry<String, Map<String, Boolean>> entry : latestPlayerPerms.entrySet()) {
-                    plugin.debug("  Player " + entry.getKey() + ": " + entry.getValue().size() + " permissions");
+                    logger.debug("  Player %s: %s permissions", entry.getKey(), entry.getValue().size());
                 }
             }
             
@@ -697,10 +669,7 @@ public final class Area {
                 // Keep existing if database returned empty but we have data
                 latestPlayerPerms = new HashMap<>(this.playerPermissions);
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Database returned empty permissions but we have " + 
-                               this.playerPermissions.size() + " cached player permissions");
-                }
+                logger.debug("Database returned empty permissions but we have %s cached player permissions", this.playerPermissions.size());
             }
         } catch (Exception e) {
             plugin.getLogger().error("Failed to get player permissions from database", e);
@@ -733,6 +702,51 @@ public final class Area {
         );
     }
 
+    /**
+     * Creates a DTO from the in-memory state only. Unlike {@link #toDTO()} this never
+     * queries the permission database, so it can be called for every area at once.
+     * Everything mutable is copied, so the DTO can be handed to another thread; the area
+     * itself must only be read on the main thread.
+     */
+    public AreaDTO toMemoryDTO() {
+        Map<String, Map<String, Boolean>> groups = groupPermissions;
+        Map<String, Map<String, Boolean>> tracks = trackPermissions;
+        Map<String, Map<String, Boolean>> players = playerPermissions;
+        return new AreaDTO(
+            name,
+            world,
+            dto.bounds(),
+            priority,
+            dto.showTitle(),
+            dto.settings(),
+            copyPermissions(groups),
+            new HashMap<>(),
+            new JSONObject(toggleStates),
+            new JSONObject(dto.defaultToggleStates().toString()),
+            new JSONObject(dto.inheritedToggleStates().toString()),
+            dto.permissions(),
+            dto.enterMessage(),
+            dto.leaveMessage(),
+            dto.enterTitle(),
+            dto.leaveTitle(),
+            copyPermissions(tracks),
+            copyPermissions(players),
+            new JSONObject(potionEffects.toString())
+        );
+    }
+
+    private static Map<String, Map<String, Boolean>> copyPermissions(Map<String, Map<String, Boolean>> permissions) {
+        Map<String, Map<String, Boolean>> copy = new HashMap<>();
+        if (permissions != null) {
+            for (Map.Entry<String, Map<String, Boolean>> entry : permissions.entrySet()) {
+                if (entry.getValue() != null) {
+                    copy.put(entry.getKey(), new HashMap<>(entry.getValue()));
+                }
+            }
+        }
+        return copy;
+    }
+
     /**
      * Call this before saving the area to ensure all permission data is consistent
      */
@@ -741,9 +755,7 @@ public final class Area {
         Set<String> inProgress = savingAreas.get();
         if (inProgress.contains(name + "_perm")) {
             // We're already syncing permissions for this area in the current call stack
-            if (plugin.isDebugMode()) {
-                plugin.debug("Preventing recursive permission sync for area " + name);
-            }
+            logger.debug("Preventing recursive permission sync for area %s", name);
             return true; // Return success to avoid disrupting the parent operation
         }
         inProgress.add(name + "_perm");
@@ -757,17 +769,15 @@ public final class Area {
             // Rate limit permission syncs
             long currentTime = System.currentTimeMillis();
             if (plugin.getRecentSaveTracker().wasRecentlySynced(name, currentTime)) {
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Skipping permission sync for area " + name + " due to rate limiting");
-                }
+                logger.debug("Skipping permission sync for area %s due to rate limiting", name);
                 return true;
             }
             
             // Only log if we're in debug mode and not in a high-frequency context
-            boolean shouldLog = plugin.isDebugMode() && !plugin.getRecentSaveTracker().isHighFrequencyContext();
+            boolean shouldLog = logger.isDebugEnabled() && !plugin.getRecentSaveTracker().isHighFrequencyContext();
             
             if (shouldLog) {
-                plugin.debug("Synchronizing permissions for area " + name);
+                logger.debug("Synchronizing permissions for area %s", name);
             }
             
             try {
@@ -781,7 +791,7 @@ public final class Area {
                 plugin.getRecentSaveTracker().markSynced(name, currentTime);
                 
                 if (shouldLog) {
-                    plugin.debug("  Successfully synchronized permissions bidirectionally for area " + name);
+                    logger.debug("  Successfully synchronized permissions bidirectionally for area %s", name);
                 }
                 
                 return true;
@@ -853,14 +863,27 @@ public final class Area {
         }
     }
 
+    /**
+     * Drops all cached toggle lookups and marks the toggle states as changed
+     */
+    private void invalidateToggleStateCache() {
+        toggleStateCache.invalidateAll();
+        toggleVersion.incrementAndGet();
+    }
+
+    /**
+     * Gets a counter that changes whenever this area's toggle states change
+     */
+    public int getToggleVersion() {
+        return toggleVersion.get();
+    }
+
     public void clearCaches() {
-        if (plugin.isDebugMode()) {
-            plugin.debug("Clearing caches for area " + name);
-        }
+        logger.debug("Clearing caches for area %s", name);
         
         containsCache.invalidateAll();
         effectivePermissionCache.clear();
-        toggleStateCache.invalidateAll();
+        invalidateToggleStateCache();
         cachedPlayerPermissions = null;
         
         // Completely refresh toggle states from the DTO
@@ -875,7 +898,7 @@ public final class Area {
         }
         
         // Only log detailed potion effects info if there are any non-zero values
-        if (plugin.isDebugMode()) {
+        if (logger.isDebugEnabled()) {
             // Check if there are any non-zero potion effects
             boolean hasEffects = false;
             for (String key : potionEffects.keySet()) {
@@ -886,7 +909,7 @@ public final class Area {
             }
             
             if (hasEffects) {
-                plugin.debug("Area " + name + " has potion effects: " + potionEffects.toString());
+                logger.debug("Area %s has potion effects: %s", name, potionEffects);
             }
         }
 
@@ -932,21 +955,15 @@ public final class Area {
                 // Load from database if not cached
                 trackPermissions = plugin.getPermissionOverrideManager().getAllTrackPermissions(name);
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Loaded track permissions from database for area " + name + 
-                               ": " + (trackPermissions != null ? trackPermissions.size() : "0") + " tracks");
-                }
+                logger.debug(() -> String.format("Loaded track permissions from database for area %s: %s tracks", name, trackPermissions != null ? trackPermissions.size() : "0"));
                 
                 // Initialize with empty map if null to avoid NPEs
                 if (trackPermissions == null) {
                     trackPermissions = new HashMap<>();
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Initialized empty track permissions map after database load returned null");
-                    }
+                    logger.debug("Initialized empty track permissions map after database load returned null");
                 }
-            } else if (plugin.isDebugMode()) {
-                plugin.debug("Using cached track permissions for area " + name + 
-                           ": " + trackPermissions.size() + " tracks");
+            } else {
+                logger.debug("Using cached track permissions for area %s: %s tracks", name, trackPermissions.size());
             }
             
             // Return a defensive copy to prevent external modification
@@ -968,10 +985,7 @@ public final class Area {
             // Always fetch fresh data from PermissionOverrideManager
             Map<String, Map<String, Boolean>> freshPermissions = plugin.getPermissionOverrideManager().getAllPlayerPermissions(name);
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Retrieved player permissions for area " + name + ": " + 
-                            freshPermissions.size() + " players");
-            }
+            logger.debug("Retrieved player permissions for area %s: %s players", name, freshPermissions.size());
             
             // Update the cached map
             this.playerPermissions = new HashMap<>(freshPermissions);
@@ -987,36 +1001,37 @@ public final class Area {
     
     /**
      * Get permissions for a specific player in this area
+     *
+     * @return The player's permissions; unmodifiable, copy before changing them
      */
     public Map<String, Boolean> getPlayerPermissions(String playerName) {
-        if (playerName == null) return new HashMap<>();
+        if (playerName == null) return Map.of();
         
         try {
             // Always get fresh data from PermissionOverrideManager
             Map<String, Boolean> playerPerms = plugin.getPermissionOverrideManager().getPlayerPermissions(name, playerName);
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Retrieved permissions for player " + playerName + " in area " + 
-                            name + ": " + (playerPerms != null ? playerPerms.size() : "null") + " permissions");
+            logger.debug(() -> String.format("Retrieved permissions for player %s in area %s: %s permissions", playerName, name, playerPerms != null ? playerPerms.size() : "null"));
+            
+            if (playerPerms == null) {
+                return Map.of();
             }
             
-            // Update the cached permissions map
-            if (playerPermissions != null && playerPerms != null) {
+            // Update the cached permissions map; this runs on every permission check, so only on change
+            if (playerPermissions != null && !playerPerms.equals(playerPermissions.get(playerName))) {
                 playerPermissions.put(playerName, new HashMap<>(playerPerms));
             }
             
-            return playerPerms != null ? new HashMap<>(playerPerms) : new HashMap<>();
+            return playerPerms;
         } catch (Exception e) {
             plugin.getLogger().error("Error retrieving permissions for player " + playerName, e);
-            return new HashMap<>();
+            return Map.of();
         }
     }
 
     public void setPlayerPermissions(String playerName, Map<String, Boolean> permissions) throws DatabaseException {
-        if (plugin.isDebugMode()) {
-            plugin.debug("Setting permissions for player " + playerName + " in area " + name);
-            plugin.debug("  New permissions: " + permissions);
-        }
+        logger.debug("Setting permissions for player %s in area %s", playerName, name);
+        logger.debug("  New permissions: %s", permissions);
         
         // This operation is for permissions only and should not trigger area recreation
         String permOpsKey = "permission_only_op:" + name + ":" + playerName;
@@ -1046,14 +1061,10 @@ public final class Area {
                 permissionChecker.invalidateCache(name);
                 permissionChecker.invalidatePlayerCache(playerName);
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("  Invalidated permission checker cache for area: " + name + " and player: " + playerName);
-                }
+                logger.debug("  Invalidated permission checker cache for area: %s and player: %s", name, playerName);
             }
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("  Saved player permissions to PermissionOverrideManager and updated local cache");
-            }
+            logger.debug("  Saved player permissions to PermissionOverrideManager and updated local cache");
         } finally {
             if (shouldRemove) {
                 processingSet.remove(permOpsKey);
@@ -1066,10 +1077,7 @@ public final class Area {
         
         try {
             // Get current permissions
-            Map<String, Boolean> perms = getPlayerPermissions(playerName);
-            if (perms == null) {
-                perms = new HashMap<>();
-            }
+            Map<String, Boolean> perms = new HashMap<>(getPlayerPermissions(playerName));
             
             // Update permission
             perms.put(permission, value);
@@ -1085,17 +1093,15 @@ public final class Area {
                     // Ensure permissions are synchronized immediately
                     plugin.getPermissionOverrideManager().synchronizeFromArea(this);
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Set player permission for " + playerName + " in area " + name);
-                        plugin.debug("  Permission: " + permission + " = " + value);
-                        plugin.debug("  Updated permissions: " + perms);
-                        plugin.debug("  Synchronized changes to database immediately");
-                    }
+                    logger.debug("Set player permission for %s in area %s", playerName, name);
+                    logger.debug("  Permission: %s = %s", permission, value);
+                    logger.debug("  Updated permissions: %s", perms);
+                    logger.debug("  Synchronized changes to database immediately");
                 } finally {
                     savingAreas.get().remove(syncKey);
                 }
-            } else if (plugin.isDebugMode()) {
-                plugin.debug("Prevented recursive synchronization for player " + playerName + " in area " + name);
+            } else {
+                logger.debug("Prevented recursive synchronization for player %s in area %s", playerName, name);
             }
         } catch (DatabaseException e) {
             plugin.getLogger().error("Failed to update player permission", e);
@@ -1118,10 +1124,7 @@ public final class Area {
         try {
             Map<String, Boolean> groupPerms = plugin.getPermissionOverrideManager().getGroupPermissions(name, groupName);
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Retrieved permissions for group " + groupName + " in area " + 
-                            name + ": " + (groupPerms != null ? groupPerms.size() : "null") + " permissions");
-            }
+            logger.debug(() -> String.format("Retrieved permissions for group %s in area %s: %s permissions", groupName, name, groupPerms != null ? groupPerms.size() : "null"));
             
             return groupPerms != null ? new HashMap<>(groupPerms) : new HashMap<>();
         } catch (Exception e) {
@@ -1137,74 +1140,23 @@ public final class Area {
                 // Load from database if not cached
                 groupPermissions = plugin.getPermissionOverrideManager().getAllGroupPermissions(name);
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Loaded group permissions from database for area " + name + 
-                               ": " + (groupPermissions != null ? groupPermissions.size() : "0") + " groups");
-                }
+                logger.debug(() -> String.format("Loaded group permissions from database for area %s: %s groups", name, groupPermissions != null ? groupPermissions.size() : "0"));
                 
                 // Initialize with empty map if null to avoid NPEs
                 if (groupPermissions == null) {
                     groupPermissions = new HashMap<>();
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Initialized empty group permissions map after database load returned null");
-                    }
+                    logger.debug("Initialized empty group permissions map after database load returned null");
                 }
-            } else if (plugin.isDebugMode()) {
-                plugin.debug("Using cached group permissions for area " + name + 
-                           ": " + groupPermissions.size() + " groups");
+            } else {
+                logger.debug("Using cached group permissions for area %s: %s groups", name, groupPermissions.size());
             }
             
             // Make sure group permissions are saved to the database (belt and suspenders approach)
             if (groupPermissions != null && !groupPermissions.isEmpty()) {
-                boolean needsSaving = false;
-                
-                // Check if permissions actually exist in the database
-                try (Connection conn = plugin.getPermissionOverrideManager().getConnection();
-                     PreparedStatement stmt = conn.prepareStatement(
-                         "SELECT COUNT(*) FROM group_permissions WHERE area_name = ?")) {
-                    
-                    // First verify the table exists
-                    boolean tableExists = false;
-                    try (Statement checkStmt = conn.createStatement();
-                         ResultSet tableRs = checkStmt.executeQuery("SELECT name FROM sqlite_master WHERE type='table' AND name='group_permissions'")) {
-                        tableExists = tableRs.next();
-                    }
-                    
-                    if (!tableExists) {
-                        if (plugin.isDebugMode()) {
-                            plugin.debug("  group_permissions table does not exist! Creating it now.");
-                        }
-                        try (Statement createStmt = conn.createStatement()) {
-                            createStmt.execute("CREATE TABLE IF NOT EXISTS group_permissions (" +
-                                "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                                "area_name TEXT NOT NULL, " +
-                                "group_name TEXT NOT NULL, " +
-                                "permission TEXT NOT NULL, " +
-                                "state INTEGER NOT NULL DEFAULT 1, " +
-                                "UNIQUE(area_name, group_name, permission))");
-                        }
-                        needsSaving = true;
-                    } else {
-                        // Table exists, check if permissions exist for this area
-                        stmt.setString(1, name);
-                        try (ResultSet rs = stmt.executeQuery()) {
-                            int count = rs.next() ? rs.getInt(1) : 0;
-                            needsSaving = (count == 0);
-                            
-                            if (plugin.isDebugMode()) {
-                                if (needsSaving) {
-                                    plugin.debug("  No group permissions found in database for area " + name + 
-                                               " but " + groupPermissions.size() + " groups in memory; will force save");
-                                } else {
-                                    plugin.debug("  Found " + count + " group permission entries in database for area " + name);
-                                }
-                            }
-                        }
-                    }
-                } catch (Exception e) {
-                    plugin.getLogger().error("Error checking group permissions in database", e);
-                    // Assume we need to save if we can't verify
-                    needsSaving = true;
+                // Check if permissions actually exist in the permission store
+                boolean needsSaving = !plugin.getPermissionOverrideManager().hasGroupPermissions(name);
+                if (logger.isDebugEnabled() && needsSaving) {
+                    logger.debug("  No group permissions found in database for area %s but %s groups in memory; will force save", name, groupPermissions.size());
                 }
                 
                 // If no permissions in database, force save them
@@ -1217,8 +1169,8 @@ public final class Area {
                                 name, entry.getKey(), new HashMap<>(entry.getValue()), true);
                             savedGroups++;
                             
-                            if (plugin.isDebugMode() && savedGroups % 5 == 0) {
-                                plugin.debug("  Force saved permissions for " + savedGroups + " groups so far");
+                            if (logger.isDebugEnabled() && savedGroups % 5 == 0) {
+                                logger.debug("  Force saved permissions for %s groups so far", savedGroups);
                             }
                         } catch (Exception e) {
                             plugin.getLogger().error("Error force saving group permissions during getGroupPermissions for group " + 
@@ -1226,8 +1178,8 @@ public final class Area {
                         }
                     }
                     
-                    if (plugin.isDebugMode() && savedGroups > 0) {
-                        plugin.debug("  Auto-recovery: Force saved permissions for " + savedGroups + " groups to database");
+                    if (logger.isDebugEnabled() && savedGroups > 0) {
+                        logger.debug("  Auto-recovery: Force saved permissions for %s groups to database", savedGroups);
                     }
                 }
             }
@@ -1254,10 +1206,8 @@ public final class Area {
      * @throws DatabaseException if there's an error saving to the database
      */
     public void setGroupPermissions(String groupName, Map<String, Boolean> permissions, boolean force) throws DatabaseException {
-        if (plugin.isDebugMode()) {
-            plugin.debug("Setting permissions for group " + groupName + " in area " + name + (force ? " (forced)" : ""));
-            plugin.debug("  New permissions: " + permissions);
-        }
+        logger.debug(() -> String.format("Setting permissions for group %s in area %s%s", groupName, name, force ? " (forced)" : ""));
+        logger.debug("  New permissions: %s", permissions);
         
         // This operation is for permissions only and should not trigger area recreation
         String permOpsKey = "permission_only_op:" + name + ":group:" + groupName;
@@ -1329,7 +1279,7 @@ public final class Area {
             effectivePermissionCache.clear();
             
             // Clear toggle state caches
-            toggleStateCache.invalidateAll();
+            invalidateToggleStateCache();
         } finally {
             if (shouldRemove) {
                 processingSet.remove(permOpsKey);
@@ -1350,9 +1300,7 @@ public final class Area {
                 return settings.optInt(key, defaultValue);
             }
         } catch (Exception e) {
-            if (plugin.isDebugMode()) {
-                plugin.debug("Error getting integer setting " + key + ": " + e.getMessage());
-            }
+            logger.debug("Error getting integer setting %s: %s", key, e.getMessage());
         }
         return defaultValue;
     }
@@ -1370,9 +1318,7 @@ public final class Area {
                 return settings.optString(key, defaultValue);
             }
         } catch (Exception e) {
-            if (plugin.isDebugMode()) {
-                plugin.debug("Error getting string setting " + key + ": " + e.getMessage());
-            }
+            logger.debug("Error getting string setting %s: %s", key, e.getMessage());
         }
         return defaultValue;
     }
@@ -1390,9 +1336,7 @@ public final class Area {
                 return settings.optBoolean(key, defaultValue);
             }
         } catch (Exception e) {
-            if (plugin.isDebugMode()) {
-                plugin.debug("Error getting boolean setting " + key + ": " + e.getMessage());
-            }
+            logger.debug("Error getting boolean setting %s: %s", key, e.getMessage());
         }
         return defaultValue;
     }
@@ -1407,9 +1351,7 @@ public final class Area {
         playerPermissions.clear();
         cachedPlayerPermissions = null;
         
-        if (plugin.isDebugMode()) {
-            plugin.debug("Cleared all permissions for area " + name);
-        }
+        logger.debug("Cleared all permissions for area %s", name);
     }
 
     /**
@@ -1417,10 +1359,8 @@ public final class Area {
      * This ensures all toggle states are properly saved with the correct prefix
      */
     public void normalizeToggleStates() {
-        if (plugin.isDebugMode()) {
-            plugin.debug("Normalizing toggle states for area " + name);
-            plugin.debug("  Before - Toggle states: " + toggleStates);
-        }
+        logger.debug("Normalizing toggle states for area %s", name);
+        logger.debug("  Before - Toggle states: %s", toggleStates);
         
         Map<String, Object> normalizedToggles = new HashMap<>();
         
@@ -1442,11 +1382,9 @@ public final class Area {
         toggleStates.putAll(normalizedToggles);
         
         // Invalidate toggle state cache
-        toggleStateCache.invalidateAll();
+        invalidateToggleStateCache();
         
-        if (plugin.isDebugMode()) {
-            plugin.debug("  After - Toggle states: " + toggleStates);
-        }
+        logger.debug("  After - Toggle states: %s", toggleStates);
     }
 
     /**
@@ -1454,12 +1392,10 @@ public final class Area {
      * This should be called when experiencing permission issues or inconsistencies.
      */
     public void emergencyClearCaches() {
-        if (plugin.isDebugMode()) {
-            plugin.debug("EMERGENCY CACHE CLEAR for area " + name);
-        }
+        logger.debug("EMERGENCY CACHE CLEAR for area %s", name);
         
         // Clear all caches
-        toggleStateCache.invalidateAll();
+        invalidateToggleStateCache();
         containsCache.invalidateAll();
         effectivePermissionCache.clear();
         
@@ -1472,14 +1408,10 @@ public final class Area {
                 this.toggleStates.clear();
                 this.toggleStates.putAll(freshArea.getToggleStates());
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Reloaded toggle states from database: " + toggleStates);
-                }
+                logger.debug("Reloaded toggle states from database: %s", toggleStates);
             }
         } catch (Exception e) {
-            if (plugin.isDebugMode()) {
-                plugin.debug("Error reloading area from database: " + e.getMessage());
-            }
+            logger.debug("Error reloading area from database: %s", e.getMessage());
         }
         
         // Notify all listeners that settings might have changed
@@ -1540,9 +1472,7 @@ public final class Area {
                 return (T) result;
             }
         } catch (Exception e) {
-            if (plugin.isDebugMode()) {
-                plugin.debug("Error converting setting " + key + " with value " + result + ": " + e.getMessage());
-            }
+            logger.debug("Error converting setting %s with value %s: %s", key, result, e.getMessage());
         }
         
         // If we can't convert the type properly, return the default
@@ -1556,9 +1486,7 @@ public final class Area {
     public Area synchronizeToggleStates() {
         // Check if this is a permission-only operation that shouldn't trigger area recreation
         if (plugin.getPermissionOverrideManager().isPermissionOnlyOperation()) {
-            if (plugin.isDebugMode()) {
-                plugin.debug("Skipping toggle state synchronization for permission-only operation on area: " + name);
-            }
+            logger.debug("Skipping toggle state synchronization for permission-only operation on area: %s", name);
             return this; // Just return the existing area without synchronization
         }
         
@@ -1567,9 +1495,7 @@ public final class Area {
         String syncKey = name + "_syncing_toggles";
         Set<String> inProgress = savingAreas.get();
         if (inProgress.contains(syncKey)) {
-            if (plugin.isDebugMode()) {
-                plugin.debug("Preventing recursive toggle state synchronization for area: " + name);
-            }
+            logger.debug("Preventing recursive toggle state synchronization for area: %s", name);
             return this;
         }
         
@@ -1595,16 +1521,12 @@ public final class Area {
             }
             
             if (!needsSync) {
-                if (plugin.isDebugMode()) {
-                    plugin.debug("No toggle state changes detected for area " + name + " - skipping synchronization");
-                }
+                logger.debug("No toggle state changes detected for area %s - skipping synchronization", name);
                 return this;
             }
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Synchronizing toggle states for area " + name);
-                plugin.debug("  Before - Toggle states: " + toggleStatesJson);
-            }
+            logger.debug("Synchronizing toggle states for area %s", name);
+            logger.debug("  Before - Toggle states: %s", toggleStatesJson);
             
             // Process all toggle settings from the settings object
             for (String key : settings.keySet()) {
@@ -1624,9 +1546,7 @@ public final class Area {
                     if (!toggleStatesJson.has(toggleKey) || !toggleStatesJson.get(toggleKey).equals(value)) {
                         toggleStatesJson.put(toggleKey, value);
                         
-                        if (plugin.isDebugMode()) {
-                            plugin.debug("  Adding toggle from settings: " + toggleKey + " = " + value);
-                        }
+                        logger.debug("  Adding toggle from settings: %s = %s", toggleKey, value);
                     }
                 }
             }
@@ -1646,18 +1566,14 @@ public final class Area {
                 if (!toggleStatesJson.has(toggleKey)) {
                     toggleStatesJson.put(toggleKey, value);
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("  Adding missing toggle from memory: " + toggleKey + " = " + value);
-                    }
+                    logger.debug("  Adding missing toggle from memory: %s = %s", toggleKey, value);
                 }
             }
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("  After - Toggle states: " + toggleStatesJson);
-            }
+            logger.debug("  After - Toggle states: %s", toggleStatesJson);
             
             // Invalidate toggle state cache after synchronization
-            toggleStateCache.invalidateAll();
+            invalidateToggleStateCache();
             
             // Update area with synchronized toggle states
             return AreaBuilder.fromDTO(currentDTO)
@@ -1793,9 +1709,7 @@ public final class Area {
             Map<String, Map<String, Boolean>> groupPerms,
             Map<String, Map<String, Boolean>> trackPerms) {
         
-        if (plugin.isDebugMode()) {
-            plugin.debug("Updating internal permission maps for area " + name);
-        }
+        logger.debug("Updating internal permission maps for area %s", name);
         
         // Update player permissions - but only if the provided map is not empty
         // This prevents accidental clearing of permissions during area recreation
@@ -1818,38 +1732,30 @@ public final class Area {
         if (trackPerms != null) {
             this.trackPermissions = new HashMap<>(trackPerms);
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("  Updated track permissions with " + trackPerms.size() + " tracks");
+            if (logger.isDebugEnabled()) {
+                logger.debug("  Updated track permissions with %s tracks", trackPerms.size());
                 if (!trackPerms.isEmpty()) {
-                    plugin.debug("  Track names: " + String.join(", ", trackPerms.keySet()));
+                    logger.debug("  Track names: %s", String.join(", ", trackPerms.keySet()));
                     // Log a sample of permissions for one track
                     if (!trackPerms.isEmpty()) {
                         String firstTrack = trackPerms.keySet().iterator().next();
                         Map<String, Boolean> perms = trackPerms.get(firstTrack);
-                        plugin.debug("  Sample track permissions for " + firstTrack + ": " + 
-                                   (perms != null ? perms.size() : 0) + " permissions");
+                        logger.debug("  Sample track permissions for %s: %s permissions", firstTrack, perms != null ? perms.size() : 0);
                     }
                 }
             }
         } else if (this.trackPermissions == null) {
             // Initialize with empty map if null to avoid NPEs
             this.trackPermissions = new HashMap<>();
-            if (plugin.isDebugMode()) {
-                plugin.debug("  Initialized empty track permissions map");
-            }
+            logger.debug("  Initialized empty track permissions map");
         }
         
         // Clear the effective permission cache to force recalculation
         this.effectivePermissionCache.clear();
         
-        if (plugin.isDebugMode()) {
-            plugin.debug("  Updated player permissions: " + 
-                (this.playerPermissions != null ? this.playerPermissions.size() : 0) + " players");
-            plugin.debug("  Updated group permissions: " + 
-                (this.groupPermissions != null ? this.groupPermissions.size() : 0) + " groups");
-            plugin.debug("  Updated track permissions: " + 
-                (this.trackPermissions != null ? this.trackPermissions.size() : 0) + " tracks");
-        }
+        logger.debug(() -> String.format("  Updated player permissions: %s players", this.playerPermissions != null ? this.playerPermissions.size() : 0));
+        logger.debug(() -> String.format("  Updated group permissions: %s groups", this.groupPermissions != null ? this.groupPermissions.size() : 0));
+        logger.debug(() -> String.format("  Updated track permissions: %s tracks", this.trackPermissions != null ? this.trackPermissions.size() : 0));
     }
 
     /**
@@ -1877,19 +1783,15 @@ public final class Area {
             boolean currentState = getToggleState(normalizedPermission);
             if (currentState == state) {
                 // No change needed
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Memory toggle state for " + normalizedPermission + " already set to " + state + " - no change needed");
-                }
+                logger.debug("Memory toggle state for %s already set to %s - no change needed", normalizedPermission, state);
                 return;
             }
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Memory-only update of toggle " + normalizedPermission + " from " + currentState + " to " + state);
-            }
+            logger.debug("Memory-only update of toggle %s from %s to %s", normalizedPermission, currentState, state);
             
             // Update cache and storage in memory only
             toggleStates.put(normalizedPermission, state);
-            toggleStateCache.invalidateAll(); // Clear the entire toggle state cache
+            invalidateToggleStateCache(); // Clear the entire toggle state cache
             
             // Invalidate all protection caches to ensure changes take effect immediately
             if (plugin.getListenerManager() != null && 
@@ -1903,9 +1805,7 @@ public final class Area {
             
             // Note: No database updates are triggered from this method
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("  Memory-only toggle update complete - database was NOT updated");
-            }
+            logger.debug("  Memory-only toggle update complete - database was NOT updated");
         }
     }
 
@@ -1914,9 +1814,7 @@ public final class Area {
         Set<String> inProgress = savingAreas.get();
         if (inProgress.contains(name)) {
             // We're already saving this area in the current call stack
-            if (plugin.isDebugMode()) {
-                plugin.debug("Preventing recursive database save for area " + name);
-            }
+            logger.debug("Preventing recursive database save for area %s", name);
             return true; // Return success to avoid disrupting the parent operation
         }
         inProgress.add(name);
@@ -1930,17 +1828,15 @@ public final class Area {
             // Rate limit database updates
             long currentTime = System.currentTimeMillis();
             if (plugin.getRecentSaveTracker().wasRecentlyUpdated(name, currentTime)) {
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Skipping database update for area " + name + " due to rate limiting");
-                }
+                logger.debug("Skipping database update for area %s due to rate limiting", name);
                 return true;
             }
             
             // Only log if we're in debug mode and not in a high-frequency context
-            boolean shouldLog = plugin.isDebugMode() && !plugin.getRecentSaveTracker().isHighFrequencyContext();
+            boolean shouldLog = logger.isDebugEnabled() && !plugin.getRecentSaveTracker().isHighFrequencyContext();
             
             if (shouldLog) {
-                plugin.debug("Saving area " + name + " to database");
+                logger.debug("Saving area %s to database", name);
             }
             
             try {
@@ -1950,7 +1846,7 @@ public final class Area {
                 plugin.getRecentSaveTracker().markUpdated(name, currentTime);
                 
                 if (shouldLog) {
-                    plugin.debug("  Successfully updated area in the database");
+                    logger.debug("  Successfully updated area in the database");
                 }
                 
                 return true;
@@ -1985,9 +1881,9 @@ public final class Area {
             int operationsFailed = 0;
             
             // Only log at the start if we're in debug mode
-            boolean shouldLog = plugin.isDebugMode();
+            boolean shouldLog = logger.isDebugEnabled();
             if (shouldLog) {
-                plugin.debug("Starting batch update for area " + name);
+                logger.debug("Starting batch update for area %s", name);
             }
             
             // First update toggle states if requested
@@ -2023,9 +1919,8 @@ public final class Area {
             // Log completion if we're in debug mode
             if (shouldLog) {
                 long duration = System.currentTimeMillis() - startTime;
-                plugin.debug("Completed batch update for area " + name + 
-                    " in " + duration + "ms (" + operationsSuccess + " succeeded, " + 
-                    operationsFailed + " failed)");
+                logger.debug("Completed batch update for area %s in %sms (%s succeeded, %s failed)",
+                    name, duration, operationsSuccess, operationsFailed);
             }
             
             return success;
@@ -8,6 +8,7 @@ import cn.nukkit.Player;
 import cn.nukkit.level.Position;
 import cn.nukkit.item.Item;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.HashSet;
 import java.util.Set;
@@ -24,14 +25,20 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.sql.Timestamp;
 import java.time.ZoneId;
+import java.time.Instant;
 import java.sql.SQLException;
 
 import adminarea.AdminAreaProtectionPlugin;
 import adminarea.constants.FormIds;
 import adminarea.data.FormTrackingData;
 import adminarea.permissions.PermissionToggle;
+import adminarea.permissions.PermissionTrace;
 import adminarea.stats.AreaStatistics;
 import adminarea.stats.AreaModification;
+import adminarea.util.CacheRegistry;
+import adminarea.util.HandlerProfiler;
+import adminarea.util.LoadShedder;
+import adminarea.util.PerformanceMonitor;
 
 public class AreaCommand extends Command {
 
@@ -50,8 +57,8 @@ public class AreaCommand extends Command {
         this.commandParameters.put("default", new CommandParameter[]{
             CommandParameter.newEnum("subCommand", new String[]{
                 "create", "edit", "delete", "list", "wand", "pos1", "pos2", "help",
-                "bypass", "merge", "visualize", "stats", "reload", "undo", "clear",
-                "here", "expand", "debug", "reset", "cache-reload"
+                "bypass", "merge", "visualize", "stats", "perf", "reload", "undo", "clear",
+                "here", "expand", "debug", "trace", "reset", "cache-reload"
             })
         });
         this.commandParameters.put("edit", new CommandParameter[]{
@@ -76,6 +83,11 @@ public class AreaCommand extends Command {
             CommandParameter.newType("areaName", CommandParamType.STRING),
             CommandParameter.newEnum("action", new String[]{"export", "reset"})
         });
+        this.commandParameters.put("perf", new CommandParameter[]{
+            CommandParameter.newEnum("subCommand", new String[]{"perf"}),
+            CommandParameter.newEnum("view", new String[]{"latency", "caches", "allocation"}),
+            CommandParameter.newEnum("action", new String[]{"export"})
+        });
         this.commandParameters.put("expand", new CommandParameter[]{
             CommandParameter.newEnum("subCommand", new String[]{"expand"}),
             CommandParameter.newEnum("direction", new String[]{"up", "down", "north", "south", "east", "west"}),
@@ -85,6 +97,11 @@ public class AreaCommand extends Command {
             CommandParameter.newEnum("subCommand", new String[]{"debug"}),
             CommandParameter.newEnum("state", new String[]{"on", "off"})
         });
+        this.commandParameters.put("trace", new CommandParameter[]{
+            CommandParameter.newEnum("subCommand", new String[]{"trace"}),
+            CommandParameter.newEnum("action", new String[]{"player", "area", "show", "clear"}),
+            CommandParameter.newType("target", CommandParamType.STRING)
+        });
         this.commandParameters.put("reset", new CommandParameter[]{
             CommandParameter.newEnum("subCommand", new String[]{"reset"})
         });
@@ -155,6 +172,8 @@ public class AreaCommand extends Command {
                     return handleVisualizeCommand(player, args);
                 case "stats":
                     return handleStatsCommand(player, args);
+                case "perf":
+                    return handlePerfCommand(player, args);
                 case "merge":
                     return handleMergeCommand(player, args);
                 
@@ -165,6 +184,8 @@ public class AreaCommand extends Command {
                     return handleReloadCommand(player);
                 case "debug":
                     return handleDebugCommand(player, args);
+                case "trace":
+                    return handleTraceCommand(player, args);
                 case "cache-reload":
                     return handleCacheReloadCommand(player, args);
                 
@@ -577,164 +598,158 @@ public class AreaCommand extends Command {
                 
                 // Get the AreaStatistics instance
                 AreaStatistics areaStats = plugin.getAreaManager().getAreaStats(areaName);
+                // Buffered events go into the export too
+                areaStats.flushEvents();
                 
-                // Try to get database connection via reflection (like we do in resetStats)
-                Connection conn = null;
-                try {
-                    java.lang.reflect.Method getConnMethod = AreaStatistics.class.getDeclaredMethod("getConnection");
-                    getConnMethod.setAccessible(true);
-                    conn = (Connection) getConnMethod.invoke(areaStats);
-                } catch (Exception e) {
-                    plugin.getLogger().error("Failed to get database connection via reflection", e);
-                    // Will fall back to using just the summary stats below
-                }
-                
-                // If we have a database connection, get detailed timed actions
-                if (conn != null) {
-                    // 1. Query for detailed interaction stats with timestamps
-                    try (PreparedStatement stmt = conn.prepareStatement(
-                            "SELECT timestamp, action_type, player_id, details FROM interactions WHERE area_id = ? ORDER BY timestamp DESC")) {
-                        stmt.setString(1, areaName);
+                // Pooled read connection from the statistics database, closed after the export
+                try (Connection conn = openStatsConnection(areaStats)) {
+                    // If we have a database connection, get detailed timed actions
+                    if (conn != null) {
+                        // 1. Query for detailed interaction stats with timestamps
+                        try (PreparedStatement stmt = conn.prepareStatement(
+                                "SELECT timestamp, action_type, player_id, details FROM interactions WHERE area_id = ? ORDER BY timestamp DESC")) {
+                            stmt.setString(1, areaName);
                         
-                        try (ResultSet rs = stmt.executeQuery()) {
-                            DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-                            DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss");
+                            try (ResultSet rs = stmt.executeQuery()) {
+                                DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+                                DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss");
                             
-                            while (rs.next()) {
-                                String actionType = rs.getString("action_type");
-                                String playerId = rs.getString("player_id");
-                                String details = rs.getString("details");
-                                if (details == null) details = "";
+                                while (rs.next()) {
+                                    String actionType = rs.getString("action_type");
+                                    String playerId = rs.getString("player_id");
+                                    String details = rs.getString("details");
+                                    if (details == null) details = "";
                                 
-                                // Parse timestamp
-                                LocalDateTime dateTime;
-                                try {
-                                    Timestamp sqlTimestamp = rs.getTimestamp("timestamp");
-                                    dateTime = sqlTimestamp.toLocalDateTime();
-                                } catch (Exception e) {
-                                    dateTime = LocalDateTime.now();
-                                }
+                                    // Parse timestamp
+                                    LocalDateTime dateTime;
+                                    try {
+                                        Timestamp sqlTimestamp = rs.getTimestamp("timestamp");
+                                        dateTime = sqlTimestamp.toLocalDateTime();
+                                    } catch (Exception e) {
+                                        dateTime = LocalDateTime.now();
+                                    }
                                 
-                                // Format date and time parts separately
-                                String datePart = dateTime.format(dateFormatter);
-                                String timePart = dateTime.format(timeFormatter);
+                                    // Format date and time parts separately
+                                    String datePart = dateTime.format(dateFormatter);
+                                    String timePart = dateTime.format(timeFormatter);
                                 
-                                // Write CSV row - escape commas in fields
-                                writer.write(String.format("%s,%s,%s,1,\"%s\",\"%s\"\n",
-                                    datePart, timePart, actionType, escapeCsvField(playerId), escapeCsvField(details)));
+                                    // Write CSV row - escape commas in fields
+                                    writer.write(String.format("%s,%s,%s,1,\"%s\",\"%s\"\n",
+                                        datePart, timePart, actionType, escapeCsvField(playerId), escapeCsvField(details)));
+                                }
                             }
                         }
-                    }
                     
-                    // 2. Query for violation stats with timestamps
-                    try (PreparedStatement stmt = conn.prepareStatement(
-                            "SELECT timestamp, violation_type, player_id FROM violations WHERE area_id = ? ORDER BY timestamp DESC")) {
-                        stmt.setString(1, areaName);
+                        // 2. Query for violation stats with timestamps
+                        try (PreparedStatement stmt = conn.prepareStatement(
+                                "SELECT timestamp, violation_type, player_id FROM violations WHERE area_id = ? ORDER BY timestamp DESC")) {
+                            stmt.setString(1, areaName);
                         
-                        try (ResultSet rs = stmt.executeQuery()) {
-                            DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-                            DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss");
+                            try (ResultSet rs = stmt.executeQuery()) {
+                                DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+                                DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss");
                             
-                            while (rs.next()) {
-                                String violationType = rs.getString("violation_type");
-                                String playerId = rs.getString("player_id");
+                                while (rs.next()) {
+                                    String violationType = rs.getString("violation_type");
+                                    String playerId = rs.getString("player_id");
                                 
-                                // Parse timestamp
-                                LocalDateTime dateTime;
-                                try {
-                                    Timestamp sqlTimestamp = rs.getTimestamp("timestamp");
-                                    dateTime = sqlTimestamp.toLocalDateTime();
-                                } catch (Exception e) {
-                                    dateTime = LocalDateTime.now();
-                                }
+                                    // Parse timestamp
+                                    LocalDateTime dateTime;
+                                    try {
+                                        Timestamp sqlTimestamp = rs.getTimestamp("timestamp");
+                                        dateTime = sqlTimestamp.toLocalDateTime();
+                                    } catch (Exception e) {
+                                        dateTime = LocalDateTime.now();
+                                    }
                                 
-                                // Format date and time parts separately
-                                String datePart = dateTime.format(dateFormatter);
-                                String timePart = dateTime.format(timeFormatter);
+                                    // Format date and time parts separately
+                                    String datePart = dateTime.format(dateFormatter);
+                                    String timePart = dateTime.format(timeFormatter);
                                 
-                                // Write CSV row
-                                writer.write(String.format("%s,%s,violation_%s,1,\"%s\",\"\"\n",
-                                    datePart, timePart, violationType, escapeCsvField(playerId)));
+                                    // Write CSV row
+                                    writer.write(String.format("%s,%s,violation_%s,1,\"%s\",\"\"\n",
+                                        datePart, timePart, violationType, escapeCsvField(playerId)));
+                                }
                             }
                         }
-                    }
                     
-                    // 3. Query for modification stats with timestamps
-                    try (PreparedStatement stmt = conn.prepareStatement(
-                            "SELECT timestamp, modification_type, player_id, details FROM modifications WHERE area_id = ? ORDER BY timestamp DESC")) {
-                        stmt.setString(1, areaName);
+                        // 3. Query for modification stats with timestamps
+                        try (PreparedStatement stmt = conn.prepareStatement(
+                                "SELECT timestamp, modification_type, player_id, details FROM modifications WHERE area_id = ? ORDER BY timestamp DESC")) {
+                            stmt.setString(1, areaName);
                         
-                        try (ResultSet rs = stmt.executeQuery()) {
-                            DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-                            DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss");
+                            try (ResultSet rs = stmt.executeQuery()) {
+                                DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+                                DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm:ss");
                             
-                            while (rs.next()) {
-                                String modificationType = rs.getString("modification_type");
-                                String playerId = rs.getString("player_id");
-                                String details = rs.getString("details");
-                                if (details == null) details = "";
+                                while (rs.next()) {
+                                    String modificationType = rs.getString("modification_type");
+                                    String playerId = rs.getString("player_id");
+                                    String details = rs.getString("details");
+                                    if (details == null) details = "";
                                 
-                                // Parse timestamp
-                                LocalDateTime dateTime;
-                                try {
-                                    Timestamp sqlTimestamp = rs.getTimestamp("timestamp");
-                                    dateTime = sqlTimestamp.toLocalDateTime();
-                                } catch (Exception e) {
-                                    dateTime = LocalDateTime.now();
-                                }
+                                    // Parse timestamp
+                                    LocalDateTime dateTime;
+                                    try {
+                                        Timestamp sqlTimestamp = rs.getTimestamp("timestamp");
+                                        dateTime = sqlTimestamp.toLocalDateTime();
+                                    } catch (Exception e) {
+                                        dateTime = LocalDateTime.now();
+                                    }
                                 
-                                // Format date and time parts separately
-                                String datePart = dateTime.format(dateFormatter);
-                                String timePart = dateTime.format(timeFormatter);
+                                    // Format date and time parts separately
+                                    String datePart = dateTime.format(dateFormatter);
+                                    String timePart = dateTime.format(timeFormatter);
                                 
-                                // Write CSV row
-                                writer.write(String.format("%s,%s,mod_%s,1,\"%s\",\"%s\"\n",
-                                    datePart, timePart, modificationType, escapeCsvField(playerId), escapeCsvField(details)));
+                                    // Write CSV row
+                                    writer.write(String.format("%s,%s,mod_%s,1,\"%s\",\"%s\"\n",
+                                        datePart, timePart, modificationType, escapeCsvField(playerId), escapeCsvField(details)));
+                                }
                             }
                         }
-                    }
-                } else {
-                    // Fallback to just using the available methods if we couldn't get DB connection
+                    } else {
+                        // Fallback to just using the available methods if we couldn't get DB connection
                     
-                    // Get interaction stats in a more detailed format
-                    Map<String, Integer> interactionStats = areaStats.getInteractionStats(areaName);
+                        // Get interaction stats in a more detailed format
+                        Map<String, Integer> interactionStats = areaStats.getInteractionStats(areaName);
                     
-                    // Get modifications if available
-                    List<AreaModification> recentMods = new ArrayList<>();
-                    try {
-                        recentMods = areaStats.getRecentModifications(areaName, 1000);
-                    } catch (Exception e) {
-                        plugin.getLogger().debug("Could not get modifications: " + e.getMessage());
-                    }
+                        // Get modifications if available
+                        List<AreaModification> recentMods = new ArrayList<>();
+                        try {
+                            recentMods = areaStats.getRecentModifications(areaName, 1000);
+                        } catch (Exception e) {
+                            plugin.getLogger().debug("Could not get modifications: " + e.getMessage());
+                        }
                     
-                    // Get summary stats
-                    org.json.JSONObject summaryStats = areaStats.getAreaCommandStats(areaName);
+                        // Get summary stats
+                        org.json.JSONObject summaryStats = areaStats.getAreaCommandStats(areaName);
                     
-                    // Write current date/time for all entries
-                    String currentDate = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-                    String currentTime = LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss"));
+                        // Write current date/time for all entries
+                        String currentDate = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+                        String currentTime = LocalDateTime.now().format(DateTimeFormatter.ofPattern("HH:mm:ss"));
                     
-                    // Write interaction stats
-                    for (Map.Entry<String, Integer> entry : interactionStats.entrySet()) {
-                        String statType = entry.getKey();
-                        int value = entry.getValue();
+                        // Write interaction stats
+                        for (Map.Entry<String, Integer> entry : interactionStats.entrySet()) {
+                            String statType = entry.getKey();
+                            int value = entry.getValue();
                         
-                        writer.write(String.format("%s,%s,%s,%d,AGGREGATED,\"\"\n",
-                            currentDate, currentTime, statType, value));
-                    }
+                            writer.write(String.format("%s,%s,%s,%d,AGGREGATED,\"\"\n",
+                                currentDate, currentTime, statType, value));
+                        }
                     
-                    // Write modification data if available
-                    for (AreaModification mod : recentMods) {
-                        // Format the timestamp
-                        LocalDateTime dateTime = mod.timestamp().atZone(ZoneId.systemDefault()).toLocalDateTime();
-                        String datePart = dateTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-                        String timePart = dateTime.format(DateTimeFormatter.ofPattern("HH:mm:ss"));
+                        // Write modification data if available
+                        for (AreaModification mod : recentMods) {
+                            // Format the timestamp
+                            LocalDateTime dateTime = mod.timestamp().atZone(ZoneId.systemDefault()).toLocalDateTime();
+                            String datePart = dateTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+                            String timePart = dateTime.format(DateTimeFormatter.ofPattern("HH:mm:ss"));
                         
-                        String details = mod.details();
-                        if (details == null) details = "";
+                            String details = mod.details();
+                            if (details == null) details = "";
                         
-                        writer.write(String.format("%s,%s,mod_%s,1,\"%s\",\"%s\"\n",
-                            datePart, timePart, mod.modificationType(), escapeCsvField(mod.playerId()), escapeCsvField(details)));
+                            writer.write(String.format("%s,%s,mod_%s,1,\"%s\",\"%s\"\n",
+                                datePart, timePart, mod.modificationType(), escapeCsvField(mod.playerId()), escapeCsvField(details)));
+                        }
                     }
                 }
                 
@@ -789,6 +804,17 @@ public class AreaCommand extends Command {
         }
     }
 
+    // Opens a read connection to the statistics database, or returns null if it is unavailable
+    private Connection openStatsConnection(AreaStatistics areaStats) {
+        try {
+            return areaStats.getDatabase().getReadConnection();
+        } catch (SQLException e) {
+            plugin.getLogger().error("Failed to get statistics database connection", e);
+            // Will fall back to using just the summary stats
+            return null;
+        }
+    }
+
     // Helper method to escape CSV fields that might contain commas or quotes
     private String escapeCsvField(String field) {
         if (field == null) return "";
@@ -796,6 +822,190 @@ public class AreaCommand extends Command {
         return field.replace("\"", "\"\"");
     }
 
+    /**
+     * Shows plugin-wide performance data. Kept apart from {@code /area stats} so that no
+     * view name can hide an area with the same name.
+     */
+    private boolean handlePerfCommand(Player player, String[] args) {
+        if (!player.hasPermission("adminarea.stats.view")) {
+            player.sendMessage(plugin.getLanguageManager().get("messages.permissions.viewStats"));
+            return true;
+        }
+
+        String view = args.length > 1 ? args[1].toLowerCase() : "latency";
+        switch (view) {
+            case "latency":
+                return showPerformanceStats(player, args.length == 3 && args[2].equalsIgnoreCase("export"));
+            case "caches":
+                return showCacheStats(player);
+            case "allocation":
+                return showAllocationStats(player);
+            default:
+                player.sendMessage(plugin.getLanguageManager().get("messages.commands.usage.perf"));
+                return true;
+        }
+    }
+
+    /**
+     * Shows the latency percentiles of the plugin's timed operations, or writes them to a file
+     */
+    private boolean showPerformanceStats(Player player, boolean export) {
+        PerformanceMonitor monitor = plugin.getPerformanceMonitor();
+
+        if (export) {
+            if (!player.hasPermission("adminarea.stats.export")) {
+                player.sendMessage(plugin.getLanguageManager().get("messages.permissions.exportStats"));
+                return true;
+            }
+            try {
+                File file = monitor.exportLatencies().toFile();
+                player.sendMessage(plugin.getLanguageManager().get("messages.success.latencyExported",
+                    Map.of("file", file.getName())));
+                return true;
+            } catch (Exception e) {
+                plugin.getLogger().error("Error exporting operation latencies", e);
+                player.sendMessage(plugin.getLanguageManager().get("messages.error.statsError"));
+                return false;
+            }
+        }
+
+        showLoadStats(player, monitor.getLoadShedder());
+
+        List<PerformanceMonitor.OperationLatency> latencies = monitor.getLatencies();
+        player.sendMessage(plugin.getLanguageManager().get("messages.area.stats.performance.header",
+            Map.of("window", PerformanceMonitor.PERCENTILE_WINDOW.toMinutes() + "m")));
+        if (latencies.isEmpty()) {
+            player.sendMessage(plugin.getLanguageManager().get("messages.area.stats.performance.empty"));
+            return true;
+        }
+
+        for (PerformanceMonitor.OperationLatency latency : latencies) {
+            player.sendMessage(plugin.getLanguageManager().get("messages.area.stats.performance.row",
+                Map.of(
+                    "operation", latency.operation(),
+                    "count", String.valueOf(latency.count()),
+                    "p50", String.format(Locale.ROOT, "%.2f", latency.p50()),
+                    "p95", String.format(Locale.ROOT, "%.2f", latency.p95()),
+                    "p99", String.format(Locale.ROOT, "%.2f", latency.p99()),
+                    "p999", String.format(Locale.ROOT, "%.2f", latency.p999()),
+                    "max", String.format(Locale.ROOT, "%.2f", latency.max())
+                )));
+        }
+        return true;
+    }
+
+    private boolean showCacheStats(Player player) {
+        CacheRegistry caches = plugin.getPerformanceMonitor().getCacheRegistry();
+        // Commands run on the main thread, so the caches can be read directly
+        caches.refresh();
+
+        List<CacheRegistry.CacheStats> stats = caches.getStats();
+        long totalBytes = stats.stream().mapToLong(CacheRegistry.CacheStats::estimatedBytes).sum();
+        player.sendMessage(plugin.getLanguageManager().get("messages.area.stats.caches.header",
+            Map.of("count", String.valueOf(stats.size()), "memory", formatBytes(totalBytes))));
+
+        for (CacheRegistry.CacheStats cache : stats) {
+            double hitRate = cache.hitRate();
+            player.sendMessage(plugin.getLanguageManager().get("messages.area.stats.caches.row",
+                Map.of(
+                    "cache", cache.name(),
+                    "size", String.valueOf(cache.size()),
+                    "hitRate", Double.isNaN(hitRate) ? "-" : String.format(Locale.ROOT, "%.1f%%", hitRate * 100),
+                    "lookups", cache.tracksLookups() ? String.valueOf(cache.hits() + cache.misses()) : "-",
+                    "evictions", String.valueOf(cache.evictions()),
+                    "memory", formatBytes(cache.estimatedBytes())
+                )));
+        }
+        return true;
+    }
+
+    private boolean showAllocationStats(Player player) {
+        HandlerProfiler profiler = plugin.getPerformanceMonitor().getHandlerProfiler();
+        if (!profiler.isSamplingAllocations()) {
+            player.sendMessage(plugin.getLanguageManager().get("messages.area.stats.allocation.disabled"));
+            return true;
+        }
+
+        List<HandlerProfiler.HandlerAllocation> allocations = profiler.getAllocations();
+        player.sendMessage(plugin.getLanguageManager().get("messages.area.stats.allocation.header",
+            Map.of("rate", String.valueOf(profiler.getSampleRate()))));
+        if (allocations.isEmpty()) {
+            player.sendMessage(plugin.getLanguageManager().get("messages.area.stats.allocation.empty"));
+            return true;
+        }
+
+        for (HandlerProfiler.HandlerAllocation allocation : allocations) {
+            player.sendMessage(plugin.getLanguageManager().get("messages.area.stats.allocation.row",
+                Map.of(
+                    "handler", allocation.handler(),
+                    "mean", formatBytes((long) allocation.meanBytes()),
+                    "max", formatBytes((long) allocation.maxBytes()),
+                    "total", formatBytes(allocation.estimatedTotalBytes()),
+                    "calls", String.valueOf(allocation.invocations()),
+                    "samples", String.valueOf(allocation.samples())
+                )));
+        }
+        return true;
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+        }
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    private void showLoadStats(Player player, LoadShedder shedder) {
+        String mode = plugin.getLanguageManager().get(shedder.isDegraded()
+            ? "messages.area.stats.load.degraded"
+            : "messages.area.stats.load.normal");
+        player.sendMessage(plugin.getLanguageManager().get("messages.area.stats.load.header",
+            Map.of(
+                "average", String.valueOf(shedder.getAverageMicros()),
+                "peak", String.valueOf(shedder.getPeakMicros()),
+                "budget", String.valueOf(shedder.getBudgetMicros())
+            )));
+        player.sendMessage(plugin.getLanguageManager().get("messages.area.stats.load.mode",
+            Map.of(
+                "mode", mode,
+                "entries", String.valueOf(shedder.getDegradedEntries()),
+                "seconds", String.valueOf(shedder.getDegradedMillis() / 1000)
+            )));
+
+        for (LoadShedder.Contribution contribution : shedder.getContributions()) {
+            player.sendMessage(plugin.getLanguageManager().get("messages.area.stats.load.contribution",
+                Map.of(
+                    "operation", contribution.operation(),
+                    "micros", String.valueOf(contribution.microsPerTick())
+                )));
+        }
+
+        DateTimeFormatter timeFormat = DateTimeFormatter.ofPattern("HH:mm:ss");
+        for (LoadShedder.Trigger trigger : shedder.getTriggers()) {
+            player.sendMessage(plugin.getLanguageManager().get("messages.area.stats.load.trigger",
+                Map.of(
+                    "time", LocalDateTime.ofInstant(Instant.ofEpochMilli(trigger.timestamp()),
+                        ZoneId.systemDefault()).format(timeFormat),
+                    "average", String.valueOf(trigger.averageMicros()),
+                    "peak", String.valueOf(trigger.peakMicros()),
+                    "operation", trigger.topOperation()
+                )));
+        }
+
+        StringBuilder shed = new StringBuilder();
+        for (Map.Entry<String, Long> count : shedder.getShedCounts().entrySet()) {
+            if (shed.length() > 0) {
+                shed.append(", ");
+            }
+            shed.append(count.getKey()).append(' ').append(count.getValue());
+        }
+        player.sendMessage(plugin.getLanguageManager().get("messages.area.stats.load.shed",
+            Map.of("counts", shed.toString())));
+    }
+
     private boolean resetStats(Player player, Area area) {
         try {
             String areaName = area.getName();
@@ -805,20 +1015,11 @@ public class AreaCommand extends Command {
             
             // 2. Clear database records for this area
             try {
-                // Get the database connection through reflection to access the protected method
-                // This is a bit hacky, but we need access to the DB connection
-                Connection conn = null;
-                try {
-                    java.lang.reflect.Method getConnMethod = AreaStatistics.class.getDeclaredMethod("getConnection");
-                    getConnMethod.setAccessible(true);
-                    conn = (Connection) getConnMethod.invoke(areaStats);
-                } catch (Exception e) {
-                    plugin.getLogger().error("Failed to get database connection via reflection", e);
-                    player.sendMessage(plugin.getLanguageManager().get("messages.error.resetFailed"));
-                    return false;
-                }
+                // Buffered events must not reappear after the reset
+                areaStats.flushEvents();
                 
-                if (conn != null) {
+                // All deletes run as one transaction on the statistics writer thread
+                areaStats.getDatabase().write(conn -> {
                     // Delete all interactions for this area
                     try (PreparedStatement stmt = conn.prepareStatement(
                         "DELETE FROM interactions WHERE area_id = ?")) {
@@ -843,13 +1044,17 @@ public class AreaCommand extends Command {
                         plugin.debug("Deleted " + deleted + " modification records for area " + areaName);
                     }
                     
+                    // Delete the interaction rollups
+                    areaStats.deleteRollups(conn, areaName);
+                    
                     // Delete any area_statistics entries
                     try (PreparedStatement stmt = conn.prepareStatement(
                         "DELETE FROM area_statistics WHERE area_name = ?")) {
                         stmt.setString(1, areaName);
                         stmt.executeUpdate();
                     }
-                }
+                    return null;
+                });
             } catch (SQLException e) {
                 plugin.getLogger().error("Failed to clear database statistics", e);
                 // Continue execution to also clear in-memory stats
@@ -987,6 +1192,95 @@ public class AreaCommand extends Command {
         return true;
     }
 
+    private boolean handleTraceCommand(Player player, String[] args) {
+        if (!player.hasPermission("adminarea.debug")) {
+            player.sendMessage(plugin.getLanguageManager().get("messages.permissions.debugMode"));
+            return true;
+        }
+
+        PermissionTrace trace = plugin.getPermissionOverrideManager().getPermissionChecker().getTrace();
+        String action = args.length > 1 ? args[1].toLowerCase() : "show";
+        switch (action) {
+            case "player": {
+                if (args.length < 3) {
+                    break;
+                }
+                // Online players are matched case-insensitively; offline names are taken as typed
+                Player target = plugin.getServer().getPlayerExact(args[2]);
+                String name = target != null ? target.getName() : args[2];
+                boolean traced = trace.togglePlayer(name);
+                player.sendMessage(plugin.getLanguageManager().get(
+                    "messages.area.trace." + (traced ? "started" : "stopped"), Map.of("subject", name)));
+                return true;
+            }
+            case "area": {
+                if (args.length < 3) {
+                    break;
+                }
+                Area area = plugin.getAreaManager().getArea(args[2]);
+                if (area == null) {
+                    player.sendMessage(plugin.getLanguageManager().get("messages.areaNotFound",
+                        Map.of("area", args[2])));
+                    return true;
+                }
+                boolean traced = trace.toggleArea(area.getName());
+                player.sendMessage(plugin.getLanguageManager().get(
+                    "messages.area.trace." + (traced ? "started" : "stopped"), Map.of("subject", area.getName())));
+                return true;
+            }
+            case "show": {
+                int count = 10;
+                if (args.length > 2) {
+                    try {
+                        count = Math.max(1, Integer.parseInt(args[2]));
+                    } catch (NumberFormatException e) {
+                        break;
+                    }
+                }
+                showTrace(player, trace, count);
+                return true;
+            }
+            case "clear":
+                trace.clear();
+                player.sendMessage(plugin.getLanguageManager().get("messages.area.trace.cleared"));
+                return true;
+            default:
+                break;
+        }
+        player.sendMessage(plugin.getLanguageManager().get("messages.commands.usage.trace"));
+        return true;
+    }
+
+    private void showTrace(Player player, PermissionTrace trace, int count) {
+        Set<String> subjects = new HashSet<>(trace.getTracedPlayers());
+        subjects.addAll(trace.getTracedAreas());
+        player.sendMessage(plugin.getLanguageManager().get("messages.area.trace.header",
+            Map.of("subjects", subjects.isEmpty() ? "-" : String.join(", ", subjects))));
+
+        List<PermissionTrace.Decision> decisions = trace.getRecent(count);
+        if (decisions.isEmpty()) {
+            player.sendMessage(plugin.getLanguageManager().get("messages.area.trace.empty"));
+            return;
+        }
+
+        DateTimeFormatter timeFormat = DateTimeFormatter.ofPattern("HH:mm:ss");
+        for (PermissionTrace.Decision decision : decisions) {
+            player.sendMessage(plugin.getLanguageManager().get("messages.area.trace.row",
+                Map.of(
+                    "time", LocalDateTime.ofInstant(Instant.ofEpochMilli(decision.timestamp()),
+                        ZoneId.systemDefault()).format(timeFormat),
+                    "player", decision.player() != null ? decision.player() : "-",
+                    "area", decision.area() != null ? decision.area() : "-",
+                    "permission", decision.permission(),
+                    "result", plugin.getLanguageManager().get(decision.allowed()
+                        ? "messages.area.trace.allowed"
+                        : "messages.area.trace.denied"),
+                    "layer", String.valueOf(decision.layer()),
+                    "path", decision.path()
+                )));
+        }
+    }
+
     private boolean handleCreateCommand(Player player, String[] args) {
         if (!player.hasPermission("adminarea.command.area.create")) {
             player.sendMessage(plugin.getLanguageManager().get("messages.permissions.createArea"));
@@ -1262,6 +1556,7 @@ public class AreaCommand extends Command {
         // Stats
         if (player.hasPermission("adminarea.stats.view")) {
             player.sendMessage(plugin.getLanguageManager().get("messages.commands.help.stats"));
+            player.sendMessage(plugin.getLanguageManager().get("messages.commands.help.perf"));
         }
         
         // Advanced features
@@ -1272,6 +1567,7 @@ public class AreaCommand extends Command {
         // Admin commands
         if (player.hasPermission("adminarea.debug")) {
             player.sendMessage(plugin.getLanguageManager().get("messages.commands.help.debug"));
+            player.sendMessage(plugin.getLanguageManager().get("messages.commands.help.trace"));
         }
         
         if (player.hasPermission("adminarea.command.area.admin")) {
@@ -0,0 +1,53 @@
+package adminarea.entity;
+
+/**
+ * Protection-relevant category of an entity class, together with the toggles that guard it
+ */
+public enum EntityCategory {
+    TNT("allowTNT", null),
+    MONSTER("allowMonsterSpawn", "allowMonsterDamage"),
+    MOBPLUGIN_MONSTER("allowMonsterSpawn", "allowMonsterDamage"),
+    ANIMAL("allowAnimalSpawn", "allowAnimalDamage"),
+    WATER_ANIMAL("allowAnimalSpawn", "allowAnimalDamage"),
+    VEHICLE("allowVehiclePlace", "allowVehicleDamage"),
+    // A projectile "spawns" when it is launched
+    PROJECTILE("allowShootProjectile", null),
+    OTHER(null, null);
+
+    private final String spawnToggle;
+    private final String damageToggle;
+
+    EntityCategory(String spawnToggle, String damageToggle) {
+        this.spawnToggle = spawnToggle;
+        this.damageToggle = damageToggle;
+    }
+
+    /**
+     * Gets the toggle that decides whether entities of this category may appear, or null if none applies
+     */
+    public String getSpawnToggle() {
+        return spawnToggle;
+    }
+
+    /**
+     * Gets the toggle that decides whether players may damage entities of this category, or null if none applies
+     */
+    public String getDamageToggle() {
+        return damageToggle;
+    }
+
+    public boolean isMonster() {
+        return this == MONSTER || this == MOBPLUGIN_MONSTER;
+    }
+
+    public boolean isAnimal() {
+        return this == ANIMAL || this == WATER_ANIMAL;
+    }
+
+    /**
+     * Whether this category is subject to the mob spawn toggles
+     */
+    public boolean isMob() {
+        return isMonster() || isAnimal();
+    }
+}
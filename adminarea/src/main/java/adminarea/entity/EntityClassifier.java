@@ -0,0 +1,128 @@
+package adminarea.entity;
+
+import adminarea.AdminAreaProtectionPlugin;
+import cn.nukkit.entity.Entity;
+import cn.nukkit.entity.item.EntityPrimedTNT;
+import cn.nukkit.entity.item.EntityVehicle;
+import cn.nukkit.entity.mob.EntityMob;
+import cn.nukkit.entity.passive.EntityAnimal;
+import cn.nukkit.entity.passive.EntityWaterAnimal;
+import cn.nukkit.entity.projectile.EntityProjectile;
+
+/**
+ * Resolves entity classes to their protection category once per class.
+ * Results are held in a {@link ClassValue}, which is safe to read from any thread
+ * and does not keep entity classes from being unloaded.
+ */
+public class EntityClassifier {
+    private final Class<?> mobPluginMonster; // MobPlugin's Monster interface (or WalkingMonster)
+    private final Class<?> walkingMonsterClass; // MobPlugin's WalkingMonster class
+
+    private final ClassValue<Classification> table = new ClassValue<>() {
+        @Override
+        protected Classification computeValue(Class<?> type) {
+            return classify(type);
+        }
+    };
+
+    public EntityClassifier(AdminAreaProtectionPlugin plugin) {
+        Class<?> monsterClass = null;
+        try {
+            monsterClass = Class.forName("nukkitcoders.mobplugin.entities.monster.Monster");
+            plugin.getLogger().info("Found MobPlugin Monster interface for monster checks");
+        } catch (ClassNotFoundException ignored) {
+            plugin.getLogger().warning("Could not find MobPlugin Monster interface, using WalkingMonster for checks");
+            try {
+                monsterClass = Class.forName("nukkitcoders.mobplugin.entities.monster.WalkingMonster");
+                plugin.getLogger().info("Found MobPlugin WalkingMonster class for monster checks");
+            } catch (ClassNotFoundException e) {
+                plugin.getLogger().warning("Could not find WalkingMonster class, monster protection will be limited to Nukkit's EntityMob");
+            }
+        }
+
+        Class<?> walkingClass = null;
+        try {
+            walkingClass = Class.forName("nukkitcoders.mobplugin.entities.monster.WalkingMonster");
+        } catch (ClassNotFoundException ignored) {
+            // MobPlugin not installed
+        }
+
+        this.mobPluginMonster = monsterClass;
+        this.walkingMonsterClass = walkingClass;
+    }
+
+    /**
+     * Gets the classification of an entity
+     *
+     * @param entity The entity to classify, may be null
+     * @return The classification, never null
+     */
+    public Classification classify(Entity entity) {
+        return entity == null ? Classification.NONE : table.get(entity.getClass());
+    }
+
+    /**
+     * Gets the category of an entity
+     */
+    public EntityCategory categoryOf(Entity entity) {
+        return classify(entity).category();
+    }
+
+    private Classification classify(Class<?> type) {
+        EntityCategory category;
+        if (EntityPrimedTNT.class.isAssignableFrom(type)) {
+            category = EntityCategory.TNT;
+        } else if (EntityProjectile.class.isAssignableFrom(type)) {
+            category = EntityCategory.PROJECTILE;
+        } else if (EntityVehicle.class.isAssignableFrom(type)) {
+            category = EntityCategory.VEHICLE;
+        } else if (EntityMob.class.isAssignableFrom(type)) {
+            category = EntityCategory.MONSTER;
+        } else if (mobPluginMonster != null && mobPluginMonster.isAssignableFrom(type)) {
+            category = EntityCategory.MOBPLUGIN_MONSTER;
+        } else if (EntityWaterAnimal.class.isAssignableFrom(type)) {
+            category = EntityCategory.WATER_ANIMAL;
+        } else if (EntityAnimal.class.isAssignableFrom(type)) {
+            category = EntityCategory.ANIMAL;
+        } else {
+            category = EntityCategory.OTHER;
+        }
+
+        // Explosion sources are matched by name so MobPlugin's own creeper is covered too
+        String simpleName = type.getSimpleName();
+        String explosionToggle;
+        String explosionLabel;
+        if (category == EntityCategory.TNT) {
+            explosionToggle = "allowTNT";
+            explosionLabel = "TNT";
+        } else if (simpleName.equals("EntityCreeper")) {
+            explosionToggle = "allowCreeper";
+            explosionLabel = "Creeper";
+        } else if (simpleName.equals("EntityEndCrystal") || simpleName.equals("EntityEnderCrystal")) {
+            explosionToggle = "allowCrystalExplosion";
+            explosionLabel = "End Crystal";
+        } else {
+            explosionToggle = "allowExplosions";
+            explosionLabel = simpleName;
+        }
+
+        boolean walkingMonster = walkingMonsterClass != null && walkingMonsterClass.isAssignableFrom(type);
+        return new Classification(category, simpleName, explosionToggle, explosionLabel, walkingMonster);
+    }
+
+    /**
+     * Pre-resolved facts about an entity class
+     *
+     * @param category The protection category
+     * @param simpleName The simple class name, used for per-type tables such as breeding foods
+     * @param explosionToggle The toggle checked when this entity explodes
+     * @param explosionLabel A readable name of the explosion source for debug output
+     * @param walkingMonster Whether the class is a MobPlugin WalkingMonster that can target players
+     */
+    public record Classification(EntityCategory category, String simpleName,
+                                 String explosionToggle, String explosionLabel,
+                                 boolean walkingMonster) {
+        static final Classification NONE =
+            new Classification(EntityCategory.OTHER, "", "allowExplosions", "Unknown", false);
+    }
+}
@@ -16,8 +16,6 @@ import cn.nukkit.form.response.FormResponseCustom;
 import cn.nukkit.form.response.FormResponseSimple;
 import cn.nukkit.form.window.FormWindow;
 import cn.nukkit.form.window.FormWindowCustom;
-import java.sql.Connection;
-import java.sql.Statement;
 import java.util.*;
 
 public class LuckPermsSettingsHandler extends BaseFormHandler {
@@ -439,14 +437,8 @@ public class LuckPermsSettingsHandler extends BaseFormHandler {
                             newPerms
                         );
                         
-                        // Execute a database checkpoint to ensure changes are persisted
-                        try (Connection conn = plugin.getPermissionOverrideManager().getConnection();
-                             Statement stmt = conn.createStatement()) {
-                            stmt.execute("PRAGMA wal_checkpoint(FULL)");
-                            if (plugin.isDebugMode()) {
-                                plugin.debug("  Executed WAL checkpoint to ensure changes are persisted");
-                            }
-                        }
+                        // Commit the queued write so the verification below reads it back from disk
+                        plugin.getPermissionOverrideManager().forceFlushPermissions();
                         
                         if (plugin.isDebugMode()) {
                             plugin.debug("  Successfully saved track permissions to PermissionOverrideManager");
@@ -0,0 +1,37 @@
+package adminarea.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for one lookup of the areas at a location
+ */
+@Name("adminarea.AreaLookup")
+@Label("Area Lookup")
+@Category({"AdminArea", "Areas"})
+@Description("Finding the areas that contain a location")
+@StackTrace(false)
+public class AreaLookupEvent extends jdk.jfr.Event {
+    @Label("World")
+    public String world;
+
+    @Label("X")
+    public double x;
+
+    @Label("Y")
+    public double y;
+
+    @Label("Z")
+    public double z;
+
+    @Label("Areas")
+    @Description("Number of areas containing the location")
+    public int areas;
+
+    @Label("Area")
+    @Description("Highest priority area at the location, if any")
+    public String area;
+}
@@ -0,0 +1,24 @@
+package adminarea.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for one write transaction on a database's writer thread.
+ * Time spent waiting for the writer thread is not included.
+ */
+@Name("adminarea.DatabaseTransaction")
+@Label("Database Transaction")
+@Category({"AdminArea", "Database"})
+@Description("Running a write transaction against one of the plugin's databases")
+@StackTrace(false)
+public class DatabaseTransactionEvent extends jdk.jfr.Event {
+    @Label("Database")
+    public String database;
+
+    @Label("Committed")
+    public boolean committed;
+}
@@ -0,0 +1,27 @@
+package adminarea.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for one row written by a write-behind queue
+ */
+@Name("adminarea.DatabaseWrite")
+@Label("Database Write")
+@Category({"AdminArea", "Database"})
+@Description("Writing one queued row, such as an area or its permissions")
+@StackTrace(false)
+public class DatabaseWriteEvent extends jdk.jfr.Event {
+    @Label("Queue")
+    public String queue;
+
+    @Label("Key")
+    @Description("Key of the written row, usually the area name")
+    public String key;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
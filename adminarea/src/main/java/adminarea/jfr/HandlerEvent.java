@@ -0,0 +1,27 @@
+package adminarea.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for one call of a listener's event handler
+ */
+@Name("adminarea.Handler")
+@Label("Event Handler")
+@Category({"AdminArea", "Listeners"})
+@Description("Running one of the plugin's event handlers")
+@StackTrace(false)
+public class HandlerEvent extends jdk.jfr.Event {
+    @Label("Handler")
+    public String handler;
+
+    @Label("Event")
+    public String eventType;
+
+    @Label("Cancelled")
+    @Description("Whether the event was cancelled when the handler returned")
+    public boolean cancelled;
+}
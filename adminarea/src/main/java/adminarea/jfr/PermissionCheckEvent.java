@@ -0,0 +1,29 @@
+package adminarea.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for one permission decision in an area
+ */
+@Name("adminarea.PermissionCheck")
+@Label("Permission Check")
+@Category({"AdminArea", "Permissions"})
+@Description("Deciding whether a player may do something in an area")
+@StackTrace(false)
+public class PermissionCheckEvent extends jdk.jfr.Event {
+    @Label("Area")
+    public String area;
+
+    @Label("Player")
+    public String player;
+
+    @Label("Permission")
+    public String permission;
+
+    @Label("Allowed")
+    public boolean allowed;
+}
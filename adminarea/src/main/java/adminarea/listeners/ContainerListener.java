@@ -2,6 +2,8 @@ package adminarea.listeners;
 
 import adminarea.AdminAreaProtectionPlugin;
 import adminarea.area.Area;
+import adminarea.logging.DebugCategory;
+import adminarea.util.Logger;
 import cn.nukkit.Player;
 import cn.nukkit.block.Block;
 import cn.nukkit.blockentity.*;
@@ -21,9 +23,11 @@ import io.micrometer.core.instrument.Timer;
  */
 public class ContainerListener implements Listener {
     private final AdminAreaProtectionPlugin plugin;
+    private final Logger logger;
 
     public ContainerListener(AdminAreaProtectionPlugin plugin) {
         this.plugin = plugin;
+        this.logger = new Logger(plugin, DebugCategory.PROTECTION, "ContainerListener");
     }
 
     /**
@@ -81,14 +85,9 @@ public class ContainerListener implements Listener {
                         plugin.getAreaManager().getAreaStats(area.getName())
                             .recordContainerAccess(area.getName(), player.getName(), containerType);
                         
-                        if (plugin.isDebugMode()) {
-                            plugin.debug("Recorded container access for player " + player.getName() + 
-                                " to " + containerType + " in area " + area.getName());
-                        }
+                        logger.debug("Recorded container access for player %s to %s in area %s", player.getName(), containerType, area.getName());
                     } catch (Exception e) {
-                        if (plugin.isDebugMode()) {
-                            plugin.debug("Failed to record container access: " + e.getMessage());
-                        }
+                        logger.debug("Failed to record container access: %s", e.getMessage());
                     }
                 }
             }
@@ -2,13 +2,15 @@ package adminarea.listeners;
 
 import adminarea.AdminAreaProtectionPlugin;
 import adminarea.area.Area;
+import adminarea.entity.EntityCategory;
+import adminarea.entity.EntityClassifier;
 import adminarea.event.MonsterTargetEvent;
+import adminarea.logging.DebugCategory;
+import adminarea.util.Logger;
 import cn.nukkit.Player;
 import cn.nukkit.entity.Entity;
 import cn.nukkit.entity.EntityLiving;
-import cn.nukkit.entity.mob.EntityMob;
 import cn.nukkit.entity.passive.EntityAnimal;
-import cn.nukkit.entity.passive.EntityWaterAnimal;
 import cn.nukkit.entity.projectile.EntityEnderPearl;
 import cn.nukkit.entity.projectile.EntityProjectile;
 import cn.nukkit.event.EventHandler;
@@ -19,6 +21,7 @@ import cn.nukkit.event.player.PlayerInteractEntityEvent;
 import cn.nukkit.event.player.PlayerInteractEvent;
 import cn.nukkit.item.Item;
 import cn.nukkit.item.ItemSpawnEgg;
+import cn.nukkit.level.Level;
 import cn.nukkit.level.Position;
 import io.micrometer.core.instrument.Timer;
 import cn.nukkit.block.Block;
@@ -26,53 +29,28 @@ import cn.nukkit.block.Block;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
-import java.util.WeakHashMap;
 
 public class EntityListener implements Listener {
     private final AdminAreaProtectionPlugin plugin;
+    private final Logger logger;
     private final ProtectionListener protectionListener;
-    private final Class<?> mobPluginMonster; // Track MobPlugin's monster class
-    private final Class<?> walkingMonsterClass; // Track MobPlugin's WalkingMonster class
-    // Replace ConcurrentHashMap with WeakHashMap for better memory management of entity classes
-    private final Map<Class<?>, Boolean> isMonster = new WeakHashMap<>();
+    // Per-class entity categories, resolved once per class
+    private final EntityClassifier classifier;
     
     // Map to track breeding foods for different animals
     private final Map<String, List<Integer>> breedingFoods;
 
     public EntityListener(AdminAreaProtectionPlugin plugin, ProtectionListener protectionListener) {
         this.plugin = plugin;
+        this.logger = new Logger(plugin, DebugCategory.PROTECTION, "EntityListener");
         this.protectionListener = protectionListener;
         
         // Initialize breeding foods map
         this.breedingFoods = new HashMap<>();
         initializeBreedingFoods();
         
-        // Initialize MobPlugin's monster class for instanceof checks
-        Class<?> monsterClass = null;
-        Class<?> walkingMonsterClass = null;
-        try {
-            monsterClass = Class.forName("nukkitcoders.mobplugin.entities.monster.Monster");
-            plugin.getLogger().info("Found MobPlugin Monster interface for monster checks");
-        } catch (ClassNotFoundException ignored) {
-            plugin.getLogger().warning("Could not find MobPlugin Monster interface, using WalkingMonster for checks");
-            try {
-                monsterClass = Class.forName("nukkitcoders.mobplugin.entities.monster.WalkingMonster");
-                plugin.getLogger().info("Found MobPlugin WalkingMonster class for monster checks");
-            } catch (ClassNotFoundException e) {
-                plugin.getLogger().warning("Could not find WalkingMonster class, monster protection will be limited to Nukkit's EntityMob");
-                monsterClass = null;
-            }
-        }
-        
-        // Initialize WalkingMonster class separately
-        try {
-            walkingMonsterClass = Class.forName("nukkitcoders.mobplugin.entities.monster.WalkingMonster");
-        } catch (ClassNotFoundException e) {
-            walkingMonsterClass = null;
-        }
-        
-        this.mobPluginMonster = monsterClass;
-        this.walkingMonsterClass = walkingMonsterClass;
+        // Resolve MobPlugin's monster classes once for all category lookups
+        this.classifier = new EntityClassifier(plugin);
     }
     
     /**
@@ -198,34 +176,16 @@ public class EntityListener implements Listener {
                     return;
                 }
                 
-                // Determine which explosion type it is based on the damager
-                boolean shouldCancel = false;
-                String explosionTypeName = "Unknown";
-                
-                String entityType = damager.getClass().getSimpleName();
-                if (entityType.equals("EntityPrimedTNT")) {
-                    shouldCancel = !area.getToggleState("allowTNT");
-                    explosionTypeName = "TNT";
-                } else if (entityType.equals("EntityCreeper")) {
-                    shouldCancel = !area.getToggleState("allowCreeper");
-                    explosionTypeName = "Creeper";
-                } else if (entityType.equals("EntityEndCrystal")) {
-                    shouldCancel = !area.getToggleState("allowCrystalExplosion");
-                    explosionTypeName = "End Crystal";
-                } else {
-                    // Generic explosion protection for unidentified explosion entities
-                    shouldCancel = !area.getToggleState("allowExplosions");
-                    explosionTypeName = entityType;
-                }
+                // The damager's class decides which explosion toggle applies
+                EntityClassifier.Classification source = classifier.classify(damager);
+                String explosionTypeName = source.explosionLabel();
                 
-                if (shouldCancel) {
+                if (!area.getToggleState(source.explosionToggle())) {
                     event.setCancelled(true);
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Cancelled " + explosionTypeName + " explosion damage to player " + player.getName() +
-                                   " at " + pos.getFloorX() + "," + pos.getFloorY() + "," + pos.getFloorZ() +
-                                   " in area " + area.getName());
-                    }
+                    logger.debug(() -> "Cancelled " + explosionTypeName + " explosion damage to player " + player.getName() +
+                               " at " + pos.getFloorX() + "," + pos.getFloorY() + "," + pos.getFloorZ() +
+                               " in area " + area.getName());
                     return;
                 }
             }
@@ -236,9 +196,7 @@ public class EntityListener implements Listener {
                 // Check if fall damage is NOT allowed (inverted logic)
                 if (!protectionListener.handleProtection(pos, player, "allowFallDamage")) {
                     event.setCancelled(true);
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Cancelled fall damage for player " + player.getName());
-                    }
+                    logger.debug("Cancelled fall damage for player %s", player.getName());
                     return;
                 }
             }
@@ -249,7 +207,7 @@ public class EntityListener implements Listener {
             }
 
             // Handle monster targeting through damage events - safely check for MobPlugin's WalkingMonster
-            if (walkingMonsterClass != null && walkingMonsterClass.isInstance(damager) && victim instanceof Player player) {
+            if (victim instanceof Player player && classifier.classify(damager).walkingMonster()) {
                 // Only call MonsterTargetEvent if the WalkingMonster class is available
                 try {
                     // Call MonsterTargetEvent - use direct call with Entity instead of reflection
@@ -264,9 +222,7 @@ public class EntityListener implements Listener {
                     }
                 } catch (Exception e) {
                     // Silently handle errors with MonsterTargetEvent
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Error handling MonsterTargetEvent: " + e.getMessage());
-                    }
+                    logger.debug("Error handling MonsterTargetEvent: %s", e.getMessage());
                     
                     // Still check protection even if event fails
                     if (shouldCheckProtection(damager, player, "allowMonsterTarget")) {
@@ -279,14 +235,15 @@ public class EntityListener implements Listener {
             
             // Player attacking monster or animal
             if (damager instanceof Player player) {
-                if (victim instanceof EntityAnimal || victim instanceof EntityWaterAnimal) {
-                    if (shouldCheckProtection(victim, player, "allowAnimalDamage")) {
+                EntityCategory victimCategory = classifier.categoryOf(victim);
+                if (victimCategory.isAnimal()) {
+                    if (shouldCheckProtection(victim, player, victimCategory.getDamageToggle())) {
                         event.setCancelled(true);
                         protectionListener.sendProtectionMessage(player, "messages.protection.animalDamage");
                         return;
                     }
-                } else if (victim instanceof EntityMob || isMobPluginMonster(victim)) {
-                    if (shouldCheckProtection(victim, player, "allowMonsterDamage")) {
+                } else if (victimCategory.isMonster()) {
+                    if (shouldCheckProtection(victim, player, victimCategory.getDamageToggle())) {
                         event.setCancelled(true);
                         protectionListener.sendProtectionMessage(player, "messages.protection.monsterDamage");
                         return;
@@ -311,10 +268,10 @@ public class EntityListener implements Listener {
         try {
             // Get the entity type
             Entity entity = event.getEntity();
-            String entityType = entity.getClass().getSimpleName();
+            EntityClassifier.Classification source = classifier.classify(entity);
             
             // For TNT entities, we need to handle them immediately
-            if (entityType.equals("EntityPrimedTNT")) {
+            if (source.category() == EntityCategory.TNT) {
                 Position pos = event.getPosition();
                 
                 // Skip if not in loaded chunk
@@ -334,11 +291,9 @@ public class EntityListener implements Listener {
                     // Ensure the entity is immediately closed/removed
                     entity.close();
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Instantly despawned primed TNT entity at " + 
-                            pos.getFloorX() + ", " + pos.getFloorY() + ", " + pos.getFloorZ() +
-                            " in area " + area.getName());
-                    }
+                    logger.debug(() -> "Instantly despawned primed TNT entity at " + 
+                        pos.getFloorX() + ", " + pos.getFloorY() + ", " + pos.getFloorZ() +
+                        " in area " + area.getName());
                     return;
                 }
             }
@@ -354,11 +309,7 @@ public class EntityListener implements Listener {
             }
 
             // Check the specific explosion type permission
-            final String specificPermission = switch (entityType) {
-                case "EntityCreeper" -> "allowCreeper";
-                case "EntityEndCrystal" -> "allowCrystalExplosion";
-                default -> "allowExplosions";
-            };
+            final String specificPermission = source.explosionToggle();
 
             // Use a more efficient method that doesn't create new objects
             // We'll filter blocks directly without creating unnecessary collections
@@ -380,9 +331,10 @@ public class EntityListener implements Listener {
         Timer.Sample sample = plugin.getPerformanceMonitor().startTimer();
         try {
             Entity entity = event.getEntity();
+            EntityCategory category = classifier.categoryOf(entity);
             
             // Fast path for TNT - check this first to instantly despawn it
-            if (entity != null && entity.getClass().getSimpleName().equals("EntityPrimedTNT")) {
+            if (category == EntityCategory.TNT) {
                 // Get entity position
                 Position pos = entity.getPosition();
                 if (pos == null || pos.getLevel() == null) {
@@ -398,7 +350,7 @@ public class EntityListener implements Listener {
                 Area area = plugin.getAreaManager().getHighestPriorityArea(
                     pos.getLevel().getName(), pos.getX(), pos.getY(), pos.getZ());
                 
-                if (area != null && !area.getToggleState("allowTNT")) {
+                if (area != null && !area.getToggleState(category.getSpawnToggle())) {
                     // Instead of trying to cancel the event (which isn't cancellable),
                     // just close the entity directly
                     // event.setCancelled(true);
@@ -406,69 +358,32 @@ public class EntityListener implements Listener {
                     // Ensure the entity is immediately closed/removed
                     entity.close();
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Instantly despawned primed TNT entity at " + 
-                            pos.getFloorX() + ", " + pos.getFloorY() + ", " + pos.getFloorZ() +
-                            " in area " + area.getName());
-                    }
+                    logger.debug(() -> "Instantly despawned primed TNT entity at " + 
+                        pos.getFloorX() + ", " + pos.getFloorY() + ", " + pos.getFloorZ() +
+                        " in area " + area.getName());
                     return;
-                } else if (plugin.isDebugMode() && area != null) {
-                    plugin.debug("Allowed TNT to spawn at " + 
+                } else if (logger.isDebugEnabled() && area != null) {
+                    logger.debug(() -> "Allowed TNT to spawn at " + 
                         pos.getFloorX() + ", " + pos.getFloorY() + ", " + pos.getFloorZ() +
                         " in area " + area.getName());
                 }
             }
             
-            // Skip processing for non-living entities, arrows, etc.
-            if (!(entity instanceof EntityLiving) || entity instanceof EntityProjectile) {
-                return;
-            }
-            
-            // Skip if not near any players - early performance optimization
-            if (!plugin.getAreaManager().isNearAnyPlayer(entity.x, entity.z)) {
+            // Only mobs are subject to the spawn toggles
+            if (!category.isMob() || !(entity instanceof EntityLiving)) {
                 return;
             }
             
-            // Get entity position
-            Position pos = entity.getPosition();
-            if (pos == null || pos.getLevel() == null) {
+            Level level = entity.getLevel();
+            if (level == null) {
                 return;
             }
             
-            // Check if spawning in an area with protection
-            if (!pos.getLevel().isChunkLoaded(pos.getChunkX(), pos.getChunkZ())) {
-                return;
-            }
-            
-            // Get the highest priority area at this location
-            Area area = plugin.getAreaManager().getHighestPriorityArea(
-                pos.getLevel().getName(), pos.getX(), pos.getY(), pos.getZ());
-            
-            if (area != null) {
-                // Optimized entity type checking with caching
-                boolean isEntityAnimal = entity instanceof EntityAnimal;
-                boolean isEntityWaterAnimal = entity instanceof EntityWaterAnimal;
-                boolean isMobPluginMonster = isMobPluginMonster(entity);
-                
-                // Only check mob spawns if the entity is a mob type
-                if (isEntityAnimal || isEntityWaterAnimal || isMobPluginMonster || entity instanceof EntityMob) {
-                    // Determine permission based on mob type - moved outside the condition for clarity
-                    String permission;
-                    if (isMobPluginMonster || entity instanceof EntityMob) {
-                        permission = "allowMonsterSpawn";
-                    } else {
-                        permission = "allowAnimalSpawn";
-                    }
-
-                    // Check if spawn should be cancelled
-                    if (protectionListener.handleProtection(pos, null, permission)) {
-                        entity.close();
-                        if (plugin.isDebugMode()) {
-                            plugin.debug("Cancelled spawn of " + entity.getClass().getSimpleName() + 
-                                       " at " + pos.toString());
-                        }
-                    }
-                }
+            // Single lookup in the precomputed per-chunk spawn policy
+            if (!plugin.getAreaManager().getSpawnPolicies().isSpawnAllowed(
+                    level.getName(), entity.x, entity.y, entity.z, category.isMonster())) {
+                entity.close();
+                logger.debug("Cancelled spawn of %s at %s", entity.getClass().getSimpleName(), entity.getPosition());
             }
         } finally {
             plugin.getPerformanceMonitor().stopTimer(sample, "entity_spawn_check");
@@ -494,10 +409,8 @@ public class EntityListener implements Listener {
                     event.setCancelled(true);
                     protectionListener.sendProtectionMessage(player, "messages.protection.armorStand");
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Prevented armor stand interaction by " + player.getName() + 
-                                   " at " + entity.getX() + "," + entity.getY() + "," + entity.getZ());
-                    }
+                    logger.debug(() -> "Prevented armor stand interaction by " + player.getName() + 
+                               " at " + entity.getX() + "," + entity.getY() + "," + entity.getZ());
                     return;
                 }
             }
@@ -612,9 +525,7 @@ public class EntityListener implements Listener {
                     if (player.getGamemode() != 1) {
                         Item arrowItem = Item.get(Item.ARROW, 0, 1);
                         player.getInventory().addItem(arrowItem);
-                        if (plugin.isDebugMode()) {
-                            plugin.debug("Returned arrow to " + player.getName() + "'s inventory after preventing bow shot");
-                        }
+                        logger.debug("Returned arrow to %s's inventory after preventing bow shot", player.getName());
                     }
                 }
                 return;
@@ -647,10 +558,8 @@ public class EntityListener implements Listener {
                     protectionListener.handleProtection(pos, player, "allowFlying")) {
                     event.setCancelled(true);
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Cancelled fall damage for player " + player.getName() +
-                                    " at " + pos.getFloorX() + ", " + pos.getFloorY() + ", " + pos.getFloorZ());
-                    }
+                    logger.debug(() -> "Cancelled fall damage for player " + player.getName() +
+                                " at " + pos.getFloorX() + ", " + pos.getFloorY() + ", " + pos.getFloorZ());
                 }
             } finally {
                 plugin.getPerformanceMonitor().stopTimer(sample, "fall_damage_check");
@@ -686,23 +595,10 @@ public class EntityListener implements Listener {
                 String explosionType = "unknown";
                 
                 if (damager != null) {
-                    String entityType = damager.getClass().getSimpleName();
-                    
-                    // Check specific entity types
-                    if (entityType.equals("EntityPrimedTNT")) {
-                        shouldCancel = !area.getToggleState("allowTNT");
-                        explosionType = "TNT";
-                    } else if (entityType.equals("EntityCreeper")) {
-                        shouldCancel = !area.getToggleState("allowCreeper");
-                        explosionType = "Creeper";
-                    } else if (entityType.equals("EntityEndCrystal")) {
-                        shouldCancel = !area.getToggleState("allowCrystalExplosion");
-                        explosionType = "End Crystal";
-                    } else {
-                        // If we can't identify the specific entity, check generic explosion toggle
-                        shouldCancel = !area.getToggleState("allowExplosions");
-                        explosionType = entityType;
-                    }
+                    // Unidentified entities fall back to the generic explosion toggle
+                    EntityClassifier.Classification source = classifier.classify(damager);
+                    shouldCancel = !area.getToggleState(source.explosionToggle());
+                    explosionType = source.explosionLabel();
                 } else {
                     // If it's a block explosion (e.g., bed) or an unidentified entity explosion
                     if (event.getCause() == EntityDamageEvent.DamageCause.BLOCK_EXPLOSION) {
@@ -720,11 +616,8 @@ public class EntityListener implements Listener {
                 if (shouldCancel) {
                     event.setCancelled(true);
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Cancelled " + explosionType + " explosion damage to player " + player.getName() +
-                                   " at " + pos.getFloorX() + "," + pos.getFloorY() + "," + pos.getFloorZ() +
-                                   " in area " + area.getName());
-                    }
+                    logger.debug("Cancelled %s explosion damage to player %s at %s,%s,%s in area %s",
+                        explosionType, player.getName(), pos.getFloorX(), pos.getFloorY(), pos.getFloorZ(), area.getName());
                 }
             } finally {
                 plugin.getPerformanceMonitor().stopTimer(sample, "explosion_damage_check");
@@ -755,9 +648,7 @@ public class EntityListener implements Listener {
             if (player.getGamemode() != 1) { // 1 = Creative Mode
                 Item enderPearl = Item.get(Item.ENDER_PEARL, 0, 1);
                 player.getInventory().addItem(enderPearl);
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Returned ender pearl to " + player.getName() + "'s inventory after preventing teleport");
-                }
+                logger.debug("Returned ender pearl to %s's inventory after preventing teleport", player.getName());
             }
         }
     }
@@ -771,7 +662,7 @@ public class EntityListener implements Listener {
         Item heldItem = player.getInventory().getItemInHand();
         if (heldItem == null) return false;
         
-        String entityType = entity.getClass().getSimpleName();
+        String entityType = classifier.classify(entity).simpleName();
         int itemId = heldItem.getId();
         
         return switch (entityType) {
@@ -798,7 +689,7 @@ public class EntityListener implements Listener {
         Item heldItem = player.getInventory().getItemInHand();
         if (heldItem == null) return false;
         
-        String entityType = entity.getClass().getSimpleName();
+        String entityType = classifier.classify(entity).simpleName();
         List<Integer> validBreedingFoods = breedingFoods.get(entityType);
         
         return validBreedingFoods != null && validBreedingFoods.contains(heldItem.getId());
@@ -873,34 +764,17 @@ public class EntityListener implements Listener {
                     "messages.protection.animalSpawn"
                 );
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Prevented spawn egg usage by " + player.getName() + 
-                        " at " + spawnPos.getFloorX() + "," + spawnPos.getFloorY() + "," + spawnPos.getFloorZ());
-                }
+                logger.debug(() -> "Prevented spawn egg usage by " + player.getName() + 
+                    " at " + spawnPos.getFloorX() + "," + spawnPos.getFloorY() + "," + spawnPos.getFloorZ());
             }
         }
     }
 
     /**
-     * Safely check if an entity is a MobPlugin monster without risking ClassNotFoundException
-     * @param entity The entity to check
-     * @return true if the entity is a MobPlugin monster
+     * Gets the entity classification table shared by the entity handlers
      */
-    private boolean isMobPluginMonster(Entity entity) {
-        if (entity == null) return false;
-        
-        // Fast path: check if it's an EntityMob (Nukkit core class)
-        if (entity instanceof EntityMob) return true;
-        
-        // Check for MobPlugin monsters if the class is available
-        if (mobPluginMonster != null) {
-            // Get from cache or compute
-            return isMonster.computeIfAbsent(entity.getClass(), 
-                cls -> mobPluginMonster.isAssignableFrom(cls));
-        }
-        
-        // If MobPlugin is not available, just use EntityMob check
-        return false;
+    public EntityClassifier getClassifier() {
+        return classifier;
     }
 }
 
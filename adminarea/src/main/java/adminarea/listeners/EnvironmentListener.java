@@ -8,6 +8,8 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 
 import adminarea.AdminAreaProtectionPlugin;
 import adminarea.area.Area;
+import adminarea.logging.DebugCategory;
+import adminarea.util.Logger;
 import cn.nukkit.event.EventHandler;
 import cn.nukkit.event.EventPriority;
 import cn.nukkit.event.Listener;
@@ -29,6 +31,7 @@ import cn.nukkit.inventory.InventoryHolder;
 
 public class EnvironmentListener implements Listener {
     private final AdminAreaProtectionPlugin plugin;
+    private final Logger logger;
     private final ProtectionListener protectionListener;
     private static final int CHUNK_CHECK_RADIUS = 4;
     
@@ -39,12 +42,15 @@ public class EnvironmentListener implements Listener {
 
     public EnvironmentListener(AdminAreaProtectionPlugin plugin, ProtectionListener protectionListener) {
         this.plugin = plugin;
+        this.logger = new Logger(plugin, DebugCategory.PROTECTION, "EnvironmentListener");
         this.protectionListener = protectionListener;
         
         this.protectionCache = Caffeine.newBuilder()
             .maximumSize(CACHE_SIZE)
             .expireAfterWrite(CACHE_EXPIRY, TimeUnit.MILLISECONDS)
+            .recordStats()
             .build();
+        plugin.getPerformanceMonitor().getCacheRegistry().register("environment_protection", protectionCache);
     }
 
     private boolean shouldCheckProtection(Block block, String permission) {
@@ -239,20 +245,14 @@ public class EnvironmentListener implements Listener {
             if (shouldCheckProtection(block, "allowPlantGrowth")) {
                 event.setCancelled(true);
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Prevented plant growth at " + 
-                        block.x + "," + block.y + "," + block.z);
-                }
+                logger.debug("Prevented plant growth at %s,%s,%s", block.x, block.y, block.z);
             }
         } else {
             // Use the general block spread permission for non-crops
             if (shouldCheckProtection(block, "allowBlockSpread")) {
                 event.setCancelled(true);
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Prevented block spread at " + 
-                        block.x + "," + block.y + "," + block.z);
-                }
+                logger.debug("Prevented block spread at %s,%s,%s", block.x, block.y, block.z);
             }
         }
     }
@@ -273,19 +273,15 @@ public class EnvironmentListener implements Listener {
         if (block != null && block.getId() == BlockID.FARMLAND) {
             Player player = event.getPlayer();
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Detected player " + player.getName() + " interacting with farmland at " + 
-                    block.x + "," + block.y + "," + block.z + " (potential trampling)");
-            }
+            logger.debug(() -> "Detected player " + player.getName() + " interacting with farmland at " + 
+                block.x + "," + block.y + "," + block.z + " (potential trampling)");
             
             // Check if farmland trampling is protected in this area
             if (shouldCheckProtection(block, "allowFarmlandTrampling")) {
                 event.setCancelled(true);
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Prevented farmland trampling by " + player.getName() + " at " + 
-                        block.x + "," + block.y + "," + block.z);
-                }
+                logger.debug(() -> "Prevented farmland trampling by " + player.getName() + " at " + 
+                    block.x + "," + block.y + "," + block.z);
             }
         }
     }
@@ -303,10 +299,7 @@ public class EnvironmentListener implements Listener {
             if (shouldCheckProtection(block, "allowFarmlandTrampling")) {
                 event.setCancelled(true);
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Prevented farmland trampling at " + 
-                        block.x + "," + block.y + "," + block.z);
-                }
+                logger.debug("Prevented farmland trampling at %s,%s,%s", block.x, block.y, block.z);
             }
         }
     }
@@ -348,10 +341,7 @@ public class EnvironmentListener implements Listener {
     public void onBlockFall(BlockFallEvent event) {
         if (shouldCheckProtection(event.getBlock(), "allowBlockGravity")) {
             event.setCancelled(true);
-            if (plugin.isDebugMode()) {
-                plugin.debug("Prevented block falling at " + 
-                    event.getBlock().x + "," + event.getBlock().y + "," + event.getBlock().z);
-            }
+            logger.debug("Prevented block falling at %s,%s,%s", event.getBlock().x, event.getBlock().y, event.getBlock().z);
         }
     }
 
@@ -365,10 +355,7 @@ public class EnvironmentListener implements Listener {
         // Check if this is a gravity block (sand, gravel, concrete powder, etc.)
         if (isGravityBlock(block) && shouldCheckProtection(block, "allowBlockGravity")) {
             event.setCancelled(true);
-            if (plugin.isDebugMode()) {
-                plugin.debug("Prevented gravity block physics at " + 
-                    block.x + "," + block.y + "," + block.z);
-            }
+            logger.debug("Prevented gravity block physics at %s,%s,%s", block.x, block.y, block.z);
         }
     }
     
@@ -390,19 +377,13 @@ public class EnvironmentListener implements Listener {
         
         // Check if the block is farmland
         if (block != null && block.getId() == BlockID.FARMLAND) {
-            if (plugin.isDebugMode()) {
-                plugin.debug("Detected entity interacting with farmland at " + 
-                    block.x + "," + block.y + "," + block.z + " (potential trampling)");
-            }
+            logger.debug("Detected entity interacting with farmland at %s,%s,%s (potential trampling)", block.x, block.y, block.z);
             
             // Check if farmland trampling is protected in this area
             if (shouldCheckProtection(block, "allowFarmlandTrampling")) {
                 event.setCancelled(true);
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Prevented farmland trampling by entity at " + 
-                        block.x + "," + block.y + "," + block.z);
-                }
+                logger.debug("Prevented farmland trampling by entity at %s,%s,%s", block.x, block.y, block.z);
             }
         }
     }
@@ -431,11 +412,9 @@ public class EnvironmentListener implements Listener {
                 if (shouldCheckProtection(targetBlock, "allowPlantGrowth")) {
                     event.setCancelled(true);
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Prevented bonemeal use on " + 
-                            targetBlock.getName() + " at " + 
-                            targetBlock.x + "," + targetBlock.y + "," + targetBlock.z);
-                    }
+                    logger.debug(() -> "Prevented bonemeal use on " + 
+                        targetBlock.getName() + " at " + 
+                        targetBlock.x + "," + targetBlock.y + "," + targetBlock.z);
                 }
             }
         }
@@ -486,10 +465,7 @@ public class EnvironmentListener implements Listener {
                 if (shouldCheckProtection(hopperPos.getLevelBlock(), "allowHopper")) {
                     event.setCancelled(true);
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Prevented hopper transfer at " + 
-                            hopperPos.getFloorX() + "," + hopperPos.getFloorY() + "," + hopperPos.getFloorZ());
-                    }
+                    logger.debug("Prevented hopper transfer at %s,%s,%s", hopperPos.getFloorX(), hopperPos.getFloorY(), hopperPos.getFloorZ());
                     return;
                 }
             }
@@ -514,10 +490,7 @@ public class EnvironmentListener implements Listener {
                 if (shouldCheckProtection(dispenserPos.getLevelBlock(), "allowDispenser")) {
                     event.setCancelled(true);
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Prevented dispenser transfer at " + 
-                            dispenserPos.getFloorX() + "," + dispenserPos.getFloorY() + "," + dispenserPos.getFloorZ());
-                    }
+                    logger.debug("Prevented dispenser transfer at %s,%s,%s", dispenserPos.getFloorX(), dispenserPos.getFloorY(), dispenserPos.getFloorZ());
                 }
             }
         } finally {
@@ -1,6 +1,8 @@
 package adminarea.listeners;
 
 import adminarea.AdminAreaProtectionPlugin;
+import adminarea.logging.DebugCategory;
+import adminarea.util.Logger;
 import cn.nukkit.Player;
 import cn.nukkit.event.EventHandler;
 import cn.nukkit.event.EventPriority;
@@ -19,6 +21,7 @@ import java.util.concurrent.ConcurrentHashMap;
 
 public class ExperienceListener implements Listener {
     private final AdminAreaProtectionPlugin plugin;
+    private final Logger logger;
     private final ProtectionListener protectionListener;
     // Cache of player XP pickup ability to avoid excessive checks
     private final Map<String, Long> lastXpPickupCheck = new HashMap<>();
@@ -31,6 +34,7 @@ public class ExperienceListener implements Listener {
 
     public ExperienceListener(AdminAreaProtectionPlugin plugin, ProtectionListener protectionListener) {
         this.plugin = plugin;
+        this.logger = new Logger(plugin, DebugCategory.PROTECTION, "ExperienceListener");
         this.protectionListener = protectionListener;
     }
 
@@ -61,11 +65,9 @@ public class ExperienceListener implements Listener {
         if (player.canPickupXP() != canPickup) {
             player.setCanPickupXP(canPickup);
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Updated player " + playerName + " XP pickup ability to " + 
-                    canPickup + " at " + pos.getFloorX() + ", " + pos.getFloorY() + ", " + 
-                    pos.getFloorZ());
-            }
+            logger.debug(() -> "Updated player " + playerName + " XP pickup ability to " + 
+                canPickup + " at " + pos.getFloorX() + ", " + pos.getFloorY() + ", " + 
+                pos.getFloorZ());
         }
     }
 
@@ -87,14 +89,9 @@ public class ExperienceListener implements Listener {
                 String playerName = player.getName();
                 recentRespawns.put(playerName, System.currentTimeMillis());
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("XP preserved: Using Nukkit's built-in preservation for player " + 
-                        player.getName() + " (level: " + player.getExperienceLevel() + 
-                        ", progress: " + player.getExperience() + ")");
-                }
-            } else if (plugin.isDebugMode()) {
-                plugin.debug("XP not preserved: Player " + player.getName() + 
-                        " died in area where XP drops are allowed");
+                logger.debug("XP preserved: Using Nukkit's built-in preservation for player %s (level: %s, progress: %s)", player.getName(), player.getExperienceLevel(), player.getExperience());
+            } else {
+                logger.debug("XP not preserved: Player %s died in area where XP drops are allowed", player.getName());
             }
             
             // Check if we should keep inventory when item drops are disabled
@@ -102,10 +99,7 @@ public class ExperienceListener implements Listener {
                 // If item drops are protected (not allowed), keep inventory
                 event.setKeepInventory(true);
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Inventory preserved: Player " + player.getName() + 
-                        " died in area where item drops are not allowed");
-                }
+                logger.debug("Inventory preserved: Player %s died in area where item drops are not allowed", player.getName());
             }
         } finally {
             plugin.getPerformanceMonitor().stopTimer(sample, "xp_drop_check");
@@ -124,17 +118,12 @@ public class ExperienceListener implements Listener {
         if (recentRespawns.containsKey(playerName)) {
             recentRespawns.put(playerName, System.currentTimeMillis());
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Updated respawn timestamp for " + playerName + 
-                    " to prevent duplicate XP restoration");
-            }
+            logger.debug("Updated respawn timestamp for %s to prevent duplicate XP restoration", playerName);
             
             // Schedule cleanup of this player's entry after the prevention window
             plugin.getServer().getScheduler().scheduleDelayedTask(plugin, () -> {
                 recentRespawns.remove(playerName);
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Removed respawn tracking for " + playerName);
-                }
+                logger.debug("Removed respawn tracking for %s", playerName);
             }, Math.round(PREVENT_DUPLICATE_XP_TIME / 50) + 1); // Convert ms to ticks
         }
     }
@@ -157,10 +146,7 @@ public class ExperienceListener implements Listener {
                 // Cancel the event to prevent duplicate XP
                 event.setCancelled(true);
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Prevented duplicate XP restoration for " + playerName + 
-                        " (" + timeSinceRespawn + "ms after respawn)");
-                }
+                logger.debug("Prevented duplicate XP restoration for %s (%sms after respawn)", playerName, timeSinceRespawn);
             }
         }
     }
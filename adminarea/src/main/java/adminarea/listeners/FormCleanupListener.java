@@ -1,15 +1,19 @@
 package adminarea.listeners;
 
 import adminarea.AdminAreaProtectionPlugin;
+import adminarea.logging.DebugCategory;
+import adminarea.util.Logger;
 import cn.nukkit.event.EventHandler;
 import cn.nukkit.event.Listener;
 import cn.nukkit.event.player.PlayerQuitEvent;
 
 public class FormCleanupListener implements Listener {
     private final AdminAreaProtectionPlugin plugin;
+    private final Logger logger;
 
     public FormCleanupListener(AdminAreaProtectionPlugin plugin) {
         this.plugin = plugin;
+        this.logger = new Logger(plugin, DebugCategory.FORMS, "FormCleanupListener");
     }
 
     @EventHandler
@@ -25,8 +29,6 @@ public class FormCleanupListener implements Listener {
         // Clear navigation history
         plugin.getGuiManager().clearNavigationHistory(event.getPlayer());
 
-        if (plugin.isDebugMode()) {
-            plugin.debug("Cleaned up form data for disconnected player: " + playerName);
-        }
+        logger.debug("Cleaned up form data for disconnected player: %s", playerName);
     }
 }
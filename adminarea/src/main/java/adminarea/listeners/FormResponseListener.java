@@ -6,6 +6,8 @@ import adminarea.data.FormTrackingData;
 import adminarea.form.FormRegistry;
 import adminarea.form.IFormHandler;
 import adminarea.util.FormLogger;
+import adminarea.logging.DebugCategory;
+import adminarea.util.Logger;
 import cn.nukkit.event.EventHandler;
 import cn.nukkit.event.Listener;
 import cn.nukkit.event.player.PlayerFormRespondedEvent;
@@ -22,10 +24,12 @@ public class FormResponseListener implements Listener {
     private static final long CLEANUP_INTERVAL = 900000; // 15 minutes
     private long lastCleanup = 0;
     private final AdminAreaProtectionPlugin plugin;
+    private final Logger logger;
     private final FormRegistry formRegistry;
 
     public FormResponseListener(AdminAreaProtectionPlugin plugin) {
         this.plugin = plugin;
+        this.logger = new Logger(plugin, DebugCategory.FORMS, "Form");
         this.formRegistry = plugin.getFormRegistry();
         this.formLogger = new FormLogger(plugin);
     }
@@ -33,10 +37,10 @@ public class FormResponseListener implements Listener {
     @EventHandler
     public void onFormResponded(PlayerFormRespondedEvent event) {
         if (event.getResponse() == null || event.wasClosed()) {
-            if (plugin.isDebugMode()) {
-                plugin.debug(String.format("[Form] %s %s form", 
+            if (logger.isDebugEnabled()) {
+                logger.debug("%s %s form", 
                     event.getPlayer().getName(),
-                    event.wasClosed() ? "closed" : "submitted null response for"));
+                    event.wasClosed() ? "closed" : "submitted null response for");
                 formLogger.logFormData(event.getPlayer().getName());
             }
             handleFormCancel(event);
@@ -47,13 +51,13 @@ public class FormResponseListener implements Listener {
         try {
             FormTrackingData formData = plugin.getFormIdMap().get(event.getPlayer().getName());
             if (formData == null) {
-                if (plugin.isDebugMode()) {
-                    plugin.debug("No form tracking data found for " + event.getPlayer().getName());
-                    plugin.debug("Form type: " + event.getWindow().getClass().getSimpleName());
+                if (logger.isDebugEnabled()) {
+                    logger.debug("No form tracking data found for %s", event.getPlayer().getName());
+                    logger.debug("Form type: %s", event.getWindow().getClass().getSimpleName());
                     if (event.getWindow() instanceof FormWindowCustom) {
-                        plugin.debug("Form title: " + ((FormWindowCustom)event.getWindow()).getTitle());
+                        logger.debug("Form title: %s", ((FormWindowCustom)event.getWindow()).getTitle());
                     } else if (event.getWindow() instanceof FormWindowSimple simple) {
-                        plugin.debug("Form title: " + simple.getTitle());
+                        logger.debug("Form title: %s", simple.getTitle());
                         
                         // Try to recover form tracking data based on window title and content
                         if ("Delete Area".equals(simple.getTitle())) {
@@ -72,10 +76,8 @@ public class FormResponseListener implements Listener {
                                     plugin.getFormIdMap().put(event.getPlayer().getName() + "_editing",
                                         new FormTrackingData(areaName, System.currentTimeMillis()));
                                         
-                                    if (plugin.isDebugMode()) {
-                                        plugin.debug("Recovered form tracking data for delete confirmation form");
-                                        plugin.debug("Recovered area being edited: " + areaName);
-                                    }
+                                    logger.debug("Recovered form tracking data for delete confirmation form");
+                                    logger.debug("Recovered area being edited: %s", areaName);
                                 }
                             }
                         }
@@ -88,26 +90,26 @@ public class FormResponseListener implements Listener {
             checkCleanup();
 
             if (formData == null) {
-                if (plugin.isDebugMode()) {
-                    plugin.debug(String.format("[Form] No form data found for player %s", 
-                        event.getPlayer().getName()));
+                if (logger.isDebugEnabled()) {
+                    logger.debug("No form data found for player %s", 
+                        event.getPlayer().getName());
                     // Add debug info about existing tracking data
-                    plugin.debug("Current form tracking data:");
+                    logger.debug("Current form tracking data:");
                     plugin.getFormIdMap().forEach((key, value) -> 
-                        plugin.debug(String.format("  %s: %s (%d ms ago)", 
+                        logger.debug("  %s: %s (%d ms ago)", 
                             key,
                             value.getFormId(),
-                            System.currentTimeMillis() - value.getCreationTime())));
+                            System.currentTimeMillis() - value.getCreationTime()));
 
                     // Log form window details
                     FormWindow form = event.getWindow();
                     if (form != null) {
-                        plugin.debug("Received form response:");
-                        plugin.debug("  Form type: " + form.getClass().getSimpleName());
+                        logger.debug("Received form response:");
+                        logger.debug("  Form type: %s", form.getClass().getSimpleName());
                         if (form instanceof FormWindowCustom) {
-                            plugin.debug("  Title: " + ((FormWindowCustom)form).getTitle());
+                            logger.debug("  Title: %s", ((FormWindowCustom)form).getTitle());
                         } else if (form instanceof FormWindowSimple) {
-                            plugin.debug("  Title: " + ((FormWindowSimple)form).getTitle());
+                            logger.debug("  Title: %s", ((FormWindowSimple)form).getTitle());
                         }
                     }
                 }
@@ -115,20 +117,18 @@ public class FormResponseListener implements Listener {
             }
 
             String formId = formData.getFormId();
-            if (plugin.isDebugMode()) {
-                plugin.debug("Looking up handler for formId: " + formId);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Looking up handler for formId: %s", formId);
                 formLogger.logFormData(event.getPlayer().getName());
             }
 
             IFormHandler handler = formRegistry.getHandler(formId);
             
             if (handler == null) {
-                if (plugin.isDebugMode()) {
-                    plugin.debug(String.format("[Form] No handler found for form ID: %s", formId));
-                    // Add form registry debug info
-                    plugin.debug("Available handlers in registry:");
-                    plugin.debug(formRegistry.toString());
-                }
+                logger.debug("No handler found for form ID: %s", formId);
+                // Add form registry debug info
+                logger.debug("Available handlers in registry:");
+                logger.debug(() -> formRegistry.toString());
                 return;
             }
 
@@ -150,21 +150,21 @@ public class FormResponseListener implements Listener {
     }
 
     private void logDebugInfo(PlayerFormRespondedEvent event, IFormHandler handler, String formId) {
-        if (!plugin.isDebugMode() || handler == null) return;
+        if (!logger.isDebugEnabled() || handler == null) return;
         
-        plugin.debug(String.format("[Form] Processing form response:"));
-        plugin.debug(String.format("  Player: %s", event.getPlayer().getName()));
-        plugin.debug(String.format("  Form ID: %s", formId));
-        plugin.debug(String.format("  Handler: %s", handler.getClass().getSimpleName()));
-        plugin.debug(String.format("  Response Type: %s", event.getResponse().getClass().getSimpleName()));
+        logger.debug("Processing form response:");
+        logger.debug("  Player: %s", event.getPlayer().getName());
+        logger.debug("  Form ID: %s", formId);
+        logger.debug("  Handler: %s", handler.getClass().getSimpleName());
+        logger.debug("  Response Type: %s", event.getResponse().getClass().getSimpleName());
 
         if (event.getResponse() instanceof FormResponseCustom response) {
-            plugin.debug("[Form] Custom form response data:");
+            logger.debug("Custom form response data:");
             response.getResponses().forEach((key, value) -> 
-                plugin.debug(String.format("  %s: %s", key, value)));
+                logger.debug("  %s: %s", key, value));
         } else if (event.getResponse() instanceof FormResponseSimple response) {
-            plugin.debug(String.format("[Form] Simple form response - Button: %d", 
-                response.getClickedButtonId()));
+            logger.debug("Simple form response - Button: %d", 
+                response.getClickedButtonId());
         }
     }
 
@@ -180,9 +180,7 @@ public class FormResponseListener implements Listener {
                 // Check for validation errors that are already shown to the player
                 if (e instanceof RuntimeException && e.getMessage() != null && 
                     e.getMessage().contains("_validation_error_already_shown")) {
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("[Form] Not showing generic error for validation error in form cancel handler");
-                    }
+                    logger.debug("Not showing generic error for validation error in form cancel handler");
                 } else {
                     plugin.getLogger().error("Error handling form cancel", e);
                     event.getPlayer().sendMessage(plugin.getLanguageManager().get("messages.form.error.generic"));
@@ -216,9 +214,7 @@ public class FormResponseListener implements Listener {
             // Check for validation errors that are already shown to the player
             if (e instanceof RuntimeException && e.getMessage() != null && 
                 e.getMessage().contains("_validation_error_already_shown")) {
-                if (plugin.isDebugMode()) {
-                    plugin.debug("[Form] Not showing generic error for validation error in custom form handler");
-                }
+                logger.debug("Not showing generic error for validation error in custom form handler");
             } else {
                 plugin.getLogger().error("Error handling custom form response", e);
                 event.getPlayer().sendMessage(plugin.getLanguageManager().get("messages.form.error.generic"));
@@ -234,13 +230,13 @@ public class FormResponseListener implements Listener {
             var editingData = plugin.getFormIdMap().get(event.getPlayer().getName() + "_editing");
             var currentFormData = plugin.getFormIdMap().get(event.getPlayer().getName());
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Before handling simple form response:");
+            if (logger.isDebugEnabled()) {
+                logger.debug("Before handling simple form response:");
                 if (currentFormData != null) {
-                    plugin.debug("  Current form: " + currentFormData.getFormId());
+                    logger.debug("  Current form: %s", currentFormData.getFormId());
                 }
                 if (editingData != null) {
-                    plugin.debug("  Editing area: " + editingData.getFormId());
+                    logger.debug("  Editing area: %s", editingData.getFormId());
                 }
             }
             
@@ -251,13 +247,13 @@ public class FormResponseListener implements Listener {
             var newFormData = plugin.getFormIdMap().get(event.getPlayer().getName());
             var newEditingData = plugin.getFormIdMap().get(event.getPlayer().getName() + "_editing");
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("After handling simple form response:");
+            if (logger.isDebugEnabled()) {
+                logger.debug("After handling simple form response:");
                 if (newFormData != null) {
-                    plugin.debug("  New form: " + newFormData.getFormId());
+                    logger.debug("  New form: %s", newFormData.getFormId());
                 }
                 if (newEditingData != null) {
-                    plugin.debug("  New editing area: " + newEditingData.getFormId());
+                    logger.debug("  New editing area: %s", newEditingData.getFormId());
                 }
             }
             
@@ -265,17 +261,13 @@ public class FormResponseListener implements Listener {
             if (editingData != null && newEditingData == null && 
                 (newFormData != null && !newFormData.equals(currentFormData))) {
                 plugin.getFormIdMap().put(event.getPlayer().getName() + "_editing", editingData);
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Restored editing area data after form transition");
-                }
+                logger.debug("Restored editing area data after form transition");
             }
         } catch (Exception e) {
             // Check for validation errors that are already shown to the player
             if (e instanceof RuntimeException && e.getMessage() != null && 
                 e.getMessage().contains("_validation_error_already_shown")) {
-                if (plugin.isDebugMode()) {
-                    plugin.debug("[Form] Not showing generic error for validation error in simple form handler");
-                }
+                logger.debug("Not showing generic error for validation error in simple form handler");
             } else {
                 plugin.getLogger().error("Error handling simple form response", e);
                 event.getPlayer().sendMessage(plugin.getLanguageManager().get("messages.form.error.generic"));
@@ -289,10 +281,7 @@ public class FormResponseListener implements Listener {
         // Check for validation errors that are already shown to the player
         if (e instanceof RuntimeException && e.getMessage() != null && 
             e.getMessage().contains("_validation_error_already_shown")) {
-            if (plugin.isDebugMode()) {
-                plugin.debug("[Form] Validation error already shown to player " + event.getPlayer().getName() + 
-                    ", suppressing generic error");
-            }
+            logger.debug("Validation error already shown to player %s, suppressing generic error", event.getPlayer().getName());
             // Still clean up form tracking data
             String playerName = event.getPlayer().getName();
             plugin.getFormIdMap().remove(playerName);
@@ -301,10 +290,10 @@ public class FormResponseListener implements Listener {
         }
         
         plugin.getLogger().error("Error handling form response", e);
-        if (plugin.isDebugMode()) {
-            plugin.debug("[Form] Error processing form response:");
-            plugin.debug("  Player: " + event.getPlayer().getName());
-            plugin.debug("  Exception: " + e.getMessage());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Error processing form response:");
+            logger.debug("  Player: %s", event.getPlayer().getName());
+            logger.debug("  Exception: %s", e.getMessage());
             e.printStackTrace();
         }
         
@@ -324,9 +313,7 @@ public class FormResponseListener implements Listener {
             // Remove formRegistry.clearHandlers() to maintain handlers
             lastCleanup = currentTime;
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Performed form cleanup");
-            }
+            logger.debug("Performed form cleanup");
         }
     }
 
@@ -335,8 +322,6 @@ public class FormResponseListener implements Listener {
         plugin.getFormIdMap().remove(playerName);
         plugin.getFormIdMap().remove(playerName + "_editing");
         
-        if (plugin.isDebugMode()) {
-            plugin.debug("Cleaned up form data for player: " + playerName);
-        }
+        logger.debug("Cleaned up form data for player: %s", playerName);
     }
 }
\ No newline at end of file
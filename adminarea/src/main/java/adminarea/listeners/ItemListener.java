@@ -2,6 +2,8 @@ package adminarea.listeners;
 
 import adminarea.AdminAreaProtectionPlugin;
 import adminarea.area.Area;
+import adminarea.logging.DebugCategory;
+import adminarea.util.Logger;
 import cn.nukkit.Player;
 import cn.nukkit.event.EventHandler;
 import cn.nukkit.event.EventPriority;
@@ -17,6 +19,7 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 
 public class ItemListener implements Listener {
     private final AdminAreaProtectionPlugin plugin;
+    private final Logger logger;
     private final ProtectionListener protectionListener;
     
     // Add cache for item drop/pickup checks
@@ -26,12 +29,15 @@ public class ItemListener implements Listener {
 
     public ItemListener(AdminAreaProtectionPlugin plugin, ProtectionListener protectionListener) {
         this.plugin = plugin;
+        this.logger = new Logger(plugin, DebugCategory.PROTECTION, "ItemListener");
         this.protectionListener = protectionListener;
         
         this.itemActionCache = Caffeine.newBuilder()
             .maximumSize(CACHE_SIZE)
             .expireAfterWrite(CACHE_EXPIRY, TimeUnit.MILLISECONDS)
+            .recordStats()
             .build();
+        plugin.getPerformanceMonitor().getCacheRegistry().register("item_actions", itemActionCache);
     }
 
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
@@ -71,11 +77,9 @@ public class ItemListener implements Listener {
                 event.setCancelled(true);
                 protectionListener.sendProtectionMessage(player, "messages.protection.itemDrop");
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Blocked item drop by " + player.getName() + 
-                                " at " + dropPos.getFloorX() + "," + dropPos.getFloorY() + "," + 
-                                dropPos.getFloorZ());
-                }
+                logger.debug(() -> "Blocked item drop by " + player.getName() + 
+                            " at " + dropPos.getFloorX() + "," + dropPos.getFloorY() + "," + 
+                            dropPos.getFloorZ());
             }
         } finally {
             plugin.getPerformanceMonitor().stopTimer(sample, "item_drop_check");
@@ -119,11 +123,9 @@ public class ItemListener implements Listener {
                     event.setCancelled(true);
                     protectionListener.sendProtectionMessage(player, "messages.protection.itemPickup");
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Blocked item pickup by " + player.getName() + 
-                                    " at " + itemPos.getFloorX() + "," + itemPos.getFloorY() + "," + 
-                                    itemPos.getFloorZ());
-                    }
+                    logger.debug(() -> "Blocked item pickup by " + player.getName() + 
+                                " at " + itemPos.getFloorX() + "," + itemPos.getFloorY() + "," + 
+                                itemPos.getFloorZ());
                 }
             }
         } finally {
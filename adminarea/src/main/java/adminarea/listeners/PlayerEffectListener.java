@@ -2,6 +2,10 @@ package adminarea.listeners;
 
 import adminarea.AdminAreaProtectionPlugin;
 import adminarea.area.Area;
+import adminarea.util.LoadShedder;
+import adminarea.util.TickScheduler;
+import adminarea.logging.DebugCategory;
+import adminarea.util.Logger;
 import cn.nukkit.Player;
 import cn.nukkit.event.EventHandler;
 import cn.nukkit.event.EventPriority;
@@ -13,7 +17,6 @@ import cn.nukkit.item.Item;
 import cn.nukkit.item.ItemPotion;
 import cn.nukkit.level.Position;
 import cn.nukkit.potion.Effect;
-import cn.nukkit.scheduler.TaskHandler;
 import io.micrometer.core.instrument.Timer;
 
 import java.util.*;
@@ -25,6 +28,7 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public class PlayerEffectListener implements Listener {
     private final AdminAreaProtectionPlugin plugin;
+    private final Logger logger;
     private final ProtectionListener protectionListener;
     
     // Map of potion damage values to permission nodes
@@ -39,15 +43,26 @@ public class PlayerEffectListener implements Listener {
     // Map to track active effects on players - stores effect key to amplifier
     private final Map<String, Map<String, Integer>> playerEffects = new ConcurrentHashMap<>();
     
+    // Desired effect set per area, computed once and reused for every player in the area
+    private final Map<String, AreaEffectProfile> effectProfiles = new ConcurrentHashMap<>();
+    
     // Map to save player experience for respawning - from ExperienceListener
     private final Map<String, Integer> savedPlayerExperience = new HashMap<>();
     
-    // Task handler for effect application
-    private TaskHandler effectTask;
+    // Scheduled job for effect application
+    private TickScheduler.Job effectTask;
     
     // Maximum effect strength - changing from 255 to 10
     private static final int MAX_EFFECT_STRENGTH = 10;
     
+    // Duration of applied effects (in ticks) and the remaining duration below which they are re-sent
+    private static final int EFFECT_DURATION_TICKS = 30000;
+    private static final int EFFECT_REFRESH_THRESHOLD_TICKS = 600;
+    
+    // Managed effects as parallel arrays, filled once from EFFECT_IDS
+    private static final String[] EFFECT_KEYS;
+    private static final int[] EFFECT_ID_VALUES;
+    
     static {
         // Initialize potion permissions mapping
         // Speed Potion
@@ -133,16 +148,26 @@ public class PlayerEffectListener implements Listener {
         EFFECT_IDS.put("allowPotionAbsorption", Effect.ABSORPTION);
         EFFECT_IDS.put("allowPotionSaturation", Effect.SATURATION);
         EFFECT_IDS.put("allowPotionLevitation", Effect.LEVITATION);
+        
+        EFFECT_KEYS = EFFECT_IDS.keySet().toArray(new String[0]);
+        EFFECT_ID_VALUES = new int[EFFECT_KEYS.length];
+        for (int i = 0; i < EFFECT_KEYS.length; i++) {
+            EFFECT_ID_VALUES[i] = EFFECT_IDS.get(EFFECT_KEYS[i]);
+        }
     }
 
     public PlayerEffectListener(AdminAreaProtectionPlugin plugin, ProtectionListener protectionListener) {
         this.plugin = plugin;
+        this.logger = new Logger(plugin, DebugCategory.EFFECTS, "PlayerEffectListener");
         this.protectionListener = protectionListener;
         startEffectTask();
     }
     
     /**
-     * Start the task that applies effects to players in areas
+     * Start the task that applies effects to players in areas.
+     * Players are refreshed in round-robin slices through the shared tick
+     * scheduler, so each player is visited once per cycle without all of
+     * them being processed in the same tick.
      */
     private void startEffectTask() {
         try {
@@ -151,127 +176,133 @@ public class PlayerEffectListener implements Listener {
                 effectTask.cancel();
             }
             
-            // Run every 2 seconds (40 ticks) instead of 5 seconds for more responsive effects
-            effectTask = plugin.getServer().getScheduler().scheduleRepeatingTask(plugin, this::applyAreaEffects, 40);
+            // Visit every player once per 2 seconds (40 ticks). The periodic refresh is skipped
+            // when over the tick budget; effects are still applied when players change areas.
+            effectTask = plugin.getTickScheduler().schedulePerPlayer("area_effects", 40, player -> {
+                if (!plugin.getPerformanceMonitor().getLoadShedder().shouldShed(LoadShedder.Feature.EFFECT_REFRESH)) {
+                    refreshPlayerEffects(player);
+                }
+            });
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Started potion effect application task - will run every 2 seconds");
-            }
+            logger.debug("Started potion effect application task - each player refreshed every 2 seconds");
         } catch (Exception e) {
             plugin.getLogger().error("Failed to start potion effect task", e);
         }
     }
     
     /**
-     * Apply area effects to all players
+     * Apply area effects to all players at once
      */
     private void applyAreaEffects() {
         Timer.Sample sample = plugin.getPerformanceMonitor().startTimer();
         try {
-            if (plugin.isDebugMode()) {
-                plugin.debug("Running area effects application task...");
-            }
+            logger.debug("Running area effects application for all players...");
             
-            // Process each online player
             for (Player player : plugin.getServer().getOnlinePlayers().values()) {
-                if (player == null || !player.isConnected()) continue;
-                
-                // Skip if player is bypassing protection
-                if (plugin.isBypassing(player.getName())) {
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Skipping player " + player.getName() + " who is bypassing protection");
-                    }
-                    continue;
-                }
-                
-                // Get the area at the player's position
-                Area area = plugin.getAreaManager().getHighestPriorityAreaAtPosition(player.getPosition());
-                String areaName = (area != null) ? area.getName() : null;
-                String playerName = player.getName();
-                
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Checking effects for player " + playerName + " in area: " + 
-                        (areaName != null ? areaName : "none"));
-                }
-                
-                // Check if player has changed areas
-                String previousArea = playerAreaMap.get(playerName);
-                if (!Objects.equals(previousArea, areaName)) {
-                    // Player has changed areas
-                    if (previousArea != null) {
-                        if (plugin.isDebugMode()) {
-                            plugin.debug("Player " + playerName + " moved from area " + 
-                                previousArea + " to " + (areaName != null ? areaName : "none"));
-                        }
-                        
-                        // Remove effects from previous area
-                        removeAreaEffects(player, previousArea);
-                    }
-                    
-                    // Update area tracking
-                    if (areaName != null) {
-                        playerAreaMap.put(playerName, areaName);
-                    } else {
-                        playerAreaMap.remove(playerName);
-                    }
-                }
-                
-                // Apply effects for current area if any
-                if (area != null) {
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Applying area effects to player " + playerName + " in area " + areaName);
-                    }
-                    // This is just a regular periodic refresh, not an entry event
-                    applyAreaEffectsToPlayer(player, area, false);
-                }
+                refreshPlayerEffects(player);
             }
         } finally {
             plugin.getPerformanceMonitor().stopTimer(sample, "apply_area_effects");
         }
     }
     
+    /**
+     * Resolves a player's current area and brings their effects up to date
+     */
+    private void refreshPlayerEffects(Player player) {
+        if (player == null || !player.isConnected()) return;
+        
+        // Skip if player is bypassing protection
+        if (plugin.isBypassing(player.getName())) {
+            return;
+        }
+        
+        // Get the area at the player's position
+        Area area = plugin.getAreaManager().getHighestPriorityAreaAtPosition(player.getPosition());
+        String areaName = (area != null) ? area.getName() : null;
+        String playerName = player.getName();
+        
+        // Check if player has changed areas
+        String previousArea = playerAreaMap.get(playerName);
+        if (!Objects.equals(previousArea, areaName)) {
+            // Player has changed areas
+            if (previousArea != null) {
+                logger.debug(() -> String.format("Player %s moved from area %s to %s", playerName, previousArea, areaName != null ? areaName : "none"));
+                
+                // Remove effects from previous area
+                removeAreaEffects(player, previousArea);
+            }
+            
+            // Update area tracking
+            if (areaName != null) {
+                playerAreaMap.put(playerName, areaName);
+            } else {
+                playerAreaMap.remove(playerName);
+            }
+        }
+        
+        // Apply effects for current area if any
+        if (area != null) {
+            // This is just a regular periodic refresh, not an entry event
+            applyAreaEffectsToPlayer(player, area, false);
+        }
+    }
+    
     /**
      * Reload effects for all players
-     * This is called when the plugin reloads
+     * This is called when the plugin reloads or an area's potion effects change.
+     * Cached area profiles are dropped and every player is diffed against the
+     * fresh profiles, so only effects that actually changed are re-sent.
      */
     public void reloadEffects() {
         Timer.Sample sample = plugin.getPerformanceMonitor().startTimer();
         try {
-            // Clear all tracking data
-            playerAreaMap.clear();
-            playerEffects.clear();
+            effectProfiles.clear();
             
-            // Clear all active effects from players
-            for (Player player : plugin.getServer().getOnlinePlayers().values()) {
-                if (player == null || !player.isConnected()) continue;
-                
-                // Remove all potion effects (we'll reapply the correct ones)
-                for (Effect effect : player.getEffects().values()) {
-                    // Only remove effects that match our managed types
-                    if (EFFECT_IDS.containsValue(effect.getId())) {
-                        player.removeEffect(effect.getId());
-                    }
-                }
-            }
-            
-            if (plugin.isDebugMode()) {
-                plugin.debug("Cleared all potion effects from players");
-            }
+            logger.debug("Cleared cached area effect profiles");
             
-            // Reapply effects based on current player positions
+            // Re-evaluate effects based on current player positions
             applyAreaEffects();
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Reapplied potion effects to all players");
-            }
+            logger.debug("Reapplied potion effects to all players");
             
         } finally {
             plugin.getPerformanceMonitor().stopTimer(sample, "reload_effects");
         }
     }
     
+    /**
+     * Drops the cached effect profile of an area so that it is recomputed
+     * on the next application.
+     *
+     * @param areaName The name of the area whose effects changed
+     */
+    public void invalidateEffectProfile(String areaName) {
+        if (areaName != null) {
+            effectProfiles.remove(areaName);
+        }
+    }
+    
+    /**
+     * Gets the desired effect profile of an area, computing it if the cached
+     * one is missing or belongs to a replaced area instance.
+     */
+    private AreaEffectProfile getEffectProfile(Area area) {
+        AreaEffectProfile profile = effectProfiles.get(area.getName());
+        if (profile == null || profile.area != area) {
+            profile = AreaEffectProfile.of(area);
+            effectProfiles.put(area.getName(), profile);
+            
+            logger.debug("Computed effect profile for area %s: %s", area.getName(), area.getAllPotionEffects());
+        }
+        return profile;
+    }
+    
     /**
      * Applies the potion effects from an area to a player.
+     * The area's desired effects are diffed against the player's current
+     * effects; only missing, changed or nearly expired effects are sent and
+     * only effects this listener applied earlier are removed.
      *
      * @param player The player to apply the effects to
      * @param area The area to get the effects from
@@ -281,93 +312,80 @@ public class PlayerEffectListener implements Listener {
         if (player == null || area == null) return;
 
         String playerName = player.getName();
-        String areaName = area.getName();
-
-        if (plugin.isDebugMode()) {
-            plugin.debug("Applying area effects to player " + playerName + " in area " + areaName + 
-                         (isEntryEvent ? " (entry event)" : " (refresh)"));
-            // Debug log for potion effects in the area
-            plugin.debug("Potion effects: " + area.getAllPotionEffects());
+        AreaEffectProfile profile = getEffectProfile(area);
+        Map<String, Integer> activeEffects = playerEffects.get(playerName);
+        
+        // Nothing desired and nothing applied - no work to do
+        if (profile.isEmpty() && (activeEffects == null || activeEffects.isEmpty())) {
+            return;
         }
+        
+        if (activeEffects == null) {
+            activeEffects = new ConcurrentHashMap<>();
+            playerEffects.put(playerName, activeEffects);
+        }
+        
+        int added = 0;
+        int removed = 0;
 
-        // Get or create player effects map
-        Map<String, Integer> activeEffects = playerEffects.computeIfAbsent(playerName, k -> new HashMap<>());
-        boolean effectsUpdated = false;
-
-        // Process each possible effect
-        for (Map.Entry<String, Integer> entry : EFFECT_IDS.entrySet()) {
-            String effectKey = entry.getKey();
-            int effectId = entry.getValue();
-            
-            // Check if this effect is enabled for the area
-            boolean isEnabled = area.getToggleState(effectKey);
-            
-            // Get effect strength directly from potionEffects first, then fall back to settings
-            int strengthFromPotionEffects = area.getPotionEffectStrength(effectKey);
-            int strengthFromSettings = area.getSettingInt(effectKey + "Strength", 0);
-            int configuredAmplifier = Math.min(Math.max(strengthFromPotionEffects, strengthFromSettings), MAX_EFFECT_STRENGTH);
-            
-            // if (plugin.isDebugMode()) {
-            //     plugin.debug("Effect check: " + effectKey + 
-            //                  " - isEnabled: " + isEnabled + 
-            //                  ", strengthFromPotionEffects: " + strengthFromPotionEffects + 
-            //                  ", strengthFromSettings: " + strengthFromSettings + 
-            //                  ", configuredAmplifier: " + configuredAmplifier);
-            // }
+        for (int i = 0; i < EFFECT_KEYS.length; i++) {
+            String effectKey = EFFECT_KEYS[i];
+            int effectId = EFFECT_ID_VALUES[i];
+            int strength = profile.strengths[i];
             
-            if (isEnabled && configuredAmplifier > 0) {
-                // Create the effect with 12 seconds duration and no particles
-                Effect effect = Effect.getEffect(effectId)
-                    .setAmplifier(configuredAmplifier - 1) // Amplifier is 0-based
-                    .setDuration(30000) // 12? seconds (20 ticks per second)
-                    .setVisible(false); // Disable particles
-                
-                // Apply the effect
-                player.addEffect(effect);
-                activeEffects.put(effectKey, configuredAmplifier);
-                effectsUpdated = true;
+            if (strength > 0) {
+                // Amplifier is 0-based
+                if (needsRefresh(player, effectId, strength - 1)) {
+                    Effect effect = Effect.getEffect(effectId)
+                        .setAmplifier(strength - 1)
+                        .setDuration(EFFECT_DURATION_TICKS)
+                        .setVisible(false); // Disable particles
+                    player.addEffect(effect);
+                    added++;
+                }
+                activeEffects.put(effectKey, strength);
 
                 // Only show messages when player enters the area, not on effect refreshes
-                if (isEntryEvent && area.getToggleState("showEffectMessages")) {
-                    String effectName = getEffectName(effectId);
+                if (isEntryEvent && profile.showMessages) {
                     player.sendMessage(plugin.getLanguageManager().get(
                         "potionEffect.applied",
                         Map.of(
-                            "effect", effectName,
-                            "strength", getRomanNumeralFromAmplifier(configuredAmplifier),
-                            "area", areaName
+                            "effect", getEffectName(effectId),
+                            "strength", getRomanNumeralFromAmplifier(strength),
+                            "area", area.getName()
                         )
                     ));
                 }
-
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Applied effect " + effectKey + " with amplifier " + configuredAmplifier + " to " + playerName);
-                }
-            } else {
-                // Remove effect if it was previously active
-                if (activeEffects.containsKey(effectKey)) {
-                    player.removeEffect(effectId);
-                    activeEffects.remove(effectKey);
-                    effectsUpdated = true;
-
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Removed effect " + effectKey + " from player " + playerName);
-                    }
-                }
+            } else if (activeEffects.remove(effectKey) != null) {
+                // Remove effect that we applied earlier but is no longer configured
+                player.removeEffect(effectId);
+                removed++;
             }
         }
         
-        if (plugin.isDebugMode() && effectsUpdated) {
-            plugin.debug("Updated " + playerName + "'s effects in area " + areaName +
-                         " - active effects: " + activeEffects.keySet());
+        if (activeEffects.isEmpty()) {
+            playerEffects.remove(playerName);
         }
         
-        // Always update the effects map if anything changed
-        if (effectsUpdated) {
-            playerEffects.put(playerName, activeEffects);
+        if (logger.isDebugEnabled() && (added > 0 || removed > 0)) {
+            logger.debug("Updated " + playerName + "'s effects in area " + area.getName() +
+                         (isEntryEvent ? " (entry event)" : " (refresh)") +
+                         " - sent " + added + ", removed " + removed + 
+                         ", active effects: " + activeEffects.keySet());
         }
     }
     
+    /**
+     * Checks whether an effect has to be (re)sent to a player: it is missing,
+     * has a different amplifier or is about to expire.
+     */
+    private boolean needsRefresh(Player player, int effectId, int amplifier) {
+        Effect current = player.getEffect(effectId);
+        return current == null
+            || current.getAmplifier() != amplifier
+            || current.getDuration() <= EFFECT_REFRESH_THRESHOLD_TICKS;
+    }
+    
     /**
      * Remove all effects applied by an area
      */
@@ -402,10 +420,8 @@ public class PlayerEffectListener implements Listener {
                     
                     activeEffects.remove(permissionNode);
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Removed " + effectName + " effect with amplifier " + amplifier + 
-                            " from player " + playerName + " when leaving area " + areaName);
-                    }
+                    logger.debug(() -> "Removed " + effectName + " effect with amplifier " + amplifier + 
+                        " from player " + playerName + " when leaving area " + areaName);
                 }
             }
             
@@ -453,10 +469,7 @@ public class PlayerEffectListener implements Listener {
             
             // Check if player can bypass protection
             if (plugin.isBypassing(player.getName())) {
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Player " + player.getName() + " bypassed potion restriction " +
-                        fullPermNode + " in area " + area.getName());
-                }
+                logger.debug("Player %s bypassed potion restriction %s in area %s", player.getName(), fullPermNode, area.getName());
                 return;
             }
             
@@ -477,14 +490,11 @@ public class PlayerEffectListener implements Listener {
                 );
                 player.sendMessage(message);
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Blocked player " + player.getName() + " from using " +
-                        effectName + " potion in area " + area.getName());
-                }
+                logger.debug("Blocked player %s from using %s potion in area %s", player.getName(), effectName, area.getName());
             }
         } catch (Exception e) {
             plugin.getLogger().error("Error checking potion permission", e);
-            if (plugin.isDebugMode()) {
+            if (logger.isDebugEnabled()) {
                 e.printStackTrace();
             }
         } finally {
@@ -535,13 +545,9 @@ public class PlayerEffectListener implements Listener {
                     plugin.getAreaManager().getAreaStats(areaName)
                         .recordVisit(areaName, playerName);
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Recorded visit for player " + playerName + " to area " + areaName);
-                    }
+                    logger.debug("Recorded visit for player %s to area %s", playerName, areaName);
                 } catch (Exception e) {
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Failed to record area visit: " + e.getMessage());
-                    }
+                    logger.debug("Failed to record area visit: %s", e.getMessage());
                 }
                 
                 // Apply effects for new area - this is an entry event
@@ -588,8 +594,8 @@ public class PlayerEffectListener implements Listener {
         // Remove from effects tracking
         playerEffects.remove(playerName);
         
-        if (plugin.isDebugMode() && areaName != null) {
-            plugin.debug("Removed player " + playerName + " from area tracking when they left the server");
+        if (logger.isDebugEnabled() && areaName != null) {
+            logger.debug("Removed player %s from area tracking when they left the server", playerName);
         }
     }
     
@@ -694,10 +700,7 @@ public class PlayerEffectListener implements Listener {
             if (protectionListener.handleProtection(pos, player, "allowXPDrop")) {
                 // If Nukkit is already keeping experience, don't duplicate the effort
                 if (event.getKeepExperience()) {
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("XP already being preserved by Nukkit for player " + 
-                            player.getName() + ", skipping manual preservation");
-                    }
+                    logger.debug("XP already being preserved by Nukkit for player %s, skipping manual preservation", player.getName());
                     return;
                 }
                 
@@ -709,10 +712,7 @@ public class PlayerEffectListener implements Listener {
                 // Force keep XP instead of dropping it
                 event.setKeepExperience(true);
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Saved " + totalExp + " XP for player " + player.getName() + 
-                        " to be restored on respawn");
-                }
+                logger.debug("Saved %s XP for player %s to be restored on respawn", totalExp, player.getName());
             }
         } finally {
             plugin.getPerformanceMonitor().stopTimer(sample, "xp_drop_check");
@@ -735,11 +735,7 @@ public class PlayerEffectListener implements Listener {
             // Before scheduling restoration, check if player already has XP
             // This means Nukkit's built-in system preserved it
             if (player.getExperienceLevel() > 0 || player.getExperience() > 0) {
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Player " + playerName + " already has XP (level: " + 
-                        player.getExperienceLevel() + ", progress: " + player.getExperience() + 
-                        "), skipping manual restoration");
-                }
+                logger.debug("Player %s already has XP (level: %s, progress: %s), skipping manual restoration", playerName, player.getExperienceLevel(), player.getExperience());
                 return;
             }
             
@@ -750,10 +746,7 @@ public class PlayerEffectListener implements Listener {
                 if (player.isOnline()) {
                     // Final check that XP hasn't been restored by something else
                     if (player.getExperienceLevel() > 0 || player.getExperience() > 0) {
-                        if (plugin.isDebugMode()) {
-                            plugin.debug("Player " + playerName + " already received XP from another source, " +
-                                "skipping manual restoration");
-                        }
+                        logger.debug("Player %s already received XP from another source, skipping manual restoration", playerName);
                         return;
                     }
                     
@@ -763,9 +756,7 @@ public class PlayerEffectListener implements Listener {
                     // Set the player's XP directly using our accurate method
                     setPlayerTotalExperience(player, savedExp);
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Successfully restored " + savedExp + " XP for player " + playerName);
-                    }
+                    logger.debug("Successfully restored %s XP for player %s", savedExp, playerName);
                 }
             }, 10); // Wait 10 ticks (0.5 seconds) to ensure player is fully spawned
         }
@@ -823,10 +814,8 @@ public class PlayerEffectListener implements Listener {
         // Set the XP directly
         player.setExperience(Math.round(progress * 100), level);
         
-        if (plugin.isDebugMode()) {
-            plugin.debug("Set player " + player.getName() + " XP to level " + level + 
-                       " with progress " + progress + " (total XP: " + totalExp + ")");
-        }
+        logger.debug("Set player %s XP to level %s with progress %s (total XP: %s)",
+            player.getName(), level, progress, totalExp);
     }
     
     /**
@@ -866,14 +855,69 @@ public class PlayerEffectListener implements Listener {
                     event.setCancelled(true);
                     protectionListener.sendProtectionMessage(player, "messages.protection.chorusFruit");
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Prevented chorus fruit teleportation for " + player.getName() + 
-                                   " at " + target.getFloorX() + "," + target.getFloorY() + "," + target.getFloorZ());
-                    }
+                    logger.debug(() -> "Prevented chorus fruit teleportation for " + player.getName() + 
+                               " at " + target.getFloorX() + "," + target.getFloorY() + "," + target.getFloorZ());
                 }
             }
         } finally {
             plugin.getPerformanceMonitor().stopTimer(sample, "chorus_fruit_teleport_check");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Desired potion effect strengths of an area, indexed like {@link #EFFECT_KEYS}.
+     * Built from {@link Area#getAllPotionEffects()} using the same lookup order as
+     * {@link Area#getPotionEffectStrength(String)}, with the legacy settings strength
+     * taken into account for enabled effects.
+     */
+    private static final class AreaEffectProfile {
+        private static final String TOGGLE_PREFIX = "gui.permissions.toggles.";
+        
+        private final Area area;
+        private final int[] strengths;
+        private final boolean showMessages;
+        private final boolean empty;
+
+        private AreaEffectProfile(Area area, int[] strengths, boolean showMessages) {
+            this.area = area;
+            this.strengths = strengths;
+            this.showMessages = showMessages;
+            boolean anyEffect = false;
+            for (int strength : strengths) {
+                if (strength > 0) {
+                    anyEffect = true;
+                    break;
+                }
+            }
+            this.empty = !anyEffect;
+        }
+
+        static AreaEffectProfile of(Area area) {
+            Map<String, Integer> configured = area.getAllPotionEffects();
+            int[] strengths = new int[EFFECT_KEYS.length];
+            
+            for (int i = 0; i < EFFECT_KEYS.length; i++) {
+                String effectKey = EFFECT_KEYS[i];
+                Integer strength = configured.get(effectKey);
+                if (strength == null) {
+                    strength = configured.get(effectKey.substring("allowPotion".length()));
+                }
+                if (strength == null) {
+                    strength = configured.get(TOGGLE_PREFIX + effectKey + "Strength");
+                }
+                
+                // An effect is enabled only when its potion strength is positive
+                if (strength != null && strength > 0) {
+                    int fromSettings = area.getSettingInt(effectKey + "Strength", 0);
+                    strengths[i] = Math.min(Math.max(strength, fromSettings), MAX_EFFECT_STRENGTH);
+                }
+            }
+            
+            return new AreaEffectProfile(area, strengths, area.getToggleState("showEffectMessages"));
+        }
+
+        boolean isEmpty() {
+            return empty;
+        }
+    }
+}
@@ -4,6 +4,10 @@ import adminarea.AdminAreaProtectionPlugin;
 import adminarea.area.Area;
 import adminarea.area.AreaDTO;
 import adminarea.permissions.PermissionChecker;
+import adminarea.util.CacheRegistry;
+import adminarea.util.LoadShedder;
+import adminarea.logging.DebugCategory;
+import adminarea.util.Logger;
 import cn.nukkit.Player;
 import cn.nukkit.block.Block;
 import cn.nukkit.entity.Entity;
@@ -36,11 +40,14 @@ import com.google.common.cache.CacheBuilder;
 
 public class ProtectionListener implements Listener {
     private final AdminAreaProtectionPlugin plugin;
+    private final Logger logger;
     private final Map<String, Set<String>> temporaryPermissions;
     private final Cache<String, Boolean> protectionCache;
     private final Cache<String, Object> explosionAreaCache;
-    private final Map<String, Long> lastWarningTime;
+    private final Map<String, MessageSlot> messageSlots;
     private static final long WARNING_COOLDOWN = 2000; // 2 seconds
+    private static final String PROTECTION_MESSAGE_PREFIX = "messages.protection.";
+    private static final String GENERIC_DENIED_MESSAGE = "messages.protection.denied";
     private static final int CACHE_SIZE = 2000;
     private static final long CACHE_EXPIRY = TimeUnit.MINUTES.toMillis(5);
     private final Cache<String, Boolean> permissionCache;
@@ -60,19 +67,23 @@ public class ProtectionListener implements Listener {
 
     public ProtectionListener(AdminAreaProtectionPlugin plugin) {
         this.plugin = plugin;
+        this.logger = new Logger(plugin, DebugCategory.PROTECTION, "ProtectionListener");
         this.temporaryPermissions = new ConcurrentHashMap<>();
         this.protectionCache = CacheBuilder.newBuilder()
             .maximumSize(CACHE_SIZE)
             .expireAfterWrite(CACHE_EXPIRY, TimeUnit.MILLISECONDS)
+            .recordStats()
             .build();
         this.explosionAreaCache = CacheBuilder.newBuilder()
             .maximumSize(CACHE_SIZE)
             .expireAfterWrite(CACHE_EXPIRY, TimeUnit.MILLISECONDS)
+            .recordStats()
             .build();
-        this.lastWarningTime = new ConcurrentHashMap<>();
+        this.messageSlots = new ConcurrentHashMap<>();
         this.permissionCache = CacheBuilder.newBuilder()
             .maximumSize(1000)
             .expireAfterWrite(5, TimeUnit.MINUTES)
+            .recordStats()
             .build();
         this.permissionChecker = plugin.getPermissionOverrideManager().getPermissionChecker();
         this.playerAreaCache = new ConcurrentHashMap<>();
@@ -80,7 +91,16 @@ public class ProtectionListener implements Listener {
         this.itemActionCache = CacheBuilder.newBuilder()
             .maximumSize(ITEM_CACHE_SIZE)
             .expireAfterWrite(ITEM_CACHE_EXPIRY, TimeUnit.MILLISECONDS)
+            .recordStats()
             .build();
+
+        CacheRegistry caches = plugin.getPerformanceMonitor().getCacheRegistry();
+        caches.register("protection_decisions", protectionCache);
+        caches.register("explosion_areas", explosionAreaCache);
+        caches.register("listener_permissions", permissionCache);
+        caches.register("listener_item_actions", itemActionCache);
+        caches.register("listener_player_permissions", playerPermissionCache, null);
+        caches.register("player_areas", playerAreaCache, null);
     }
 
     /**
@@ -95,18 +115,18 @@ public class ProtectionListener implements Listener {
 
     protected boolean handleProtection(Position pos, Player player, String permission) {
         if (pos == null || pos.getLevel() == null) {
-            plugin.debug("Protection check failed: Invalid position or level");
+            logger.debug("Protection check failed: Invalid position or level");
             return false;
         }
 
         // Normalize the permission if needed
         String normalizedPermission = normalizePermission(permission);
-        plugin.debug("Checking protection for permission: " + normalizedPermission);
-        plugin.debug("Position: " + pos.getX() + "," + pos.getY() + "," + pos.getZ() + " in world: " + pos.getLevel().getName());
+        logger.debug("Checking protection for permission: %s", normalizedPermission);
+        logger.debug("Position: %s,%s,%s in world: %s", pos.getX(), pos.getY(), pos.getZ(), pos.getLevel().getName());
 
         // Check if player is bypassing protection
         if (player != null && plugin.isBypassing(player.getName())) {
-            plugin.debug("Player " + player.getName() + " is bypassing protection");
+            logger.debug("Player %s is bypassing protection", player.getName());
             return false;
         }
 
@@ -114,21 +134,19 @@ public class ProtectionListener implements Listener {
         // which is set by the '/area bypass' command
 
         // Get all areas at this position for debugging
-        List<Area> allAreas = plugin.getAreaManager().getAreasAtLocation(
-            pos.getLevel().getName(),
-            pos.getX(),
-            pos.getY(),
-            pos.getZ()
-        );
-        
-        if (plugin.isDebugMode()) {
-            plugin.debug("Found " + allAreas.size() + " areas at this position:");
+        if (logger.isDebugEnabled()) {
+            List<Area> allAreas = plugin.getAreaManager().getAreasAtLocation(
+                pos.getLevel().getName(),
+                pos.getX(),
+                pos.getY(),
+                pos.getZ()
+            );
+            logger.debug("Found %s areas at this position:", allAreas.size());
             for (Area area : allAreas) {
-                plugin.debug("  Area: " + area.getName() + ", Priority: " + area.getPriority());
+                logger.debug("  Area: %s, Priority: %s", area.getName(), area.getPriority());
                 // Get the toggle state for this specific permission
                 boolean toggleState = area.getToggleState(normalizedPermission);
-                plugin.debug("  Toggle state for " + normalizedPermission + ": " + toggleState + 
-                           " (" + (toggleState ? "allowed" : "protected") + ")");
+                logger.debug("  Toggle state for %s: %s (%s)", normalizedPermission, toggleState, toggleState ? "allowed" : "protected");
             }
         }
 
@@ -143,49 +161,46 @@ public class ProtectionListener implements Listener {
         if (area == null) {
             // Check global protection if no area is found
             if (plugin.isGlobalAreaProtection()) {
-                plugin.debug("No area found, but global protection is enabled");
+                logger.debug("No area found, but global protection is enabled");
                 return true; // Block the action if global protection is enabled
             }
-            plugin.debug("No area found at position: " + pos.getX() + "," + pos.getY() + "," + pos.getZ() + " in " + pos.getLevel().getName());
+            logger.debug("No area found at position: %s,%s,%s in %s", pos.getX(), pos.getY(), pos.getZ(), pos.getLevel().getName());
             return false;
         }
         
-        plugin.debug("Checking protection in area: " + area.getName());
-        
         // Detailed check of area bounds
-        AreaDTO.Bounds bounds = area.getBounds();
-        plugin.debug("Area bounds: X(" + bounds.xMin() + " to " + bounds.xMax() + "), " +
-                   "Y(" + bounds.yMin() + " to " + bounds.yMax() + "), " +
-                   "Z(" + bounds.zMin() + " to " + bounds.zMax() + ")");
-        plugin.debug("Is position inside bounds: " + area.isInside(pos.getLevel().getName(), pos.getX(), pos.getY(), pos.getZ()));
+        if (logger.isDebugEnabled()) {
+            logger.debug("Checking protection in area: %s", area.getName());
+            AreaDTO.Bounds bounds = area.getBounds();
+            logger.debug("Area bounds: X(%s to %s), Y(%s to %s), Z(%s to %s)",
+                bounds.xMin(), bounds.xMax(), bounds.yMin(), bounds.yMax(), bounds.zMin(), bounds.zMax());
+            logger.debug("Is position inside bounds: %s", area.isInside(pos.getLevel().getName(), pos.getX(), pos.getY(), pos.getZ()));
+        }
         
         // Check for player-specific permissions in debug mode
-        if (plugin.isDebugMode() && player != null) {
+        if (logger.isDebugEnabled() && player != null) {
             Map<String, Boolean> playerPerms = area.getPlayerPermissions(player.getName());
             if (playerPerms != null && !playerPerms.isEmpty()) {
-                plugin.debug("Player " + player.getName() + " has specific permissions in area " + area.getName() + ":");
+                logger.debug("Player %s has specific permissions in area %s:", player.getName(), area.getName());
                 for (Map.Entry<String, Boolean> entry : playerPerms.entrySet()) {
-                    plugin.debug("  " + entry.getKey() + ": " + entry.getValue());
+                    logger.debug("  %s: %s", entry.getKey(), entry.getValue());
                 }
                 
                 // Check with the full prefix
                 if (playerPerms.containsKey(normalizedPermission)) {
-                    plugin.debug("Player has specific permission for " + normalizedPermission + ": " + 
-                               playerPerms.get(normalizedPermission));
+                    logger.debug("Player has specific permission for %s: %s", normalizedPermission, playerPerms.get(normalizedPermission));
                 } 
                 // Check without the prefix
                 else {
                     String permWithoutPrefix = normalizedPermission.replace("gui.permissions.toggles.", "");
                     if (playerPerms.containsKey(permWithoutPrefix)) {
-                        plugin.debug("Player has specific permission for " + permWithoutPrefix + ": " + 
-                                   playerPerms.get(permWithoutPrefix));
+                        logger.debug("Player has specific permission for %s: %s", permWithoutPrefix, playerPerms.get(permWithoutPrefix));
                     } else {
-                        plugin.debug("Player does not have specific permission for " + normalizedPermission + 
-                                   " or " + permWithoutPrefix);
+                        logger.debug("Player does not have specific permission for %s or %s", normalizedPermission, permWithoutPrefix);
                     }
                 }
             } else {
-                plugin.debug("Player " + player.getName() + " has no specific permissions in area " + area.getName());
+                logger.debug("Player %s has no specific permissions in area %s", player.getName(), area.getName());
             }
         }
         
@@ -198,12 +213,12 @@ public class ProtectionListener implements Listener {
         // - handleProtection should return false if action is allowed
         boolean shouldProtect = !allowed;
         
-        plugin.debug("Permission check result for " + normalizedPermission + ": " + (allowed ? "ALLOWED" : "DENIED"));
-        plugin.debug("Protection decision: " + (shouldProtect ? "BLOCK" : "ALLOW"));
+        logger.debug("Permission check result for %s: %s", normalizedPermission, allowed ? "ALLOWED" : "DENIED");
+        logger.debug("Protection decision: %s", shouldProtect ? "BLOCK" : "ALLOW");
         
         // No longer automatically send messages here - each event handler should decide
         // whether to send a message when protection is applied
-        if (shouldProtect && plugin.isDebugMode()) {
+        if (shouldProtect && logger.isDebugEnabled()) {
             // Get the appropriate message key based on the permission for debug logging only
             String originalPermission = permission;
             if (normalizedPermission.startsWith("gui.permissions.toggles.")) {
@@ -212,7 +227,7 @@ public class ProtectionListener implements Listener {
             String messageKey = getProtectionMessageKey(originalPermission);
             
             // Log the denial for debugging
-            plugin.debug("Protection applied: " + messageKey + " (permission: " + normalizedPermission + ")");
+            logger.debug("Protection applied: %s (permission: %s)", messageKey, normalizedPermission);
         }
         
         return shouldProtect; // Return true if protection should be applied (action canceled)
@@ -306,10 +321,7 @@ public class ProtectionListener implements Listener {
             case "allowSnowForm":
                 return "messages.protection.snowForm";
             default:
-                if (plugin.isDebugMode()) {
-                    plugin.debug("No specific message key found for permission: " + permission + 
-                                 ", using default message");
-                }
+                logger.debug("No specific message key found for permission: %s, using default message", permission);
                 return "messages.protection.denied";
         }
     }
@@ -318,6 +330,8 @@ public class ProtectionListener implements Listener {
      * Send a protection message to a player with rate limiting.
      * The message key must be in the format "messages.protection.<messagename>" and must exist in the language file.
      * The message will be localized and have the area name and prefix placeholders automatically added.
+     * Repeated denials within the cooldown are rejected by a timestamp comparison on the
+     * player's message slot before any area lookup or string work is done.
      * 
      * @param player The player to send the message to
      * @param messageKey The message key in the format "messages.protection.<messagename>"
@@ -327,24 +341,24 @@ public class ProtectionListener implements Listener {
             return;
         }
         
-        // Validate message key format
-        if (!messageKey.startsWith("messages.protection.")) {
-            if (plugin.isDebugMode()) {
-                plugin.debug("Invalid protection message key format: " + messageKey + 
-                           " (must start with 'messages.protection.')");
-            }
-            return;
-        }
-        
         // Rate limit messages to avoid spam
         long now = System.currentTimeMillis();
         String playerName = player.getName();
+        MessageSlot slot = messageSlots.get(playerName);
+        if (slot != null && now - slot.lastSentAt < WARNING_COOLDOWN) {
+            return; // Don't spam messages
+        }
         
-        if (lastWarningTime.containsKey(playerName)) {
-            long lastTime = lastWarningTime.get(playerName);
-            if (now - lastTime < WARNING_COOLDOWN) {
-                return; // Don't spam messages
-            }
+        // Only send the message if it's related to an action, not just being in an area
+        if (GENERIC_DENIED_MESSAGE.equals(messageKey)) {
+            logger.debug("Suppressed generic protection message for %s", playerName);
+            return;
+        }
+        
+        // Validate message key format
+        if (!messageKey.startsWith(PROTECTION_MESSAGE_PREFIX)) {
+            logger.debug("Invalid protection message key format: %s (must start with 'messages.protection.')", messageKey);
+            return;
         }
         
         // Get the actual area name for the player's location
@@ -354,22 +368,37 @@ public class ProtectionListener implements Listener {
             areaName = area.getName();
         }
         
-        // Use LanguageManager to get the localized message
-        String message = plugin.getLanguageManager().get(messageKey, Map.of("area", areaName));
+        if (slot == null) {
+            slot = messageSlots.computeIfAbsent(playerName, k -> new MessageSlot());
+        }
         
-        // Only send the message if it's related to an action, not just being in an area
-        if (!messageKey.equals("messages.protection.denied")) {
-            // Send the message and update the last warning time
-            player.sendMessage(message);
-            lastWarningTime.put(playerName, now);
-            
-            if (plugin.isDebugMode()) {
-                plugin.debug("Sent protection message: " + messageKey + " to " + playerName + 
-                          " for area: " + areaName);
-            }
-        } else if (plugin.isDebugMode()) {
-            plugin.debug("Suppressed generic protection message for " + playerName);
+        // Reuse the text rendered for the same message in the same area
+        String message;
+        if (messageKey.equals(slot.lastKey) && areaName.equals(slot.lastAreaName)) {
+            message = slot.lastRendered;
+        } else {
+            message = plugin.getLanguageManager().get(messageKey, Map.of("area", areaName));
+            slot.lastKey = messageKey;
+            slot.lastAreaName = areaName;
+            slot.lastRendered = message;
         }
+        
+        // Send the message and update the last warning time
+        player.sendMessage(message);
+        slot.lastSentAt = now;
+        
+        logger.debug("Sent protection message: %s to %s for area: %s", messageKey, playerName, areaName);
+    }
+
+    /**
+     * Per-player protection message state: when the last message was sent and the
+     * text last rendered, so repeated denials need no map boxing or string building.
+     */
+    private static final class MessageSlot {
+        private volatile long lastSentAt;
+        private String lastKey;
+        private String lastAreaName;
+        private String lastRendered;
     }
 
     @EventHandler(priority = EventPriority.LOWEST)
@@ -397,12 +426,11 @@ public class ProtectionListener implements Listener {
             Player player = event.getPlayer();
             
             // Debug both the toggle state and the final decision for this specific event
-            if (plugin.isDebugMode()) {
+            if (logger.isDebugEnabled()) {
                 Area area = plugin.getAreaManager().getHighestPriorityAreaAtPosition(pos);
                 if (area != null) {
                     boolean toggleState = area.getToggleState("gui.permissions.toggles.allowBlockBreak");
-                    plugin.debug("BlockBreak event: toggle state for allowBlockBreak in " + 
-                               area.getName() + " is " + toggleState);
+                    logger.debug("BlockBreak event: toggle state for allowBlockBreak in %s is %s", area.getName(), toggleState);
                 }
             }
             
@@ -410,7 +438,7 @@ public class ProtectionListener implements Listener {
             if (handleProtection(pos, player, "allowBlockBreak")) {
                 event.setCancelled(true);
                 sendProtectionMessage(player, getProtectionMessageKey("allowBlockBreak"));
-            } else {
+            } else if (!plugin.getPerformanceMonitor().getLoadShedder().shouldShed(LoadShedder.Feature.STATISTICS)) {
                 // Record statistics for successful block break if not cancelled
                 Area area = plugin.getAreaManager().getHighestPriorityAreaAtPosition(pos);
                 if (area != null) {
@@ -418,9 +446,7 @@ public class ProtectionListener implements Listener {
                         plugin.getAreaManager().getAreaStats(area.getName())
                             .recordBlockBreak(area.getName(), player.getName());
                     } catch (Exception e) {
-                        if (plugin.isDebugMode()) {
-                            plugin.debug("Failed to record block break stat: " + e.getMessage());
-                        }
+                        logger.debug("Failed to record block break stat: %s", e.getMessage());
                     }
                 }
             }
@@ -437,12 +463,10 @@ public class ProtectionListener implements Listener {
             Player player = event.getPlayer();
             
             if (handleProtection(pos, player, "allowBlockPlace")) {
-                if (plugin.isDebugMode()) {
-                    plugin.debug("BlockPlace cancelled due to protection");
-                }
+                logger.debug("BlockPlace cancelled due to protection");
                 event.setCancelled(true);
                 sendProtectionMessage(player, getProtectionMessageKey("allowBlockPlace"));
-            } else {
+            } else if (!plugin.getPerformanceMonitor().getLoadShedder().shouldShed(LoadShedder.Feature.STATISTICS)) {
                 // Record statistics for successful block place if not cancelled
                 Area area = plugin.getAreaManager().getHighestPriorityAreaAtPosition(pos);
                 if (area != null) {
@@ -450,9 +474,7 @@ public class ProtectionListener implements Listener {
                         plugin.getAreaManager().getAreaStats(area.getName())
                             .recordBlockPlace(area.getName(), player.getName());
                     } catch (Exception e) {
-                        if (plugin.isDebugMode()) {
-                            plugin.debug("Failed to record block place stat: " + e.getMessage());
-                        }
+                        logger.debug("Failed to record block place stat: %s", e.getMessage());
                     }
                 }
             }
@@ -510,10 +532,8 @@ public class ProtectionListener implements Listener {
                     }
                 }, 2); // 2 tick delay
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Prevented bucket empty by " + player.getName() + 
-                        " at " + pos.getFloorX() + "," + pos.getFloorY() + "," + pos.getFloorZ());
-                }
+                logger.debug(() -> "Prevented bucket empty by " + player.getName() + 
+                    " at " + pos.getFloorX() + "," + pos.getFloorY() + "," + pos.getFloorZ());
             }
         } catch (Exception e) {
             plugin.getLogger().error("Error handling bucket empty", e);
@@ -605,10 +625,8 @@ public class ProtectionListener implements Listener {
                             }
                         }, 1); // Just 1 tick delay for quick response
                         
-                        if (plugin.isDebugMode()) {
-                            plugin.debug("Prevented door interaction by " + player.getName() + 
-                                " at " + pos.getFloorX() + "," + pos.getFloorY() + "," + pos.getFloorZ());
-                        }
+                        logger.debug(() -> "Prevented door interaction by " + player.getName() + 
+                            " at " + pos.getFloorX() + "," + pos.getFloorY() + "," + pos.getFloorZ());
                         
                         return;
                     }
@@ -688,10 +706,8 @@ public class ProtectionListener implements Listener {
                     }
                 }, 2); // 2 tick delay
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Prevented bucket fill by " + player.getName() + 
-                        " at " + pos.getFloorX() + "," + pos.getFloorY() + "," + pos.getFloorZ());
-                }
+                logger.debug(() -> "Prevented bucket fill by " + player.getName() + 
+                    " at " + pos.getFloorX() + "," + pos.getFloorY() + "," + pos.getFloorZ());
             }
         } catch (Exception e) {
             plugin.getLogger().error("Error handling bucket fill", e);
@@ -738,8 +754,8 @@ public class ProtectionListener implements Listener {
             Block block = event.getBlock();
             Position pos = new Position(block.x, block.y, block.z, block.level);
             
-            if (handleProtection(pos, null, "allowRedstone") && plugin.isDebugMode()) {
-                plugin.debug("Cancelled redstone event at " + pos.toString());
+            if (handleProtection(pos, null, "allowRedstone")) {
+                logger.debug("Cancelled redstone event at %s", pos);
                 // Note: BlockRedstoneEvent is not cancellable in Nukkit
             }
         } finally {
@@ -760,9 +776,7 @@ public class ProtectionListener implements Listener {
             
             if (handleProtection(pos, null, "allowRedstone")) {
                 event.setCancelled(true);
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Cancelled redstone update at " + pos.toString());
-                }
+                logger.debug("Cancelled redstone update at %s", pos);
             }
         } finally {
             plugin.getPerformanceMonitor().stopTimer(sample, "redstone_update_check");
@@ -807,9 +821,7 @@ public class ProtectionListener implements Listener {
                                 plugin.getAreaManager().getAreaStats(area.getName())
                                     .recordPvpFight(area.getName(), player.getName(), victimPlayer.getName());
                             } catch (Exception e) {
-                                if (plugin.isDebugMode()) {
-                                    plugin.debug("Failed to record PVP fight stat: " + e.getMessage());
-                                }
+                                logger.debug("Failed to record PVP fight stat: %s", e.getMessage());
                             }
                         }
                     }
@@ -850,11 +862,9 @@ public class ProtectionListener implements Listener {
                     event.setCancelled(true);
                     sendProtectionMessage(player, getProtectionMessageKey("allowFallDamage"));
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Prevented fall damage for " + player.getName() + 
-                                   " at " + pos.getFloorX() + "," + pos.getFloorY() + "," + pos.getFloorZ() +
-                                   " in area " + area.getName());
-                    }
+                    logger.debug(() -> "Prevented fall damage for " + player.getName() + 
+                               " at " + pos.getFloorX() + "," + pos.getFloorY() + "," + pos.getFloorZ() +
+                               " in area " + area.getName());
                 }
             }
         } finally {
@@ -900,9 +910,7 @@ public class ProtectionListener implements Listener {
                 // This is more efficient than processing each block individually
                 event.getBlockList().clear();
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Explosion cancelled entirely due to protection rules");
-                }
+                logger.debug("Explosion cancelled entirely due to protection rules");
                 return;
             }
             
@@ -918,10 +926,7 @@ public class ProtectionListener implements Listener {
             // Remove protected blocks from the explosion
             event.getBlockList().removeAll(blocksToRemove);
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Processed explosion: " + affectedBlocks.size() + 
-                             " total blocks, " + blocksToRemove.size() + " protected blocks removed");
-            }
+            logger.debug("Processed explosion: %s total blocks, %s protected blocks removed", affectedBlocks.size(), blocksToRemove.size());
         } finally {
             plugin.getPerformanceMonitor().stopTimer(sample, "explosion_check");
         }
@@ -1108,23 +1113,15 @@ public class ProtectionListener implements Listener {
             boolean isAllowed = highestPriorityArea.getToggleState(explosionPermission);
             shouldCancel = !isAllowed; // If explosions are not allowed, we should cancel
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Explosion check for " + explosionPermission + 
-                           " in area " + highestPriorityArea.getName() + 
-                           " returned toggle state: " + isAllowed +
-                           " (should cancel: " + shouldCancel + ")");
-            }
+            logger.debug("Explosion check for %s in area %s returned toggle state: %s (should cancel: %s)",
+                explosionPermission, highestPriorityArea.getName(), isAllowed, shouldCancel);
         } catch (Exception e) {
             // Fallback to permission checker if direct toggle access fails
             boolean allowed = permissionChecker.isAllowed(null, highestPriorityArea, explosionPermission);
             shouldCancel = !allowed; // Invert: true=allowed → false=cancel, false=denied → true=cancel
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Fallback explosion check for " + explosionPermission + 
-                           " in area " + highestPriorityArea.getName() + 
-                           " using permissionChecker returned: " + allowed +
-                           " (should cancel: " + shouldCancel + ")");
-            }
+            logger.debug("Fallback explosion check for %s in area %s using permissionChecker returned: %s (should cancel: %s)",
+                explosionPermission, highestPriorityArea.getName(), allowed, shouldCancel);
         }
         
         // Cache the result
@@ -1156,11 +1153,7 @@ public class ProtectionListener implements Listener {
                 // Get toggle state directly from area - TRUE means explosions are ALLOWED
                 boolean isAllowed = area.getToggleState(explosionPermission);
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Single area explosion check for " + explosionPermission + 
-                                " in area " + area.getName() + 
-                                " returned toggle state: " + isAllowed);
-                }
+                logger.debug("Single area explosion check for %s in area %s returned toggle state: %s", explosionPermission, area.getName(), isAllowed);
                 
                 if (!isAllowed) {
                     // If the area doesn't allow explosions, protect all blocks
@@ -1360,14 +1353,17 @@ public class ProtectionListener implements Listener {
                     
                     sendProtectionMessage(player, getProtectionMessageKey("allowFlying"));
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Prevented flight for " + player.getName() + " at " + 
-                            to.getFloorX() + ", " + to.getFloorY() + ", " + to.getFloorZ());
-                    }
+                    logger.debug(() -> "Prevented flight for " + player.getName() + " at " + 
+                        to.getFloorX() + ", " + to.getFloorY() + ", " + to.getFloorZ());
                     return;
                 }
             }
             
+            // Enter/leave titles are cosmetic and dropped first when over the tick budget
+            if (plugin.getPerformanceMonitor().getLoadShedder().shouldShed(LoadShedder.Feature.TITLES)) {
+                return;
+            }
+
             // Continue with existing area enter/leave checks
             Area fromArea = plugin.getAreaManager().getHighestPriorityAreaAtPosition(from);
             Area toArea = plugin.getAreaManager().getHighestPriorityAreaAtPosition(to);
@@ -1513,11 +1509,7 @@ public class ProtectionListener implements Listener {
             // Skip check - we're allowing creative/spectator mode regardless of area permissions
             // This permits players to enter creative or spectator mode even in no-fly areas
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Allowing gamemode change to " + event.getNewGamemode() + 
-                    " for " + event.getPlayer().getName() + 
-                    " (creative/spectator mode flight checks disabled)");
-            }
+            logger.debug("Allowing gamemode change to %s for %s (creative/spectator mode flight checks disabled)", event.getNewGamemode(), event.getPlayer().getName());
         } finally {
             plugin.getPerformanceMonitor().stopTimer(sample, "gamemode_change_check");
         }
@@ -1541,13 +1533,9 @@ public class ProtectionListener implements Listener {
                 event.setCancelled(true);
                 player.setAllowFlight(false);
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Prevented flight toggle for " + player.getName() + 
-                        " at " + player.getPosition().toString());
-                }
-            } else if (isCreativeOrSpectator && plugin.isDebugMode()) {
-                plugin.debug("Allowing flight toggle for " + player.getName() + 
-                    " due to creative/spectator mode");
+                logger.debug("Prevented flight toggle for %s at %s", player.getName(), player.getPosition());
+            } else if (isCreativeOrSpectator) {
+                logger.debug("Allowing flight toggle for %s due to creative/spectator mode", player.getName());
             }
         } finally {
             plugin.getPerformanceMonitor().stopTimer(sample, "flight_toggle_check");
@@ -1580,10 +1568,8 @@ public class ProtectionListener implements Listener {
                     event.setCancelled(true);
                     sendProtectionMessage(player, getProtectionMessageKey("allowItemRotation"));
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Prevented item frame rotation by " + player.getName() + 
-                            " at " + entity.getX() + ", " + entity.getY() + ", " + entity.getZ());
-                    }
+                    logger.debug(() -> "Prevented item frame rotation by " + player.getName() + 
+                        " at " + entity.getX() + ", " + entity.getY() + ", " + entity.getZ());
                 }
             }
         } finally {
@@ -1625,9 +1611,7 @@ public class ProtectionListener implements Listener {
                 event.setCancelled(true);
                 sendProtectionMessage(event.getPlayer(), getProtectionMessageKey("allowRedstone"));
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Blocked redstone interaction at " + pos.x + ", " + pos.y + ", " + pos.z);
-                }
+                logger.debug("Blocked redstone interaction at %s, %s, %s", pos.x, pos.y, pos.z);
             }
         }
     }
@@ -1666,26 +1650,26 @@ public class ProtectionListener implements Listener {
      * Used only when debugging specific problematic permissions
      */
     boolean diagnoseBrokenPermission(Position pos, Player player, String permission) {
-        if (!plugin.isDebugMode()) {
+        if (!logger.isDebugEnabled()) {
             return handleProtection(pos, player, permission);
         }
         
         // Clear all caches to get a fresh result
-        plugin.debug("Clearing permission caches for fresh diagnostic...");
+        logger.debug("Clearing permission caches for fresh diagnostic...");
         permissionCache.invalidateAll();
         protectionCache.invalidateAll();
         
         // Also clear permission checker cache to force a complete recalculation
         if (permissionChecker != null) {
             permissionChecker.invalidateCache();
-            plugin.debug("Invalidated permission checker cache");
+            logger.debug("Invalidated permission checker cache");
         }
         
-        plugin.debug("DIAGNOSTIC MODE: Tracing protection check for " + permission);
+        logger.debug("DIAGNOSTIC MODE: Tracing protection check for %s", permission);
         
         // Normalize permission for consistent checking
         String normalizedPermission = normalizePermission(permission);
-        plugin.debug("  Normalized permission: " + normalizedPermission);
+        logger.debug("  Normalized permission: %s", normalizedPermission);
         
         // Get the area
         List<Area> areas = plugin.getAreaManager().getAreasAtLocation(
@@ -1695,19 +1679,19 @@ public class ProtectionListener implements Listener {
             pos.getZ()
         );
         
-        plugin.debug("  Areas at location: " + (areas.isEmpty() ? "NONE" : areas.size()));
+        logger.debug("  Areas at location: %s", areas.isEmpty() ? "NONE" : areas.size());
         
         if (areas.isEmpty()) {
-            plugin.debug("  No areas found, allowing by default");
+            logger.debug("  No areas found, allowing by default");
             return false; // No permission check needed as no areas exist
         }
         
         Area area = areas.get(0);
-        plugin.debug("  Highest priority area: " + area.getName() + " (priority: " + area.getPriority() + ")");
+        logger.debug("  Highest priority area: %s (priority: %s)", area.getName(), area.getPriority());
         
         // Check the area toggle state directly
         boolean toggleState = area.getToggleState(normalizedPermission);
-        plugin.debug("  Area toggle state for " + normalizedPermission + ": " + toggleState + " (true=allowed, false=denied)");
+        logger.debug("  Area toggle state for %s: %s (true=allowed, false=denied)", normalizedPermission, toggleState);
 
         // Check for player-specific permissions
         if (player != null) {
@@ -1716,45 +1700,45 @@ public class ProtectionListener implements Listener {
                 Map<String, Boolean> perms = playerPermissions.get(player.getName());
                 if (perms != null && perms.containsKey(normalizedPermission)) {
                     boolean value = perms.get(normalizedPermission);
-                    plugin.debug("  Player has specific permission: " + value);
-                    plugin.debug("  This overrides the area toggle state.");
+                    logger.debug("  Player has specific permission: %s", value);
+                    logger.debug("  This overrides the area toggle state.");
                 } else {
-                    plugin.debug("  Player doesn't have specific permission for " + normalizedPermission);
+                    logger.debug("  Player doesn't have specific permission for %s", normalizedPermission);
                 }
             } else {
-                plugin.debug("  No player-specific permissions found for " + player.getName());
+                logger.debug("  No player-specific permissions found for %s", player.getName());
             }
             
             // Check group permissions
-            plugin.debug("  Checking group permissions for player: " + player.getName());
+            logger.debug("  Checking group permissions for player: %s", player.getName());
             Map<String, Map<String, Boolean>> groupPermissions = area.getGroupPermissions();
             boolean foundGroupPerm = false;
             
             for (Map.Entry<String, Map<String, Boolean>> entry : groupPermissions.entrySet()) {
                 String groupName = entry.getKey();
                 if (player.hasPermission("group." + groupName)) {
-                    plugin.debug("  Player is in group: " + groupName);
+                    logger.debug("  Player is in group: %s", groupName);
                     Map<String, Boolean> groupPerms = entry.getValue();
                     if (groupPerms.containsKey(normalizedPermission)) {
                         boolean groupAllowed = groupPerms.get(normalizedPermission);
-                        plugin.debug("  Group permission found: " + groupAllowed);
-                        plugin.debug("  This would override the area toggle state.");
+                        logger.debug("  Group permission found: %s", groupAllowed);
+                        logger.debug("  This would override the area toggle state.");
                         foundGroupPerm = true;
                     }
                 }
             }
             
             if (!foundGroupPerm) {
-                plugin.debug("  No relevant group permissions found for this permission");
+                logger.debug("  No relevant group permissions found for this permission");
             }
         }
         
         // Perform the actual permission check
         boolean allowed = !permissionChecker.isAllowed(player, area, permission);
-        plugin.debug("  Permission checker result: " + (allowed ? "false" : "true") + " (true=allowed, false=denied)");
+        logger.debug("  Permission checker result: %s (true=allowed, false=denied)", allowed ? "false" : "true");
         
         if (toggleState != allowed && player != null) {
-            plugin.debug("  Note: Area toggle state is " + toggleState + ", but final result is " + allowed +".");
+            logger.debug("  Note: Area toggle state is %s, but final result is %s.", toggleState, allowed);
             
             // Check if we have player or group specific permissions that might explain this
             boolean hasSpecificPermissions = false;
@@ -1784,36 +1768,35 @@ public class ProtectionListener implements Listener {
             }
             
             if (!hasSpecificPermissions) {
-                plugin.debug("  This is UNEXPECTED as no specific permissions were found. Permission system may be buggy.");
+                logger.debug("  This is UNEXPECTED as no specific permissions were found. Permission system may be buggy.");
                 
                 // Force invalidate all caches for this area
                 if (permissionChecker != null) {
                     permissionChecker.invalidateCache(area.getName());
-                    plugin.debug("  EMERGENCY CACHE INVALIDATION for area " + area.getName());
+                    logger.debug("  EMERGENCY CACHE INVALIDATION for area %s", area.getName());
                 }
                 
                 // Force invalidate toggle state cache
                 area.clearCaches();
-                plugin.debug("  EMERGENCY AREA CACHE INVALIDATION for area " + area.getName());
+                logger.debug("  EMERGENCY AREA CACHE INVALIDATION for area %s", area.getName());
                 
                 // Try once more with all fresh values
                 boolean retryCheck = !permissionChecker.isAllowed(player, area, permission);
-                plugin.debug("  RETRY PERMISSION CHECK result: " + (retryCheck ? "false" : "true") + 
-                           " (true=allowed, false=denied)");
+                logger.debug("  RETRY PERMISSION CHECK result: %s (true=allowed, false=denied)", retryCheck ? "false" : "true");
                 
                 // Compare with direct toggle state
                 boolean directToggleState = area.getToggleState(normalizedPermission);
-                plugin.debug("  DIRECT toggle state check: " + directToggleState);
+                logger.debug("  DIRECT toggle state check: %s", directToggleState);
                 
                 // Update the result if we got a different answer
                 if (allowed != retryCheck) {
-                    plugin.debug("  UPDATING RESULT based on fresh check: " + (retryCheck ? "BLOCK" : "ALLOW"));
+                    logger.debug("  UPDATING RESULT based on fresh check: %s", retryCheck ? "BLOCK" : "ALLOW");
                     allowed = retryCheck;
                 }
             }
         }
         
-        plugin.debug("  FINAL PROTECTION DECISION: " + (allowed ? "BLOCK" : "ALLOW"));
+        logger.debug("  FINAL PROTECTION DECISION: %s", allowed ? "BLOCK" : "ALLOW");
         
         return allowed;
     }
@@ -1875,9 +1858,7 @@ public class ProtectionListener implements Listener {
     public void clearItemCache() {
         if (itemActionCache != null) {
             itemActionCache.invalidateAll();
-            if (plugin.isDebugMode()) {
-                plugin.debug("Item action cache cleared");
-            }
+            logger.debug("Item action cache cleared");
         }
     }
 
@@ -1931,11 +1912,9 @@ public class ProtectionListener implements Listener {
                     // Remove the XP orb if in a protected area that disables XP drops
                     entity.close();
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Removed XP orb at " + 
-                            entity.getX() + ", " + entity.getY() + ", " + entity.getZ() +
-                            " in area " + area.getName() + " (XP drops disabled)");
-                    }
+                    logger.debug(() -> "Removed XP orb at " + 
+                        entity.getX() + ", " + entity.getY() + ", " + entity.getZ() +
+                        " in area " + area.getName() + " (XP drops disabled)");
                 }
             }
         } finally {
@@ -2017,7 +1996,7 @@ public class ProtectionListener implements Listener {
     public void cleanup(Player player) {
         if (player != null) {
             String playerName = player.getName();
-            lastWarningTime.remove(playerName);
+            messageSlots.remove(playerName);
             permissionCache.invalidate(playerName);
             playerPermissionCache.remove(playerName);
         }
@@ -2027,7 +2006,8 @@ public class ProtectionListener implements Listener {
      * General cleanup of all resources
      */
     public void cleanup() {
-        lastWarningTime.clear();
+        // Also drops pre-rendered messages so language reloads take effect
+        messageSlots.clear();
         permissionCache.invalidateAll();
         playerPermissionCache.clear();
         itemActionCache.invalidateAll();
@@ -2041,9 +2021,7 @@ public class ProtectionListener implements Listener {
         // Clear player area cache
         playerAreaCache.clear();
         
-        if (plugin.isDebugMode()) {
-            plugin.debug("ProtectionListener caches completely cleared");
-        }
+        logger.debug("ProtectionListener caches completely cleared");
     }
 
     /**
@@ -2071,9 +2049,7 @@ public class ProtectionListener implements Listener {
             if (area != null && !area.getToggleState("allowHunger")) {
                 event.setCancelled(true);
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Prevented hunger depletion for " + player.getName() + " in area " + area.getName());
-                }
+                logger.debug("Prevented hunger depletion for %s in area %s", player.getName(), area.getName());
             }
         } finally {
             plugin.getPerformanceMonitor().stopTimer(sample, "food_level_change_handler");
@@ -1,6 +1,7 @@
 package adminarea.listeners;
 
 import adminarea.AdminAreaProtectionPlugin;
+import adminarea.util.TickScheduler;
 import cn.nukkit.Player;
 import cn.nukkit.block.Block;
 import cn.nukkit.event.EventHandler;
@@ -26,7 +27,7 @@ public class WandListener implements Listener {
     private final Map<String, Long> lastActionTime;
     private final Map<String, List<Position[]>> undoHistory;
     private final Map<String, Iterator<Vector3>> visualizationPoints;
-    private final Map<String, Integer> visualizationTasks;
+    private final Map<String, TickScheduler.Job> visualizationTasks;
     private static final long COOLDOWN_MS = 250; // 250ms cooldown
     private static final int MAX_UNDO_HISTORY = 10;
     private static final int PARTICLE_DENSITY = 2; // Distance between particles
@@ -202,9 +203,9 @@ public class WandListener implements Listener {
         Position[] positions = plugin.getPlayerPositions().get(playerName);
         
         // Cancel existing visualization task
-        Integer taskId = visualizationTasks.remove(playerName);
-        if (taskId != null) {
-            plugin.getServer().getScheduler().cancelTask(taskId);
+        TickScheduler.Job task = visualizationTasks.remove(playerName);
+        if (task != null) {
+            task.cancel();
         }
 
         if (positions[0] == null || positions[1] == null) {
@@ -216,7 +217,7 @@ public class WandListener implements Listener {
         visualizationPoints.put(playerName, points.iterator());
 
         // Start new visualization task
-        taskId = plugin.getServer().getScheduler().scheduleRepeatingTask(plugin, () -> {
+        task = plugin.getTickScheduler().schedule("wand_visualization", 5, () -> {
             Iterator<Vector3> iterator = visualizationPoints.get(playerName);
             if (iterator == null || !iterator.hasNext()) {
                 visualizationPoints.put(playerName, points.iterator());
@@ -227,9 +228,9 @@ public class WandListener implements Listener {
                 Vector3 point = iterator.next();
                 player.getLevel().addParticle(new DustParticle(point, 255, 0, 0));
             }
-        }, 5).getTaskId();
+        });
 
-        visualizationTasks.put(playerName, taskId);
+        visualizationTasks.put(playerName, task);
     }
 
     private List<Vector3> calculateVisualizationPoints(Position pos1, Position pos2) {
@@ -309,9 +310,9 @@ public class WandListener implements Listener {
         undoHistory.remove(playerName);
         visualizationPoints.remove(playerName);
         
-        Integer taskId = visualizationTasks.remove(playerName);
-        if (taskId != null) {
-            plugin.getServer().getScheduler().cancelTask(taskId);
+        TickScheduler.Job task = visualizationTasks.remove(playerName);
+        if (task != null) {
+            task.cancel();
         }
         
         plugin.getLogger().log(LogLevel.INFO, "Cleaned up resources for player: " + playerName);
@@ -319,8 +320,7 @@ public class WandListener implements Listener {
 
     // Call this when plugin is disabled
     public void cleanup() {
-        visualizationTasks.forEach((player, taskId) -> 
-            plugin.getServer().getScheduler().cancelTask(taskId));
+        visualizationTasks.values().forEach(TickScheduler.Job::cancel);
         
         visualizationTasks.clear();
         visualizationPoints.clear();
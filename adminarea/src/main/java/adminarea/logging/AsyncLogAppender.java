@@ -0,0 +1,91 @@
+package adminarea.logging;
+
+import cn.nukkit.utils.Logger;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes log messages to the server logger from a background thread.
+ * Callers only offer the message to a bounded queue and never wait for the console. When
+ * the queue is full, or the logger throws while writing it, the message is dropped and
+ * counted, and the number of dropped messages is logged before the next one that gets
+ * through. After {@link #close()} messages are written directly.
+ */
+public class AsyncLogAppender implements AutoCloseable {
+    private final Logger logger;
+    private final BlockingQueue<String> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 2000;
+
+    public AsyncLogAppender(Logger logger, String threadName, int capacity) {
+        this.logger = logger;
+        this.queue = new ArrayBlockingQueue<>(Math.max(16, capacity));
+        this.thread = new Thread(this::run, threadName);
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Queues a message without blocking
+     */
+    public void append(String message) {
+        if (!running) {
+            logger.info(message);
+            return;
+        }
+        if (!queue.offer(message)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void run() {
+        while (running || !queue.isEmpty()) {
+            try {
+                String message = queue.poll(250, TimeUnit.MILLISECONDS);
+                if (message != null) {
+                    write(message);
+                }
+            } catch (InterruptedException e) {
+                // Closing - drain what is left and stop
+                running = false;
+            }
+        }
+        String message;
+        while ((message = queue.poll()) != null) {
+            write(message);
+        }
+    }
+
+    private void write(String message) {
+        long lost = dropped.getAndSet(0);
+        try {
+            if (lost > 0) {
+                logger.warning("Dropped " + lost + " log messages because the console could not keep up or failed to write them");
+                lost = 0;
+            }
+            logger.info(message);
+        } catch (RuntimeException e) {
+            // Counted with the dropped messages and reported once the logger works again
+            dropped.addAndGet(lost + 1);
+        }
+    }
+
+    /**
+     * Writes the remaining messages and stops the background thread
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            thread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package adminarea.logging;
+
+import java.util.Locale;
+
+/**
+ * Subsystems whose debug output can be turned on separately through the
+ * debugCategories config list
+ */
+public enum DebugCategory {
+    GENERAL,
+    AREAS,
+    PERMISSIONS,
+    PROTECTION,
+    EFFECTS,
+    FORMS,
+    DATABASE;
+
+    /**
+     * Gets the name used for this category in the config
+     */
+    public String getConfigName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Finds a category by its config name
+     *
+     * @return The category, or null if there is none with that name
+     */
+    public static DebugCategory fromConfigName(String name) {
+        for (DebugCategory category : values()) {
+            if (category.getConfigName().equalsIgnoreCase(name.trim())) {
+                return category;
+            }
+        }
+        return null;
+    }
+}
@@ -5,14 +5,17 @@ import adminarea.area.Area;
 import adminarea.area.AreaDTO;
 import adminarea.exception.DatabaseException;
 import adminarea.interfaces.IAreaManager;
+import adminarea.jfr.AreaLookupEvent;
 import adminarea.permissions.PermissionToggle;
 import adminarea.stats.AreaStatistics;
+import adminarea.util.CacheRegistry;
+import adminarea.util.LoadShedder;
+import adminarea.util.TickScheduler;
 import cn.nukkit.Player;
 import cn.nukkit.level.Level;
 import cn.nukkit.level.Position;
 import cn.nukkit.level.particle.DustParticle;
 import cn.nukkit.math.Vector3;
-import cn.nukkit.scheduler.TaskHandler;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import org.json.JSONObject;
@@ -31,7 +34,7 @@ public class AreaManager implements IAreaManager {
     private final AdminAreaProtectionPlugin plugin;
     private final java.util.concurrent.locks.ReentrantReadWriteLock lock = new java.util.concurrent.locks.ReentrantReadWriteLock();
     private final java.util.concurrent.locks.Lock writeLock = lock.writeLock();
-    private final Map<String, TaskHandler> visualizationTasks = new HashMap<>();
+    private final Map<String, TickScheduler.Job> visualizationTasks = new HashMap<>();
     private final Map<String, AreaStatistics> areaStats = new HashMap<>();
     private final Map<String, Area> areasByName = new HashMap<>();
     private final List<Area> areas = new ArrayList<>();
@@ -53,6 +56,12 @@ public class AreaManager implements IAreaManager {
      */
     private final Map<Long, Set<Area>> chunkAreaMap = new HashMap<>();
 
+    // Per-chunk spawn decisions derived from chunkAreaMap and the global areas
+    private final ChunkSpawnPolicyIndex spawnPolicies = new ChunkSpawnPolicyIndex(this);
+    
+    // Binary copy of all areas, rewritten after flushes and read at startup
+    private final AreaSnapshot snapshot;
+
     // Thread-local set to track areas being updated to prevent recursion
     private static final ThreadLocal<Set<String>> updatingAreas = ThreadLocal.withInitial(() -> new HashSet<>());
 
@@ -62,12 +71,26 @@ public class AreaManager implements IAreaManager {
         this.locationCache = Caffeine.newBuilder()
             .maximumSize(CACHE_SIZE)
             .expireAfterWrite(CACHE_EXPIRY, TimeUnit.MILLISECONDS)
+            .recordStats()
             .build();
         this.nameCache = Caffeine.newBuilder()
             .maximumSize(200) // Reduced size
             .expireAfterWrite(2, TimeUnit.MINUTES) // Reduced time
+            .recordStats()
             .build();
         this.spatialIndex = new ConcurrentHashMap<>();
+        this.snapshot = new AreaSnapshot(plugin, this);
+
+        CacheRegistry caches = plugin.getPerformanceMonitor().getCacheRegistry();
+        caches.register("area_locations", locationCache);
+        caches.register("area_names", nameCache);
+        spawnPolicies.registerCaches(caches);
+        // Read on the main thread by the registry, so the unsorted lists can be copied directly
+        Area.registerCaches(caches, () -> {
+            List<Area> all = new ArrayList<>(areas);
+            all.addAll(globalAreasByWorld.values());
+            return all;
+        });
     }
 
     private int getChunkKey(int x, int z) {
@@ -319,6 +342,9 @@ public class AreaManager implements IAreaManager {
 
             // Unregister area from chunkAreaMap
             unregisterArea(area);
+            
+            // Deletes bypass the write-behind queue, so nothing else refreshes the snapshot
+            snapshot.requestWrite();
 
             if (plugin.isDebugMode()) {
                 plugin.debug("Removed area: " + area.getName() + 
@@ -671,6 +697,8 @@ public class AreaManager implements IAreaManager {
             }
             recursionChecks.add(recursionKey);
             
+            AreaLookupEvent event = new AreaLookupEvent();
+            event.begin();
             try {
                 // Pre-allocate result list with estimated capacity
                 List<Area> result = new ArrayList<>(4); // Most locations have few overlapping areas
@@ -700,6 +728,15 @@ public class AreaManager implements IAreaManager {
                     result.sort((a1, a2) -> Integer.compare(a2.getPriority(), a1.getPriority())); 
                 }
                 
+                if (event.shouldCommit()) {
+                    event.world = world;
+                    event.x = x;
+                    event.y = y;
+                    event.z = z;
+                    event.areas = result.size();
+                    event.area = result.isEmpty() ? null : result.get(0).getName();
+                    event.commit();
+                }
                 return result;
             } finally {
                 recursionChecks.remove(recursionKey);
@@ -882,9 +919,11 @@ public class AreaManager implements IAreaManager {
             List<Vector3> points = calculateVisualizationPoints(area);
             Iterator<Vector3> iterator = points.iterator();
 
-            TaskHandler task = plugin.getServer().getScheduler().scheduleRepeatingTask(plugin, () -> {
-                if (!iterator.hasNext()) {
-                    return;
+            // The job ends by itself once every point has been shown
+            TickScheduler.Job task = plugin.getTickScheduler().schedule("area_visualization", 5, () -> {
+                // Particles are dropped when over the tick budget; the visualization just ends early
+                if (!player.isOnline() || plugin.getPerformanceMonitor().getLoadShedder().shouldShed(LoadShedder.Feature.PARTICLES)) {
+                    return false;
                 }
 
                 // Spawn particles in batches for better performance
@@ -892,7 +931,8 @@ public class AreaManager implements IAreaManager {
                     Vector3 point = iterator.next();
                     spawnParticle(player, point, new DustParticle(point, 255, 0, 0));
                 }
-            }, 5);
+                return iterator.hasNext();
+            });
 
             visualizationTasks.put(player.getName(), task);
         } finally {
@@ -930,7 +970,7 @@ public class AreaManager implements IAreaManager {
     }
 
     public void stopVisualization(Player player) {
-        TaskHandler task = visualizationTasks.remove(player.getName());
+        TickScheduler.Job task = visualizationTasks.remove(player.getName());
         if (task != null) {
             task.cancel();
         }
@@ -991,11 +1031,60 @@ public class AreaManager implements IAreaManager {
             plugin.debug("Loading areas from database");
         }
         
+        List<Area> loadedAreas;
+        try {
+            loadedAreas = plugin.getDatabaseManager().loadAreas();
+        } catch (Exception e) {
+            plugin.getLogger().error("Failed to load areas from database", e);
+            loadedAreas = Collections.emptyList();
+        }
+        
+        if (plugin.isDebugMode()) {
+            plugin.debug("Loaded " + loadedAreas.size() + " areas from database");
+        }
+        
+        replaceAreas(loadedAreas);
+    }
+    
+    /**
+     * Loads areas from the snapshot file written at the last flush, so protection is active
+     * without waiting for the database. The database is then compared against the snapshot in
+     * the background and the areas are reloaded from it if they differ.
+     *
+     * @return true if the areas were loaded from the snapshot
+     */
+    public boolean loadAreasFromSnapshot() {
+        List<Area> loadedAreas = snapshot.load();
+        if (loadedAreas == null) {
+            return false;
+        }
+        
+        replaceAreas(loadedAreas);
+        snapshot.verifyAsync(() -> plugin.getServer().getScheduler().scheduleTask(plugin, () -> {
+            plugin.getLogger().warning("Area snapshot did not match the database, reloading areas from the database");
+            loadAreas();
+            snapshot.requestWrite();
+        }));
+        return true;
+    }
+    
+    /**
+     * Gets the snapshot file of all areas
+     */
+    public AreaSnapshot getSnapshot() {
+        return snapshot;
+    }
+    
+    /**
+     * Replaces all areas in memory and rebuilds the indexes once
+     */
+    private void replaceAreas(List<Area> loadedAreas) {
         // Clear existing caches
         locationCache.invalidateAll();
         nameCache.invalidateAll();
         spatialIndex.clear();
         chunkAreaMap.clear();
+        spawnPolicies.invalidate();
         
         // Clear existing area collections
         writeLock.lock();
@@ -1011,13 +1100,6 @@ public class AreaManager implements IAreaManager {
                 int totalLoaded = 0;
                 int globalLoaded = 0;
                 
-                // Load areas from database
-                List<Area> loadedAreas = plugin.getDatabaseManager().loadAreas();
-                
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Loaded " + loadedAreas.size() + " areas from database");
-                }
-                
                 // Track areas with permissions that need to be preserved
                 Map<String, Area> areasWithPermissions = new HashMap<>();
                 
@@ -1061,15 +1143,20 @@ public class AreaManager implements IAreaManager {
                         
                         // Remember this area has permissions if needed
                         areasWithPermissions.put(area.getName().toLowerCase(), area);
-                        
-                        // Register area in chunk map
-                        registerArea(area);
                     } catch (Exception e) {
                         plugin.getLogger().error("Error processing area during load: " + 
                                               (area != null ? area.getName() : "null"), e);
                     }
                 }
                 
+                // Build the chunk map in one pass; registerArea would rescan the whole map per area
+                for (Area area : areas) {
+                    for (long key : computeChunkKeys(area)) {
+                        chunkAreaMap.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(area);
+                    }
+                }
+                spawnPolicies.invalidate();
+                
                 // Log memory operations time
                 long memoryOpTime = System.currentTimeMillis() - startTime;
                 
@@ -1080,7 +1167,7 @@ public class AreaManager implements IAreaManager {
                               ", global: " + globalLoaded + ")");
                 }
             } catch (Exception e) {
-                plugin.getLogger().error("Failed to load areas from database", e);
+                plugin.getLogger().error("Failed to index loaded areas", e);
             }
         } finally {
             writeLock.unlock();
@@ -1212,6 +1299,8 @@ public class AreaManager implements IAreaManager {
      * Call this whenever an area is created or updated.
      */
     public void registerArea(Area area) {
+        spawnPolicies.invalidate();
+        
         // Skip chunk registration for global areas - they apply to the entire world
         // This prevents excessive memory usage
         if (isGlobalArea(area)) {
@@ -1233,6 +1322,8 @@ public class AreaManager implements IAreaManager {
      * Removes an area from chunkAreaMap.
      */
     public void unregisterArea(Area area) {
+        spawnPolicies.invalidate();
+        
         // Skip for global areas as they aren't registered in the chunk map
         if (isGlobalArea(area)) {
             return;
@@ -1271,6 +1362,20 @@ public class AreaManager implements IAreaManager {
         return (((long) x) << 32) ^ (z & 0xffffffffL);
     }
 
+    /**
+     * Gets the non-global areas registered for a chunk, in any world
+     */
+    Collection<Area> getChunkCandidates(int chunkX, int chunkZ) {
+        return chunkAreaMap.getOrDefault(toLongKey(chunkX, chunkZ), Collections.emptySet());
+    }
+
+    /**
+     * Gets the per-chunk spawn policy index used to decide mob spawns
+     */
+    public ChunkSpawnPolicyIndex getSpawnPolicies() {
+        return spawnPolicies;
+    }
+
     /**
      * Determines chunk coordinates covered by the area.
      * Calculates all chunks that intersect with the area's bounding box.
@@ -1844,6 +1949,11 @@ public class AreaManager implements IAreaManager {
                 plugin.getLogger().error("Failed to update potion effect for area: " + area.getName(), e);
             }
             
+            // Let the effect engine recompute this area's desired effects
+            if (plugin.getListenerManager() != null && plugin.getListenerManager().getPlayerEffectListener() != null) {
+                plugin.getListenerManager().getPlayerEffectListener().invalidateEffectProfile(area.getName());
+            }
+            
             return area;
         } finally {
             // Clean up thread-local to prevent memory leaks
@@ -1899,6 +2009,11 @@ public class AreaManager implements IAreaManager {
                 plugin.getLogger().error("Failed to update potion effects for area: " + area.getName(), e);
             }
             
+            // Let the effect engine recompute this area's desired effects
+            if (plugin.getListenerManager() != null && plugin.getListenerManager().getPlayerEffectListener() != null) {
+                plugin.getListenerManager().getPlayerEffectListener().invalidateEffectProfile(area.getName());
+            }
+            
             return area;
         } finally {
             // Clean up thread-local to prevent memory leaks
@@ -2020,6 +2135,7 @@ public class AreaManager implements IAreaManager {
                     for (Map.Entry<Long, Set<Area>> entry : backupChunkAreaMap.entrySet()) {
                         chunkAreaMap.put(entry.getKey(), new HashSet<>(entry.getValue()));
                     }
+                    spawnPolicies.invalidate();
                     
                     // Rebuild spatial index
                     for (Area area : areas) {
@@ -2068,6 +2184,7 @@ public class AreaManager implements IAreaManager {
         // Clear all location-based caches
         locationCache.invalidateAll();
         nameCache.invalidateAll();
+        spawnPolicies.invalidate();
         
         // Clear all permission caches
         if (plugin.getPermissionOverrideManager() != null) {
@@ -0,0 +1,565 @@
+package adminarea.managers;
+
+import adminarea.AdminAreaProtectionPlugin;
+import adminarea.area.Area;
+import adminarea.area.AreaBuilder;
+import adminarea.area.AreaDTO;
+import io.micrometer.core.instrument.Timer;
+import org.json.JSONObject;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * Versioned binary copy of all areas and their permissions.
+ * The file is rewritten shortly after the write-behind queues commit: the areas are copied
+ * on the main thread, which owns them, and encoded and written on a background thread.
+ * At startup it is memory-mapped and decoded directly instead of querying SQLite and
+ * parsing JSON columns. The database stays the source of truth: after a snapshot load its
+ * rows are read in the background, encoded the same way and compared, and a mismatch
+ * triggers a normal reload from the database.
+ *
+ * <p>Layout (version 1): magic, version, write time, payload length and CRC32, then the
+ * payload. The payload starts with a sorted dictionary of all toggle and permission names;
+ * boolean toggles are stored as presence/value bitsets over that dictionary, numeric
+ * toggles such as strengths as index/value pairs, and permissions as dictionary indexes.
+ * Everything is written in sorted order so equal area sets always encode to equal bytes.
+ */
+public class AreaSnapshot {
+    private static final int MAGIC = 0x41415053; // "AAPS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 8;
+    private static final String FILE_NAME = "areas.snapshot";
+    // Collapses bursts of flushes into one rewrite
+    private static final int WRITE_DELAY_TICKS = 20;
+
+    private final AdminAreaProtectionPlugin plugin;
+    private final AreaManager areaManager;
+    private final File file;
+    private final boolean enabled;
+    private final ExecutorService executor;
+    private final AtomicBoolean writeRequested = new AtomicBoolean(false);
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    // Payload checksum and length of the snapshot loaded at startup, for verification
+    private volatile long loadedChecksum;
+    private volatile int loadedLength = -1;
+
+    AreaSnapshot(AdminAreaProtectionPlugin plugin, AreaManager areaManager) {
+        this.plugin = plugin;
+        this.areaManager = areaManager;
+        this.file = new File(plugin.getDataFolder(), FILE_NAME);
+        this.enabled = plugin.getConfigManager().getBoolean("database.snapshot.enabled", true);
+
+        if (!enabled) {
+            this.executor = null;
+            return;
+        }
+
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "AdminArea-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Every committed batch of area or permission rows makes the snapshot stale
+        if (plugin.getDatabaseManager() != null) {
+            plugin.getDatabaseManager().getWriteQueue().setBatchListener(rows -> requestWrite());
+        }
+        if (plugin.getPermissionOverrideManager() != null) {
+            plugin.getPermissionOverrideManager().getWriteQueue().setBatchListener(rows -> requestWrite());
+        }
+    }
+
+    /**
+     * Asks for the snapshot to be rewritten soon, without waiting for it. Can be called
+     * from any thread; requests made before the rewrite runs collapse into one.
+     */
+    public void requestWrite() {
+        if (!enabled || closed.get() || !writeRequested.compareAndSet(false, true)) {
+            return;
+        }
+        plugin.getServer().getScheduler().scheduleDelayedTask(plugin, () -> {
+            writeRequested.set(false);
+            if (closed.get()) {
+                return;
+            }
+            List<AreaDTO> dtos = copyAreas();
+            try {
+                executor.execute(() -> write(dtos));
+            } catch (RejectedExecutionException e) {
+                // Closing; close() writes a final snapshot
+            }
+        }, WRITE_DELAY_TICKS);
+    }
+
+    /**
+     * Writes the current in-memory areas to the snapshot file and waits for it.
+     * Must be called on the main thread.
+     *
+     * @return true if the snapshot was written
+     */
+    public boolean write() {
+        return enabled && write(copyAreas());
+    }
+
+    private List<AreaDTO> copyAreas() {
+        List<AreaDTO> dtos = new ArrayList<>();
+        for (Area area : areaManager.getAllAreas()) {
+            dtos.add(area.toMemoryDTO());
+        }
+        return dtos;
+    }
+
+    private synchronized boolean write(List<AreaDTO> dtos) {
+        Timer.Sample sample = plugin.getPerformanceMonitor().startTimer();
+        File temp = new File(file.getPath() + ".tmp");
+        try {
+            byte[] payload = encode(dtos);
+
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(System.currentTimeMillis());
+                out.writeInt(payload.length);
+                out.writeLong(crc.getValue());
+                out.write(payload);
+            }
+            // Readers only ever see a complete file
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            if (plugin.isDebugMode()) {
+                plugin.debug("Wrote area snapshot with " + dtos.size() + " areas (" + payload.length + " bytes)");
+            }
+            return true;
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to write area snapshot: " + e.getMessage());
+            temp.delete();
+            return false;
+        } finally {
+            plugin.getPerformanceMonitor().stopTimer(sample, "area_snapshot_write");
+        }
+    }
+
+    /**
+     * Loads all areas from the snapshot file
+     *
+     * @return The areas with their permissions applied, or null if there is no usable snapshot
+     */
+    List<Area> load() {
+        if (!enabled || !file.isFile()) {
+            return null;
+        }
+
+        Timer.Sample sample = plugin.getPerformanceMonitor().startTimer();
+        long startTime = System.currentTimeMillis();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+                plugin.getLogger().warning("Ignoring " + FILE_NAME + ": not an area snapshot");
+                return null;
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                if (plugin.isDebugMode()) {
+                    plugin.debug("Ignoring area snapshot version " + version + ", expected " + VERSION);
+                }
+                return null;
+            }
+            buffer.getLong(); // write time
+            int length = buffer.getInt();
+            long checksum = buffer.getLong();
+            if (buffer.remaining() != length) {
+                plugin.getLogger().warning("Ignoring truncated area snapshot");
+                return null;
+            }
+
+            ByteBuffer payload = buffer.slice();
+            CRC32 crc = new CRC32();
+            crc.update(payload.duplicate());
+            if (crc.getValue() != checksum) {
+                plugin.getLogger().warning("Ignoring corrupt area snapshot");
+                return null;
+            }
+
+            List<Area> areas = decode(payload);
+            loadedChecksum = checksum;
+            loadedLength = length;
+
+            plugin.getLogger().info("Loaded " + areas.size() + " areas from snapshot in " +
+                (System.currentTimeMillis() - startTime) + "ms");
+            return areas;
+        } catch (Exception e) {
+            plugin.getLogger().warning("Failed to read area snapshot, loading areas from the database: " + e.getMessage());
+            return null;
+        } finally {
+            plugin.getPerformanceMonitor().stopTimer(sample, "area_snapshot_load");
+        }
+    }
+
+    /**
+     * Compares the database rows with the loaded snapshot on the snapshot thread
+     *
+     * @param onMismatch Runs when the database holds different areas than the snapshot
+     */
+    void verifyAsync(Runnable onMismatch) {
+        if (!enabled || loadedLength < 0) {
+            return;
+        }
+        executor.execute(() -> {
+            Timer.Sample sample = plugin.getPerformanceMonitor().startTimer();
+            try {
+                List<AreaDTO> dtos = plugin.getDatabaseManager().readAreaDTOs();
+                byte[] payload = encode(dtos);
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+
+                if (payload.length != loadedLength || crc.getValue() != loadedChecksum) {
+                    onMismatch.run();
+                } else if (plugin.isDebugMode()) {
+                    plugin.debug("Area snapshot matches the database (" + dtos.size() + " areas)");
+                }
+            } catch (Exception e) {
+                plugin.getLogger().error("Failed to verify area snapshot against the database", e);
+            } finally {
+                plugin.getPerformanceMonitor().stopTimer(sample, "area_snapshot_verify");
+            }
+        });
+    }
+
+    /**
+     * Stops background writes and writes a final snapshot.
+     * Called during shutdown after the write-behind queues have been flushed.
+     */
+    public void close() {
+        if (!enabled || !closed.compareAndSet(false, true)) {
+            return;
+        }
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        write();
+    }
+
+    // --- Encoding ---
+
+    private static byte[] encode(List<AreaDTO> dtos) throws IOException {
+        List<AreaDTO> sorted = new ArrayList<>(dtos);
+        sorted.sort(Comparator.comparing(AreaDTO::name));
+
+        // Toggle and permission names repeat across areas, so they are stored once
+        TreeSet<String> names = new TreeSet<>();
+        for (AreaDTO dto : sorted) {
+            names.addAll(dto.toggleStates().keySet());
+            names.addAll(dto.defaultToggleStates().keySet());
+            names.addAll(dto.inheritedToggleStates().keySet());
+            collectPermissionNames(dto.playerPermissions(), names);
+            collectPermissionNames(dto.groupPermissions(), names);
+            collectPermissionNames(dto.trackPermissions(), names);
+        }
+        Map<String, Integer> dictionary = new HashMap<>();
+        for (String name : names) {
+            dictionary.put(name, dictionary.size());
+        }
+        int words = (dictionary.size() + 63) >>> 6;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(sorted.size() * 256 + 1024);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(names.size());
+        for (String name : names) {
+            writeString(out, name);
+        }
+
+        out.writeInt(sorted.size());
+        for (AreaDTO dto : sorted) {
+            writeString(out, dto.name());
+            writeString(out, dto.world());
+            AreaDTO.Bounds bounds = dto.bounds();
+            out.writeInt(bounds.xMin());
+            out.writeInt(bounds.xMax());
+            out.writeInt(bounds.yMin());
+            out.writeInt(bounds.yMax());
+            out.writeInt(bounds.zMin());
+            out.writeInt(bounds.zMax());
+            out.writeInt(dto.priority());
+            out.writeBoolean(dto.showTitle());
+            writeString(out, dto.enterMessage());
+            writeString(out, dto.leaveMessage());
+            writeString(out, dto.enterTitle());
+            writeString(out, dto.leaveTitle());
+            writeToggles(out, dto.toggleStates(), dictionary, words);
+            writeToggles(out, dto.defaultToggleStates(), dictionary, words);
+            writeToggles(out, dto.inheritedToggleStates(), dictionary, words);
+            writePotionEffects(out, dto.potionEffects());
+            writePermissions(out, dto.playerPermissions(), dictionary);
+            writePermissions(out, dto.groupPermissions(), dictionary);
+            writePermissions(out, dto.trackPermissions(), dictionary);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void collectPermissionNames(Map<String, Map<String, Boolean>> permissions, TreeSet<String> names) {
+        if (permissions == null) {
+            return;
+        }
+        for (Map<String, Boolean> subject : permissions.values()) {
+            if (subject != null) {
+                names.addAll(subject.keySet());
+            }
+        }
+    }
+
+    private static void writeToggles(DataOutputStream out, JSONObject toggles, Map<String, Integer> dictionary,
+                                     int words) throws IOException {
+        long[] present = new long[words];
+        long[] values = new long[words];
+        List<String> numeric = new ArrayList<>();
+        JSONObject other = new JSONObject();
+
+        for (String key : new TreeSet<>(toggles.keySet())) {
+            Object value = toggles.get(key);
+            if (value instanceof Boolean bool) {
+                int index = dictionary.get(key);
+                present[index >>> 6] |= 1L << index;
+                if (bool) {
+                    values[index >>> 6] |= 1L << index;
+                }
+            } else if (value instanceof Integer || value instanceof Long) {
+                numeric.add(key);
+            } else {
+                other.put(key, value);
+            }
+        }
+
+        for (int i = 0; i < words; i++) {
+            out.writeLong(present[i]);
+            out.writeLong(values[i]);
+        }
+        out.writeInt(numeric.size());
+        for (String key : numeric) {
+            out.writeInt(dictionary.get(key));
+            out.writeInt(toggles.getInt(key));
+        }
+        writeString(out, other.length() == 0 ? null : other.toString());
+    }
+
+    private static void writePotionEffects(DataOutputStream out, JSONObject potionEffects) throws IOException {
+        TreeSet<String> effects = new TreeSet<>(potionEffects.keySet());
+        out.writeInt(effects.size());
+        for (String effect : effects) {
+            writeString(out, effect);
+            out.writeInt(potionEffects.optInt(effect, 0));
+        }
+    }
+
+    private static void writePermissions(DataOutputStream out, Map<String, Map<String, Boolean>> permissions,
+                                         Map<String, Integer> dictionary) throws IOException {
+        TreeMap<String, Map<String, Boolean>> sorted = new TreeMap<>();
+        if (permissions != null) {
+            for (Map.Entry<String, Map<String, Boolean>> entry : permissions.entrySet()) {
+                if (entry.getKey() != null && entry.getValue() != null) {
+                    sorted.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        out.writeInt(sorted.size());
+        for (Map.Entry<String, Map<String, Boolean>> subject : sorted.entrySet()) {
+            TreeMap<String, Boolean> values = new TreeMap<>();
+            for (Map.Entry<String, Boolean> entry : subject.getValue().entrySet()) {
+                if (entry.getKey() != null) {
+                    values.put(entry.getKey(), Boolean.TRUE.equals(entry.getValue()));
+                }
+            }
+            writeString(out, subject.getKey());
+            out.writeInt(values.size());
+            for (Map.Entry<String, Boolean> entry : values.entrySet()) {
+                out.writeInt(dictionary.get(entry.getKey()));
+                out.writeBoolean(entry.getValue());
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    // --- Decoding ---
+
+    private List<Area> decode(ByteBuffer in) {
+        String[] dictionary = new String[in.getInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = readString(in);
+        }
+        int words = (dictionary.length + 63) >>> 6;
+
+        int count = in.getInt();
+        List<DecodedArea> decoded = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = readString(in);
+            String world = readString(in);
+            AreaDTO.Bounds bounds = new AreaDTO.Bounds(
+                in.getInt(), in.getInt(), in.getInt(), in.getInt(), in.getInt(), in.getInt());
+            int priority = in.getInt();
+            boolean showTitle = in.get() != 0;
+            String enterMessage = readString(in);
+            String leaveMessage = readString(in);
+            String enterTitle = readString(in);
+            String leaveTitle = readString(in);
+            JSONObject toggleStates = readToggles(in, dictionary, words);
+            JSONObject defaultToggleStates = readToggles(in, dictionary, words);
+            JSONObject inheritedToggleStates = readToggles(in, dictionary, words);
+            JSONObject potionEffects = readPotionEffects(in);
+            Map<String, Map<String, Boolean>> playerPermissions = readPermissions(in, dictionary);
+            Map<String, Map<String, Boolean>> groupPermissions = readPermissions(in, dictionary);
+            Map<String, Map<String, Boolean>> trackPermissions = readPermissions(in, dictionary);
+
+            Map<String, Boolean> permissionsMap = new HashMap<>();
+            for (String key : toggleStates.keySet()) {
+                Object value = toggleStates.get(key);
+                if (value instanceof Boolean bool) {
+                    permissionsMap.put(key, bool);
+                }
+            }
+
+            // Same shape as an area built from a database row
+            AreaDTO dto = new AreaDTO(
+                name,
+                world,
+                bounds,
+                priority,
+                showTitle,
+                toggleStates,
+                new HashMap<>(),
+                new HashMap<>(),
+                toggleStates,
+                defaultToggleStates,
+                inheritedToggleStates,
+                AreaDTO.Permissions.fromMap(permissionsMap),
+                enterMessage != null ? enterMessage : "",
+                leaveMessage != null ? leaveMessage : "",
+                enterTitle != null ? enterTitle : "",
+                leaveTitle != null ? leaveTitle : "",
+                new HashMap<>(),
+                new HashMap<>(),
+                potionEffects
+            );
+            decoded.add(new DecodedArea(dto, playerPermissions, groupPermissions, trackPermissions));
+        }
+
+        // Building areas is CPU bound and independent per area
+        return decoded.parallelStream()
+            .map(area -> {
+                Area built = AreaBuilder.fromDTO(area.dto()).build();
+                built.updateInternalPermissions(area.playerPermissions(), area.groupPermissions(), area.trackPermissions());
+                return built;
+            })
+            .collect(Collectors.toList());
+    }
+
+    private static JSONObject readToggles(ByteBuffer in, String[] dictionary, int words) {
+        JSONObject toggles = new JSONObject();
+        for (int word = 0; word < words; word++) {
+            long present = in.getLong();
+            long values = in.getLong();
+            while (present != 0) {
+                int bit = Long.numberOfTrailingZeros(present);
+                toggles.put(dictionary[(word << 6) + bit], (values & (1L << bit)) != 0);
+                present &= present - 1;
+            }
+        }
+        int numeric = in.getInt();
+        for (int i = 0; i < numeric; i++) {
+            String key = dictionary[in.getInt()];
+            toggles.put(key, in.getInt());
+        }
+        String other = readString(in);
+        if (other != null) {
+            JSONObject rest = new JSONObject(other);
+            for (String key : rest.keySet()) {
+                toggles.put(key, rest.get(key));
+            }
+        }
+        return toggles;
+    }
+
+    private static JSONObject readPotionEffects(ByteBuffer in) {
+        JSONObject potionEffects = new JSONObject();
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            String effect = readString(in);
+            potionEffects.put(effect, in.getInt());
+        }
+        return potionEffects;
+    }
+
+    private static Map<String, Map<String, Boolean>> readPermissions(ByteBuffer in, String[] dictionary) {
+        int subjects = in.getInt();
+        Map<String, Map<String, Boolean>> permissions = new HashMap<>(Math.max(4, subjects * 2));
+        for (int i = 0; i < subjects; i++) {
+            String subject = readString(in);
+            int count = in.getInt();
+            Map<String, Boolean> values = new HashMap<>(Math.max(4, count * 2));
+            for (int j = 0; j < count; j++) {
+                String permission = dictionary[in.getInt()];
+                values.put(permission, in.get() != 0);
+            }
+            permissions.put(subject, values);
+        }
+        return permissions;
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private record DecodedArea(AreaDTO dto,
+                               Map<String, Map<String, Boolean>> playerPermissions,
+                               Map<String, Map<String, Boolean>> groupPermissions,
+                               Map<String, Map<String, Boolean>> trackPermissions) {
+    }
+}
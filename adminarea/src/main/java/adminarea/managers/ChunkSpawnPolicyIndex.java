@@ -0,0 +1,205 @@
+package adminarea.managers;
+
+import adminarea.area.Area;
+import adminarea.util.CacheRegistry;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-chunk spawn decisions derived from the area index.
+ * For every chunk that sees a spawn, the areas that can apply to it are resolved once
+ * and the monster/animal spawn toggles are folded into a single policy. Spawns in chunks
+ * where all candidate areas agree are answered without any area lookup; only chunks where
+ * areas disagree fall back to the per-position highest priority area.
+ * Policies are dropped whenever the area index changes and re-validated against each
+ * candidate area's toggle version, so toggle edits take effect immediately.
+ */
+public class ChunkSpawnPolicyIndex {
+    private static final String MONSTER_SPAWN_TOGGLE = "gui.permissions.toggles.allowMonsterSpawn";
+    private static final String ANIMAL_SPAWN_TOGGLE = "gui.permissions.toggles.allowAnimalSpawn";
+    private static final int MAX_CHUNKS_PER_WORLD = 4096;
+
+    private final AreaManager areaManager;
+    // Policies keyed by world, then by chunk key
+    private final Map<String, Cache<Long, Policy>> policies = new ConcurrentHashMap<>();
+    // Bumped whenever areas are added, removed or re-indexed
+    private final AtomicLong generation = new AtomicLong();
+    // Lookup counts of all per-world caches
+    private final StatsCounter stats = new ConcurrentStatsCounter();
+
+    enum Decision {
+        ALLOW,
+        DENY,
+        // Areas in the chunk disagree - resolve by position
+        MIXED
+    }
+
+    ChunkSpawnPolicyIndex(AreaManager areaManager) {
+        this.areaManager = areaManager;
+    }
+
+    /**
+     * Checks whether a mob may spawn at a position
+     *
+     * @param world The world name
+     * @param x X coordinate
+     * @param y Y coordinate
+     * @param z Z coordinate
+     * @param monster true for monsters, false for animals
+     * @return true if the spawn is allowed
+     */
+    public boolean isSpawnAllowed(String world, double x, double y, double z, boolean monster) {
+        // Same chunk mapping as AreaManager.getAreasAtLocation
+        int chunkX = (int) x >> 4;
+        int chunkZ = (int) z >> 4;
+        Policy policy = getPolicy(world, chunkX, chunkZ);
+
+        Decision decision = monster ? policy.monster : policy.animal;
+        if (decision == Decision.ALLOW) {
+            return true;
+        }
+        if (decision == Decision.DENY) {
+            return false;
+        }
+
+        Area area = areaManager.getHighestPriorityArea(world, x, y, z);
+        return area == null || area.getToggleState(monster ? MONSTER_SPAWN_TOGGLE : ANIMAL_SPAWN_TOGGLE);
+    }
+
+    /**
+     * Drops all policies. Called by the area manager whenever the area index changes.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        for (Cache<Long, Policy> worldPolicies : policies.values()) {
+            worldPolicies.invalidateAll();
+        }
+    }
+
+    /**
+     * Registers the per-world policy caches with the cache registry as one cache
+     */
+    void registerCaches(CacheRegistry caches) {
+        caches.registerGroup("chunk_spawn_policies", stats, policies::values);
+    }
+
+    /**
+     * Gets the number of chunk policies currently held
+     */
+    public long size() {
+        long size = 0;
+        for (Cache<Long, Policy> worldPolicies : policies.values()) {
+            size += worldPolicies.estimatedSize();
+        }
+        return size;
+    }
+
+    private Policy getPolicy(String world, int chunkX, int chunkZ) {
+        Cache<Long, Policy> worldPolicies = policies.computeIfAbsent(world, w -> Caffeine.newBuilder()
+            .maximumSize(MAX_CHUNKS_PER_WORLD)
+            .recordStats(() -> stats)
+            .build());
+
+        long key = (((long) chunkX) << 32) ^ (chunkZ & 0xffffffffL);
+        long currentGeneration = generation.get();
+        Policy policy = worldPolicies.getIfPresent(key);
+        if (policy != null && policy.isValid(currentGeneration)) {
+            return policy;
+        }
+
+        policy = buildPolicy(world, chunkX, chunkZ, currentGeneration);
+        worldPolicies.put(key, policy);
+        return policy;
+    }
+
+    private Policy buildPolicy(String world, int chunkX, int chunkZ, long currentGeneration) {
+        Area globalArea = areaManager.getGlobalAreaForWorld(world);
+        Collection<Area> chunkAreas = areaManager.getChunkCandidates(chunkX, chunkZ);
+
+        int count = globalArea != null ? 1 : 0;
+        for (Area area : chunkAreas) {
+            if (world.equals(area.getWorld())) {
+                count++;
+            }
+        }
+
+        Area[] candidates = new Area[count];
+        int[] versions = new int[count];
+        int i = 0;
+        if (globalArea != null) {
+            versions[i] = globalArea.getToggleVersion();
+            candidates[i++] = globalArea;
+        }
+        for (Area area : chunkAreas) {
+            if (i < count && world.equals(area.getWorld())) {
+                versions[i] = area.getToggleVersion();
+                candidates[i++] = area;
+            }
+        }
+
+        boolean coversChunk = globalArea != null;
+        return new Policy(currentGeneration, candidates, versions,
+            decide(candidates, MONSTER_SPAWN_TOGGLE, coversChunk),
+            decide(candidates, ANIMAL_SPAWN_TOGGLE, coversChunk));
+    }
+
+    /**
+     * Folds one toggle over the candidate areas of a chunk.
+     * Positions outside every area allow spawning, so a uniform deny is only possible
+     * when the global area guarantees that every position is inside some area.
+     */
+    private static Decision decide(Area[] candidates, String toggle, boolean coversChunk) {
+        boolean anyAllow = false;
+        boolean anyDeny = false;
+        for (Area area : candidates) {
+            if (area.getToggleState(toggle)) {
+                anyAllow = true;
+            } else {
+                anyDeny = true;
+            }
+        }
+
+        if (!anyDeny) {
+            return Decision.ALLOW;
+        }
+        if (!anyAllow && coversChunk) {
+            return Decision.DENY;
+        }
+        return Decision.MIXED;
+    }
+
+    private static final class Policy {
+        private final long generation;
+        private final Area[] areas;
+        private final int[] toggleVersions;
+        private final Decision monster;
+        private final Decision animal;
+
+        private Policy(long generation, Area[] areas, int[] toggleVersions, Decision monster, Decision animal) {
+            this.generation = generation;
+            this.areas = areas;
+            this.toggleVersions = toggleVersions;
+            this.monster = monster;
+            this.animal = animal;
+        }
+
+        private boolean isValid(long currentGeneration) {
+            if (generation != currentGeneration) {
+                return false;
+            }
+            for (int i = 0; i < areas.length; i++) {
+                if (areas[i].getToggleVersion() != toggleVersions[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
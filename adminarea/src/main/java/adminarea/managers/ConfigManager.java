@@ -28,6 +28,7 @@ public class ConfigManager {
     private void initializeDefaults() {
         defaults.put("enableMessages", true);
         defaults.put("debug", false);
+        defaults.put("debugCategories", List.of());
         defaults.put("wandItemType", 280); // Stick by default
         
         // Particle visualization settings
@@ -49,6 +50,44 @@ public class ConfigManager {
         defaults.put("luckperms.inheritPermissions", true);
         defaults.put("luckperms.updateInterval", 300); // seconds
 
+        // Tick scheduler budgets
+        defaults.put("scheduler.tickBudgetMicros", 5000);
+        defaults.put("scheduler.jobBudgetMicros", 2000);
+
+        // Load shedding when plugin tick time exceeds its budget
+        defaults.put("loadShedding.enabled", true);
+        defaults.put("loadShedding.tickBudgetMicros", 10000);
+        defaults.put("loadShedding.recoveryPercent", 70);
+        defaults.put("loadShedding.windowTicks", 20);
+        defaults.put("loadShedding.minDegradedSeconds", 10);
+        defaults.put("loadShedding.shed.titles", true);
+        defaults.put("loadShedding.shed.statistics", true);
+        defaults.put("loadShedding.shed.particles", true);
+        defaults.put("loadShedding.shed.effectRefresh", true);
+
+        // Write-behind database queue
+        defaults.put("database.writeBehind.flushIntervalMs", 250);
+        defaults.put("database.writeBehind.maxBatchSize", 256);
+        defaults.put("database.readPoolSize", 4);
+        defaults.put("database.checkpoint.intervalSeconds", 60);
+        defaults.put("database.checkpoint.escalateWalBytes", 16777216);
+        defaults.put("database.snapshot.enabled", true);
+        defaults.put("database.statistics.bufferSize", 8192);
+        defaults.put("database.statistics.maxBatchSize", 256);
+        defaults.put("database.statistics.flushIntervalMs", 1000);
+        defaults.put("database.statistics.rawRetentionDays", 30);
+
+        // Prometheus metrics endpoint
+        defaults.put("metrics.prometheus.enabled", false);
+        defaults.put("metrics.prometheus.host", "127.0.0.1");
+        defaults.put("metrics.prometheus.port", 9464);
+        defaults.put("metrics.allocation.enabled", false);
+        defaults.put("metrics.allocation.sampleRate", 100);
+
+        // Permission decision trace
+        defaults.put("permissionTrace.bufferSize", 256);
+        defaults.put("permissionTrace.sampleRate", 1);
+
         // Area merging settings
         defaults.put("areaSettings.useMostRestrictiveMerge", true);
         defaults.put("areaSettings.description.mergeBehavior", 
@@ -140,6 +179,7 @@ public class ConfigManager {
         // Load debug mode first before any other operations
         boolean debugMode = config.getBoolean("debug", false);
         plugin.setDebugMode(debugMode);
+        plugin.setDebugCategories(config.getStringList("debugCategories"));
         
         // Migrate old config format if needed
         migrateOldConfig();
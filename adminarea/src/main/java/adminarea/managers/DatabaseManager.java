@@ -6,23 +6,24 @@ import adminarea.area.AreaDTO;
 import adminarea.area.AreaBuilder;
 import adminarea.exception.DatabaseException;
 import adminarea.permissions.PermissionOverrideManager;
+import adminarea.util.SqliteDatabase;
+import adminarea.util.WalCheckpointManager;
+import adminarea.util.WriteBehindQueue;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
-import com.zaxxer.hikari.HikariConfig;
-import com.zaxxer.hikari.HikariDataSource;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.SQLTransientConnectionException;
 import java.sql.Statement;
 import java.util.*;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -32,67 +33,61 @@ import java.util.Set;
 public class DatabaseManager {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseManager.class);
     private final AdminAreaProtectionPlugin plugin;
-    private final HikariDataSource dataSource;
+    // Writes go through the database's single writer thread, reads use its small read pool
+    private final SqliteDatabase database;
     private final Cache<String, Area> areaCache;
     private static final int CACHE_SIZE = 100;
     private static final long CACHE_DURATION = TimeUnit.MINUTES.toMillis(5);
     
+    // Area rows are written behind on a dedicated writer thread, coalesced by area name
+    private final WriteBehindQueue<AreaWrite> writeQueue;
+    private static final String UPSERT_AREA_SQL =
+        "INSERT INTO areas (name, world, x_min, x_max, y_min, y_max, z_min, z_max, " +
+        "priority, show_title, enter_message, leave_message, enter_title, leave_title, potion_effects) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT(name) DO UPDATE SET world = excluded.world, " +
+        "x_min = excluded.x_min, x_max = excluded.x_max, y_min = excluded.y_min, y_max = excluded.y_max, " +
+        "z_min = excluded.z_min, z_max = excluded.z_max, priority = excluded.priority, " +
+        "show_title = excluded.show_title, enter_message = excluded.enter_message, " +
+        "leave_message = excluded.leave_message, enter_title = excluded.enter_title, " +
+        "leave_title = excluded.leave_title, potion_effects = excluded.potion_effects";
+    
+    private static final String UPSERT_TOGGLE_SQL =
+        "INSERT INTO area_toggles (area_name, scope, toggle, value) VALUES (?, ?, ?, ?) " +
+        "ON CONFLICT(area_name, scope, toggle) DO UPDATE SET value = excluded.value";
+    
+    // Toggle scopes in area_toggles, one per former JSON column
+    private static final int SCOPE_TOGGLES = 0;
+    private static final int SCOPE_DEFAULTS = 1;
+    private static final int SCOPE_INHERITED = 2;
+    
+    // Stored in PRAGMA user_version; 1 moved toggles from the JSON columns into area_toggles
+    private static final int SCHEMA_VERSION = 1;
+    
     // Thread-local set to track areas being updated to prevent recursion
     private static final ThreadLocal<Set<String>> updatingAreas = ThreadLocal.withInitial(() -> new HashSet<>());
 
     public DatabaseManager(AdminAreaProtectionPlugin plugin) {
         this.plugin = plugin;
-        this.dataSource = initializeDataSource();
+        try {
+            this.database = plugin.getStorage().open("areas.db");
+        } catch (SQLException e) {
+            logger.error("Failed to open area database", e);
+            throw new RuntimeException("Failed to open area database", e);
+        }
         this.areaCache = Caffeine.newBuilder()
             .maximumSize(CACHE_SIZE)
             .expireAfterWrite(CACHE_DURATION, TimeUnit.MILLISECONDS)
+            .recordStats()
             .build();
-    }
-
-    private HikariDataSource initializeDataSource() {
-        try {
-            Class.forName("org.sqlite.JDBC");
-        } catch (ClassNotFoundException e) {
-            logger.error("Failed to load SQLite JDBC driver", e);
-            throw new RuntimeException("SQLite JDBC driver not found", e);
-        }
-        
-        HikariConfig config = new HikariConfig();
-        String jdbcUrl = "jdbc:sqlite:" + plugin.getDataFolder() + "/areas.db";
-        config.setJdbcUrl(jdbcUrl);
-        config.setMaximumPoolSize(30);
-        config.setMinimumIdle(5);
-        config.setIdleTimeout(600000);
-        config.setMaxLifetime(1800000);
-        config.setConnectionTimeout(30000);
-        config.setConnectionTestQuery("SELECT 1");
-        config.setInitializationFailTimeout(10000);
-        
-        // SQLite specific optimizations
-        config.addDataSourceProperty("journal_mode", "WAL");
-        config.addDataSourceProperty("synchronous", "NORMAL");
-        config.addDataSourceProperty("cache_size", "2000");
-        
-        if (!plugin.isDebugMode()) {
-            config.setLeakDetectionThreshold(60000);
-        }
-        
-        try {
-            DriverManager.getConnection(jdbcUrl).close();
-        } catch (SQLException e) {
-            logger.error("Failed to test database connection", e);
-        }
-
-        return new HikariDataSource(config);
+        plugin.getPerformanceMonitor().getCacheRegistry().register("database_areas", areaCache);
+        this.writeQueue = new WriteBehindQueue<>(plugin, "areas", database, this::writeArea);
     }
 
     public void init() throws DatabaseException {
         try {
-            try (Connection conn = dataSource.getConnection();
-                 Statement stmt = conn.createStatement()) {
-                
-                conn.setAutoCommit(false);
-                try {
+            database.write(conn -> {
+                try (Statement stmt = conn.createStatement()) {
                     // Create areas table
                     stmt.executeUpdate("""
                         CREATE TABLE IF NOT EXISTS areas (
@@ -140,17 +135,64 @@ public class DatabaseManager {
                     // Create index on name column
                     stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_areas_name ON areas(name)");
                     
-                    conn.commit();
-                } catch (SQLException e) {
-                    conn.rollback();
-                    throw e;
+                    // One row per toggle, so a single toggle can change without rewriting the rest.
+                    // Booleans are stored as 0/1, strength toggles as their value.
+                    stmt.executeUpdate("""
+                        CREATE TABLE IF NOT EXISTS area_toggles (
+                            area_name TEXT NOT NULL,
+                            scope INTEGER NOT NULL,
+                            toggle TEXT NOT NULL,
+                            value INTEGER NOT NULL,
+                            PRIMARY KEY (area_name, scope, toggle)
+                        ) WITHOUT ROWID
+                    """);
+                    
+                    int version = 0;
+                    try (ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+                        if (rs.next()) {
+                            version = rs.getInt(1);
+                        }
+                    }
+                    if (version < SCHEMA_VERSION) {
+                        int migrated = migrateToggleColumns(conn);
+                        stmt.executeUpdate("PRAGMA user_version = " + SCHEMA_VERSION);
+                        if (migrated > 0) {
+                            logger.info("Moved toggle states of {} areas into the area_toggles table", migrated);
+                        }
+                    }
                 }
-            }
+                return null;
+            });
         } catch (SQLException e) {
             throw new DatabaseException("Failed to initialize database", e);
         }
     }
 
+    /**
+     * Copies toggles out of the legacy JSON columns. The columns are left in place but no longer read.
+     *
+     * @return The number of areas migrated
+     */
+    private int migrateToggleColumns(Connection conn) throws SQLException {
+        int migrated = 0;
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT name, toggle_states, default_toggle_states, inherited_toggle_states FROM areas")) {
+            while (rs.next()) {
+                String name = rs.getString("name");
+                writeToggles(conn, name, SCOPE_TOGGLES, encodeToggles(parseLegacyJson(rs.getString("toggle_states"))));
+                writeToggles(conn, name, SCOPE_DEFAULTS, encodeToggles(parseLegacyJson(rs.getString("default_toggle_states"))));
+                writeToggles(conn, name, SCOPE_INHERITED, encodeToggles(parseLegacyJson(rs.getString("inherited_toggle_states"))));
+                migrated++;
+            }
+        }
+        return migrated;
+    }
+    
+    private static JSONObject parseLegacyJson(String json) {
+        return json != null && !json.isEmpty() ? new JSONObject(json) : new JSONObject();
+    }
+
     public void saveArea(Area area) throws DatabaseException {
         if (area == null) {
             throw new IllegalArgumentException("Area cannot be null");
@@ -169,106 +211,33 @@ public class DatabaseManager {
         inProgress.add(areaName);
 
         try {
+            // Queue the row; the writer thread commits it with the next batch
+            writeQueue.enqueue(areaName, AreaRow.of(area.toDTO()));
+            
             if (plugin.isDebugMode()) {
-                plugin.debug("Starting saveArea transaction for: " + areaName);
+                plugin.debug("Queued save of area " + areaName + " (" + writeQueue.pendingCount() + " writes pending)");
             }
             
-            try (Connection conn = getConnection()) {
-                conn.setAutoCommit(false);
-                
-                try {
-                    try (PreparedStatement stmt = conn.prepareStatement(
-                        "INSERT OR REPLACE INTO areas (name, world, x_min, x_max, y_min, y_max, z_min, z_max, " +
-                        "priority, show_title, enter_message, leave_message, enter_title, leave_title, " +
-                        "toggle_states, default_toggle_states, inherited_toggle_states, potion_effects) " +
-                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
-                    )) {
-                        AreaDTO dto = area.toDTO();
-                        stmt.setString(1, dto.name());
-                        stmt.setString(2, dto.world());
-                        stmt.setInt(3, dto.bounds().xMin());
-                        stmt.setInt(4, dto.bounds().xMax());
-                        stmt.setInt(5, dto.bounds().yMin());
-                        stmt.setInt(6, dto.bounds().yMax());
-                        stmt.setInt(7, dto.bounds().zMin());
-                        stmt.setInt(8, dto.bounds().zMax());
-                        stmt.setInt(9, dto.priority());
-                        stmt.setBoolean(10, dto.showTitle());
-                        stmt.setString(11, dto.enterMessage());
-                        stmt.setString(12, dto.leaveMessage());
-                        stmt.setString(13, dto.enterTitle());
-                        stmt.setString(14, dto.leaveTitle());
-                        stmt.setString(15, dto.toggleStates().toString());
-                        stmt.setString(16, dto.defaultToggleStates().toString());
-                        stmt.setString(17, dto.inheritedToggleStates().toString());
-                        stmt.setString(18, dto.potionEffects().toString());
-                        
-                        int result = stmt.executeUpdate();
-                        
-                        if (plugin.isDebugMode()) {
-                            plugin.debug("Database insert/update for area " + dto.name() + ": " + result + " rows affected");
-                        }
-                    }
-                    
-                    // Ensure area title config exists
-                    ensureAreaTitlesConfig(area.toDTO());
-                    
-                    // Commit the area save
-                    conn.commit();
-                    
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Successfully committed area " + area.getName() + " to database");
-                    }
-                    
-                    // Update cache
-                    areaCache.put(area.getName(), area);
-                    
-                    // Explicitly check if the area was actually saved
-                    try (PreparedStatement checkStmt = conn.prepareStatement(
-                            "SELECT COUNT(*) FROM areas WHERE name = ?")) {
-                        checkStmt.setString(1, area.getName());
-                        try (ResultSet rs = checkStmt.executeQuery()) {
-                            if (rs.next() && rs.getInt(1) > 0) {
-                                if (plugin.isDebugMode()) {
-                                    plugin.debug("Verified area " + area.getName() + " exists in database");
-                                }
-                            } else {
-                                // Area doesn't exist in database despite apparent success
-                                if (plugin.isDebugMode()) {
-                                    plugin.debug("WARNING: Area " + area.getName() + " not found in database after save!");
-                                }
-                                throw new DatabaseException("Area not found in database after save: " + area.getName());
-                            }
-                        }
-                    }
-                    
-                    // Add to memory storage via AreaManager
-                    if (plugin.getAreaManager() != null) {
-                        if (plugin.isDebugMode()) {
-                            plugin.debug("Adding area " + area.getName() + " to AreaManager");
-                        }
-                        plugin.getAreaManager().addArea(area);
-                    }
-                    
-                    // Synchronize permissions separately to avoid long transactions
-                    if (plugin.getPermissionOverrideManager() != null) {
-                        if (plugin.isDebugMode()) {
-                            plugin.debug("Synchronizing permissions for area: " + area.getName());
-                        }
-                        plugin.getPermissionOverrideManager().synchronizeOnSave(area);
-                    }
-                    
-                } catch (Exception e) {
-                    conn.rollback();
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("ERROR: Failed to save area " + area.getName() + ": " + e.getMessage());
-                    }
-                    throw e;
-                } finally {
-                    conn.setAutoCommit(true);
+            // Ensure area title config exists
+            ensureAreaTitlesConfig(area.toDTO());
+            
+            // Update cache
+            areaCache.put(area.getName(), area);
+            
+            // Add to memory storage via AreaManager
+            if (plugin.getAreaManager() != null) {
+                if (plugin.isDebugMode()) {
+                    plugin.debug("Adding area " + area.getName() + " to AreaManager");
+                }
+                plugin.getAreaManager().addArea(area);
+            }
+            
+            // Synchronize permissions separately to avoid long transactions
+            if (plugin.getPermissionOverrideManager() != null) {
+                if (plugin.isDebugMode()) {
+                    plugin.debug("Synchronizing permissions for area: " + area.getName());
                 }
-            } catch (SQLException e) {
-                throw new DatabaseException("Failed to save area: " + e.getMessage(), e);
+                plugin.getPermissionOverrideManager().synchronizeOnSave(area);
             }
         } finally {
             // Clean up thread-local to prevent memory leaks
@@ -325,85 +294,30 @@ public class DatabaseManager {
         inProgress.add(areaName);
         
         try {
+            // Queue the row; a later save of the same area replaces it before it is written
+            writeQueue.enqueue(areaName, AreaRow.of(area.toDTO()));
+            
             if (plugin.isDebugMode()) {
-                plugin.debug("Starting updateArea transaction for: " + areaName);
+                plugin.debug("Queued update of area " + areaName + " (" + writeQueue.pendingCount() + " writes pending)");
             }
             
-            try (Connection conn = getConnection()) {
-                conn.setAutoCommit(false);
-                
-                try (PreparedStatement stmt = conn.prepareStatement(
-                    "UPDATE areas SET world = ?, x_min = ?, x_max = ?, y_min = ?, y_max = ?, z_min = ?, z_max = ?, " +
-                    "priority = ?, show_title = ?, enter_message = ?, leave_message = ?, enter_title = ?, leave_title = ?, " +
-                    "toggle_states = ?, default_toggle_states = ?, inherited_toggle_states = ?, potion_effects = ? " +
-                    "WHERE name = ?"
-                 )) {
-                    AreaDTO dto = area.toDTO();
-                    stmt.setString(1, dto.world());
-                    stmt.setInt(2, dto.bounds().xMin());
-                    stmt.setInt(3, dto.bounds().xMax());
-                    stmt.setInt(4, dto.bounds().yMin());
-                    stmt.setInt(5, dto.bounds().yMax());
-                    stmt.setInt(6, dto.bounds().zMin());
-                    stmt.setInt(7, dto.bounds().zMax());
-                    stmt.setInt(8, dto.priority());
-                    stmt.setBoolean(9, dto.showTitle());
-                    stmt.setString(10, dto.enterMessage());
-                    stmt.setString(11, dto.leaveMessage());
-                    stmt.setString(12, dto.enterTitle());
-                    stmt.setString(13, dto.leaveTitle());
-                    stmt.setString(14, dto.toggleStates().toString());
-                    stmt.setString(15, dto.defaultToggleStates().toString());
-                    stmt.setString(16, dto.inheritedToggleStates().toString());
-                    stmt.setString(17, dto.potionEffects().toString());
-                    stmt.setString(18, dto.name());
-
-                    int updated = stmt.executeUpdate();
-                    
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Database update for area " + dto.name() + ": " + updated + " rows affected");
-                        if (updated == 0) {
-                            plugin.debug("WARNING: No rows were updated for area " + dto.name() + ". Area might not exist in database.");
-                        }
-                    }
-                    
-                    // Commit the area update
-                    conn.commit();
-                    
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Successfully committed area update for " + area.getName() + " to database");
-                    }
-                    
-                    // Clear area cache
-                    invalidateAreaCache(area.getName());
-                    
-                    // Update memory storage via AreaManager
-                    if (plugin.getAreaManager() != null) {
-                        if (plugin.isDebugMode()) {
-                            plugin.debug("Updating area " + area.getName() + " in AreaManager");
-                        }
-                        plugin.getAreaManager().updateArea(area);
-                    }
-                    
-                    // Synchronize permissions separately to avoid long transactions
-                    if (plugin.getPermissionOverrideManager() != null) {
-                        if (plugin.isDebugMode()) {
-                            plugin.debug("Synchronizing permissions for updated area: " + area.getName());
-                        }
-                        plugin.getPermissionOverrideManager().synchronizeOnSave(area);
-                    }
-                    
-                } catch (Exception e) {
-                    conn.rollback();
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("ERROR: Failed to update area " + area.getName() + ": " + e.getMessage());
-                    }
-                    throw e;
-                } finally {
-                    conn.setAutoCommit(true);
+            // Clear area cache
+            invalidateAreaCache(area.getName());
+            
+            // Update memory storage via AreaManager
+            if (plugin.getAreaManager() != null) {
+                if (plugin.isDebugMode()) {
+                    plugin.debug("Updating area " + area.getName() + " in AreaManager");
+                }
+                plugin.getAreaManager().updateArea(area);
+            }
+            
+            // Synchronize permissions separately to avoid long transactions
+            if (plugin.getPermissionOverrideManager() != null) {
+                if (plugin.isDebugMode()) {
+                    plugin.debug("Synchronizing permissions for updated area: " + area.getName());
                 }
-            } catch (SQLException e) {
-                throw new DatabaseException("Failed to update area: " + e.getMessage(), e);
+                plugin.getPermissionOverrideManager().synchronizeOnSave(area);
             }
         } finally {
             // Clean up thread-local to prevent memory leaks
@@ -411,13 +325,190 @@ public class DatabaseManager {
         }
     }
 
+    /**
+     * Requests a background checkpoint of the area database.
+     * Committed writes are already durable in the WAL, so callers never wait for it.
+     */
     public void flushChanges() throws DatabaseException {
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement()) {
-            stmt.execute("PRAGMA wal_checkpoint(FULL)");
-        } catch (SQLException e) {
-            throw new DatabaseException("Failed to flush database changes", e);
+        database.getCheckpointManager().requestCheckpoint();
+    }
+
+    /**
+     * Blocks until all queued area writes are committed
+     */
+    public void flushPendingWrites() {
+        writeQueue.flush();
+    }
+
+    /**
+     * Gets the write-behind queue for area rows
+     */
+    public WriteBehindQueue<?> getWriteQueue() {
+        return writeQueue;
+    }
+
+    /**
+     * Gets the checkpoint manager for the area database
+     */
+    public WalCheckpointManager getCheckpointManager() {
+        return database.getCheckpointManager();
+    }
+
+    private void writeArea(Connection conn, String key, AreaWrite write) throws SQLException {
+        if (write instanceof AreaRow row) {
+            writeAreaRow(conn, row);
+            return;
+        }
+        // Toggle writes never create an area; one deleted in the meantime is skipped
+        AreaToggleRow toggles = (AreaToggleRow) write;
+        if (areaExists(conn, key)) {
+            writeToggles(conn, key, SCOPE_TOGGLES, toggles.toggleStates());
+        } else if (plugin.isDebugMode()) {
+            plugin.debug("Skipped queued toggle states of area " + key + ", which has no stored row");
+        }
+    }
+
+    private void writeAreaRow(Connection conn, AreaRow row) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(UPSERT_AREA_SQL)) {
+            stmt.setString(1, row.name());
+            stmt.setString(2, row.world());
+            stmt.setInt(3, row.xMin());
+            stmt.setInt(4, row.xMax());
+            stmt.setInt(5, row.yMin());
+            stmt.setInt(6, row.yMax());
+            stmt.setInt(7, row.zMin());
+            stmt.setInt(8, row.zMax());
+            stmt.setInt(9, row.priority());
+            stmt.setBoolean(10, row.showTitle());
+            stmt.setString(11, row.enterMessage());
+            stmt.setString(12, row.leaveMessage());
+            stmt.setString(13, row.enterTitle());
+            stmt.setString(14, row.leaveTitle());
+            stmt.setString(15, row.potionEffects());
+            stmt.executeUpdate();
+        }
+        writeToggles(conn, row.name(), SCOPE_TOGGLES, row.toggleStates());
+        writeToggles(conn, row.name(), SCOPE_DEFAULTS, row.defaultToggleStates());
+        writeToggles(conn, row.name(), SCOPE_INHERITED, row.inheritedToggleStates());
+    }
+    
+    /**
+     * Brings the stored toggles of one scope in line with the given values, writing only
+     * the toggles that were added, changed or removed
+     */
+    private static void writeToggles(Connection conn, String areaName, int scope, Map<String, Integer> toggles)
+            throws SQLException {
+        Map<String, Integer> stored = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT toggle, value FROM area_toggles WHERE area_name = ? AND scope = ?")) {
+            stmt.setString(1, areaName);
+            stmt.setInt(2, scope);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    stored.put(rs.getString("toggle"), rs.getInt("value"));
+                }
+            }
+        }
+        
+        List<String> removed = new ArrayList<>();
+        for (String toggle : stored.keySet()) {
+            if (!toggles.containsKey(toggle)) {
+                removed.add(toggle);
+            }
+        }
+        if (!removed.isEmpty()) {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "DELETE FROM area_toggles WHERE area_name = ? AND scope = ? AND toggle = ?")) {
+                for (String toggle : removed) {
+                    stmt.setString(1, areaName);
+                    stmt.setInt(2, scope);
+                    stmt.setString(3, toggle);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+        }
+        
+        boolean changed = false;
+        try (PreparedStatement stmt = conn.prepareStatement(UPSERT_TOGGLE_SQL)) {
+            for (Map.Entry<String, Integer> entry : toggles.entrySet()) {
+                if (!entry.getValue().equals(stored.get(entry.getKey()))) {
+                    stmt.setString(1, areaName);
+                    stmt.setInt(2, scope);
+                    stmt.setString(3, entry.getKey());
+                    stmt.setInt(4, entry.getValue());
+                    stmt.addBatch();
+                    changed = true;
+                }
+            }
+            if (changed) {
+                stmt.executeBatch();
+            }
+        }
+    }
+    
+    /**
+     * Reads the toggles of one area, or of all areas when areaName is null
+     */
+    private static Map<String, AreaToggles> readToggles(Connection conn, String areaName) throws SQLException {
+        Map<String, AreaToggles> byArea = new HashMap<>();
+        String sql = "SELECT area_name, scope, toggle, value FROM area_toggles" +
+            (areaName != null ? " WHERE area_name = ?" : "");
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            if (areaName != null) {
+                stmt.setString(1, areaName);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    byArea.computeIfAbsent(rs.getString(1), k -> new AreaToggles())
+                          .scope(rs.getInt(2))
+                          .put(rs.getString(3), rs.getInt(4));
+                }
+            }
+        }
+        return byArea;
+    }
+    
+    /**
+     * Converts toggle values to their stored form; booleans become 0/1
+     */
+    private static Map<String, Integer> encodeToggles(JSONObject toggles) {
+        Map<String, Integer> encoded = new HashMap<>();
+        for (String key : toggles.keySet()) {
+            Integer value = encodeToggle(toggles.opt(key));
+            if (value != null) {
+                encoded.put(key, value);
+            }
+        }
+        return encoded;
+    }
+    
+    private static Integer encodeToggle(Object value) {
+        if (value instanceof Boolean bool) {
+            return bool ? 1 : 0;
+        }
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        if (value instanceof String text && ("true".equalsIgnoreCase(text) || "false".equalsIgnoreCase(text))) {
+            return Boolean.parseBoolean(text) ? 1 : 0;
         }
+        return null;
+    }
+    
+    /**
+     * Converts stored toggle values back; strength toggles are integers, everything else is boolean
+     */
+    private static JSONObject decodeToggles(Map<String, Integer> toggles) {
+        JSONObject decoded = new JSONObject();
+        for (Map.Entry<String, Integer> entry : toggles.entrySet()) {
+            if (entry.getKey().endsWith("Strength")) {
+                decoded.put(entry.getKey(), entry.getValue().intValue());
+            } else {
+                decoded.put(entry.getKey(), entry.getValue() != 0);
+            }
+        }
+        return decoded;
     }
 
     public void invalidateAreaCache(String areaName) {
@@ -437,54 +528,81 @@ public class DatabaseManager {
     }
 
     public void deleteArea(String name) throws DatabaseException {
-        try (Connection conn = getConnection()) {
-            conn.setAutoCommit(false);
-            
-            try {
-                int rowsAffected;
-                try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM areas WHERE name = ?")) {
+        // A queued save must not resurrect the row after the delete. An area that was only
+        // queued has no row yet, but it is still cached and may already have permissions.
+        int discarded = writeQueue.discard(name::equals);
+        writeQueue.flush();
+        
+        int rowsAffected;
+        try {
+            rowsAffected = database.write(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM area_toggles WHERE area_name = ?")) {
                     stmt.setString(1, name);
-                    rowsAffected = stmt.executeUpdate();
-                }
-                
-                if (rowsAffected == 0) {
-                    return;
+                    stmt.executeUpdate();
                 }
-                
-                // Delete permissions
-                if (plugin.getPermissionOverrideManager() != null) {
-                    plugin.getPermissionOverrideManager().deleteAreaPermissions(name);
+                try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM areas WHERE name = ?")) {
+                    stmt.setString(1, name);
+                    return stmt.executeUpdate();
                 }
-                
-                conn.commit();
-                invalidateAreaCache(name);
-                
-            } catch (Exception e) {
-                conn.rollback();
-                throw e;
-            } finally {
-                conn.setAutoCommit(true);
-            }
+            });
         } catch (SQLException e) {
             throw new DatabaseException("Failed to delete area", e);
         }
+        
+        if (rowsAffected == 0 && discarded == 0 && plugin.isDebugMode()) {
+            plugin.debug("Area " + name + " had no stored or queued row to delete");
+        }
+        
+        // Delete permissions - they live in a separate database file
+        if (plugin.getPermissionOverrideManager() != null) {
+            plugin.getPermissionOverrideManager().deleteAreaPermissions(name);
+        }
+        
+        invalidateAreaCache(name);
     }
 
     public List<Area> loadAreas() throws DatabaseException {
-        List<Area> areas = new ArrayList<>();
+        writeQueue.flush();
         
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT * FROM areas")) {
-            
-            while (rs.next()) {
-                Area area = buildAreaFromResultSet(rs);
-                areas.add(area);
-                areaCache.put(area.getName(), area);
+        // Read the raw rows first; building areas happens off the connection
+        List<AreaRow> rows = readAreaRows();
+        
+        // One query per permission table for all areas instead of three queries per area
+        PermissionOverrideManager permissionManager = plugin.getPermissionOverrideManager();
+        PermissionOverrideManager.LoadedPermissions loadedPermissions = null;
+        if (permissionManager != null) {
+            try {
+                loadedPermissions = permissionManager.loadAllPermissions();
+            } catch (DatabaseException e) {
+                logger.error("Failed to load permissions in bulk, falling back to loading them per area", e);
             }
-            
-        } catch (SQLException e) {
-            throw new DatabaseException("Failed to load areas", e);
+        }
+        
+        // Parsing the JSON columns is CPU bound, so areas are built in parallel
+        PermissionOverrideManager.LoadedPermissions permissions = loadedPermissions;
+        List<Area> areas;
+        try {
+            areas = rows.parallelStream()
+                .map(row -> {
+                    try {
+                        Area area = buildArea(row);
+                        if (permissions != null) {
+                            permissionManager.synchronizeOnLoad(area, permissions);
+                        } else if (permissionManager != null) {
+                            permissionManager.synchronizeOnLoad(area);
+                        }
+                        return area;
+                    } catch (SQLException e) {
+                        throw new CompletionException(e);
+                    }
+                })
+                .collect(Collectors.toList());
+        } catch (CompletionException e) {
+            throw new DatabaseException("Failed to load areas", e.getCause());
+        }
+        
+        for (Area area : areas) {
+            areaCache.put(area.getName(), area);
         }
         
         return areas;
@@ -501,14 +619,20 @@ public class DatabaseManager {
             return cachedArea;
         }
         
+        // Make sure a queued save of this area is visible to the query
+        if (writeQueue.peek(areaName) != null) {
+            writeQueue.flush();
+        }
+        
         try (Connection conn = getConnection();
              PreparedStatement stmt = conn.prepareStatement("SELECT * FROM areas WHERE name = ?")) {
             
             stmt.setString(1, areaName);
+            AreaToggles toggles = readToggles(conn, areaName).get(areaName);
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    Area area = buildAreaFromResultSet(rs);
+                    Area area = buildAreaFromResultSet(rs, toggles);
                     areaCache.put(area.getName(), area);
                     return area;
                 }
@@ -519,250 +643,310 @@ public class DatabaseManager {
         }
     }
 
-    private Area buildAreaFromResultSet(ResultSet rs) throws SQLException {
-        try {
-            String name = rs.getString("name");
-            String world = rs.getString("world");
-            int xMin = rs.getInt("x_min");
-            int xMax = rs.getInt("x_max");
-            int yMin = rs.getInt("y_min");
-            int yMax = rs.getInt("y_max");
-            int zMin = rs.getInt("z_min");
-            int zMax = rs.getInt("z_max");
-            int priority = rs.getInt("priority");
-            boolean showTitle = rs.getBoolean("show_title");
-            String enterMessage = rs.getString("enter_message");
-            String leaveMessage = rs.getString("leave_message");
-            String enterTitle = rs.getString("enter_title");
-            String leaveTitle = rs.getString("leave_title");
-            
-            // Check for null strings (can happen with older database entries)
-            enterMessage = enterMessage != null ? enterMessage : "";
-            leaveMessage = leaveMessage != null ? leaveMessage : "";
-            enterTitle = enterTitle != null ? enterTitle : "";
-            leaveTitle = leaveTitle != null ? leaveTitle : "";
-
-            // Parse JSON fields
-            JSONObject toggleStates = new JSONObject(rs.getString("toggle_states"));
-            JSONObject defaultToggleStates = new JSONObject(rs.getString("default_toggle_states"));
-            JSONObject inheritedToggleStates = new JSONObject(rs.getString("inherited_toggle_states"));
-            
-            // Get potion effects JSON
-            String potionEffectsJson = rs.getString("potion_effects");
-            JSONObject potionEffects = potionEffectsJson != null && !potionEffectsJson.isEmpty() ? 
-                new JSONObject(potionEffectsJson) : new JSONObject();
-            
-            // Create bounds object
-            AreaDTO.Bounds bounds = new AreaDTO.Bounds(
-                xMin,
-                xMax,
-                yMin,
-                yMax,
-                zMin,
-                zMax
-            );
-
-            // Convert toggle states to permissions map
-            Map<String, Boolean> permissionsMap = new HashMap<>();
-            for (String key : toggleStates.keySet()) {
-                permissionsMap.put(key, toggleStates.getBoolean(key));
-            }
-
-            // Lookup titles from areaTitles.yml if configured
-            ConfigManager configManager = plugin.getConfigManager();
-            String basePath = "areaTitles." + name;
-            if (configManager.hasAreaTitleConfig(name)) {
-                // Override with values from areaTitles.yml if they exist
-                enterTitle = configManager.getAreaTitleText(name, "enter", "main", enterTitle);
-                enterMessage = configManager.getAreaTitleText(name, "enter", "subtitle", enterMessage);
-                leaveTitle = configManager.getAreaTitleText(name, "leave", "main", leaveTitle);
-                leaveMessage = configManager.getAreaTitleText(name, "leave", "subtitle", leaveMessage);
-            }
+    private Area buildAreaFromResultSet(ResultSet rs, AreaToggles toggles) throws SQLException {
+        Area area = buildArea(AreaRow.read(rs, toggles));
+        
+        // Load permissions if needed
+        if (plugin.getPermissionOverrideManager() != null) {
+            plugin.getPermissionOverrideManager().synchronizeOnLoad(area);
+        }
+        
+        return area;
+    }
+    
+    /**
+     * Reads every area and its permissions straight from the database tables, in the form
+     * {@link Area#toMemoryDTO()} produces for an area loaded from them. No areas are built
+     * and the area cache is not touched, so this can run off the main thread.
+     */
+    public List<AreaDTO> readAreaDTOs() throws DatabaseException {
+        writeQueue.flush();
+        
+        List<AreaRow> rows = readAreaRows();
+        PermissionOverrideManager permissionManager = plugin.getPermissionOverrideManager();
+        PermissionOverrideManager.LoadedPermissions permissions = permissionManager != null
+            ? permissionManager.readAllPermissions()
+            : new PermissionOverrideManager.LoadedPermissions(Map.of(), Map.of(), Map.of());
+        
+        List<AreaDTO> dtos = new ArrayList<>(rows.size());
+        for (AreaRow row : rows) {
+            AreaDTO dto = buildDTO(row);
+            Map<String, Object> toggleStates = new HashMap<>();
+            Area.normalizeToggleStates(dto.toggleStates(), toggleStates);
+            dtos.add(new AreaDTO(
+                dto.name(),
+                dto.world(),
+                dto.bounds(),
+                dto.priority(),
+                dto.showTitle(),
+                dto.settings(),
+                permissions.groups().getOrDefault(dto.name(), new HashMap<>()),
+                new HashMap<>(),
+                new JSONObject(toggleStates),
+                dto.defaultToggleStates(),
+                dto.inheritedToggleStates(),
+                dto.permissions(),
+                dto.enterMessage(),
+                dto.leaveMessage(),
+                dto.enterTitle(),
+                dto.leaveTitle(),
+                permissions.tracks().getOrDefault(dto.name(), new HashMap<>()),
+                permissions.players().getOrDefault(dto.name(), new HashMap<>()),
+                dto.potionEffects()
+            ));
+        }
+        return dtos;
+    }
 
-            // Create DTO
-            AreaDTO dto = new AreaDTO(
-                name,
-                world,
-                bounds,
-                priority,
-                showTitle,
-                toggleStates,
-                new HashMap<>(), // Empty group permissions
-                new HashMap<>(), // Empty inherited permissions
-                toggleStates,
-                defaultToggleStates,
-                inheritedToggleStates,
-                AreaDTO.Permissions.fromMap(permissionsMap),
-                enterMessage,
-                leaveMessage,
-                enterTitle,
-                leaveTitle,
-                new HashMap<>(), // Empty track permissions
-                new HashMap<>(), // Empty player permissions
-                potionEffects
-            );
-
-            // Build the area
-            Area area = AreaBuilder.fromDTO(dto).build();
+    private List<AreaRow> readAreaRows() throws DatabaseException {
+        List<AreaRow> rows = new ArrayList<>();
+        try (Connection conn = getConnection()) {
+            // Toggles of all areas in one query
+            Map<String, AreaToggles> toggles = readToggles(conn, null);
             
-            // Load permissions if needed
-            if (plugin.getPermissionOverrideManager() != null) {
-                plugin.getPermissionOverrideManager().synchronizeOnLoad(area);
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT * FROM areas")) {
+                while (rs.next()) {
+                    rows.add(AreaRow.read(rs, toggles.get(rs.getString("name"))));
+                }
             }
+        } catch (SQLException e) {
+            throw new DatabaseException("Failed to load areas", e);
+        }
+        return rows;
+    }
 
-            return area;
+    /**
+     * Builds an area from a raw row. Does not touch the database, so rows can be built in parallel.
+     */
+    private Area buildArea(AreaRow row) throws SQLException {
+        try {
+            return AreaBuilder.fromDTO(buildDTO(row)).build();
         } catch (Exception e) {
             logger.error("Error building area from result set", e);
             throw new SQLException("Failed to build area from database result", e);
         }
     }
 
-    public Connection getConnection() throws SQLException {
-        SQLException lastException = null;
-        int maxRetries = 3;
-        int retryDelayMs = 500;
+    /**
+     * Decodes a raw row into the DTO an area is built from
+     */
+    private AreaDTO buildDTO(AreaRow row) {
+        String name = row.name();
+        String world = row.world();
+        int xMin = row.xMin();
+        int xMax = row.xMax();
+        int yMin = row.yMin();
+        int yMax = row.yMax();
+        int zMin = row.zMin();
+        int zMax = row.zMax();
+        int priority = row.priority();
+        boolean showTitle = row.showTitle();
+        String enterMessage = row.enterMessage();
+        String leaveMessage = row.leaveMessage();
+        String enterTitle = row.enterTitle();
+        String leaveTitle = row.leaveTitle();
         
-        for (int attempt = 0; attempt < maxRetries; attempt++) {
-            try {
-                return dataSource.getConnection();
-            } catch (SQLException e) {
-                lastException = e;
-                
-                // Only retry transient connection exceptions
-                if (e instanceof SQLTransientConnectionException) {
-                    try {
-                        Thread.sleep(retryDelayMs * (attempt + 1));
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw e; // Don't retry if interrupted
-                    }
-                } else {
-                    throw e; // Don't retry for non-transient exceptions
-                }
-            }
-        }
+        // Check for null strings (can happen with older database entries)
+        enterMessage = enterMessage != null ? enterMessage : "";
+        leaveMessage = leaveMessage != null ? leaveMessage : "";
+        enterTitle = enterTitle != null ? enterTitle : "";
+        leaveTitle = leaveTitle != null ? leaveTitle : "";
+
+        JSONObject toggleStates = decodeToggles(row.toggleStates());
+        JSONObject defaultToggleStates = decodeToggles(row.defaultToggleStates());
+        JSONObject inheritedToggleStates = decodeToggles(row.inheritedToggleStates());
+        
+        // Get potion effects JSON
+        String potionEffectsJson = row.potionEffects();
+        JSONObject potionEffects = potionEffectsJson != null && !potionEffectsJson.isEmpty() ? 
+            new JSONObject(potionEffectsJson) : new JSONObject();
         
-        // If we got here, all retries failed
-        if (lastException != null) {
-            throw lastException;
-        } else {
-            throw new SQLException("Failed to get database connection after " + maxRetries + " attempts");
+        // Create bounds object
+        AreaDTO.Bounds bounds = new AreaDTO.Bounds(
+            xMin,
+            xMax,
+            yMin,
+            yMax,
+            zMin,
+            zMax
+        );
+
+        // Convert toggle states to permissions map
+        Map<String, Boolean> permissionsMap = new HashMap<>();
+        for (String key : toggleStates.keySet()) {
+            permissionsMap.put(key, toggleStates.getBoolean(key));
+        }
+
+        // Lookup titles from areaTitles.yml if configured
+        ConfigManager configManager = plugin.getConfigManager();
+        String basePath = "areaTitles." + name;
+        if (configManager.hasAreaTitleConfig(name)) {
+            // Override with values from areaTitles.yml if they exist
+            enterTitle = configManager.getAreaTitleText(name, "enter", "main", enterTitle);
+            enterMessage = configManager.getAreaTitleText(name, "enter", "subtitle", enterMessage);
+            leaveTitle = configManager.getAreaTitleText(name, "leave", "main", leaveTitle);
+            leaveMessage = configManager.getAreaTitleText(name, "leave", "subtitle", leaveMessage);
         }
+
+        return new AreaDTO(
+            name,
+            world,
+            bounds,
+            priority,
+            showTitle,
+            toggleStates,
+            new HashMap<>(), // Empty group permissions
+            new HashMap<>(), // Empty inherited permissions
+            toggleStates,
+            defaultToggleStates,
+            inheritedToggleStates,
+            AreaDTO.Permissions.fromMap(permissionsMap),
+            enterMessage,
+            leaveMessage,
+            enterTitle,
+            leaveTitle,
+            new HashMap<>(), // Empty track permissions
+            new HashMap<>(), // Empty player permissions
+            potionEffects
+        );
+    }
+
+    /**
+     * Gets a pooled read connection for the area database. Writes go through the writer thread.
+     */
+    public Connection getConnection() throws SQLException {
+        return database.getReadConnection();
     }
 
     public void close() {
-        if (dataSource != null) {
-            dataSource.close();
-        }
+        // Commit everything still queued before the database is released
+        writeQueue.close();
+        database.close();
     }
 
+    /**
+     * Queues a change of one toggle. The area's other toggles are written as they are in memory.
+     */
     public void updateAreaToggleState(String areaName, String permission, Object value) throws DatabaseException {
-        // Prevent recursion during toggle state updates
-        Set<String> inProgress = updatingAreas.get();
-        String toggleKey = areaName + "_toggle_" + permission;
-        if (inProgress.contains(toggleKey)) {
-            // We're already updating this toggle state in the current call stack
-            if (plugin.isDebugMode()) {
-                plugin.debug("Preventing recursive toggle state update for area " + areaName + ", permission: " + permission);
-            }
-            return; // Skip this update to avoid recursion
+        Integer encoded = encodeToggle(value);
+        if (encoded == null) {
+            throw new DatabaseException("Unsupported value for toggle " + permission + ": " + value);
         }
-        inProgress.add(toggleKey);
-        
-        try {
-            try (Connection conn = getConnection()) {
-                conn.setAutoCommit(false);
-                
-                try {
-                    JSONObject toggleStates = null;
-                    
-                    // Get current toggle states
-                    try (PreparedStatement queryStmt = conn.prepareStatement(
-                        "SELECT toggle_states FROM areas WHERE name = ?")) {
-                        queryStmt.setString(1, areaName);
-                        try (ResultSet rs = queryStmt.executeQuery()) {
-                            if (rs.next()) {
-                                String togglesJson = rs.getString("toggle_states");
-                                toggleStates = new JSONObject(togglesJson);
-                            } else {
-                                throw new DatabaseException("Area not found: " + areaName);
-                            }
-                        }
-                    }
-                    
-                    // Update the specific toggle
-                    toggleStates.put(permission, value);
-
-                    // Update database
-                    try (PreparedStatement updateStmt = conn.prepareStatement(
-                        "UPDATE areas SET toggle_states = ? WHERE name = ?")) {
-                        updateStmt.setString(1, toggleStates.toString());
-                        updateStmt.setString(2, areaName);
-                        updateStmt.executeUpdate();
-                    }
-                    
-                    conn.commit();
-                    areaCache.invalidate(areaName);
-                    
-                } catch (Exception e) {
-                    conn.rollback();
-                    throw e;
-                } finally {
-                    conn.setAutoCommit(true);
-                }
-            } catch (SQLException e) {
-                throw new DatabaseException("Failed to update toggle state", e);
-            }
-        } finally {
-            // Clean up thread-local to prevent memory leaks
-            inProgress.remove(toggleKey);
+        Area area = plugin.getAreaManager() != null ? plugin.getAreaManager().getArea(areaName) : null;
+        if (area == null) {
+            throw new DatabaseException("Area not found: " + areaName);
         }
+        
+        Map<String, Integer> toggles = encodeToggles(new JSONObject(area.getToggleStates()));
+        toggles.put(permission, encoded);
+        queueToggles(areaName, toggles);
     }
     
+    /**
+     * Queues the toggle states of an area. The writer thread stores only the toggles that differ.
+     */
     public void updateAllAreaToggleStates(String areaName, JSONObject toggleStates) throws DatabaseException {
-        // Prevent recursion during toggle states updates
-        Set<String> inProgress = updatingAreas.get();
-        String toggleKey = areaName + "_toggles_all";
-        if (inProgress.contains(toggleKey)) {
-            // We're already updating toggle states for this area in the current call stack
-            if (plugin.isDebugMode()) {
-                plugin.debug("Preventing recursive toggle states update for area " + areaName);
+        queueToggles(areaName, encodeToggles(toggleStates));
+    }
+    
+    private void queueToggles(String areaName, Map<String, Integer> toggles) {
+        // A queued full row keeps its other columns and takes the newer toggles
+        writeQueue.merge(areaName, new AreaToggleRow(toggles),
+            (queued, latest) -> queued instanceof AreaRow row ? row.withToggleStates(toggles) : latest);
+        areaCache.invalidate(areaName);
+        
+        if (plugin.isDebugMode()) {
+            plugin.debug("Queued toggle states of area " + areaName + " (" + writeQueue.pendingCount() + " writes pending)");
+        }
+    }
+
+    private static boolean areaExists(Connection conn, String areaName) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT 1 FROM areas WHERE name = ?")) {
+            stmt.setString(1, areaName);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
             }
-            return; // Skip this update to avoid recursion
         }
-        inProgress.add(toggleKey);
-        
-        try {
-            try (Connection conn = getConnection()) {
-                conn.setAutoCommit(false);
-                
-                try {
-                    try (PreparedStatement stmt = conn.prepareStatement(
-                        "UPDATE areas SET toggle_states = ? WHERE name = ?")) {
-                        stmt.setString(1, toggleStates.toString());
-                        stmt.setString(2, areaName);
-                        int updated = stmt.executeUpdate();
-                        
-                        if (updated == 0) {
-                            throw new DatabaseException("Area not found: " + areaName);
-                        }
-                    }
-                    
-                    conn.commit();
-                    areaCache.invalidate(areaName);
-                    
-                } catch (Exception e) {
-                    conn.rollback();
-                    throw e;
-                } finally {
-                    conn.setAutoCommit(true);
-                }
-            } catch (SQLException e) {
-                throw new DatabaseException("Failed to update toggle states", e);
+    }
+
+    /**
+     * A queued write for one area: either the whole row or only its toggle states
+     */
+    private sealed interface AreaWrite permits AreaRow, AreaToggleRow {
+    }
+
+    /**
+     * Toggle states of an area whose row is already stored, in their stored form
+     */
+    private record AreaToggleRow(Map<String, Integer> toggleStates) implements AreaWrite {
+    }
+
+    /**
+     * Stored toggle values of one area, per scope
+     */
+    private record AreaToggles(Map<String, Integer> toggles, Map<String, Integer> defaults,
+                               Map<String, Integer> inherited) {
+        AreaToggles() {
+            this(new HashMap<>(), new HashMap<>(), new HashMap<>());
+        }
+
+        Map<String, Integer> scope(int scope) {
+            return switch (scope) {
+                case SCOPE_DEFAULTS -> defaults;
+                case SCOPE_INHERITED -> inherited;
+                default -> toggles;
+            };
+        }
+    }
+
+    /**
+     * Immutable column values of an area row, captured when a write is queued or a row is loaded
+     */
+    private record AreaRow(String name, String world, int xMin, int xMax, int yMin, int yMax, int zMin, int zMax,
+                           int priority, boolean showTitle, String enterMessage, String leaveMessage,
+                           String enterTitle, String leaveTitle, Map<String, Integer> toggleStates,
+                           Map<String, Integer> defaultToggleStates, Map<String, Integer> inheritedToggleStates,
+                           String potionEffects) implements AreaWrite {
+        static AreaRow of(AreaDTO dto) {
+            AreaDTO.Bounds bounds = dto.bounds();
+            return new AreaRow(dto.name(), dto.world(),
+                bounds.xMin(), bounds.xMax(), bounds.yMin(), bounds.yMax(), bounds.zMin(), bounds.zMax(),
+                dto.priority(), dto.showTitle(), dto.enterMessage(), dto.leaveMessage(),
+                dto.enterTitle(), dto.leaveTitle(),
+                encodeToggles(dto.toggleStates()), encodeToggles(dto.defaultToggleStates()),
+                encodeToggles(dto.inheritedToggleStates()), dto.potionEffects().toString());
+        }
+
+        static AreaRow read(ResultSet rs, AreaToggles toggles) throws SQLException {
+            if (toggles == null) {
+                toggles = new AreaToggles();
             }
-        } finally {
-            // Clean up thread-local to prevent memory leaks
-            inProgress.remove(toggleKey);
+            return new AreaRow(
+                rs.getString("name"),
+                rs.getString("world"),
+                rs.getInt("x_min"),
+                rs.getInt("x_max"),
+                rs.getInt("y_min"),
+                rs.getInt("y_max"),
+                rs.getInt("z_min"),
+                rs.getInt("z_max"),
+                rs.getInt("priority"),
+                rs.getBoolean("show_title"),
+                rs.getString("enter_message"),
+                rs.getString("leave_message"),
+                rs.getString("enter_title"),
+                rs.getString("leave_title"),
+                toggles.toggles(),
+                toggles.defaults(),
+                toggles.inherited(),
+                rs.getString("potion_effects"));
+        }
+
+        AreaRow withToggleStates(Map<String, Integer> toggles) {
+            return new AreaRow(name, world, xMin, xMax, yMin, yMax, zMin, zMax, priority, showTitle,
+                enterMessage, leaveMessage, enterTitle, leaveTitle, toggles, defaultToggleStates,
+                inheritedToggleStates, potionEffects);
         }
     }
 }
@@ -9,6 +9,8 @@ import adminarea.form.FormRegistry;
 import adminarea.form.validation.FormValidator;
 import adminarea.form.validation.ValidationResult;
 import adminarea.util.FormLogger;
+import adminarea.util.LoadShedder;
+import adminarea.util.TickScheduler;
 import cn.nukkit.Player;
 import cn.nukkit.form.response.FormResponseCustom;
 import cn.nukkit.form.window.FormWindow;
@@ -16,7 +18,6 @@ import cn.nukkit.form.window.FormWindowCustom;
 import cn.nukkit.form.window.FormWindowSimple;
 import cn.nukkit.level.particle.DustParticle;
 import cn.nukkit.math.Vector3;
-import cn.nukkit.scheduler.TaskHandler;
 import io.micrometer.core.instrument.Timer;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -29,7 +30,7 @@ public class GuiManager {
     private final Map<String, Deque<String>> navigationHistory = new ConcurrentHashMap<>();
     private final long FORM_EXPIRY_TIME = 900000; // 15 minutes
     private final FormLogger formLogger;
-    private final Map<String, TaskHandler> visualizationTasks = new ConcurrentHashMap<>();
+    private final Map<String, TickScheduler.Job> visualizationTasks = new ConcurrentHashMap<>();
 
     public GuiManager(AdminAreaProtectionPlugin plugin) {
         this.plugin = plugin;
@@ -366,9 +367,11 @@ public class GuiManager {
             List<Vector3> points = calculateVisualizationPoints(area);
             Iterator<Vector3> iterator = points.iterator();
 
-            TaskHandler task = plugin.getServer().getScheduler().scheduleRepeatingTask(plugin, () -> {
-                if (!iterator.hasNext()) {
-                    return;
+            // The job ends by itself once every point has been shown
+            TickScheduler.Job task = plugin.getTickScheduler().schedule("area_visualization", duration, () -> {
+                // Particles are dropped when over the tick budget; the visualization just ends early
+                if (!player.isOnline() || plugin.getPerformanceMonitor().getLoadShedder().shouldShed(LoadShedder.Feature.PARTICLES)) {
+                    return false;
                 }
 
                 // Spawn particles in batches for better performance
@@ -376,7 +379,8 @@ public class GuiManager {
                     Vector3 point = iterator.next();
                     spawnParticle(player, point, new DustParticle(point, 255, 0, 0));
                 }
-            }, duration);
+                return iterator.hasNext();
+            });
 
             visualizationTasks.put(player.getName(), task);
         } finally {
@@ -385,7 +389,7 @@ public class GuiManager {
     }
 
     public void stopVisualization(Player player) {
-        TaskHandler task = visualizationTasks.remove(player.getName());
+        TickScheduler.Job task = visualizationTasks.remove(player.getName());
         if (task != null) {
             task.cancel();
         }
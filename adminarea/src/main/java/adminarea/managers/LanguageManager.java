@@ -3,6 +3,7 @@ package adminarea.managers;
 import adminarea.AdminAreaProtectionPlugin;
 import adminarea.area.Area;
 import adminarea.area.AreaDTO;
+import adminarea.util.CacheRegistry;
 import adminarea.util.Logger;
 import cn.nukkit.Player;
 import cn.nukkit.utils.Config;
@@ -26,6 +27,8 @@ public class LanguageManager {
     private final Map<String, Map<String, String>> compiledMessageCache = new ConcurrentHashMap<>();
     private static final int CACHE_SIZE_LIMIT = 500; // Increased for better hit rate
     private final Map<String, Boolean> permissionCache = new ConcurrentHashMap<>();
+    private final CacheRegistry.Counters messageLookups = new CacheRegistry.Counters();
+    private final CacheRegistry.Counters compiledLookups = new CacheRegistry.Counters();
     
     // Track missing and used keys for diagnostics
     private final Set<String> reportedMissingKeys = Collections.synchronizedSet(new HashSet<>());
@@ -36,6 +39,10 @@ public class LanguageManager {
         this.plugin = plugin;
         this.logger = new Logger(plugin, "LanguageManager");
         loadLanguage();
+
+        CacheRegistry caches = plugin.getPerformanceMonitor().getCacheRegistry();
+        caches.register("language_messages", messageCache, messageLookups);
+        caches.register("language_compiled_messages", compiledMessageCache, compiledLookups);
     }
 
     private void loadLanguage() {
@@ -147,8 +154,10 @@ public class LanguageManager {
             String cacheKey = buildPlaceholderCacheKey(path, placeholders);
             Map<String, String> cachedMap = compiledMessageCache.get(cacheKey);
             if (cachedMap != null && cachedMap.containsKey("message")) {
+                compiledLookups.hit();
                 return cachedMap.get("message");
             }
+            compiledLookups.miss();
         }
 
         // Get base message
@@ -394,8 +403,10 @@ public class LanguageManager {
         // Check cache first
         String cached = messageCache.get(path);
         if (cached != null) {
+            messageLookups.hit();
             return cached;
         }
+        messageLookups.miss();
 
         // Try direct path
         if (config.exists(path)) {
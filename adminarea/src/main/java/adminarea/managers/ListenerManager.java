@@ -9,10 +9,12 @@ import adminarea.listeners.PlayerEffectListener;
 import adminarea.listeners.ProtectionListener;
 import adminarea.listeners.VehicleListener;
 import adminarea.listeners.WandListener;
+import adminarea.util.HandlerProfiler;
 import cn.nukkit.Player;
 import cn.nukkit.event.Listener;
 import io.micrometer.core.instrument.Timer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -79,9 +81,10 @@ public class ListenerManager {
             wandListener = new WandListener(plugin);
             listeners.add(wandListener);
             
-            // Register all listeners with the server
+            // Register all listeners with the server through the handler profiler
+            HandlerProfiler profiler = plugin.getPerformanceMonitor().getHandlerProfiler();
             for (Listener listener : listeners) {
-                plugin.getServer().getPluginManager().registerEvents(listener, plugin);
+                profiler.registerEvents(listener);
                 if (plugin.isDebugMode()) {
                     plugin.debug("Registered listener: " + listener.getClass().getSimpleName());
                 }
@@ -163,6 +166,15 @@ public class ListenerManager {
         }
     }
     
+    /**
+     * Gets all registered listeners in registration order
+     * 
+     * @return An unmodifiable view of the listeners
+     */
+    public List<Listener> getListeners() {
+        return Collections.unmodifiableList(listeners);
+    }
+    
     /**
      * Gets the main protection listener
      * 
@@ -8,6 +8,9 @@ import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 
 import adminarea.AdminAreaProtectionPlugin;
+import adminarea.util.CacheRegistry;
+import adminarea.logging.DebugCategory;
+import adminarea.util.Logger;
 import net.luckperms.api.LuckPerms;
 import net.luckperms.api.event.EventSubscription;
 import net.luckperms.api.event.node.NodeMutateEvent;
@@ -23,6 +26,7 @@ import net.luckperms.api.track.Track;
  */
 public class LuckPermsCache {
     private final AdminAreaProtectionPlugin plugin;
+    private final Logger logger;
     private final LuckPerms luckPerms;
     
     // Caches with shorter expiry for more frequent updates
@@ -38,6 +42,7 @@ public class LuckPermsCache {
     
     public LuckPermsCache(AdminAreaProtectionPlugin plugin, LuckPerms luckPerms) {
         this.plugin = plugin;
+        this.logger = new Logger(plugin, DebugCategory.PERMISSIONS, "LuckPermsCache");
         this.luckPerms = luckPerms;
         
         // Configure caches with appropriate sizes and expiry
@@ -70,6 +75,13 @@ public class LuckPermsCache {
             .expireAfterWrite(CACHE_DURATION, TimeUnit.MILLISECONDS)
             .recordStats()
             .build();
+
+        CacheRegistry caches = plugin.getPerformanceMonitor().getCacheRegistry();
+        caches.register("luckperms_primary_groups", primaryGroupCache);
+        caches.register("luckperms_groups", groupsCache);
+        caches.register("luckperms_tracks", tracksCache);
+        caches.register("luckperms_weights", weightCache);
+        caches.register("luckperms_inherited_groups", inheritedGroupsCache);
             
         registerEventHandlers();
         
@@ -93,9 +105,7 @@ public class LuckPermsCache {
             
             // We'll use the node mutation events to handle track and group changes
             // This is already covered by the NodeMutateEvent handler
-            if (plugin.isDebugMode()) {
-                plugin.debug("Registered LuckPerms event handlers for permission cache invalidation");
-            }
+            logger.debug("Registered LuckPerms event handlers for permission cache invalidation");
         } catch (Exception e) {
             plugin.getLogger().warning("Failed to register LuckPerms event handlers: " + e.getMessage());
         }
@@ -253,9 +263,7 @@ public class LuckPermsCache {
                 weightCache.put(group.getName(), group.getWeight().orElse(0));
             });
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Refreshed LuckPerms cache with " + weightCache.estimatedSize() + " groups");
-            }
+            logger.debug("Refreshed LuckPerms cache with %s groups", weightCache.estimatedSize());
         } catch (Exception e) {
             plugin.getLogger().error("Error preloading LuckPerms cache", e);
         }
@@ -344,9 +352,7 @@ public class LuckPermsCache {
         
         clearUserCache(username);
         
-        if (plugin.isDebugMode()) {
-            plugin.debug("Cleared user cache for " + username + " due to data recalculation");
-        }
+        logger.debug("Cleared user cache for %s due to data recalculation", username);
     }
     
     /**
@@ -365,9 +371,7 @@ public class LuckPermsCache {
         if (hasInheritanceNode) {
             refreshCache();
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Refreshed permission caches due to inheritance node change");
-            }
+            logger.debug("Refreshed permission caches due to inheritance node change");
         }
     }
     
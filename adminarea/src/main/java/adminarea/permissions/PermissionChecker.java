@@ -15,6 +15,9 @@ import java.util.stream.Collectors;
 import adminarea.AdminAreaProtectionPlugin;
 import adminarea.area.Area;
 import adminarea.area.AreaDTO;
+import adminarea.jfr.PermissionCheckEvent;
+import adminarea.logging.DebugCategory;
+import adminarea.util.Logger;
 import cn.nukkit.Player;
 import cn.nukkit.level.Position;
 
@@ -32,6 +35,8 @@ public class PermissionChecker {
     private static final String ADMIN_PERMISSION = "adminarea.admin";
     
     private final AdminAreaProtectionPlugin plugin;
+    private final Logger logger;
+    private final PermissionTrace trace;
     private final Cache<String, Boolean> permissionCache;
     private final Map<String, Long> lastPermissionCheck;
     private static final long CHECK_INTERVAL = 200;
@@ -50,12 +55,15 @@ public class PermissionChecker {
 
     public PermissionChecker(AdminAreaProtectionPlugin plugin) {
         this.plugin = plugin;
+        this.logger = new Logger(plugin, DebugCategory.PERMISSIONS, "PermissionChecker");
+        this.trace = new PermissionTrace(plugin);
         this.permissionCache = Caffeine.newBuilder()
             .maximumSize(5000)
             .expireAfterWrite(2, TimeUnit.MINUTES)
             .recordStats()
             .build();
         this.lastPermissionCheck = new ConcurrentHashMap<>();
+        plugin.getPerformanceMonitor().getCacheRegistry().register("permission_decisions", permissionCache);
         
         MeterRegistry registry = plugin.getPerformanceMonitor().getRegistry();
         this.permissionCheckTimer = Timer.builder("permission_check_time")
@@ -78,18 +86,45 @@ public class PermissionChecker {
      * 5. Area default permissions
      */
     public boolean isAllowed(Player player, Area area, String permission) {
+        PermissionCheckEvent event = new PermissionCheckEvent();
+        event.begin();
+        PermissionTrace.Path path = trace.start(player, area);
+        boolean allowed = checkAllowed(player, area, permission, path);
+        if (path != null) {
+            trace.record(player, area, permission, path, allowed);
+        }
+        if (event.shouldCommit()) {
+            event.area = area != null ? area.getName() : null;
+            event.player = player != null ? player.getName() : null;
+            event.permission = permission;
+            event.allowed = allowed;
+            event.commit();
+        }
+        return allowed;
+    }
+
+    /**
+     * Gets the trace of permission decisions for selected players and areas
+     */
+    public PermissionTrace getTrace() {
+        return trace;
+    }
+
+    private boolean checkAllowed(Player player, Area area, String permission, PermissionTrace.Path path) {
         if (area == null) {
-            plugin.debug("[PermissionChecker] No area provided, defaulting to allowed");
+            logger.debug("No area provided, defaulting to allowed");
+            if (path != null) path.decided(PermissionTrace.Layer.NO_AREA, "allowed");
             return true;
         }
 
         String normalizedPermission = normalizePermission(permission);
-        plugin.debug("[PermissionChecker] Checking permission: " + normalizedPermission + " in area: " + area.getName());
+        logger.debug("Checking permission: %s in area: %s", normalizedPermission, area.getName());
 
         // If no player, only check toggle state
         if (player == null) {
             boolean toggleState = area.getToggleState(normalizedPermission);
-            plugin.debug("[PermissionChecker] No player provided, using only toggle state: " + toggleState);
+            logger.debug("No player provided, using only toggle state: %s", toggleState);
+            if (path != null) path.decided(PermissionTrace.Layer.TOGGLE_ONLY, String.valueOf(toggleState));
             return toggleState;
         }
 
@@ -98,7 +133,8 @@ public class PermissionChecker {
         
         // Check if player is in bypass mode
         if (plugin.isBypassing(player.getName())) {
-            plugin.debug("[PermissionChecker] Player is in bypass mode, allowing action");
+            logger.debug("Player is in bypass mode, allowing action");
+            if (path != null) path.decided(PermissionTrace.Layer.BYPASS, "allowed");
             return true;
         }
 
@@ -108,7 +144,7 @@ public class PermissionChecker {
         // Disable caching temporarily to troubleshoot permission issues
         // Boolean cachedResult = permissionCache.getIfPresent(cacheKey);
         // if (cachedResult != null) {
-        //    plugin.debug("[PermissionChecker] Using cached result: " + cachedResult);
+        //    logger.debug("Using cached result: %s", cachedResult);
         //    return cachedResult;
         // }
         
@@ -118,7 +154,8 @@ public class PermissionChecker {
             // Try with the normalized permission (with prefix)
             if (playerPerms.containsKey(normalizedPermission)) {
                 boolean allowed = playerPerms.get(normalizedPermission);
-                plugin.debug("[PermissionChecker] Found player-specific permission (with prefix): " + allowed);
+                logger.debug("Found player-specific permission (with prefix): %s", allowed);
+                if (path != null) path.decided(PermissionTrace.Layer.PLAYER, allowed + " (" + normalizedPermission + ")");
                 return allowed;
             }
             
@@ -126,37 +163,43 @@ public class PermissionChecker {
             String permWithoutPrefix = normalizedPermission.replace("gui.permissions.toggles.", "");
             if (playerPerms.containsKey(permWithoutPrefix)) {
                 boolean allowed = playerPerms.get(permWithoutPrefix);
-                plugin.debug("[PermissionChecker] Found player-specific permission (without prefix): " + allowed);
+                logger.debug("Found player-specific permission (without prefix): %s", allowed);
+                if (path != null) path.decided(PermissionTrace.Layer.PLAYER, allowed + " (" + permWithoutPrefix + ")");
                 return allowed;
             }
         }
+        if (path != null) path.consulted(PermissionTrace.Layer.PLAYER, playerPerms == null ? "none" : "not set");
 
         // Check group permissions
-        boolean groupResult = checkGroupPermissions(player, area, normalizedPermission, cacheKey);
+        boolean groupResult = checkGroupPermissions(player, area, normalizedPermission, cacheKey, path);
         if (groupResult) {
-            plugin.debug("[PermissionChecker] Permission granted by group permissions");
+            logger.debug("Permission granted by group permissions");
+            if (path != null) path.decided(PermissionTrace.Layer.GROUP, "allowed");
             return true;
         }
 
         // Check track permissions
-        boolean trackResult = checkTrackPermissions(player, area, normalizedPermission, cacheKey);
+        boolean trackResult = checkTrackPermissions(player, area, normalizedPermission, cacheKey, path);
         if (trackResult) {
-            plugin.debug("[PermissionChecker] Permission granted by track permissions");
+            logger.debug("Permission granted by track permissions");
+            if (path != null) path.decided(PermissionTrace.Layer.TRACK, "allowed");
             return true;
         }
 
         // Now check area toggle state - LOWEST PRIORITY
         boolean toggleState = area.getToggleState(normalizedPermission);
-        plugin.debug("[PermissionChecker] Area toggle state: " + toggleState);
+        logger.debug("Area toggle state: %s", toggleState);
         
         // If toggle is false, it means the action is DENIED
         if (!toggleState) {
-            plugin.debug("[PermissionChecker] Permission denied by area toggle state");
+            logger.debug("Permission denied by area toggle state");
+            if (path != null) path.decided(PermissionTrace.Layer.TOGGLE, "denied");
             return false;
         }
 
         // If we get here, use the toggle state as the final decision
-        plugin.debug("[PermissionChecker] No specific permissions found, using toggle state: " + toggleState);
+        logger.debug("No specific permissions found, using toggle state: %s", toggleState);
+        if (path != null) path.decided(PermissionTrace.Layer.TOGGLE, "allowed");
         return toggleState;
     }
 
@@ -264,12 +307,17 @@ public class PermissionChecker {
     /**
      * Check group-based permissions
      */
-    private boolean checkGroupPermissions(Player player, Area area, String normalizedPermission, String cacheKey) {
+    private boolean checkGroupPermissions(Player player, Area area, String normalizedPermission, String cacheKey,
+                                          PermissionTrace.Path path) {
         if (player == null || area == null) return false;
 
         PermissionStatus result = checkGroupPermission(player, area, normalizedPermission, cacheKey);
+        if (path != null && result != PermissionStatus.ALLOWED) {
+            // A group or track denial does not decide; the check continues with the next layer
+            path.consulted(PermissionTrace.Layer.GROUP, result == PermissionStatus.DENIED ? "denied, ignored" : "not set");
+        }
         if (result == PermissionStatus.ALLOWED) {
-            plugin.debug("[PermissionChecker] Permission granted by group permissions");
+            logger.debug("Permission granted by group permissions");
             return true;
         } else if (result == PermissionStatus.DENIED) {
             return false;
@@ -282,12 +330,17 @@ public class PermissionChecker {
     /**
      * Check track-based permissions (LuckPerms specific)
      */
-    private boolean checkTrackPermissions(Player player, Area area, String normalizedPermission, String cacheKey) {
+    private boolean checkTrackPermissions(Player player, Area area, String normalizedPermission, String cacheKey,
+                                          PermissionTrace.Path path) {
         if (player == null || area == null) return false;
 
         PermissionStatus result = checkTrackPermission(player, area, normalizedPermission, cacheKey);
+        if (path != null && result != PermissionStatus.ALLOWED) {
+            // A group or track denial does not decide; the check continues with the next layer
+            path.consulted(PermissionTrace.Layer.TRACK, result == PermissionStatus.DENIED ? "denied, ignored" : "not set");
+        }
         if (result == PermissionStatus.ALLOWED) {
-            plugin.debug("[PermissionChecker] Permission granted by track permissions");
+            logger.debug("Permission granted by track permissions");
             return true;
         } else if (result == PermissionStatus.DENIED) {
             return false;
@@ -305,9 +358,7 @@ public class PermissionChecker {
             return;
         }
 
-        if (plugin.isDebugMode()) {
-            plugin.debug("Invalidating permission cache for area: " + areaName);
-        }
+        logger.debug("Invalidating permission cache for area: %s", areaName);
 
         int count = invalidateAreaCache(areaName);
 
@@ -317,9 +368,7 @@ public class PermissionChecker {
             invalidateWorldCache(area.getWorld());
         }
         
-        if (plugin.isDebugMode()) {
-            plugin.debug("Invalidated " + count + " cache entries for area: " + areaName);
-        }
+        logger.debug("Invalidated %s cache entries for area: %s", count, areaName);
     }
     
     /**
@@ -390,9 +439,7 @@ public class PermissionChecker {
     private void invalidateWorldCache(String worldName) {
         if (worldName == null || worldName.isEmpty()) return;
 
-        if (plugin.isDebugMode()) {
-            plugin.debug("Invalidating world permission cache: " + worldName);
-        }
+        logger.debug("Invalidating world permission cache: %s", worldName);
 
         String worldPrefix = worldName.toLowerCase() + ":";
         lastPermissionCheck.keySet().removeIf(key -> key.startsWith(worldPrefix));
@@ -407,9 +454,7 @@ public class PermissionChecker {
             return;
         }
         
-        if (plugin.isDebugMode()) {
-            plugin.debug("Invalidating permission cache for player: " + playerName);
-        }
+        logger.debug("Invalidating permission cache for player: %s", playerName);
         
         // Find and remove all cache entries for this player
         Set<String> keysToRemove = new HashSet<>();
@@ -433,18 +478,14 @@ public class PermissionChecker {
             lastPermissionCheck.remove(key);
         }
         
-        if (plugin.isDebugMode()) {
-            plugin.debug("Invalidated " + keysToRemove.size() + " cache entries for player: " + playerName);
-        }
+        logger.debug("Invalidated %s cache entries for player: %s", keysToRemove.size(), playerName);
     }
     
     /**
      * Invalidates the entire permission cache
      */
     public void invalidateCache() {
-        if (plugin.isDebugMode()) {
-            plugin.debug("Invalidating entire permission cache");
-        }
+        logger.debug("Invalidating entire permission cache");
         
         permissionCache.invalidateAll();
         lastPermissionCheck.clear();
@@ -460,12 +501,6 @@ public class PermissionChecker {
         lastPermissionCheck.entrySet().removeIf(entry -> now - entry.getValue() > CHECK_INTERVAL * 100);
     }
 
-    private void logDebug(String message) {
-        if (plugin.isDebugMode()) {
-            plugin.debug("[PermissionChecker] " + message);
-        }
-    }
-
     /**
      * Gets cache statistics for monitoring and diagnostics
      */
@@ -494,16 +529,16 @@ public class PermissionChecker {
             Boolean cached = permissionCache.getIfPresent(cacheKey);
             if (cached != null) {
                 cacheHits.increment();
-                logDebug("Cache hit for " + cacheKey + ": " + cached);
+                logger.debug("Cache hit for %s: %s", cacheKey, cached);
                 return cached;
             }
             
             cacheMisses.increment();
-            logDebug("Cache miss for " + cacheKey + ", computing fresh value");
+            logger.debug("Cache miss for %s, computing fresh value", cacheKey);
             
             // Rate limit permission checks for the same key
             if (shouldRateLimit(cacheKey)) {
-                logDebug("Rate limiting triggered, returning default true");
+                logger.debug("Rate limiting triggered, returning default true");
                 return true;
             }
             
@@ -536,71 +571,69 @@ public class PermissionChecker {
             if (shouldRefreshPlayerPerms || shouldRefreshGroupPerms || shouldRefreshTrackPerms) {
                 // Invalidate the cache for this key since we have updated data
                 permissionCache.invalidate(cacheKey);
-                logDebug("Refreshing permissions data for " + area.getName() + " due to updates");
+                logger.debug("Refreshing permissions data for %s due to updates", area.getName());
             }
             
             // IMPORTANT: Follow the permission hierarchy in order:
             // 1. Player-specific permissions (highest priority)
-            logDebug("Checking player-specific permissions for " + player.getName());
+            logger.debug("Checking player-specific permissions for %s", player.getName());
             PermissionStatus playerStatus = checkPlayerSpecificPermission(player, area, permission, cacheKey);
             if (playerStatus == PermissionStatus.ALLOWED) {
-                logDebug("Player permission allowed");
+                logger.debug("Player permission allowed");
                 return true;
             } else if (playerStatus == PermissionStatus.DENIED) {
-                logDebug("Player permission denied");
+                logger.debug("Player permission denied");
                 return false;
             }
             
             // 2. Group permissions (medium priority)
             // Important: we need to check both primary group and all inherited groups
-            logDebug("Checking group permissions for " + player.getName());
+            logger.debug("Checking group permissions for %s", player.getName());
             
             // Get all group permissions directly from the area for debugging
-            if (plugin.isDebugMode()) {
+            if (logger.isDebugEnabled()) {
                 Map<String, Map<String, Boolean>> groupPerms = area.getGroupPermissions();
-                logDebug("Available groups in area: " + area.getName() + ": " + 
-                     (groupPerms != null ? String.join(", ", groupPerms.keySet()) : "none"));
+                logger.debug("Available groups in area: %s: %s", area.getName(), groupPerms != null ? String.join(", ", groupPerms.keySet()) : "none");
             }
             
             PermissionStatus groupStatus = checkGroupPermission(player, area, permission, cacheKey);
             if (groupStatus == PermissionStatus.ALLOWED) {
-                logDebug("Group permission allowed");
+                logger.debug("Group permission allowed");
                 return true;
             } else if (groupStatus == PermissionStatus.DENIED) {
-                logDebug("Group permission denied");
+                logger.debug("Group permission denied");
                 return false;
             }
             
             // 3. Track permissions (lower priority)
-            logDebug("Checking track permissions for " + player.getName());
+            logger.debug("Checking track permissions for %s", player.getName());
             
             // Get all track permissions directly from the area for debugging
-            if (plugin.isDebugMode()) {
+            if (logger.isDebugEnabled()) {
                 Map<String, Map<String, Boolean>> trackPerms = area.getTrackPermissions();
-                logDebug("Available tracks in area: " + area.getName() + ": " + 
-                     (trackPerms != null ? String.join(", ", trackPerms.keySet()) : "none"));
+                logger.debug("Available tracks in area: %s: %s", area.getName(), trackPerms != null ? String.join(", ", trackPerms.keySet()) : "none");
             }
             
             PermissionStatus trackStatus = checkTrackPermission(player, area, permission, cacheKey);
             if (trackStatus == PermissionStatus.ALLOWED) {
-                logDebug("Track permission allowed");
+                logger.debug("Track permission allowed");
                 return true;
             } else if (trackStatus == PermissionStatus.DENIED) {
-                logDebug("Track permission denied");
+                logger.debug("Track permission denied");
                 return false;
             }
         } catch (Exception e) {
             // Log the error but continue with area toggle check
             plugin.getLogger().error("Error checking permissions from permission_overrides database", e);
-            logDebug("Error checking permissions, falling back to area toggle check: " + e.getMessage());
+            logger.debug("Error checking permissions, falling back to area toggle check: %s", e.getMessage());
         }
         
         // 4. Finally, check area toggle states (lowest priority)
-        logDebug("Checking area toggle states for " + permission);
+        logger.debug("Checking area toggle states for %s", permission);
 
         // Get the toggle state directly from the area as fallback
         boolean toggleState = area.getToggleState(permission);
-        logDebug("Using toggle state: " + toggleState + " for permission: " + permission);
+        logger.debug("Using toggle state: %s for permission: %s", toggleState, permission);
         
         return toggleState;
     }
@@ -620,19 +653,14 @@ public class PermissionChecker {
             playerPerms = playerPermissions.get(player.getName());
         }
         
-        if (plugin.isDebugMode()) {
-            plugin.debug("[PermissionChecker] Player permissions map: " + 
-                       (playerPerms != null ? playerPerms.toString() : "null"));
-        }
+        logger.debug("Player permissions map: %s", playerPerms);
         
         if (playerPerms != null) {
             // Check with full prefixed permission first
             if (playerPerms.containsKey(normalizedPermission)) {
                 boolean playerAllowed = playerPerms.get(normalizedPermission);
-                if (plugin.isDebugMode()) {
-                    plugin.debug("[PermissionChecker] Found player-specific permission: " + playerAllowed);
-                    plugin.debug("[PermissionChecker] DECISION: " + playerAllowed + " - storing in cache and returning");
-                }
+                logger.debug("Found player-specific permission: %s", playerAllowed);
+                logger.debug("DECISION: %s - storing in cache and returning", playerAllowed);
                 permissionCache.put(cacheKey, playerAllowed);
                 return playerAllowed ? PermissionStatus.ALLOWED : PermissionStatus.DENIED;
             }
@@ -641,19 +669,15 @@ public class PermissionChecker {
             String permWithoutPrefix = normalizedPermission.replace("gui.permissions.toggles.", "");
             if (playerPerms.containsKey(permWithoutPrefix)) {
                 boolean playerAllowed = playerPerms.get(permWithoutPrefix);
-                if (plugin.isDebugMode()) {
-                    plugin.debug("[PermissionChecker] Found player-specific permission without prefix: " + playerAllowed);
-                    plugin.debug("[PermissionChecker] DECISION: " + playerAllowed + " - storing in cache and returning");
-                }
+                logger.debug("Found player-specific permission without prefix: %s", playerAllowed);
+                logger.debug("DECISION: %s - storing in cache and returning", playerAllowed);
                 permissionCache.put(cacheKey, playerAllowed);
                 return playerAllowed ? PermissionStatus.ALLOWED : PermissionStatus.DENIED;
             }
         }
         
         // Permission not found at player level - continue to next level
-        if (plugin.isDebugMode()) {
-            plugin.debug("[PermissionChecker] No player-specific permission found for " + normalizedPermission);
-        }
+        logger.debug("No player-specific permission found for %s", normalizedPermission);
         return PermissionStatus.NOT_FOUND;
     }
 
@@ -669,9 +693,7 @@ public class PermissionChecker {
                 groupPermissions = new HashMap<>();
             }
             
-            if (plugin.isDebugMode()) {
-                logDebug("Retrieved " + groupPermissions.size() + " groups from database for area: " + area.getName());
-            }
+            logger.debug("Retrieved %s groups from database for area: %s", groupPermissions.size(), area.getName());
         } catch (Exception e) {
             // If there's an error, fall back to the area's cached permissions
             plugin.getLogger().error("Error getting group permissions from database, falling back to cached permissions", e);
@@ -681,37 +703,29 @@ public class PermissionChecker {
             }
         }
         
-        if (plugin.isDebugMode()) {
-            logDebug("[PermissionChecker] Checking group permissions. Groups: " + 
-                   (groupPermissions != null ? String.join(", ", groupPermissions.keySet()) : "null"));
+        if (logger.isDebugEnabled()) {
+            logger.debug("Checking group permissions. Groups: %s", groupPermissions != null ? String.join(", ", groupPermissions.keySet()) : "null");
         }
         
         // If LuckPerms is available, use it to get player groups in priority order
         if (plugin.isLuckPermsEnabled()) {
             String primaryGroup = plugin.getPrimaryGroup(player);
-            if (plugin.isDebugMode()) {
-                logDebug("[PermissionChecker] Player " + player.getName() + " primary group: " + primaryGroup);
-            }
+            logger.debug("Player %s primary group: %s", player.getName(), primaryGroup);
             
             if (primaryGroup != null && groupPermissions.containsKey(primaryGroup)) {
                 Map<String, Boolean> groupPerms = groupPermissions.get(primaryGroup);
                 
-                if (plugin.isDebugMode()) {
-                    logDebug("[PermissionChecker] Primary group permissions: " + 
-                           (groupPerms != null ? groupPerms.size() : "null") + " permissions");
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Primary group permissions: %s permissions", groupPerms != null ? groupPerms.size() : "null");
                     if (groupPerms != null && groupPerms.size() > 0) {
-                        logDebug("[PermissionChecker] Permission keys: " + 
-                               String.join(", ", groupPerms.keySet().stream().limit(5).collect(java.util.stream.Collectors.toList())));
+                        logger.debug("Permission keys: %s", String.join(", ", groupPerms.keySet().stream().limit(5).collect(java.util.stream.Collectors.toList())));
                     }
                 }
                 
                 // Add null check to prevent NPE
                 if (groupPerms != null && groupPerms.containsKey(normalizedPermission)) {
                     boolean groupAllowed = groupPerms.get(normalizedPermission);
-                    if (plugin.isDebugMode()) {
-                        logDebug("[PermissionChecker] Found LuckPerms primary group permission for " + 
-                               normalizedPermission + " in group " + primaryGroup + ": " + groupAllowed);
-                    }
+                    logger.debug("Found LuckPerms primary group permission for %s in group %s: %s", normalizedPermission, primaryGroup, groupAllowed);
                     permissionCache.put(cacheKey, groupAllowed);
                     return groupAllowed ? PermissionStatus.ALLOWED : PermissionStatus.DENIED;
                 }
@@ -720,42 +734,28 @@ public class PermissionChecker {
                 String permWithoutPrefix = normalizedPermission.replace("gui.permissions.toggles.", "");
                 if (groupPerms != null && groupPerms.containsKey(permWithoutPrefix)) {
                     boolean groupAllowed = groupPerms.get(permWithoutPrefix);
-                    if (plugin.isDebugMode()) {
-                        logDebug("[PermissionChecker] Found LuckPerms primary group permission without prefix for " + 
-                               permWithoutPrefix + " in group " + primaryGroup + ": " + groupAllowed);
-                    }
+                    logger.debug("Found LuckPerms primary group permission without prefix for %s in group %s: %s", permWithoutPrefix, primaryGroup, groupAllowed);
                     permissionCache.put(cacheKey, groupAllowed);
                     return groupAllowed ? PermissionStatus.ALLOWED : PermissionStatus.DENIED;
                 }
                 
-                if (plugin.isDebugMode()) {
-                    logDebug("[PermissionChecker] Primary group " + primaryGroup + " does not have permission: " + 
-                           normalizedPermission + " or " + permWithoutPrefix);
-                }
+                logger.debug("Primary group %s does not have permission: %s or %s", primaryGroup, normalizedPermission, permWithoutPrefix);
             }
             
             // Check inherited groups in order of inheritance
             List<String> inheritedGroups = plugin.getGroupInheritance(primaryGroup);
-            if (plugin.isDebugMode()) {
-                logDebug("[PermissionChecker] Inherited groups for " + primaryGroup + ": " + 
-                       (inheritedGroups != null ? String.join(", ", inheritedGroups) : "none"));
-            }
+            logger.debug(() -> String.format("Inherited groups for %s: %s", primaryGroup, inheritedGroups != null ? String.join(", ", inheritedGroups) : "none"));
             
             if (inheritedGroups != null) {
                 for (String group : inheritedGroups) {
-                    if (plugin.isDebugMode()) {
-                        logDebug("[PermissionChecker] Checking inherited group: " + group);
-                    }
+                    logger.debug("Checking inherited group: %s", group);
                     
                     if (groupPermissions.containsKey(group)) {
                         Map<String, Boolean> inheritedGroupPerms = groupPermissions.get(group);
                         if (inheritedGroupPerms.containsKey(normalizedPermission)) {
                             boolean inheritedAllowed = inheritedGroupPerms.get(normalizedPermission);
-                            if (plugin.isDebugMode()) {
-                                logDebug("[PermissionChecker] Found inherited group permission for " + 
-                                       normalizedPermission + " in group " + group + ": " + inheritedAllowed);
-                                logDebug("[PermissionChecker] DECISION: " + inheritedAllowed + " - storing in cache and returning");
-                            }
+                            logger.debug("Found inherited group permission for %s in group %s: %s", normalizedPermission, group, inheritedAllowed);
+                            logger.debug("DECISION: %s - storing in cache and returning", inheritedAllowed);
                             permissionCache.put(cacheKey, inheritedAllowed);
                             return inheritedAllowed ? PermissionStatus.ALLOWED : PermissionStatus.DENIED;
                         }
@@ -764,11 +764,8 @@ public class PermissionChecker {
                         String permWithoutPrefix = normalizedPermission.replace("gui.permissions.toggles.", "");
                         if (inheritedGroupPerms.containsKey(permWithoutPrefix)) {
                             boolean inheritedAllowed = inheritedGroupPerms.get(permWithoutPrefix);
-                            if (plugin.isDebugMode()) {
-                                logDebug("[PermissionChecker] Found inherited group permission without prefix for " + 
-                                       permWithoutPrefix + " in group " + group + ": " + inheritedAllowed);
-                                logDebug("[PermissionChecker] DECISION: " + inheritedAllowed + " - storing in cache and returning");
-                            }
+                            logger.debug("Found inherited group permission without prefix for %s in group %s: %s", permWithoutPrefix, group, inheritedAllowed);
+                            logger.debug("DECISION: %s - storing in cache and returning", inheritedAllowed);
                             permissionCache.put(cacheKey, inheritedAllowed);
                             return inheritedAllowed ? PermissionStatus.ALLOWED : PermissionStatus.DENIED;
                         }
@@ -781,23 +778,16 @@ public class PermissionChecker {
                 String group = entry.getKey();
                 Map<String, Boolean> groupPerms = entry.getValue();
                 
-                if (plugin.isDebugMode()) {
-                    logDebug("[PermissionChecker] Checking group: " + group);
-                }
+                logger.debug("Checking group: %s", group);
                 
                 // Check if player has this group permission
                 if (player.hasPermission("group." + group)) {
-                    if (plugin.isDebugMode()) {
-                        logDebug("[PermissionChecker] Player is in group: " + group);
-                    }
+                    logger.debug("Player is in group: %s", group);
                     
                     if (groupPerms.containsKey(normalizedPermission)) {
                         boolean groupAllowed = groupPerms.get(normalizedPermission);
-                        if (plugin.isDebugMode()) {
-                            logDebug("[PermissionChecker] Found group permission for " + 
-                                   normalizedPermission + " in group " + group + ": " + groupAllowed);
-                            logDebug("[PermissionChecker] DECISION: " + groupAllowed + " - storing in cache and returning");
-                        }
+                        logger.debug("Found group permission for %s in group %s: %s", normalizedPermission, group, groupAllowed);
+                        logger.debug("DECISION: %s - storing in cache and returning", groupAllowed);
                         permissionCache.put(cacheKey, groupAllowed);
                         return groupAllowed ? PermissionStatus.ALLOWED : PermissionStatus.DENIED;
                     }
@@ -806,26 +796,20 @@ public class PermissionChecker {
         }
         
         // Permission not found at group level - continue to next level
-        if (plugin.isDebugMode()) {
-            logDebug("[PermissionChecker] No group permissions found for " + normalizedPermission);
-        }
+        logger.debug("No group permissions found for %s", normalizedPermission);
         return PermissionStatus.NOT_FOUND;
     }
 
     private PermissionStatus checkTrackPermission(Player player, Area area, String normalizedPermission, String cacheKey) {
         if (!plugin.isLuckPermsEnabled()) {
-            if (plugin.isDebugMode()) {
-                logDebug("[PermissionChecker] LuckPerms is not enabled, skipping track permission check");
-            }
+            logger.debug("LuckPerms is not enabled, skipping track permission check");
             return PermissionStatus.NOT_FOUND;
         }
         
         Map<String, Map<String, Boolean>> trackPermissions = areaTrackPermissions.get(area.getName());
         if (trackPermissions == null || trackPermissions.isEmpty()) {
             // Try to load track permissions from the database if they're not in the cache
-            if (plugin.isDebugMode()) {
-                logDebug("[PermissionChecker] Track permissions not found in cache, trying to load from database");
-            }
+            logger.debug("Track permissions not found in cache, trying to load from database");
             
             try {
                 trackPermissions = plugin.getPermissionOverrideManager().getAllTrackPermissions(area.getName());
@@ -833,9 +817,7 @@ public class PermissionChecker {
                     // Store in cache for future use
                     areaTrackPermissions.put(area.getName(), trackPermissions);
                     
-                    if (plugin.isDebugMode()) {
-                        logDebug("[PermissionChecker] Loaded " + trackPermissions.size() + " track permissions from database");
-                    }
+                    logger.debug("Loaded %s track permissions from database", trackPermissions.size());
                 }
             } catch (Exception e) {
                 plugin.getLogger().error("Failed to load track permissions from database", e);
@@ -843,9 +825,7 @@ public class PermissionChecker {
             
             // If still null or empty after loading
             if (trackPermissions == null || trackPermissions.isEmpty()) {
-                if (plugin.isDebugMode()) {
-                    logDebug("[PermissionChecker] No track permissions defined for area " + area.getName());
-                }
+                logger.debug("No track permissions defined for area %s", area.getName());
                 return PermissionStatus.NOT_FOUND;
             }
         }
@@ -857,12 +837,10 @@ public class PermissionChecker {
         String playerName = player.getName();
         List<String> playerGroups = plugin.getLuckPermsCache().getGroups(playerName);
         
-        if (plugin.isDebugMode()) {
-            logDebug("[PermissionChecker] Checking track permissions. Tracks defined: " + 
-                   String.join(", ", trackPermissions.keySet()));
-            logDebug("[PermissionChecker] Player " + player.getName() + " has primary group: " + primaryGroup);
-            logDebug("[PermissionChecker] Player " + player.getName() + " belongs to groups: " + 
-                   String.join(", ", playerGroups));
+        if (logger.isDebugEnabled()) {
+            logger.debug("Checking track permissions. Tracks defined: %s", String.join(", ", trackPermissions.keySet()));
+            logger.debug("Player %s has primary group: %s", player.getName(), primaryGroup);
+            logger.debug("Player %s belongs to groups: %s", player.getName(), String.join(", ", playerGroups));
             
             // Show which tracks the player is in
             List<String> playerTracks = new ArrayList<>();
@@ -873,9 +851,9 @@ public class PermissionChecker {
             }
             
             if (!playerTracks.isEmpty()) {
-                logDebug("[PermissionChecker] Player is in tracks: " + String.join(", ", playerTracks));
+                logger.debug("Player is in tracks: %s", String.join(", ", playerTracks));
             } else {
-                logDebug("[PermissionChecker] Player is not in any tracks");
+                logger.debug("Player is not in any tracks");
             }
         }
         
@@ -885,7 +863,7 @@ public class PermissionChecker {
             // Check if player is in this track (through any of their groups)
             boolean isInTrack = plugin.isPlayerInTrack(player, trackName);
             
-            if (plugin.isDebugMode()) {
+            if (logger.isDebugEnabled()) {
                 // Use reflection to safely access the track manager and groups
                 try {
                     // Use reflection to safely access the track manager and groups
@@ -897,40 +875,33 @@ public class PermissionChecker {
                             if (track != null) {
                                 @SuppressWarnings("unchecked")
                                 List<String> groups = (List<String>) track.getClass().getMethod("getGroups").invoke(track);
-                                logDebug("[PermissionChecker] Track " + trackName + " contains groups: " + 
-                                       String.join(", ", groups));
+                                logger.debug("Track %s contains groups: %s", trackName, String.join(", ", groups));
                             }
                         }
                     }
                 } catch (Exception e) {
                     // Ignore exceptions in debug code
-                    logDebug("[PermissionChecker] Error getting track groups: " + e.getMessage());
+                    logger.debug("Error getting track groups: %s", e.getMessage());
                 }
                 
-                logDebug("[PermissionChecker] Checking if player " + player.getName() + 
-                        " is in track " + trackName + ": " + isInTrack);
+                logger.debug("Checking if player %s is in track %s: %s", player.getName(), trackName, isInTrack);
             }
             
             if (isInTrack) {
                 Map<String, Boolean> trackPerms = entry.getValue();
                 
-                if (plugin.isDebugMode()) {
-                    logDebug("[PermissionChecker] Player is in track " + trackName + 
-                            ", checking for permission: " + normalizedPermission);
-                    logDebug("[PermissionChecker] Track has " + trackPerms.size() + " permissions defined");
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Player is in track %s, checking for permission: %s", trackName, normalizedPermission);
+                    logger.debug("Track has %s permissions defined", trackPerms.size());
                     if (trackPerms.size() > 0) {
-                        logDebug("[PermissionChecker] Sample permissions: " +
-                               String.join(", ", trackPerms.keySet().stream().limit(3).collect(java.util.stream.Collectors.toList())));
+                        logger.debug("Sample permissions: %s", String.join(", ", trackPerms.keySet().stream().limit(3).collect(java.util.stream.Collectors.toList())));
                     }
                 }
                 
                 if (trackPerms.containsKey(normalizedPermission)) {
                     boolean trackAllowed = trackPerms.get(normalizedPermission);
-                    if (plugin.isDebugMode()) {
-                        logDebug("[PermissionChecker] Found track permission for " + normalizedPermission + 
-                                " in track " + trackName + ": " + trackAllowed);
-                        logDebug("[PermissionChecker] DECISION: " + trackAllowed + " - using this value");
-                    }
+                    logger.debug("Found track permission for %s in track %s: %s", normalizedPermission, trackName, trackAllowed);
+                    logger.debug("DECISION: %s - using this value", trackAllowed);
                     permissionCache.put(cacheKey, trackAllowed);
                     return trackAllowed ? PermissionStatus.ALLOWED : PermissionStatus.DENIED;
                 } 
@@ -939,23 +910,17 @@ public class PermissionChecker {
                 String permWithoutPrefix = normalizedPermission.replace("gui.permissions.toggles.", "");
                 if (trackPerms.containsKey(permWithoutPrefix)) {
                     boolean trackAllowed = trackPerms.get(permWithoutPrefix);
-                    if (plugin.isDebugMode()) {
-                        logDebug("[PermissionChecker] Found track permission without prefix for " + 
-                                permWithoutPrefix + " in track " + trackName + ": " + trackAllowed);
-                        logDebug("[PermissionChecker] DECISION: " + trackAllowed + " - using this value");
-                    }
+                    logger.debug("Found track permission without prefix for %s in track %s: %s", permWithoutPrefix, trackName, trackAllowed);
+                    logger.debug("DECISION: %s - using this value", trackAllowed);
                     permissionCache.put(cacheKey, trackAllowed);
                     return trackAllowed ? PermissionStatus.ALLOWED : PermissionStatus.DENIED;
-                } else if (plugin.isDebugMode()) {
-                    logDebug("[PermissionChecker] Track " + trackName + " does not have permission: " + normalizedPermission + 
-                           " or " + permWithoutPrefix);
+                } else {
+                    logger.debug("Track %s does not have permission: %s or %s", trackName, normalizedPermission, permWithoutPrefix);
                 }
             }
         }
         
-        if (plugin.isDebugMode()) {
-            logDebug("[PermissionChecker] No track permissions found for " + normalizedPermission);
-        }
+        logger.debug("No track permissions found for %s", normalizedPermission);
         return PermissionStatus.NOT_FOUND;
     }
 
@@ -1048,13 +1013,10 @@ public class PermissionChecker {
                 // Store in the local cache
                 areaTrackPermissions.put(areaName, trackPerms);
                 
-                if (plugin.isDebugMode()) {
-                    logDebug("Updated track permissions for area " + areaName + ": " + 
-                           trackPerms.size() + " tracks");
-                    logDebug("Tracks: " + String.join(", ", trackPerms.keySet()));
-                }
-            } else if (plugin.isDebugMode()) {
-                logDebug("No track permissions found in database for area " + areaName);
+                logger.debug("Updated track permissions for area %s: %s tracks", areaName, trackPerms.size());
+                logger.debug(() -> String.format("Tracks: %s", String.join(", ", trackPerms.keySet())));
+            } else {
+                logger.debug("No track permissions found in database for area %s", areaName);
             }
         } catch (Exception e) {
             plugin.getLogger().error("Error updating track permissions for area " + areaName, e);
@@ -1065,9 +1027,7 @@ public class PermissionChecker {
      * Called during startup or reload to refresh the permission caches from the database
      */
     public void refreshPermissionCaches() {
-        if (plugin.isDebugMode()) {
-            logDebug("Refreshing permission caches from database");
-        }
+        logger.debug("Refreshing permission caches from database");
         
         // Clear existing caches first
         clearCaches();
@@ -1089,18 +1049,13 @@ public class PermissionChecker {
                 if (groupPerms != null && !groupPerms.isEmpty()) {
                     areaGroupPermissions.put(areaName, groupPerms);
                     
-                    if (plugin.isDebugMode()) {
-                        logDebug("Updated group permissions for area " + areaName + ": " + 
-                               groupPerms.size() + " groups");
-                    }
+                    logger.debug("Updated group permissions for area %s: %s groups", areaName, groupPerms.size());
                 }
             } catch (Exception e) {
                 plugin.getLogger().error("Error updating group permissions for area " + areaName, e);
             }
         }
         
-        if (plugin.isDebugMode()) {
-            logDebug("Permission caches refreshed for " + areas.size() + " areas");
-        }
+        logger.debug("Permission caches refreshed for %s areas", areas.size());
     }
 }
\ No newline at end of file
@@ -2,11 +2,11 @@ package adminarea.permissions;
 
 import adminarea.AdminAreaProtectionPlugin;
 import adminarea.exception.DatabaseException;
-
-import com.zaxxer.hikari.HikariConfig;
-import com.zaxxer.hikari.HikariDataSource;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import adminarea.util.Logger;
+import adminarea.util.SqliteDatabase;
+import adminarea.util.WalCheckpointManager;
+import adminarea.util.WriteBehindQueue;
+import adminarea.logging.DebugCategory;
 
 import java.io.File;
 import java.nio.file.Files;
@@ -20,155 +20,147 @@ import java.util.Date;
  * Manages database operations for permission overrides
  */
 public class PermissionDatabaseManager implements AutoCloseable {
-    private static final Logger logger = LoggerFactory.getLogger(PermissionDatabaseManager.class);
     private final AdminAreaProtectionPlugin plugin;
-    private final HikariDataSource dataSource;
+    private final Logger logger;
+    // Writes go through the database's single writer thread, reads use its small read pool
+    private final SqliteDatabase database;
     private static final String DB_FILE = "permission_overrides.db";
+    
+    private static final String PLAYER_TABLE = "player_permissions";
+    private static final String GROUP_TABLE = "group_permissions";
+    private static final String TRACK_TABLE = "track_permissions";
+    // Stored in PRAGMA user_version; 2 stores values as integers
+    private static final int SCHEMA_VERSION = 2;
+    
+    // Permission sets are written behind, coalesced by table, area and subject
+    private final WriteBehindQueue<PermissionRow> writeQueue;
+
+    // All reads are served from memory; the tables are only read at startup
+    private final PermissionStore store = new PermissionStore();
 
     public PermissionDatabaseManager(AdminAreaProtectionPlugin plugin) {
         this.plugin = plugin;
-        this.dataSource = initializeDataSource();
+        this.logger = new Logger(plugin, DebugCategory.DATABASE, "PermissionDatabaseManager");
+        try {
+            this.database = plugin.getStorage().open(DB_FILE);
+        } catch (SQLException e) {
+            logger.error("Failed to open permission database", e);
+            throw new RuntimeException("Failed to open permission database", e);
+        }
         initializeDatabase();
+        this.writeQueue = new WriteBehindQueue<>(plugin, "permissions", database, this::writePermissionRow);
+        loadStore();
     }
 
-    private HikariDataSource initializeDataSource() {
+    /**
+     * Reads all three permission tables into the in-memory store
+     */
+    private void loadStore() {
         try {
-            Class.forName("org.sqlite.JDBC");
-        } catch (ClassNotFoundException e) {
-            logger.error("Failed to load SQLite JDBC driver", e);
-            throw new RuntimeException("SQLite JDBC driver not found", e);
+            store.load(PermissionStore.Kind.PLAYER, loadAllByArea(PLAYER_TABLE, "player_name"));
+            store.load(PermissionStore.Kind.GROUP, loadAllByArea(GROUP_TABLE, "group_name"));
+            store.load(PermissionStore.Kind.TRACK, loadAllByArea(TRACK_TABLE, "track_name"));
+        } catch (DatabaseException e) {
+            logger.error("Failed to load permission database", e);
+            throw new RuntimeException("Failed to load permission database", e);
         }
-        
-        HikariConfig config = new HikariConfig();
-        String jdbcUrl = "jdbc:sqlite:" + plugin.getDataFolder() + "/" + DB_FILE;
-        config.setJdbcUrl(jdbcUrl);
-        config.setMaximumPoolSize(20);
-        config.setMinimumIdle(5);
-        config.setIdleTimeout(60000);
-        config.setMaxLifetime(1800000);
-        config.setConnectionTimeout(30000);
-        config.setConnectionTestQuery("SELECT 1");
-        
-        // SQLite specific optimizations
-        config.addDataSourceProperty("journal_mode", "WAL");
-        config.addDataSourceProperty("synchronous", "NORMAL");
-        config.addDataSourceProperty("cache_size", "2000");
-        
-        return new HikariDataSource(config);
+        logger.debug("Loaded %s player, %s group and %s track permission sets into memory", store.size(PermissionStore.Kind.PLAYER), store.size(PermissionStore.Kind.GROUP), store.size(PermissionStore.Kind.TRACK));
     }
 
     private void initializeDatabase() {
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement()) {
-            
-            conn.setAutoCommit(false);
-            try {
-                // Check if tables exist
-                boolean tablesExist = false;
-                try (ResultSet rs = conn.getMetaData().getTables(null, null, "player_permissions", null)) {
-                    tablesExist = rs.next();
-                }
-                
-                if (!tablesExist) {
-                    // Create tables if they don't exist - with correct data types from the start
-                    stmt.executeUpdate(
-                        "CREATE TABLE player_permissions (" +
-                        "area_name TEXT NOT NULL, " +
-                        "player_name TEXT NOT NULL, " +
-                        "permission TEXT NOT NULL, " +
-                        "value TEXT NOT NULL, " + // Store as TEXT to avoid type conflicts
-                        "PRIMARY KEY (area_name, player_name, permission)" +
-                        ")"
-                    );
-                    
-                    stmt.executeUpdate(
-                        "CREATE TABLE group_permissions (" +
-                        "area_name TEXT NOT NULL, " +
-                        "group_name TEXT NOT NULL, " +
-                        "permission TEXT NOT NULL, " +
-                        "value TEXT NOT NULL, " + // Store as TEXT to avoid type conflicts
-                        "PRIMARY KEY (area_name, group_name, permission)" +
-                        ")"
-                    );
+        try {
+            database.write(conn -> {
+                try (Statement stmt = conn.createStatement()) {
+                    // Check if tables exist
+                    boolean tablesExist = false;
+                    try (ResultSet rs = conn.getMetaData().getTables(null, null, "player_permissions", null)) {
+                        tablesExist = rs.next();
+                    }
                     
-                    stmt.executeUpdate(
-                        "CREATE TABLE track_permissions (" +
-                        "area_name TEXT NOT NULL, " +
-                        "track_name TEXT NOT NULL, " +
-                        "permission TEXT NOT NULL, " +
-                        "value TEXT NOT NULL, " + // Store as TEXT to avoid type conflicts
-                        "PRIMARY KEY (area_name, track_name, permission)" +
-                        ")"
-                    );
-                } else {
-                    // Tables exist - check if we need to migrate column types
-                    try {
-                        // Try to alter existing tables to fix data types if needed
-                        stmt.executeUpdate("ALTER TABLE player_permissions RENAME TO player_permissions_old");
-                        stmt.executeUpdate(
-                            "CREATE TABLE player_permissions (" +
-                            "area_name TEXT NOT NULL, " +
-                            "player_name TEXT NOT NULL, " +
-                            "permission TEXT NOT NULL, " +
-                            "value TEXT NOT NULL, " + // Store as TEXT
-                            "PRIMARY KEY (area_name, player_name, permission)" +
-                            ")"
-                        );
-                        stmt.executeUpdate("INSERT INTO player_permissions SELECT area_name, player_name, permission, CAST(value AS TEXT) FROM player_permissions_old");
-                        stmt.executeUpdate("DROP TABLE player_permissions_old");
-
-                        stmt.executeUpdate("ALTER TABLE group_permissions RENAME TO group_permissions_old");
-                        stmt.executeUpdate(
-                            "CREATE TABLE group_permissions (" +
-                            "area_name TEXT NOT NULL, " +
-                            "group_name TEXT NOT NULL, " +
-                            "permission TEXT NOT NULL, " +
-                            "value TEXT NOT NULL, " + // Store as TEXT
-                            "PRIMARY KEY (area_name, group_name, permission)" +
-                            ")"
-                        );
-                        stmt.executeUpdate("INSERT INTO group_permissions SELECT area_name, group_name, permission, CAST(value AS TEXT) FROM group_permissions_old");
-                        stmt.executeUpdate("DROP TABLE group_permissions_old");
-
-                        stmt.executeUpdate("ALTER TABLE track_permissions RENAME TO track_permissions_old");
-                        stmt.executeUpdate(
-                            "CREATE TABLE track_permissions (" +
-                            "area_name TEXT NOT NULL, " +
-                            "track_name TEXT NOT NULL, " +
-                            "permission TEXT NOT NULL, " +
-                            "value TEXT NOT NULL, " + // Store as TEXT
-                            "PRIMARY KEY (area_name, track_name, permission)" +
-                            ")"
-                        );
-                        stmt.executeUpdate("INSERT INTO track_permissions SELECT area_name, track_name, permission, CAST(value AS TEXT) FROM track_permissions_old");
-                        stmt.executeUpdate("DROP TABLE track_permissions_old");
-                        
-                        logger.info("Successfully migrated permission database tables to new schema");
-                    } catch (SQLException e) {
-                        // Migration failed, but we'll continue - the getters and setters have been updated to handle this
-                        logger.warn("Schema migration failed, but will continue with updated getters/setters: " + e.getMessage());
+                    int version = 0;
+                    try (ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+                        if (rs.next()) {
+                            version = rs.getInt(1);
+                        }
                     }
-                }
                 
-                // Create indexes
-                stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_player_permissions_area ON player_permissions(area_name)");
-                stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_player_permissions_player ON player_permissions(player_name)");
-                stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_group_permissions_area ON group_permissions(area_name)");
-                stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_group_permissions_group ON group_permissions(group_name)");
-                stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_track_permissions_area ON track_permissions(area_name)");
-                stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_track_permissions_track ON track_permissions(track_name)");
+                    if (!tablesExist) {
+                        createPermissionTable(stmt, PLAYER_TABLE, "player_name");
+                        createPermissionTable(stmt, GROUP_TABLE, "group_name");
+                        createPermissionTable(stmt, TRACK_TABLE, "track_name");
+                        stmt.executeUpdate("PRAGMA user_version = " + SCHEMA_VERSION);
+                    } else if (version < SCHEMA_VERSION) {
+                        // Older schemas stored values as "true"/"false" text
+                        stmt.execute("SAVEPOINT migrate_permissions");
+                        try {
+                            migratePermissionTable(stmt, PLAYER_TABLE, "player_name");
+                            migratePermissionTable(stmt, GROUP_TABLE, "group_name");
+                            migratePermissionTable(stmt, TRACK_TABLE, "track_name");
+                            stmt.executeUpdate("PRAGMA user_version = " + SCHEMA_VERSION);
+                            stmt.execute("RELEASE migrate_permissions");
+                            logger.info("Migrated permission database tables to schema version %s", SCHEMA_VERSION);
+                        } catch (SQLException e) {
+                            // Keep the old tables; values are read either way and the migration retries next start
+                            stmt.execute("ROLLBACK TO migrate_permissions");
+                            stmt.execute("RELEASE migrate_permissions");
+                            logger.warn("Schema migration failed, continuing with the old schema: %s", e.getMessage());
+                        }
+                    }
                 
-                conn.commit();
-            } catch (SQLException e) {
-                conn.rollback();
-                throw e;
-            }
+                    // Create indexes
+                    stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_player_permissions_area ON player_permissions(area_name)");
+                    stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_player_permissions_player ON player_permissions(player_name)");
+                    stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_group_permissions_area ON group_permissions(area_name)");
+                    stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_group_permissions_group ON group_permissions(group_name)");
+                    stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_track_permissions_area ON track_permissions(area_name)");
+                    stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_track_permissions_track ON track_permissions(track_name)");
+                }
+                return null;
+            });
         } catch (SQLException e) {
             logger.error("Failed to initialize permission database", e);
             throw new RuntimeException("Failed to initialize permission database", e);
         }
     }
     
+    /**
+     * Creates a permission table with one row per area, subject and permission
+     */
+    private static void createPermissionTable(Statement stmt, String table, String subjectColumn) throws SQLException {
+        stmt.executeUpdate(
+            "CREATE TABLE " + table + " (" +
+            "area_name TEXT NOT NULL, " +
+            subjectColumn + " TEXT NOT NULL, " +
+            "permission TEXT NOT NULL, " +
+            "value INTEGER NOT NULL, " + // 1 = allowed, 0 = denied
+            "PRIMARY KEY (area_name, " + subjectColumn + ", permission)" +
+            ") WITHOUT ROWID"
+        );
+    }
+    
+    /**
+     * Rebuilds a permission table in the current schema, converting text values to integers
+     */
+    private static void migratePermissionTable(Statement stmt, String table, String subjectColumn) throws SQLException {
+        stmt.executeUpdate("ALTER TABLE " + table + " RENAME TO " + table + "_old");
+        createPermissionTable(stmt, table, subjectColumn);
+        stmt.executeUpdate(
+            "INSERT INTO " + table + " SELECT area_name, " + subjectColumn + ", permission, " +
+            "CASE WHEN lower(CAST(value AS TEXT)) IN ('true', '1') THEN 1 ELSE 0 END FROM " + table + "_old");
+        stmt.executeUpdate("DROP TABLE " + table + "_old");
+    }
+    
+    /**
+     * Reads a permission value. Values are stored as 0/1; text from older schemas is still accepted.
+     */
+    private static boolean readValue(ResultSet rs, String column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof Number number) {
+            return number.intValue() != 0;
+        }
+        return value != null && ("true".equalsIgnoreCase(value.toString()) || "1".equals(value.toString()));
+    }
+    
     public void backupDatabase() {
         File dbFile = new File(plugin.getDataFolder(), DB_FILE);
         if (!dbFile.exists()) {
@@ -176,67 +168,52 @@ public class PermissionDatabaseManager implements AutoCloseable {
         }
         
         try {
+            // Include queued writes in the backup
+            writeQueue.flush();
+            
             SimpleDateFormat dateFormat = new SimpleDateFormat("yyyyMMdd-HHmmss");
             String timestamp = dateFormat.format(new Date());
             File backupFile = new File(plugin.getDataFolder(), DB_FILE + "-" + timestamp + ".bak");
             
-            // Force checkpoint to ensure WAL is written to main file
-            try (Connection conn = getConnection();
-                 Statement stmt = conn.createStatement()) {
-                stmt.execute("PRAGMA wal_checkpoint(FULL)");
+            // The copy only sees the main file, so move the WAL into it first
+            if (!database.getCheckpointManager().checkpoint(WalCheckpointManager.Mode.TRUNCATE)) {
+                logger.warn("Permission database was busy during checkpoint, backup may miss recent changes");
             }
             
             Files.copy(dbFile.toPath(), backupFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
-            logger.info("Permission database backed up to " + backupFile.getName());
+            logger.info("Permission database backed up to %s", backupFile.getName());
         } catch (Exception e) {
             logger.error("Failed to backup permission database", e);
         }
     }
     
+    /**
+     * Gets a pooled read connection. Writes go through {@link #executeInTransaction(SqlRunnable)}.
+     */
     public Connection getConnection() throws SQLException {
-        return dataSource.getConnection();
+        return database.getReadConnection();
     }
     
+    /**
+     * Runs an operation in one transaction on the database's writer thread
+     */
     public void executeInTransaction(SqlRunnable operation) throws DatabaseException {
-        try (Connection conn = getConnection()) {
-            boolean previousAutoCommit = conn.getAutoCommit();
-            conn.setAutoCommit(false);
-            try {
-                operation.run(conn);
-                conn.commit();
-                
-                // Log successful transaction if in debug mode
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Successfully committed permission database transaction");
-                }
-            } catch (SQLException e) {
-                try {
-                    conn.rollback();
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Rolled back permission database transaction due to error: " + e.getMessage());
-                    }
-                } catch (SQLException rollbackEx) {
-                    logger.error("Failed to rollback transaction", rollbackEx);
-                }
-                throw e;
-            } catch (Exception e) {
-                try {
-                    conn.rollback();
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Rolled back permission database transaction due to error: " + e.getMessage());
-                    }
-                } catch (SQLException rollbackEx) {
-                    logger.error("Failed to rollback transaction", rollbackEx);
-                }
-                throw new DatabaseException("Database operation failed", e);
-            } finally {
+        try {
+            database.write(conn -> {
                 try {
-                    conn.setAutoCommit(previousAutoCommit);
-                } catch (SQLException e) {
-                    logger.error("Failed to restore autoCommit setting", e);
+                    operation.run(conn);
+                } catch (SQLException | RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new SQLException("Database operation failed", e);
                 }
-            }
-        } catch (SQLException e) {
+                return null;
+            });
+            
+            // Log successful transaction if in debug mode
+            logger.debug("Successfully committed permission database transaction");
+        } catch (SQLException | RuntimeException e) {
+            logger.debug("Rolled back permission database transaction due to error: %s", e.getMessage());
             throw new DatabaseException("Database operation failed", e);
         }
     }
@@ -248,110 +225,14 @@ public class PermissionDatabaseManager implements AutoCloseable {
             return;
         }
         
-        if (plugin.isDebugMode()) {
-            plugin.debug("Saving " + permissions.size() + " permissions for player " + playerName + " in area " + areaName);
-        }
+        logger.debug("Queueing %s permissions for player %s in area %s", permissions.size(), playerName, areaName);
         
-        executeInTransaction(conn -> {
-            // Delete existing permissions
-            try (PreparedStatement deleteStmt = conn.prepareStatement(
-                    "DELETE FROM player_permissions WHERE area_name = ? AND player_name = ?")) {
-                deleteStmt.setString(1, areaName);
-                deleteStmt.setString(2, playerName);
-                int deleted = deleteStmt.executeUpdate();
-                
-                if (plugin.isDebugMode() && deleted > 0) {
-                    plugin.debug("Deleted " + deleted + " existing permissions for player " + playerName);
-                }
-            }
-            
-            // Skip insertion if permissions map is empty
-            if (permissions.isEmpty()) {
-                if (plugin.isDebugMode()) {
-                    plugin.debug("No permissions to insert for player " + playerName);
-                }
-                return;
-            }
-            
-            // Insert new permissions
-            try (PreparedStatement insertStmt = conn.prepareStatement(
-                    "INSERT INTO player_permissions(area_name, player_name, permission, value) VALUES(?, ?, ?, ?)")) {
-                for (Map.Entry<String, Boolean> entry : permissions.entrySet()) {
-                    insertStmt.setString(1, areaName);
-                    insertStmt.setString(2, playerName);
-                    insertStmt.setString(3, entry.getKey());
-                    insertStmt.setString(4, entry.getValue().toString());
-                    insertStmt.addBatch();
-                }
-                
-                int[] results = insertStmt.executeBatch();
-                
-                if (plugin.isDebugMode()) {
-                    int insertedCount = 0;
-                    for (int i : results) {
-                        if (i > 0) insertedCount++;
-                    }
-                    plugin.debug("Successfully inserted " + insertedCount + " permissions for player " + playerName);
-                    
-                    // Verify the permissions were actually saved
-                    try (PreparedStatement verifyStmt = conn.prepareStatement(
-                             "SELECT COUNT(*) FROM player_permissions WHERE area_name = ? AND player_name =?")) {
-                        verifyStmt.setString(1, areaName);
-                        verifyStmt.setString(2, playerName);
-                        try (ResultSet rs = verifyStmt.executeQuery()) {
-                            if (rs.next()) {
-                                int count = rs.getInt(1);
-                                if (count != permissions.size()) {
-                                    plugin.debug("WARNING: Permission count mismatch! Expected " + 
-                                               permissions.size() + " but found " + count + 
-                                               " in database for player " + playerName);
-                                } else {
-                                    plugin.debug("Verified " + count + " permissions saved for player " + playerName);
-                                }
-                            }
-                        }
-                    }
-                }
-            }
-        });
-        
-        try {
-            // Checkpoint the database after saving to ensure persistence
-            try (Connection conn = getConnection()) {
-                try (var stmt = conn.createStatement()) {
-                    stmt.execute("PRAGMA wal_checkpoint(FULL)");
-                }
-            }
-        } catch (SQLException e) {
-            logger.error("Failed to checkpoint database after saving player permissions: " + e.getMessage());
-        }
+        queuePermissions(PLAYER_TABLE, "player_name", areaName, playerName, permissions);
     }
     
-    // Load player permissions
+    // Load player permissions; the returned map is unmodifiable
     public Map<String, Boolean> getPlayerPermissions(String areaName, String playerName) throws DatabaseException {
-        Map<String, Boolean> permissions = new HashMap<>();
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT permission, value FROM player_permissions WHERE area_name = ? AND player_name = ?")) {
-            stmt.setString(1, areaName);
-            stmt.setString(2, playerName);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    String permission = rs.getString("permission");
-                    String value = rs.getString("value");
-                    // Explicitly handle text values "true" and "false"
-                    boolean boolValue = "true".equalsIgnoreCase(value);
-                    // plugin.getLogger().info("[Debug] Permission DB row: " + permission + " = " + value + " (parsed as " + boolValue + ")");
-                    permissions.put(permission, boolValue);
-                }
-            }
-        } catch (SQLException e) {
-            throw new DatabaseException("Failed to load player permissions", e);
-        }
-        
-        return permissions;
+        return store.get(PermissionStore.Kind.PLAYER, areaName, playerName);
     }
     
     // Save group permissions
@@ -361,91 +242,14 @@ public class PermissionDatabaseManager implements AutoCloseable {
             return;
         }
         
-        if (plugin.isDebugMode()) {
-            plugin.debug("Saving " + permissions.size() + " permissions for group " + groupName + " in area " + areaName);
-        }
+        logger.debug("Queueing %s permissions for group %s in area %s", permissions.size(), groupName, areaName);
         
-        executeInTransaction(conn -> {
-            // Delete existing permissions
-            try (PreparedStatement deleteStmt = conn.prepareStatement(
-                    "DELETE FROM group_permissions WHERE area_name = ? AND group_name = ?")) {
-                deleteStmt.setString(1, areaName);
-                deleteStmt.setString(2, groupName);
-                int deleted = deleteStmt.executeUpdate();
-                
-                if (plugin.isDebugMode() && deleted > 0) {
-                    plugin.debug("Deleted " + deleted + " existing permissions for group " + groupName);
-                }
-            }
-            
-            // Skip insertion if permissions map is empty
-            if (permissions.isEmpty()) {
-                if (plugin.isDebugMode()) {
-                    plugin.debug("No permissions to insert for group " + groupName);
-                }
-                return;
-            }
-            
-            // Insert new permissions
-            try (PreparedStatement insertStmt = conn.prepareStatement(
-                    "INSERT INTO group_permissions(area_name, group_name, permission, value) VALUES(?, ?, ?, ?)")) {
-                for (Map.Entry<String, Boolean> entry : permissions.entrySet()) {
-                    insertStmt.setString(1, areaName);
-                    insertStmt.setString(2, groupName);
-                    insertStmt.setString(3, entry.getKey());
-                    insertStmt.setString(4, entry.getValue().toString());
-                    insertStmt.addBatch();
-                }
-                
-                int[] results = insertStmt.executeBatch();
-                
-                if (plugin.isDebugMode()) {
-                    int insertedCount = 0;
-                    for (int result : results) {
-                        if (result > 0) insertedCount++;
-                    }
-                    plugin.debug("Successfully inserted " + insertedCount + " permissions for group " + groupName);
-                }
-            }
-        });
-        
-        // Force WAL checkpoint to ensure changes are written to disk
-        // Done outside the transaction to avoid locking issues
-        try {
-            forceWalCheckpoint();
-            if (plugin.isDebugMode()) {
-                plugin.debug("Checkpoint completed after saving group permissions");
-            }
-        } catch (DatabaseException e) {
-            // Log the error but don't fail the operation if checkpoint fails
-            logger.error("Failed to checkpoint database after saving group permissions: " + e.getMessage());
-        }
+        queuePermissions(GROUP_TABLE, "group_name", areaName, groupName, permissions);
     }
     
-    // Load group permissions
+    // Load group permissions; the returned map is unmodifiable
     public Map<String, Boolean> getGroupPermissions(String areaName, String groupName) throws DatabaseException {
-        Map<String, Boolean> permissions = new HashMap<>();
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT permission, value FROM group_permissions WHERE area_name = ? AND group_name = ?")) {
-            stmt.setString(1, areaName);
-            stmt.setString(2, groupName);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    String permission = rs.getString("permission");
-                    String value = rs.getString("value");
-                    // Explicitly handle text values "true" and "false"
-                    boolean boolValue = "true".equalsIgnoreCase(value);
-                    permissions.put(permission, boolValue);
-                }
-            }
-        } catch (SQLException e) {
-            throw new DatabaseException("Failed to load group permissions", e);
-        }
-        
-        return permissions;
+        return store.get(PermissionStore.Kind.GROUP, areaName, groupName);
     }
     
     // Save track permissions
@@ -455,184 +259,212 @@ public class PermissionDatabaseManager implements AutoCloseable {
             return;
         }
         
-        if (plugin.isDebugMode()) {
-            plugin.debug("Saving " + permissions.size() + " permissions for track " + trackName + " in area " + areaName);
-        }
+        logger.debug("Queueing %s permissions for track %s in area %s", permissions.size(), trackName, areaName);
         
-        executeInTransaction(conn -> {
-            // Delete existing permissions
-            try (PreparedStatement deleteStmt = conn.prepareStatement(
-                    "DELETE FROM track_permissions WHERE area_name = ? AND track_name = ?")) {
-                deleteStmt.setString(1, areaName);
-                deleteStmt.setString(2, trackName);
-                int deleted = deleteStmt.executeUpdate();
-                
-                if (plugin.isDebugMode() && deleted > 0) {
-                    plugin.debug("Deleted " + deleted + " existing permissions for track " + trackName);
+        queuePermissions(TRACK_TABLE, "track_name", areaName, trackName, permissions);
+    }
+    
+    private void queuePermissions(String table, String subjectColumn, String areaName, String subject,
+                                  Map<String, Boolean> permissions) {
+        // Readers see the change immediately; the database catches up with the next flush
+        Map<String, Boolean> stored = store.put(kindOf(table), areaName, subject, permissions);
+        writeQueue.enqueue(queueKey(table, areaName, subject),
+            new PermissionRow(table, subjectColumn, areaName, subject, stored));
+    }
+    
+    private static PermissionStore.Kind kindOf(String table) {
+        return switch (table) {
+            case GROUP_TABLE -> PermissionStore.Kind.GROUP;
+            case TRACK_TABLE -> PermissionStore.Kind.TRACK;
+            default -> PermissionStore.Kind.PLAYER;
+        };
+    }
+    
+    private static String queueKey(String table, String areaName, String subject) {
+        return table + '\u0000' + areaName + '\u0000' + subject;
+    }
+    
+    private static String areaKeyPrefix(String table, String areaName) {
+        return table + '\u0000' + areaName + '\u0000';
+    }
+    
+    /**
+     * Brings the stored permission set of one subject in line with the queued snapshot.
+     * Only permissions that were added or changed are upserted and only removed ones are
+     * deleted, so toggling one permission writes one row.
+     */
+    private void writePermissionRow(Connection conn, String key, PermissionRow row) throws SQLException {
+        // Read through the writer connection so earlier rows of the same batch are visible
+        Map<String, Boolean> stored = new HashMap<>();
+        try (PreparedStatement selectStmt = conn.prepareStatement(
+                "SELECT permission, value FROM " + row.table() + " WHERE area_name = ? AND " + row.subjectColumn() + " = ?")) {
+            selectStmt.setString(1, row.areaName());
+            selectStmt.setString(2, row.subject());
+            try (ResultSet rs = selectStmt.executeQuery()) {
+                while (rs.next()) {
+                    stored.put(rs.getString("permission"), readValue(rs, "value"));
                 }
             }
-            
-            // Skip insertion if permissions map is empty
-            if (permissions.isEmpty()) {
-                if (plugin.isDebugMode()) {
-                    plugin.debug("No permissions to insert for track " + trackName);
-                }
-                return;
+        }
+        
+        List<String> removed = new ArrayList<>();
+        for (String permission : stored.keySet()) {
+            if (!row.permissions().containsKey(permission)) {
+                removed.add(permission);
             }
-            
-            // Insert new permissions
-            try (PreparedStatement insertStmt = conn.prepareStatement(
-                    "INSERT INTO track_permissions(area_name, track_name, permission, value) VALUES(?, ?, ?, ?)")) {
-                for (Map.Entry<String, Boolean> entry : permissions.entrySet()) {
-                    insertStmt.setString(1, areaName);
-                    insertStmt.setString(2, trackName);
-                    insertStmt.setString(3, entry.getKey());
-                    insertStmt.setString(4, entry.getValue().toString());
-                    insertStmt.addBatch();
-                }
-                
-                int[] results = insertStmt.executeBatch();
-                
-                if (plugin.isDebugMode()) {
-                    int insertedCount = 0;
-                    for (int result : results) {
-                        if (result > 0) insertedCount++;
-                    }
-                    plugin.debug("Successfully inserted " + insertedCount + " permissions for track " + trackName);
-                }
+        }
+        Map<String, Boolean> changed = new HashMap<>();
+        for (Map.Entry<String, Boolean> entry : row.permissions().entrySet()) {
+            if (!entry.getValue().equals(stored.get(entry.getKey()))) {
+                changed.put(entry.getKey(), entry.getValue());
             }
-        });
+        }
         
-        // Force WAL checkpoint to ensure changes are written to disk
-        // Done outside the transaction to avoid locking issues
-        try {
-            forceWalCheckpoint();
-            if (plugin.isDebugMode()) {
-                plugin.debug("Checkpoint completed after saving track permissions");
+        if (!removed.isEmpty()) {
+            try (PreparedStatement deleteStmt = conn.prepareStatement(
+                    "DELETE FROM " + row.table() + " WHERE area_name = ? AND " + row.subjectColumn() + " = ? AND permission = ?")) {
+                for (String permission : removed) {
+                    deleteStmt.setString(1, row.areaName());
+                    deleteStmt.setString(2, row.subject());
+                    deleteStmt.setString(3, permission);
+                    deleteStmt.addBatch();
+                }
+                deleteStmt.executeBatch();
             }
-        } catch (DatabaseException e) {
-            // Log the error but don't fail the operation if checkpoint fails
-            logger.error("Failed to checkpoint database after saving track permissions: " + e.getMessage());
         }
-    }
-    
-    // Load track permissions
-    public Map<String, Boolean> getTrackPermissions(String areaName, String trackName) throws DatabaseException {
-        Map<String, Boolean> permissions = new HashMap<>();
         
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT permission, value FROM track_permissions WHERE area_name = ? AND track_name = ?")) {
-            stmt.setString(1, areaName);
-            stmt.setString(2, trackName);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    String permission = rs.getString("permission");
-                    String value = rs.getString("value");
-                    // Explicitly handle text values "true" and "false"
-                    boolean boolValue = "true".equalsIgnoreCase(value);
-                    permissions.put(permission, boolValue);
+        if (!changed.isEmpty()) {
+            try (PreparedStatement upsertStmt = conn.prepareStatement(
+                    "INSERT INTO " + row.table() + "(area_name, " + row.subjectColumn() + ", permission, value) VALUES(?, ?, ?, ?) " +
+                    "ON CONFLICT(area_name, " + row.subjectColumn() + ", permission) DO UPDATE SET value = excluded.value")) {
+                for (Map.Entry<String, Boolean> entry : changed.entrySet()) {
+                    upsertStmt.setString(1, row.areaName());
+                    upsertStmt.setString(2, row.subject());
+                    upsertStmt.setString(3, entry.getKey());
+                    upsertStmt.setInt(4, entry.getValue() ? 1 : 0);
+                    upsertStmt.addBatch();
                 }
+                upsertStmt.executeBatch();
             }
-        } catch (SQLException e) {
-            throw new DatabaseException("Failed to load track permissions", e);
         }
         
-        return permissions;
+        if (logger.isDebugEnabled() && (!removed.isEmpty() || !changed.isEmpty())) {
+            logger.debug(() -> "Permission write for " + row.subject() + " in area " + row.areaName() + ": " +
+                changed.size() + " upserted, " + removed.size() + " deleted");
+        }
+    }
+    
+    /**
+     * Blocks until all queued permission writes are committed
+     */
+    public void flushPendingWrites() {
+        writeQueue.flush();
+    }
+    
+    /**
+     * Gets the write-behind queue for permission sets
+     */
+    public WriteBehindQueue<?> getWriteQueue() {
+        return writeQueue;
+    }
+    
+    // Load track permissions; the returned map is unmodifiable
+    public Map<String, Boolean> getTrackPermissions(String areaName, String trackName) throws DatabaseException {
+        return store.get(PermissionStore.Kind.TRACK, areaName, trackName);
     }
     
     // Get all player permissions for an area
     public Map<String, Map<String, Boolean>> getAllPlayerPermissions(String areaName) throws DatabaseException {
-        // plugin.getLogger().info("[Debug] Loading all player permissions for area " + areaName + " from database");
-        Map<String, Map<String, Boolean>> allPermissions = new HashMap<>();
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT player_name, permission, value FROM player_permissions WHERE area_name = ?")) {
-            stmt.setString(1, areaName);
-            
-            int totalEntries = 0;
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    String playerName = rs.getString("player_name");
-                    String permission = rs.getString("permission");
-                    String valueStr = rs.getString("value");
-                    // Explicitly handle text values "true" and "false"
-                    boolean value = "true".equalsIgnoreCase(valueStr);
-                    
-                    allPermissions.computeIfAbsent(playerName, k -> new HashMap<>()).put(permission, value);
-                    totalEntries++;
-                }
-            }
-            
-            // Log debug information
-            int playerCount = allPermissions.size();
-            //plugin.getLogger().info("[Debug] Found " + totalEntries + " total permission entries for " + playerCount + " players in area " + areaName);
-            // for (Map.Entry<String, Map<String, Boolean>> entry : allPermissions.entrySet()) {
-            //     //plugin.getLogger().info("[Debug]   Player " + entry.getKey() + ": " + entry.getValue().size() + " permissions");
-            // }
-        } catch (SQLException e) {
-            throw new DatabaseException("Failed to load all player permissions", e);
-        }
-        
-        return allPermissions;
+        return store.getArea(PermissionStore.Kind.PLAYER, areaName);
     }
     
     // Get all group permissions for an area
     public Map<String, Map<String, Boolean>> getAllGroupPermissions(String areaName) throws DatabaseException {
-        Map<String, Map<String, Boolean>> allPermissions = new HashMap<>();
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT group_name, permission, value FROM group_permissions WHERE area_name = ?")) {
-            stmt.setString(1, areaName);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    String groupName = rs.getString("group_name");
-                    String permission = rs.getString("permission");
-                    String valueStr = rs.getString("value");
-                    // Explicitly handle text values "true" and "false"
-                    boolean value = "true".equalsIgnoreCase(valueStr);
-                    
-                    allPermissions.computeIfAbsent(groupName, k -> new HashMap<>()).put(permission, value);
-                }
-            }
-        } catch (SQLException e) {
-            throw new DatabaseException("Failed to load all group permissions", e);
-        }
-        
-        return allPermissions;
+        return store.getArea(PermissionStore.Kind.GROUP, areaName);
     }
     
     // Get all track permissions for an area
     public Map<String, Map<String, Boolean>> getAllTrackPermissions(String areaName) throws DatabaseException {
-        Map<String, Map<String, Boolean>> allPermissions = new HashMap<>();
-        
+        return store.getArea(PermissionStore.Kind.TRACK, areaName);
+    }
+
+    /**
+     * Gets the player permissions of every area
+     *
+     * @return Permissions keyed by area name, then player name
+     */
+    public Map<String, Map<String, Map<String, Boolean>>> getAllPlayerPermissionsByArea() throws DatabaseException {
+        return store.getAll(PermissionStore.Kind.PLAYER);
+    }
+
+    /**
+     * Gets the group permissions of every area
+     *
+     * @return Permissions keyed by area name, then group name
+     */
+    public Map<String, Map<String, Map<String, Boolean>>> getAllGroupPermissionsByArea() throws DatabaseException {
+        return store.getAll(PermissionStore.Kind.GROUP);
+    }
+
+    /**
+     * Gets the track permissions of every area
+     *
+     * @return Permissions keyed by area name, then track name
+     */
+    public Map<String, Map<String, Map<String, Boolean>>> getAllTrackPermissionsByArea() throws DatabaseException {
+        return store.getAll(PermissionStore.Kind.TRACK);
+    }
+
+    /**
+     * Reads every permission table from the database, bypassing the in-memory store
+     *
+     * @return The permissions of each table, keyed by area name, then subject name
+     */
+    public PermissionOverrideManager.LoadedPermissions readAllPermissions() throws DatabaseException {
+        return new PermissionOverrideManager.LoadedPermissions(
+            loadAllByArea(PLAYER_TABLE, "player_name"),
+            loadAllByArea(GROUP_TABLE, "group_name"),
+            loadAllByArea(TRACK_TABLE, "track_name"));
+    }
+
+    /**
+     * Reads a whole permission table in one pass and groups the rows by area and subject,
+     * with queued writes applied on top
+     */
+    private Map<String, Map<String, Map<String, Boolean>>> loadAllByArea(String table, String subjectColumn)
+            throws DatabaseException {
+        Map<String, Map<String, Map<String, Boolean>>> byArea = new HashMap<>();
+
         try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT track_name, permission, value FROM track_permissions WHERE area_name = ?")) {
-            stmt.setString(1, areaName);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    String trackName = rs.getString("track_name");
-                    String permission = rs.getString("permission");
-                    String valueStr = rs.getString("value");
-                    // Explicitly handle text values "true" and "false"
-                    boolean value = "true".equalsIgnoreCase(valueStr);
-                    
-                    allPermissions.computeIfAbsent(trackName, k -> new HashMap<>()).put(permission, value);
-                }
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                     "SELECT area_name, " + subjectColumn + ", permission, value FROM " + table)) {
+            while (rs.next()) {
+                String areaName = rs.getString(1);
+                String subject = rs.getString(2);
+                boolean value = readValue(rs, "value");
+
+                byArea.computeIfAbsent(areaName, k -> new HashMap<>())
+                      .computeIfAbsent(subject, k -> new HashMap<>())
+                      .put(rs.getString(3), value);
             }
         } catch (SQLException e) {
-            throw new DatabaseException("Failed to load all track permissions", e);
+            throw new DatabaseException("Failed to load " + table, e);
         }
-        
-        return allPermissions;
+
+        String prefix = table + '\u0000';
+        writeQueue.forEachPending(key -> key.startsWith(prefix), (key, row) -> {
+            Map<String, Map<String, Boolean>> subjects = byArea.computeIfAbsent(row.areaName(), k -> new HashMap<>());
+            if (row.permissions().isEmpty()) {
+                subjects.remove(row.subject());
+            } else {
+                subjects.put(row.subject(), new HashMap<>(row.permissions()));
+            }
+        });
+
+        return byArea;
     }
-    
+
     /**
      * Delete all permissions for an area, but return the player permissions first
      * for potential preservation.
@@ -652,17 +484,16 @@ public class PermissionDatabaseManager implements AutoCloseable {
         
         // If we need to preserve permissions, get them first
         if (preservePlayerPermissions) {
-            try {
-                playerPermissions = getAllPlayerPermissions(areaName);
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Preserving " + (playerPermissions != null ? playerPermissions.size() : 0) + 
-                               " player permissions before deleting area " + areaName);
-                }
-            } catch (Exception e) {
-                logger.error("Failed to preserve player permissions before deletion", e);
-                // Continue with deletion even if preservation fails
-            }
+            playerPermissions = store.getArea(PermissionStore.Kind.PLAYER, areaName);
+            logger.debug("Preserving %s player permissions before deleting area %s", playerPermissions.size(), areaName);
         }
+        store.removeArea(areaName);
+        
+        // Drop queued writes for the area and wait for any batch in flight
+        writeQueue.discard(key -> key.startsWith(areaKeyPrefix(PLAYER_TABLE, areaName)) ||
+            key.startsWith(areaKeyPrefix(GROUP_TABLE, areaName)) ||
+            key.startsWith(areaKeyPrefix(TRACK_TABLE, areaName)));
+        writeQueue.flush();
         
         // Delete the permissions
         executeInTransaction(conn -> {
@@ -672,9 +503,7 @@ public class PermissionDatabaseManager implements AutoCloseable {
                 stmt.setString(1, areaName);
                 int count = stmt.executeUpdate();
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Deleted " + count + " player permissions for area " + areaName);
-                }
+                logger.debug("Deleted %s player permissions for area %s", count, areaName);
             }
             
             // Delete group permissions
@@ -683,9 +512,7 @@ public class PermissionDatabaseManager implements AutoCloseable {
                 stmt.setString(1, areaName);
                 int count = stmt.executeUpdate();
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Deleted " + count + " group permissions for area " + areaName);
-                }
+                logger.debug("Deleted %s group permissions for area %s", count, areaName);
             }
             
             // Delete track permissions
@@ -694,9 +521,7 @@ public class PermissionDatabaseManager implements AutoCloseable {
                 stmt.setString(1, areaName);
                 int count = stmt.executeUpdate();
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Deleted " + count + " track permissions for area " + areaName);
-                }
+                logger.debug("Deleted %s track permissions for area %s", count, areaName);
             }
         });
         
@@ -715,6 +540,8 @@ public class PermissionDatabaseManager implements AutoCloseable {
     
     // Rename area permissions
     public void renameAreaPermissions(String oldName, String newName) throws DatabaseException {
+        store.renameArea(oldName, newName);
+        writeQueue.flush();
         executeInTransaction(conn -> {
             String[] tables = {"player_permissions", "group_permissions", "track_permissions"};
             
@@ -731,6 +558,9 @@ public class PermissionDatabaseManager implements AutoCloseable {
     
     // Delete player permissions
     public void deletePlayerPermissions(String areaName, String playerName) throws DatabaseException {
+        store.remove(PermissionStore.Kind.PLAYER, areaName, playerName);
+        writeQueue.discard(queueKey(PLAYER_TABLE, areaName, playerName)::equals);
+        writeQueue.flush();
         executeInTransaction(conn -> {
             try (PreparedStatement stmt = conn.prepareStatement(
                     "DELETE FROM player_permissions WHERE area_name = ? AND player_name = ?")) {
@@ -743,62 +573,31 @@ public class PermissionDatabaseManager implements AutoCloseable {
     
     // Get areas with group permissions
     public List<String> getAreasWithGroupPermissions(String groupName) throws DatabaseException {
-        List<String> areas = new ArrayList<>();
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT DISTINCT area_name FROM group_permissions WHERE group_name = ?")) {
-            stmt.setString(1, groupName);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    areas.add(rs.getString("area_name"));
-                }
-            }
-        } catch (SQLException e) {
-            throw new DatabaseException("Failed to get areas with group permissions", e);
-        }
-        
-        return areas;
+        return store.getAreasWithSubject(PermissionStore.Kind.GROUP, groupName);
     }
     
     // Get areas with track permissions
     public List<String> getAreasWithTrackPermissions(String trackName) throws DatabaseException {
-        List<String> areas = new ArrayList<>();
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT DISTINCT area_name FROM track_permissions WHERE track_name = ?")) {
-            stmt.setString(1, trackName);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    areas.add(rs.getString("area_name"));
-                }
-            }
-        } catch (SQLException e) {
-            throw new DatabaseException("Failed to get areas with track permissions", e);
-        }
-        
-        return areas;
+        return store.getAreasWithSubject(PermissionStore.Kind.TRACK, trackName);
     }
     
-    // Run checkpoint to flush changes to disk
+    // Request a background checkpoint; committed changes are already durable in the WAL
     public void checkpoint() {
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement()) {
-            stmt.execute("PRAGMA wal_checkpoint(FULL)");
-        } catch (SQLException e) {
-            logger.error("Failed to run WAL checkpoint", e);
-        }
+        database.getCheckpointManager().requestCheckpoint();
+    }
+    
+    /**
+     * Gets the checkpoint manager for the permission database
+     */
+    public WalCheckpointManager getCheckpointManager() {
+        return database.getCheckpointManager();
     }
     
     @Override
     public void close() {
-        if (dataSource != null && !dataSource.isClosed()) {
-            checkpoint();
-            dataSource.close();
-        }
+        // Commit everything still queued before the database is released
+        writeQueue.close();
+        database.close();
     }
     
     // Functional interface for transaction operations
@@ -814,27 +613,23 @@ public class PermissionDatabaseManager implements AutoCloseable {
      */
     public void rebuildDatabase() {
         logger.warn("Rebuilding permission database from scratch!");
+        writeQueue.flush();
         
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement()) {
-            
-            conn.setAutoCommit(false);
-            try {
-                // Drop existing tables
-                stmt.executeUpdate("DROP TABLE IF EXISTS player_permissions");
-                stmt.executeUpdate("DROP TABLE IF EXISTS group_permissions");
-                stmt.executeUpdate("DROP TABLE IF EXISTS track_permissions");
+        try {
+            database.write(conn -> {
+                try (Statement stmt = conn.createStatement()) {
+                    // Drop existing tables
+                    stmt.executeUpdate("DROP TABLE IF EXISTS player_permissions");
+                    stmt.executeUpdate("DROP TABLE IF EXISTS group_permissions");
+                    stmt.executeUpdate("DROP TABLE IF EXISTS track_permissions");
+                }
+                store.clear();
                 
-                // Recreate tables
+                // Recreate tables - runs inline as part of this transaction
                 initializeDatabase();
-                
-                logger.info("Permission database successfully rebuilt");
-                conn.commit();
-            } catch (SQLException e) {
-                conn.rollback();
-                logger.error("Failed to rebuild permission database", e);
-                throw e;
-            }
+                return null;
+            });
+            logger.info("Permission database successfully rebuilt");
         } catch (SQLException e) {
             logger.error("Failed to rebuild permission database", e);
             throw new RuntimeException("Failed to rebuild permission database", e);
@@ -842,97 +637,16 @@ public class PermissionDatabaseManager implements AutoCloseable {
     }
 
     /**
-     * Forces a WAL checkpoint to ensure all pending changes are written to the main database file.
-     * This is important when using SQLite in WAL mode to ensure data durability.
+     * Makes all queued permission changes durable.
+     * Committed transactions are durable in the WAL already, so this commits the
+     * write-behind queue and leaves moving the WAL into the main file to the
+     * background checkpoint.
      */
     public void forceWalCheckpoint() throws DatabaseException {
-        if (plugin.isDebugMode()) {
-            plugin.debug("Starting WAL checkpoint for permission database");
-        }
-        
-        int retries = 3;
-        long retryDelayMs = 100;
-        SQLException lastException = null;
+        writeQueue.flush();
+        database.getCheckpointManager().requestCheckpoint();
         
-        for (int attempt = 0; attempt < retries; attempt++) {
-            try (Connection conn = getConnection()) {
-                forceWalCheckpoint(conn);
-                
-                if (plugin.isDebugMode()) {
-                    plugin.debug("WAL checkpoint completed successfully on attempt " + (attempt + 1));
-                }
-                
-                return; // Success
-            } catch (SQLException e) {
-                lastException = e;
-                boolean isLockingError = e.getMessage().contains("SQLITE_LOCKED") || 
-                    e.getMessage().contains("database table is locked") ||
-                    e.getMessage().contains("database is locked");
-                
-                if (isLockingError && attempt < retries - 1) {
-                    // If database is locked, wait and retry
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Database locked during checkpoint, retrying in " + 
-                            retryDelayMs * (attempt + 1) + "ms (attempt " + (attempt + 1) + " of " + retries + ")");
-                    }
-                    
-                    try {
-                        Thread.sleep(retryDelayMs * (attempt + 1));
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new DatabaseException("Checkpoint interrupted", ie);
-                    }
-                } else {
-                    // Not a locking issue or out of retries
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Checkpoint failed with error: " + e.getMessage());
-                    }
-                    
-                    throw new DatabaseException("Failed to checkpoint database", e);
-                }
-            }
-        }
-        
-        // If we've exhausted all retries and still have an exception
-        if (lastException != null) {
-            throw new DatabaseException("Failed to checkpoint database after " + retries + " attempts", lastException);
-        }
-    }
-    
-    /**
-     * Forces a WAL checkpoint on the provided connection.
-     */
-    private void forceWalCheckpoint(Connection conn) throws SQLException {
-        int retries = 3;
-        SQLException lastException = null;
-        
-        for (int attempt = 0; attempt < retries; attempt++) {
-            try (Statement stmt = conn.createStatement()) {
-                stmt.execute("PRAGMA wal_checkpoint(FULL)");
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Forced WAL checkpoint for permission database");
-                }
-                return; // Success
-            } catch (SQLException e) {
-                lastException = e;
-                if (e.getMessage().contains("SQLITE_LOCKED") || e.getMessage().contains("database table is locked")) {
-                    // If database is locked, wait a bit and retry
-                    try {
-                        Thread.sleep(100 * (attempt + 1));
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                    }
-                } else {
-                    // If it's not a locking issue, don't retry
-                    throw e;
-                }
-            }
-        }
-        
-        // If we've exhausted all retries, throw the last exception
-        if (lastException != null) {
-            throw lastException;
-        }
+        logger.debug("Committed queued permission writes and requested WAL checkpoint");
     }
 
     /**
@@ -940,6 +654,7 @@ public class PermissionDatabaseManager implements AutoCloseable {
      * This is only used for debugging purposes
      */
     public void debugDumpPlayerPermissions(String areaName, String playerName) throws DatabaseException {
+        writeQueue.flush();
         try (Connection conn = getConnection();
              PreparedStatement stmt = conn.prepareStatement(
                      "SELECT * FROM player_permissions WHERE area_name = ? AND player_name = ?")) {
@@ -952,13 +667,13 @@ public class PermissionDatabaseManager implements AutoCloseable {
                     count++;
                     String permission = rs.getString("permission");
                     String value = rs.getString("value");
-                    plugin.debug("    Permission DB row: " + permission + " = " + value);
+                    logger.debug("    Permission DB row: %s = %s", permission, value);
                 }
                 
                 if (count == 0) {
-                    plugin.debug("    No permissions found in database for player " + playerName + " in area " + areaName);
+                    logger.debug("    No permissions found in database for player %s in area %s", playerName, areaName);
                 } else {
-                    plugin.debug("    Total rows in database: " + count);
+                    logger.debug("    Total rows in database: %s", count);
                 }
             }
         } catch (SQLException e) {
@@ -967,30 +682,27 @@ public class PermissionDatabaseManager implements AutoCloseable {
     }
 
     /**
-     * Check if player permissions exist in the database for a given area 
+     * Check if player permissions exist for a given area 
      * @param areaName The area to check
      * @return true if permissions exist, false otherwise
      */
     public boolean playerPermissionsExist(String areaName) throws DatabaseException {
-        if (areaName == null) {
-            return false;
-        }
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(
-                     "SELECT COUNT(*) FROM player_permissions WHERE area_name = ?")) {
-            stmt.setString(1, areaName);
-            
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    int count = rs.getInt(1);
-                    return count > 0;
-                }
-            }
-        } catch (SQLException e) {
-            throw new DatabaseException("Failed to check if player permissions exist", e);
-        }
-        
-        return false;
+        return areaName != null && store.hasArea(PermissionStore.Kind.PLAYER, areaName);
+    }
+
+    /**
+     * Check if group permissions exist for a given area
+     * @param areaName The area to check
+     * @return true if permissions exist, false otherwise
+     */
+    public boolean groupPermissionsExist(String areaName) {
+        return areaName != null && store.hasArea(PermissionStore.Kind.GROUP, areaName);
+    }
+
+    /**
+     * Snapshot of one subject's permission set in an area, captured when the write is queued
+     */
+    private record PermissionRow(String table, String subjectColumn, String areaName, String subject,
+                                 Map<String, Boolean> permissions) {
     }
-} 
\ No newline at end of file
+}
@@ -3,9 +3,10 @@ package adminarea.permissions;
 import adminarea.AdminAreaProtectionPlugin;
 import adminarea.area.Area;
 import adminarea.exception.DatabaseException;
-
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import adminarea.util.Logger;
+import adminarea.util.WriteBehindQueue;
+import adminarea.util.WalCheckpointManager;
+import adminarea.logging.DebugCategory;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -20,13 +21,13 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Manages permission overrides for areas, providing a centralized API for 
- * player, group, and track permissions with efficient caching.
+ * player, group, and track permissions. All permissions are held in memory by the
+ * database manager, so reads never wait for the database.
  */
 public class PermissionOverrideManager implements AutoCloseable {
-    private static final Logger logger = LoggerFactory.getLogger(PermissionOverrideManager.class);
     private final AdminAreaProtectionPlugin plugin;
+    private final Logger logger;
     private final PermissionDatabaseManager databaseManager;
-    private final PermissionCache permissionCache;
     private final PermissionChecker permissionChecker;
     private final ScheduledExecutorService scheduler;
     private final AtomicBoolean isShuttingDown = new AtomicBoolean(false);
@@ -61,8 +62,8 @@ public class PermissionOverrideManager implements AutoCloseable {
     
     public PermissionOverrideManager(AdminAreaProtectionPlugin plugin) {
         this.plugin = plugin;
+        this.logger = new Logger(plugin, DebugCategory.PERMISSIONS, "PermissionOverrideManager");
         this.databaseManager = new PermissionDatabaseManager(plugin);
-        this.permissionCache = new PermissionCache();
         this.permissionChecker = new PermissionChecker(plugin);
         this.scheduler = Executors.newSingleThreadScheduledExecutor();
         
@@ -81,22 +82,13 @@ public class PermissionOverrideManager implements AutoCloseable {
             }
         }, 1, 12, TimeUnit.HOURS);
         
-        // Schedule WAL checkpoint
-        scheduler.scheduleAtFixedRate(() -> {
-            if (!isShuttingDown.get()) {
-                try {
-                    databaseManager.checkpoint();
-                } catch (Exception e) {
-                    logger.error("Failed to run scheduled WAL checkpoint", e);
-                }
-            }
-        }, 30, 30, TimeUnit.MINUTES);
+        // WAL checkpoints are scheduled by the database's checkpoint manager
     }
     
     // --- Player Permissions ---
     
     /**
-     * Get permissions for a player in an area
+     * Get permissions for a player in an area. The returned map is unmodifiable.
      */
     public Map<String, Boolean> getPlayerPermissions(String areaName, String playerName) {
         if (areaName == null || playerName == null) {
@@ -104,34 +96,21 @@ public class PermissionOverrideManager implements AutoCloseable {
         }
         
         // For debug logging
-        if (plugin.isDebugMode()) {
-            plugin.debug("Retrieved permissions for player " + playerName + " in area " + areaName);
-        }
-        
-        String cacheKey = PermissionCache.createPlayerKey(areaName, playerName);
-        Map<String, Boolean> cached = permissionCache.getPlayerPermissions(cacheKey);
-        
-        if (cached != null) {
-            if (plugin.isDebugMode()) {
-                plugin.debug("Player " + playerName + " has " + cached.size() + " cached permissions in area " + areaName);
-            }
-            return new HashMap<>(cached);
-        }
+        logger.debug("Retrieved permissions for player %s in area %s", playerName, areaName);
         
         try {
             Map<String, Boolean> permissions = databaseManager.getPlayerPermissions(areaName, playerName);
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Retrieved " + permissions.size() + " permissions for player " + playerName + " in area " + areaName);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Retrieved %s permissions for player %s in area %s", permissions.size(), playerName, areaName);
                 if (permissions.isEmpty()) {
-                    plugin.debug("Player " + playerName + " has no specific permissions in area " + areaName);
+                    logger.debug("Player %s has no specific permissions in area %s", playerName, areaName);
                 }
             }
             
-            permissionCache.cachePlayerPermissions(cacheKey, permissions);
             return permissions;
         } catch (DatabaseException e) {
-            logger.error("Failed to load player permissions for {}:{}", areaName, playerName, e);
+            logger.error("Failed to load player permissions for " + areaName + ":" + playerName, e);
             return Collections.emptyMap();
         }
     }
@@ -150,9 +129,7 @@ public class PermissionOverrideManager implements AutoCloseable {
         Set<String> processingSet = PROCESSING_PERMISSIONS.get();
         
         if (processingSet.contains(key)) {
-            if (plugin.isDebugMode()) {
-                plugin.debug("Preventing recursive player permission update for " + playerName + " in area " + areaName);
-            }
+            logger.debug("Preventing recursive player permission update for %s in area %s", playerName, areaName);
             return;
         }
         
@@ -160,10 +137,6 @@ public class PermissionOverrideManager implements AutoCloseable {
         try {
             databaseManager.savePlayerPermissions(areaName, playerName, permissions);
             
-            // Update caches
-            String cacheKey = PermissionCache.createPlayerKey(areaName, playerName);
-            permissionCache.cachePlayerPermissions(cacheKey, permissions);
-            
             // Invalidate any area permission caches for this area
             invalidateCache(areaName);
             
@@ -188,9 +161,6 @@ public class PermissionOverrideManager implements AutoCloseable {
         
         databaseManager.deletePlayerPermissions(areaName, playerName);
         
-        String cacheKey = PermissionCache.createPlayerKey(areaName, playerName);
-        permissionCache.invalidatePlayerPermissions(cacheKey);
-        
         // Remove from updated tracking
         Set<String> playersForArea = updatedPlayerPermissions.get(areaName);
         if (playersForArea != null) {
@@ -204,26 +174,17 @@ public class PermissionOverrideManager implements AutoCloseable {
     // --- Group Permissions ---
     
     /**
-     * Get permissions for a group in an area
+     * Get permissions for a group in an area. The returned map is unmodifiable.
      */
     public Map<String, Boolean> getGroupPermissions(String areaName, String groupName) {
         if (areaName == null || groupName == null) {
             return Collections.emptyMap();
         }
         
-        String cacheKey = PermissionCache.createGroupKey(areaName, groupName);
-        Map<String, Boolean> cached = permissionCache.getGroupPermissions(cacheKey);
-        
-        if (cached != null) {
-            return new HashMap<>(cached);
-        }
-        
         try {
-            Map<String, Boolean> permissions = databaseManager.getGroupPermissions(areaName, groupName);
-            permissionCache.cacheGroupPermissions(cacheKey, permissions);
-            return permissions;
+            return databaseManager.getGroupPermissions(areaName, groupName);
         } catch (DatabaseException e) {
-            logger.error("Failed to load group permissions for {}:{}", areaName, groupName, e);
+            logger.error("Failed to load group permissions for " + areaName + ":" + groupName, e);
             return Collections.emptyMap();
         }
     }
@@ -262,40 +223,31 @@ public class PermissionOverrideManager implements AutoCloseable {
     }
     
     /**
-     * Invalidate group permissions cache
+     * Invalidate cached permission decisions that depend on a group's permissions.
+     * The permissions themselves are always current in memory.
      */
     public void invalidateGroupPermissions(String areaName, String groupName) {
         if (areaName == null || groupName == null) {
             return;
         }
         
-        String cacheKey = PermissionCache.createGroupKey(areaName, groupName);
-        permissionCache.invalidateGroupPermissions(cacheKey);
+        permissionChecker.invalidateCache(areaName);
     }
     
     // --- Track Permissions ---
     
     /**
-     * Get permissions for a track in an area
+     * Get permissions for a track in an area. The returned map is unmodifiable.
      */
     public Map<String, Boolean> getTrackPermissions(String areaName, String trackName) {
         if (areaName == null || trackName == null) {
             return Collections.emptyMap();
         }
         
-        String cacheKey = PermissionCache.createTrackKey(areaName, trackName);
-        Map<String, Boolean> cached = permissionCache.getTrackPermissions(cacheKey);
-        
-        if (cached != null) {
-            return new HashMap<>(cached);
-        }
-        
         try {
-            Map<String, Boolean> permissions = databaseManager.getTrackPermissions(areaName, trackName);
-            permissionCache.cacheTrackPermissions(cacheKey, permissions);
-            return permissions;
+            return databaseManager.getTrackPermissions(areaName, trackName);
         } catch (DatabaseException e) {
-            logger.error("Failed to load track permissions for {}:{}", areaName, trackName, e);
+            logger.error("Failed to load track permissions for " + areaName + ":" + trackName, e);
             return Collections.emptyMap();
         }
     }
@@ -314,10 +266,7 @@ public class PermissionOverrideManager implements AutoCloseable {
             if (plugin.getAreaManager().isPermissionOperationInProgress(areaName)) {
                 // If an operation is already in progress, apply the permissions directly to the database
                 // instead of using directUpdateTrackPermissions which would skip the operation
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Permission operation already in progress for area " + areaName + 
-                              ", applying track permissions directly to database");
-                }
+                logger.debug("Permission operation already in progress for area %s, applying track permissions directly to database", areaName);
                 
                 // CRITICAL FIX: Don't get the area and call setTrackPermissions, which would cause recursion.
                 // Instead, save directly to the database and update caches
@@ -325,16 +274,10 @@ public class PermissionOverrideManager implements AutoCloseable {
                 // 1. Save directly to database
                 databaseManager.saveTrackPermissions(areaName, trackName, new HashMap<>(permissions));
                 
-                // 2. Update cache
-                String cacheKey = PermissionCache.createTrackKey(areaName, trackName);
-                permissionCache.cacheTrackPermissions(cacheKey, new HashMap<>(permissions));
-                
-                // 3. Invalidate area caches
+                // 2. Invalidate area caches
                 plugin.getAreaManager().invalidateAreaCache(areaName);
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Directly saved track permissions to database, bypassing Area object calls");
-                }
+                logger.debug("Directly saved track permissions to database, bypassing Area object calls");
                 
                 // Success - no need to throw an exception
                 return;
@@ -351,10 +294,7 @@ public class PermissionOverrideManager implements AutoCloseable {
                     Map<String, Boolean> currentPerms = area.getTrackPermissions(trackName);
                     if (currentPerms != null && !currentPerms.isEmpty()) {
                         // Permissions exist, so they might have been applied by another thread
-                        if (plugin.isDebugMode()) {
-                            plugin.debug("Track permissions already exist for " + trackName + 
-                                      " in area " + areaName + ", verifying consistency");
-                        }
+                        logger.debug("Track permissions already exist for %s in area %s, verifying consistency", trackName, areaName);
                         
                         // Check if all requested permissions are set correctly
                         boolean allMatch = true;
@@ -368,9 +308,7 @@ public class PermissionOverrideManager implements AutoCloseable {
                         
                         if (allMatch) {
                             // All permissions match, so no need to throw an exception
-                            if (plugin.isDebugMode()) {
-                                plugin.debug("All track permissions match expected values, operation successful");
-                            }
+                            logger.debug("All track permissions match expected values, operation successful");
                             return;
                         }
                     }
@@ -402,8 +340,7 @@ public class PermissionOverrideManager implements AutoCloseable {
             // Save to database using the string version
             setTrackPermissions(area.getName(), trackName, permissions);
         } catch (Exception e) {
-            logger.error("Failed to save track permissions for track {} in area {}", 
-                trackName, area.getName(), e);
+            logger.error("Failed to save track permissions for track " + trackName + " in area " + area.getName(), e);
         }
     }
     
@@ -420,15 +357,15 @@ public class PermissionOverrideManager implements AutoCloseable {
     }
     
     /**
-     * Invalidate track permissions cache
+     * Invalidate cached permission decisions that depend on a track's permissions.
+     * The permissions themselves are always current in memory.
      */
     public void invalidateTrackPermissions(String areaName, String trackName) {
         if (areaName == null || trackName == null) {
             return;
         }
         
-        String cacheKey = PermissionCache.createTrackKey(areaName, trackName);
-        permissionCache.invalidateTrackPermissions(cacheKey);
+        permissionChecker.invalidateCache(areaName);
     }
     
     // --- Bulk Operations ---
@@ -442,17 +379,9 @@ public class PermissionOverrideManager implements AutoCloseable {
         }
         
         try {
-            Map<String, Map<String, Boolean>> allPermissions = databaseManager.getAllPlayerPermissions(areaName);
-            
-            // Cache individual player permissions
-            for (Map.Entry<String, Map<String, Boolean>> entry : allPermissions.entrySet()) {
-                String cacheKey = PermissionCache.createPlayerKey(areaName, entry.getKey());
-                permissionCache.cachePlayerPermissions(cacheKey, entry.getValue());
-            }
-            
-            return allPermissions;
+            return databaseManager.getAllPlayerPermissions(areaName);
         } catch (DatabaseException e) {
-            logger.error("Failed to load all player permissions for area {}", areaName, e);
+            logger.error("Failed to load all player permissions for area " + areaName, e);
             return Collections.emptyMap();
         }
     }
@@ -466,17 +395,9 @@ public class PermissionOverrideManager implements AutoCloseable {
         }
         
         try {
-            Map<String, Map<String, Boolean>> allPermissions = databaseManager.getAllGroupPermissions(areaName);
-            
-            // Cache individual group permissions
-            for (Map.Entry<String, Map<String, Boolean>> entry : allPermissions.entrySet()) {
-                String cacheKey = PermissionCache.createGroupKey(areaName, entry.getKey());
-                permissionCache.cacheGroupPermissions(cacheKey, entry.getValue());
-            }
-            
-            return allPermissions;
+            return databaseManager.getAllGroupPermissions(areaName);
         } catch (DatabaseException e) {
-            logger.error("Failed to load all group permissions for area {}", areaName, e);
+            logger.error("Failed to load all group permissions for area " + areaName, e);
             return Collections.emptyMap();
         }
     }
@@ -490,17 +411,9 @@ public class PermissionOverrideManager implements AutoCloseable {
         }
         
         try {
-            Map<String, Map<String, Boolean>> allPermissions = databaseManager.getAllTrackPermissions(areaName);
-            
-            // Cache individual track permissions
-            for (Map.Entry<String, Map<String, Boolean>> entry : allPermissions.entrySet()) {
-                String cacheKey = PermissionCache.createTrackKey(areaName, entry.getKey());
-                permissionCache.cacheTrackPermissions(cacheKey, entry.getValue());
-            }
-            
-            return allPermissions;
+            return databaseManager.getAllTrackPermissions(areaName);
         } catch (DatabaseException e) {
-            logger.error("Failed to load all track permissions for area {}", areaName, e);
+            logger.error("Failed to load all track permissions for area " + areaName, e);
             return Collections.emptyMap();
         }
     }
@@ -532,9 +445,8 @@ public class PermissionOverrideManager implements AutoCloseable {
         }
         
         // Extra debug: Log who's deleting permissions to help diagnose issues
-        if (plugin.isDebugMode()) {
-            plugin.debug("PERMISSION DELETION REQUESTED for area " + areaName + 
-                        ", preservePlayerPermissions=" + preservePlayerPermissions);
+        if (logger.isDebugEnabled()) {
+            logger.debug("PERMISSION DELETION REQUESTED for area %s, preservePlayerPermissions=%s", areaName, preservePlayerPermissions);
             
             // Get stack trace to see who's calling
             StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
@@ -542,61 +454,29 @@ public class PermissionOverrideManager implements AutoCloseable {
             for (int i = 2; i < Math.min(12, stackTrace.length); i++) {
                 traceLog.append("\n  ").append(i-1).append(": ").append(stackTrace[i]);
             }
-            plugin.debug(traceLog.toString());
+            logger.debug(() -> traceLog.toString());
             
             // Check if this is a permission-only operation
             if (isPermissionOnlyOperation()) {
-                plugin.debug("WARNING: Permission deletion during a permission-only operation!");
+                logger.debug("WARNING: Permission deletion during a permission-only operation!");
             }
         }
         
-        // Get current player permissions before deleting if needed
-        Map<String, Map<String, Boolean>> playerPermissions = null;
-        if (preservePlayerPermissions) {
-            // Try to get permissions from cache first
-            // If not found, get from database
-            String cacheKey = areaName.toLowerCase();
-            Set<String> playerKeys = permissionCache.getPlayerKeysForArea(cacheKey);
-            if (playerKeys != null && !playerKeys.isEmpty()) {
-                playerPermissions = new HashMap<>();
-                for (String playerName : playerKeys) {
-                    String playerKey = PermissionCache.createPlayerKey(areaName, playerName);
-                    Map<String, Boolean> perms = permissionCache.getPlayerPermissions(playerKey);
-                    if (perms != null && !perms.isEmpty()) {
-                        playerPermissions.put(playerName, new HashMap<>(perms));
-                    }
-                }
-                
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Preserved " + playerPermissions.size() + " player permissions from cache for area " + areaName);
-                    
-                    // Show detailed permission count
-                    for (Map.Entry<String, Map<String, Boolean>> entry : playerPermissions.entrySet()) {
-                        plugin.debug("  Player " + entry.getKey() + ": " + entry.getValue().size() + " permissions");
-                    }
-                }
-            }
-        }
+        // Player permissions come from memory before they are deleted
+        Map<String, Map<String, Boolean>> playerPermissions =
+            databaseManager.deleteAreaPermissions(areaName, preservePlayerPermissions);
         
-        // If no permissions found in cache but we want to preserve them, get from database
-        if (preservePlayerPermissions && (playerPermissions == null || playerPermissions.isEmpty())) {
-            playerPermissions = databaseManager.deleteAreaPermissions(areaName, true);
+        if (logger.isDebugEnabled() && playerPermissions != null) {
+            logger.debug("Preserved %s player permissions for area %s", playerPermissions.size(), areaName);
             
-            if (plugin.isDebugMode() && playerPermissions != null) {
-                plugin.debug("Preserved " + playerPermissions.size() + " player permissions from database for area " + areaName);
-                
-                // Show detailed permission count
-                for (Map.Entry<String, Map<String, Boolean>> entry : playerPermissions.entrySet()) {
-                    plugin.debug("  Player " + entry.getKey() + ": " + entry.getValue().size() + " permissions");
-                }
+            // Show detailed permission count
+            for (Map.Entry<String, Map<String, Boolean>> entry : playerPermissions.entrySet()) {
+                logger.debug("  Player %s: %s permissions", entry.getKey(), entry.getValue().size());
             }
-        } else {
-            // Delete without preserving if we already have them from cache
-            databaseManager.deleteAreaPermissions(areaName, false);
         }
         
         // Invalidate caches for this area
-        permissionCache.invalidateArea(areaName);
+        permissionChecker.invalidateCache(areaName);
         
         // Clean up updated tracking
         updatedPlayerPermissions.remove(areaName);
@@ -615,7 +495,7 @@ public class PermissionOverrideManager implements AutoCloseable {
         databaseManager.renameAreaPermissions(oldName, newName);
         
         // Invalidate caches for old area
-        permissionCache.invalidateArea(oldName);
+        permissionChecker.invalidateCache(oldName);
     }
     
     // --- Cache Management ---
@@ -628,7 +508,6 @@ public class PermissionOverrideManager implements AutoCloseable {
             return;
         }
         
-        permissionCache.invalidateArea(areaName);
         permissionChecker.invalidateCache(areaName);
     }
     
@@ -636,7 +515,6 @@ public class PermissionOverrideManager implements AutoCloseable {
      * Invalidate all caches
      */
     public void invalidateCache() {
-        permissionCache.invalidateAll();
         permissionChecker.invalidateCache();
     }
     
@@ -653,10 +531,59 @@ public class PermissionOverrideManager implements AutoCloseable {
         try {
             synchronizePermissions(area, SyncDirection.FROM_DATABASE);
         } catch (DatabaseException e) {
-            logger.error("Failed to synchronize permissions on load for area {}", area.getName(), e);
+            logger.error("Failed to synchronize permissions on load for area " + area.getName(), e);
         }
     }
     
+    /**
+     * Loads the permissions of every area with one query per permission table.
+     * Used at startup instead of three queries per area.
+     *
+     * @return The loaded permissions, grouped by area
+     * @throws DatabaseException If any of the tables cannot be read
+     */
+    public LoadedPermissions loadAllPermissions() throws DatabaseException {
+        return new LoadedPermissions(
+            databaseManager.getAllPlayerPermissionsByArea(),
+            databaseManager.getAllGroupPermissionsByArea(),
+            databaseManager.getAllTrackPermissionsByArea());
+    }
+    
+    /**
+     * Reads the permissions of every area from the database tables rather than from memory,
+     * without changing either. Used to check the area snapshot against the database.
+     *
+     * @return The stored permissions, grouped by area
+     * @throws DatabaseException If any of the tables cannot be read
+     */
+    public LoadedPermissions readAllPermissions() throws DatabaseException {
+        return databaseManager.readAllPermissions();
+    }
+    
+    /**
+     * Synchronize permissions when loading an area, using permissions loaded in bulk
+     * by {@link #loadAllPermissions()} instead of querying the database
+     */
+    public void synchronizeOnLoad(Area area, LoadedPermissions loaded) {
+        if (area == null) {
+            return;
+        }
+        
+        String areaName = area.getName();
+        area.updateInternalPermissions(
+            loaded.players().getOrDefault(areaName, new HashMap<>()),
+            loaded.groups().getOrDefault(areaName, new HashMap<>()),
+            loaded.tracks().getOrDefault(areaName, new HashMap<>()));
+    }
+    
+    /**
+     * Permissions of all areas, keyed by area name, then subject name
+     */
+    public record LoadedPermissions(Map<String, Map<String, Map<String, Boolean>>> players,
+                                    Map<String, Map<String, Map<String, Boolean>>> groups,
+                                    Map<String, Map<String, Map<String, Boolean>>> tracks) {
+    }
+    
     /**
      * Check if the operation is only modifying permissions which shouldn't trigger area recreation
      * Permission operations use a separate database and should not cause area recreation
@@ -684,9 +611,7 @@ public class PermissionOverrideManager implements AutoCloseable {
             // If we're called from an Area class with a permission method
             if (className.contains("Area") && 
                 (methodName.contains("Permission") || methodName.contains("permission"))) {
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Detected permission-only operation from " + className + "." + methodName);
-                }
+                logger.debug("Detected permission-only operation from %s.%s", className, methodName);
                 return true;
             }
         }
@@ -704,9 +629,7 @@ public class PermissionOverrideManager implements AutoCloseable {
                  methodName.startsWith("synchronize"))) {
                 
                 // If we're directly in a permission method, this is a permission-only operation
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Detected permission operation from method: " + className + "." + methodName);
-                }
+                logger.debug("Detected permission operation from method: %s.%s", className, methodName);
                 return true;
             }
             
@@ -731,32 +654,26 @@ public class PermissionOverrideManager implements AutoCloseable {
             return;
         }
         
-        if (plugin.isDebugMode()) {
-            plugin.debug("Starting permission synchronization on save for area: " + area.getName());
-        }
+        logger.debug("Starting permission synchronization on save for area: %s", area.getName());
         
         // We only want to save permissions to the database here
         try {
             // Check if this is a permission-only operation that shouldn't cause area recreation
             boolean permissionOnly = isPermissionOnlyOperation();
-            if (permissionOnly && plugin.isDebugMode()) {
-                plugin.debug("Detected permission-only operation - will skip area recreation");
+            if (permissionOnly) {
+                logger.debug("Detected permission-only operation - will skip area recreation");
             }
             
             synchronizePermissions(area, SyncDirection.TO_DATABASE);
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Successfully synchronized permissions to database for area: " + area.getName());
-            }
+            logger.debug("Successfully synchronized permissions to database for area: %s", area.getName());
         } catch (DatabaseException e) {
             // Log the error but don't throw it - we don't want to fail the main area save operation
             logger.error("Failed to synchronize permissions on save for area: " + area.getName(), e);
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("ERROR: Failed to synchronize permissions for area: " + area.getName());
-                plugin.debug("  Error: " + e.getMessage());
-                plugin.debug("  Will attempt to force flush the permissions to ensure persistence");
-            }
+            logger.debug("ERROR: Failed to synchronize permissions for area: %s", area.getName());
+            logger.debug("  Error: %s", e.getMessage());
+            logger.debug("  Will attempt to force flush the permissions to ensure persistence");
             
             // Try to force flush the permissions
             try {
@@ -783,17 +700,13 @@ public class PermissionOverrideManager implements AutoCloseable {
         Set<String> processingSet = PROCESSING_PERMISSIONS.get();
         
         if (processingSet.contains(syncKey)) {
-            if (plugin.isDebugMode()) {
-                plugin.debug("Preventing recursive permission synchronization for area " + areaName + " (direction: " + direction + ")");
-            }
+            logger.debug("Preventing recursive permission synchronization for area %s (direction: %s)", areaName, direction);
             return; // Skip the synchronization to prevent recursive loop
         }
         
         processingSet.add(syncKey);
         try {
-            if (plugin.isDebugMode()) {
-                plugin.debug("Synchronizing permissions for area " + areaName + " (direction: " + direction + ")");
-            }
+            logger.debug("Synchronizing permissions for area %s (direction: %s)", areaName, direction);
             
             // Track errors for error reporting
             List<String> errors = new ArrayList<>();
@@ -804,11 +717,10 @@ public class PermissionOverrideManager implements AutoCloseable {
                     Map<String, Map<String, Boolean>> existingPlayerPerms = area.getInternalPlayerPermissions();
                     boolean hasExistingPermissions = existingPlayerPerms != null && !existingPlayerPerms.isEmpty();
                     
-                    if (hasExistingPermissions && plugin.isDebugMode()) {
-                        plugin.debug("  Area has existing player permissions in memory before database sync: " + 
-                                   existingPlayerPerms.size() + " players");
+                    if (hasExistingPermissions && logger.isDebugEnabled()) {
+                        logger.debug("  Area has existing player permissions in memory before database sync: %s players", existingPlayerPerms.size());
                         for (Map.Entry<String, Map<String, Boolean>> entry : existingPlayerPerms.entrySet()) {
-                            plugin.debug("    Player " + entry.getKey() + ": " + entry.getValue().size() + " permissions");
+                            logger.debug("    Player %s: %s permissions", entry.getKey(), entry.getValue().size());
                         }
                     }
                     
@@ -817,16 +729,13 @@ public class PermissionOverrideManager implements AutoCloseable {
                     Map<String, Map<String, Boolean>> groupPermissions = getAllGroupPermissions(areaName);
                     Map<String, Map<String, Boolean>> trackPermissions = getAllTrackPermissions(areaName);
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("  Loaded from database: " +
-                            playerPermissions.size() + " player entries, " +
-                            groupPermissions.size() + " group entries, " +
-                            trackPermissions.size() + " track entries");
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("  Loaded from database: %s player entries, %s group entries, %s track entries", playerPermissions.size(), groupPermissions.size(), trackPermissions.size());
                         
                         if (!playerPermissions.isEmpty()) {
-                            plugin.debug("  Player permissions detail:");
+                            logger.debug("  Player permissions detail:");
                             for (Map.Entry<String, Map<String, Boolean>> entry : playerPermissions.entrySet()) {
-                                plugin.debug("    Player " + entry.getKey() + ": " + entry.getValue().size() + " permissions");
+                                logger.debug("    Player %s: %s permissions", entry.getKey(), entry.getValue().size());
                             }
                         }
                     }
@@ -834,9 +743,8 @@ public class PermissionOverrideManager implements AutoCloseable {
                     // If we got empty player permissions from the database but we have in-memory data,
                     // don't overwrite with empty data - this is critical to prevent permission loss
                     if (playerPermissions.isEmpty() && hasExistingPermissions) {
-                        if (plugin.isDebugMode()) {
-                            plugin.debug("  Database returned empty player permissions but area has " + 
-                                       existingPlayerPerms.size() + " players in memory - keeping memory data");
+                        if (logger.isDebugEnabled()) {
+                            logger.debug("  Database returned empty player permissions but area has %s players in memory - keeping memory data", existingPlayerPerms.size());
                             
                             // Verify from database directly to see if this is a real issue
                             try {
@@ -847,19 +755,17 @@ public class PermissionOverrideManager implements AutoCloseable {
                                     ResultSet rs = stmt.executeQuery();
                                     if (rs.next()) {
                                         int count = rs.getInt(1);
-                                        plugin.debug("  Direct database query found " + count + 
-                                                   " player permission entries for area " + areaName);
+                                        logger.debug("  Direct database query found %s player permission entries for area %s", count, areaName);
                                         
                                         if (count > 0) {
-                                            plugin.debug("  WARNING: Database has permissions but loader returned empty map!" +
-                                                       " This could indicate a database loading issue");
+                                            logger.debug("  WARNING: Database has permissions but loader returned empty map! This could indicate a database loading issue");
                                         }
                                     }
                                     rs.close();
                                 }
                                 conn.close();
                             } catch (Exception e) {
-                                plugin.debug("  Failed to perform direct database check: " + e.getMessage());
+                                logger.debug("  Failed to perform direct database check: %s", e.getMessage());
                             }
                         }
                         
@@ -870,17 +776,17 @@ public class PermissionOverrideManager implements AutoCloseable {
                     // Update area's permissions in a single call to avoid multiple invalidations
                     area.updateInternalPermissions(playerPermissions, groupPermissions, trackPermissions);
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("  Successfully updated area object with permissions");
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("  Successfully updated area object with permissions");
                         // Verify permissions were actually updated
                         Map<String, Map<String, Boolean>> verifiedPerms = area.getInternalPlayerPermissions();
                         if (verifiedPerms != null) {
-                            plugin.debug("  Verified area now has " + verifiedPerms.size() + " player permissions");
+                            logger.debug("  Verified area now has %s player permissions", verifiedPerms.size());
                             for (Map.Entry<String, Map<String, Boolean>> entry : verifiedPerms.entrySet()) {
-                                plugin.debug("    Player " + entry.getKey() + ": " + entry.getValue().size() + " permissions");
+                                logger.debug("    Player %s: %s permissions", entry.getKey(), entry.getValue().size());
                             }
                         } else {
-                            plugin.debug("  WARNING: Area still has null player permissions after update!");
+                            logger.debug("  WARNING: Area still has null player permissions after update!");
                         }
                     }
                 } catch (Exception e) {
@@ -888,10 +794,8 @@ public class PermissionOverrideManager implements AutoCloseable {
                     logger.error(error, e);
                     errors.add(error);
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("  " + error);
-                        plugin.debug("  Error details: " + e.toString());
-                    }
+                    logger.debug("  %s", error);
+                    logger.debug("  Error details: %s", e);
                 }
             }
             
@@ -907,7 +811,7 @@ public class PermissionOverrideManager implements AutoCloseable {
                     // Get track permissions from the area
                     Map<String, Map<String, Boolean>> trackPermissions = area.getTrackPermissions();
                     
-                    if (plugin.isDebugMode()) {
+                    if (logger.isDebugEnabled()) {
                         int playerEntries = 0;
                         int groupEntries = 0;
                         int trackEntries = 0;
@@ -924,16 +828,16 @@ public class PermissionOverrideManager implements AutoCloseable {
                             trackEntries += perms.size();
                         }
                         
-                        plugin.debug("  Saving to database: " +
+                        logger.debug("  Saving to database: " +
                             playerPermissions.size() + " players (" + playerEntries + " total permissions), " +
                             groupPermissions.size() + " groups (" + groupEntries + " total permissions), " +
                             trackPermissions.size() + " tracks (" + trackEntries + " total permissions)");
                         
                         // FIX: Log more details about player permissions
                         if (!playerPermissions.isEmpty()) {
-                            plugin.debug("  Player permissions detail for database save:");
+                            logger.debug("  Player permissions detail for database save:");
                             for (Map.Entry<String, Map<String, Boolean>> entry : playerPermissions.entrySet()) {
-                                plugin.debug("    Player " + entry.getKey() + ": " + entry.getValue().size() + " permissions");
+                                logger.debug("    Player %s: %s permissions", entry.getKey(), entry.getValue().size());
                             }
                         }
                     }
@@ -951,9 +855,7 @@ public class PermissionOverrideManager implements AutoCloseable {
                             logger.error(error, e);
                             errors.add(error);
                             
-                            if (plugin.isDebugMode()) {
-                                plugin.debug("  " + error);
-                            }
+                            logger.debug("  %s", error);
                         }
                     }
                     
@@ -967,9 +869,7 @@ public class PermissionOverrideManager implements AutoCloseable {
                             logger.error(error, e);
                             errors.add(error);
                             
-                            if (plugin.isDebugMode()) {
-                                plugin.debug("  " + error);
-                            }
+                            logger.debug("  %s", error);
                         }
                     }
                     
@@ -983,18 +883,14 @@ public class PermissionOverrideManager implements AutoCloseable {
                             logger.error(error, e);
                             errors.add(error);
                             
-                            if (plugin.isDebugMode()) {
-                                plugin.debug("  " + error);
-                            }
+                            logger.debug("  %s", error);
                         }
                     }
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("  Successfully saved " + successCount + " permission entries to database");
-                        plugin.debug("  Forcing database checkpoint to ensure persistence");
-                    }
+                    logger.debug("  Successfully saved %s permission entries to database", successCount);
+                    logger.debug("  Committing queued writes to ensure persistence");
                     
-                    // Force WAL checkpoint to ensure changes are persisted
+                    // Commit queued writes; the WAL is checkpointed in the background
                     databaseManager.forceWalCheckpoint();
                     
                     // Invalidate cache to ensure we get fresh data next time
@@ -1004,9 +900,7 @@ public class PermissionOverrideManager implements AutoCloseable {
                     logger.error(error, e);
                     errors.add(error);
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("  " + error);
-                    }
+                    logger.debug("  %s", error);
                 }
             }
             
@@ -1046,9 +940,7 @@ public class PermissionOverrideManager implements AutoCloseable {
                 try {
                     synchronizePermissions(area, SyncDirection.TO_DATABASE);
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Synchronized permissions from area " + area.getName() + " to database");
-                    }
+                    logger.debug("Synchronized permissions from area %s to database", area.getName());
                 } catch (DatabaseException e) {
                     plugin.getLogger().error("Failed to synchronize permissions from area " + area.getName(), e);
                 }
@@ -1091,6 +983,13 @@ public class PermissionOverrideManager implements AutoCloseable {
     /**
      * Get areas that have permissions for a group
      */
+    /**
+     * Check whether an area has any group permissions
+     */
+    public boolean hasGroupPermissions(String areaName) {
+        return databaseManager.groupPermissionsExist(areaName);
+    }
+    
     public List<String> getAreasWithGroupPermissions(String groupName) {
         if (groupName == null) {
             return Collections.emptyList();
@@ -1099,7 +998,7 @@ public class PermissionOverrideManager implements AutoCloseable {
         try {
             return databaseManager.getAreasWithGroupPermissions(groupName);
         } catch (DatabaseException e) {
-            logger.error("Failed to get areas with group permissions for {}", groupName, e);
+            logger.error("Failed to get areas with group permissions for " + groupName, e);
             return Collections.emptyList();
         }
     }
@@ -1115,7 +1014,7 @@ public class PermissionOverrideManager implements AutoCloseable {
         try {
             return databaseManager.getAreasWithTrackPermissions(trackName);
         } catch (DatabaseException e) {
-            logger.error("Failed to get areas with track permissions for {}", trackName, e);
+            logger.error("Failed to get areas with track permissions for " + trackName, e);
             return Collections.emptyList();
         }
     }
@@ -1135,15 +1034,20 @@ public class PermissionOverrideManager implements AutoCloseable {
     public Connection getConnection() throws SQLException {
         return databaseManager.getConnection();
     }
+
+    /**
+     * Gets the checkpoint manager for the permission database
+     */
+    public WalCheckpointManager getCheckpointManager() {
+        return databaseManager.getCheckpointManager();
+    }
     
     /**
      * Saves all permissions to the database
      * This iterates through all areas and ensures their permissions are synchronized
      */
     public void saveAllPermissions() {
-        if (plugin.isDebugMode()) {
-            plugin.debug("Starting to save all permission overrides to the database...");
-        }
+        logger.debug("Starting to save all permission overrides to the database...");
         
         int success = 0;
         int failure = 0;
@@ -1153,57 +1057,41 @@ public class PermissionOverrideManager implements AutoCloseable {
             // Get all areas
             List<Area> allAreas = plugin.getAreaManager().getAllAreas();
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Found " + allAreas.size() + " areas to process");
-            }
+            logger.debug("Found %s areas to process", allAreas.size());
             
             // Process each area
             for (Area area : allAreas) {
                 String areaName = area.getName();
                 
                 try {
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Synchronizing permissions for area: " + areaName);
-                    }
+                    logger.debug("Synchronizing permissions for area: %s", areaName);
                     
                     synchronizePermissions(area, SyncDirection.TO_DATABASE);
                     success++;
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Successfully synchronized permissions for area: " + areaName);
-                    }
+                    logger.debug("Successfully synchronized permissions for area: %s", areaName);
                 } catch (Exception e) {
                     failure++;
                     failedAreas.add(areaName);
                     logger.error("Failed to save permissions for area: " + areaName, e);
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Failed to synchronize permissions for area: " + areaName);
-                        plugin.debug("  Error: " + e.getMessage());
-                    }
+                    logger.debug("Failed to synchronize permissions for area: %s", areaName);
+                    logger.debug("  Error: %s", e.getMessage());
                 }
             }
             
-            // Force a checkpoint to ensure all changes are written
+            // Request a checkpoint now that the whole save has been queued
             try {
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Forcing final database checkpoint to ensure persistence");
-                }
-                
                 databaseManager.checkpoint();
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Checkpoint completed successfully");
-                }
+                logger.debug("Requested database checkpoint after permission save");
             } catch (Exception e) {
                 logger.error("Failed to perform final database checkpoint", e);
                 
-                if (plugin.isDebugMode()) {
-                    plugin.debug("Failed to perform final checkpoint: " + e.getMessage());
-                }
+                logger.debug("Failed to perform final checkpoint: %s", e.getMessage());
             }
             
-            if (plugin.isDebugMode() || success > 0 || failure > 0) {
+            if (logger.isDebugEnabled() || success > 0 || failure > 0) {
                 String message = String.format("Permission save complete: %d areas successful, %d areas failed", 
                     success, failure);
                 
@@ -1211,18 +1099,12 @@ public class PermissionOverrideManager implements AutoCloseable {
                     message += " (Failed areas: " + String.join(", ", failedAreas) + ")";
                 }
                 
-                logger.info(message);
-                
-                if (plugin.isDebugMode()) {
-                    plugin.debug(message);
-                }
+                logger.info("%s", message);
             }
         } catch (Exception e) {
             logger.error("Failed to save all permission overrides", e);
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Critical error during permission save: " + e.getMessage());
-            }
+            logger.debug("Critical error during permission save: %s", e.getMessage());
         }
     }
     
@@ -1232,12 +1114,10 @@ public class PermissionOverrideManager implements AutoCloseable {
      */
     public void forceFlushPermissions() {
         try {
-            // Run a WAL checkpoint to ensure changes are written to the main database file
-            databaseManager.checkpoint();
+            // Commit queued writes and let the checkpoint manager fold the WAL into the main file
+            databaseManager.forceWalCheckpoint();
             
-            if (plugin.isDebugMode()) {
-                plugin.debug("Forced permission database checkpoint to ensure changes are persisted");
-            }
+            logger.debug("Flushed permission writes to ensure changes are persisted");
         } catch (Exception e) {
             logger.error("Failed to force flush permissions to disk", e);
         }
@@ -1265,7 +1145,7 @@ public class PermissionOverrideManager implements AutoCloseable {
             // Repopulate the database with permissions from all areas
             for (Area area : plugin.getAreaManager().getAllAreas()) {
                 try {
-                    logger.info("Repopulating permissions for area: " + area.getName());
+                    logger.info("Repopulating permissions for area: %s", area.getName());
                     synchronizePermissions(area, SyncDirection.TO_DATABASE);
                 } catch (Exception e) {
                     logger.error("Failed to repopulate permissions for area: " + area.getName(), e);
@@ -1436,9 +1316,7 @@ public class PermissionOverrideManager implements AutoCloseable {
             return null;
         }
         
-        if (plugin.isDebugMode()) {
-            plugin.debug("Getting player permissions directly from database for area: " + areaName);
-        }
+        logger.debug("Getting player permissions directly from database for area: %s", areaName);
         
         try {
             return databaseManager.getAllPlayerPermissions(areaName);
@@ -1449,7 +1327,7 @@ public class PermissionOverrideManager implements AutoCloseable {
     }
     
     /**
-     * Forces WAL checkpoint to ensure changes are written to disk
+     * Commits queued permission writes and requests a WAL checkpoint
      * This is useful when making critical permission changes
      */
     public void forceWalCheckpoint() throws DatabaseException {
@@ -1458,6 +1336,22 @@ public class PermissionOverrideManager implements AutoCloseable {
         }
     }
     
+    /**
+     * Blocks until all queued permission writes are committed
+     */
+    public void flushPendingWrites() {
+        if (databaseManager != null) {
+            databaseManager.flushPendingWrites();
+        }
+    }
+    
+    /**
+     * Gets the write-behind queue of the permission database
+     */
+    public WriteBehindQueue<?> getWriteQueue() {
+        return databaseManager.getWriteQueue();
+    }
+    
     @Override
     public void close() {
         isShuttingDown.set(true);
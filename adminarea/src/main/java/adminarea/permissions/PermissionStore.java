@@ -0,0 +1,193 @@
+package adminarea.permissions;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of the permission tables.
+ * Every player, group and track permission set is held here, keyed by area and subject.
+ * The tables are small, so they are loaded whole at startup and reads never go to the
+ * database; writes update the store first and are then queued for the database, which
+ * only keeps the durable copy. Permission sets are stored as immutable maps with shared
+ * permission name strings to keep the footprint small, and are handed out as they are
+ * stored, so reads do not allocate.
+ */
+class PermissionStore {
+
+    /**
+     * The permission table a set belongs to
+     */
+    enum Kind {
+        PLAYER,
+        GROUP,
+        TRACK
+    }
+
+    // Kind -> area name -> subject name -> permission set
+    private final Map<Kind, Map<String, Map<String, Map<String, Boolean>>>> tables = new EnumMap<>(Kind.class);
+
+    // Canonical permission name strings shared by all sets; names no set uses any more are collected
+    private final Interner<String> names = Interners.newWeakInterner();
+
+    PermissionStore() {
+        for (Kind kind : Kind.values()) {
+            tables.put(kind, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Replaces the contents of one table
+     *
+     * @param byArea Permission sets keyed by area name, then subject name
+     */
+    void load(Kind kind, Map<String, Map<String, Map<String, Boolean>>> byArea) {
+        Map<String, Map<String, Map<String, Boolean>>> table = tables.get(kind);
+        table.clear();
+        for (Map.Entry<String, Map<String, Map<String, Boolean>>> area : byArea.entrySet()) {
+            for (Map.Entry<String, Map<String, Boolean>> subject : area.getValue().entrySet()) {
+                put(kind, area.getKey(), subject.getKey(), subject.getValue());
+            }
+        }
+    }
+
+    /**
+     * Gets one subject's permissions as an unmodifiable map, empty if it has none
+     */
+    Map<String, Boolean> get(Kind kind, String areaName, String subject) {
+        Map<String, Map<String, Boolean>> subjects = tables.get(kind).get(areaName);
+        Map<String, Boolean> permissions = subjects != null ? subjects.get(subject) : null;
+        return permissions != null ? permissions : Map.of();
+    }
+
+    /**
+     * Stores one subject's permissions; an empty set removes the subject.
+     * Entries with a null name or value are not stored, so they read as not set.
+     *
+     * @return The unmodifiable set as stored, empty if the subject was removed
+     */
+    Map<String, Boolean> put(Kind kind, String areaName, String subject, Map<String, Boolean> permissions) {
+        Map<String, Boolean> compact = new HashMap<>(permissions.size() * 2);
+        for (Map.Entry<String, Boolean> entry : permissions.entrySet()) {
+            if (entry.getKey() != null && entry.getValue() != null) {
+                compact.put(names.intern(entry.getKey()), entry.getValue());
+            }
+        }
+        if (compact.isEmpty()) {
+            remove(kind, areaName, subject);
+            return Map.of();
+        }
+        Map<String, Boolean> stored = Map.copyOf(compact);
+        // Inside compute, so a concurrent remove cannot unlink the area's map while we add to it
+        tables.get(kind).compute(areaName, (k, subjects) -> {
+            if (subjects == null) {
+                subjects = new ConcurrentHashMap<>();
+            }
+            subjects.put(subject, stored);
+            return subjects;
+        });
+        return stored;
+    }
+
+    /**
+     * Removes one subject's permissions
+     */
+    void remove(Kind kind, String areaName, String subject) {
+        tables.get(kind).computeIfPresent(areaName, (k, subjects) -> {
+            subjects.remove(subject);
+            return subjects.isEmpty() ? null : subjects;
+        });
+    }
+
+    /**
+     * Gets a copy of all permission sets of one kind in an area
+     */
+    Map<String, Map<String, Boolean>> getArea(Kind kind, String areaName) {
+        return copy(tables.get(kind).get(areaName));
+    }
+
+    /**
+     * Gets a copy of all permission sets of one kind, keyed by area name
+     */
+    Map<String, Map<String, Map<String, Boolean>>> getAll(Kind kind) {
+        Map<String, Map<String, Map<String, Boolean>>> all = new HashMap<>();
+        for (Map.Entry<String, Map<String, Map<String, Boolean>>> entry : tables.get(kind).entrySet()) {
+            all.put(entry.getKey(), copy(entry.getValue()));
+        }
+        return all;
+    }
+
+    /**
+     * Checks whether an area has any permission sets of one kind
+     */
+    boolean hasArea(Kind kind, String areaName) {
+        return tables.get(kind).containsKey(areaName);
+    }
+
+    /**
+     * Gets the areas in which a subject has permissions
+     */
+    List<String> getAreasWithSubject(Kind kind, String subject) {
+        List<String> areas = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Map<String, Boolean>>> entry : tables.get(kind).entrySet()) {
+            if (entry.getValue().containsKey(subject)) {
+                areas.add(entry.getKey());
+            }
+        }
+        return areas;
+    }
+
+    /**
+     * Removes every permission set of an area
+     */
+    void removeArea(String areaName) {
+        for (Map<String, Map<String, Map<String, Boolean>>> table : tables.values()) {
+            table.remove(areaName);
+        }
+    }
+
+    /**
+     * Moves every permission set of an area to a new area name
+     */
+    void renameArea(String oldName, String newName) {
+        for (Map<String, Map<String, Map<String, Boolean>>> table : tables.values()) {
+            Map<String, Map<String, Boolean>> subjects = table.remove(oldName);
+            if (subjects != null) {
+                table.put(newName, subjects);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of stored permission sets of one kind
+     */
+    int size(Kind kind) {
+        int size = 0;
+        for (Map<String, Map<String, Boolean>> subjects : tables.get(kind).values()) {
+            size += subjects.size();
+        }
+        return size;
+    }
+
+    void clear() {
+        for (Map<String, Map<String, Map<String, Boolean>>> table : tables.values()) {
+            table.clear();
+        }
+    }
+
+    private static Map<String, Map<String, Boolean>> copy(Map<String, Map<String, Boolean>> subjects) {
+        Map<String, Map<String, Boolean>> copy = new HashMap<>();
+        if (subjects != null) {
+            for (Map.Entry<String, Map<String, Boolean>> entry : subjects.entrySet()) {
+                copy.put(entry.getKey(), new HashMap<>(entry.getValue()));
+            }
+        }
+        return copy;
+    }
+}
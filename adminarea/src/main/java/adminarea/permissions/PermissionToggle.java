@@ -1,7 +1,11 @@
 package adminarea.permissions;
 
 import adminarea.AdminAreaProtectionPlugin;
+import adminarea.logging.DebugCategory;
+import adminarea.util.CacheRegistry;
+import adminarea.util.Logger;
 import adminarea.util.PerformanceMonitor;
+import adminarea.util.SqliteDatabase;
 import adminarea.util.ValidationUtils;
 import io.micrometer.core.instrument.Timer;
 import cn.nukkit.form.element.ElementToggle;
@@ -26,7 +30,9 @@ import com.google.gson.reflect.TypeToken;
  */
 public class PermissionToggle implements AutoCloseable {
     private final AdminAreaProtectionPlugin plugin;
-    private Connection dbConnection;
+    private final Logger logger;
+    // Writes are serialized on the database's writer thread
+    private SqliteDatabase database;
     private final Map<String, Map<String, Boolean>> playerToggles;
     private final Map<String, Map<String, Boolean>> groupToggles;
     private final Map<String, Set<String>> groupMembership;
@@ -47,7 +53,8 @@ public class PermissionToggle implements AutoCloseable {
     // Constructor for form toggle usage - remove SQLException
     public PermissionToggle(String displayName, String permissionNode, boolean defaultValue, Category category) {
         this.plugin = null; // Not needed for form toggles
-        this.dbConnection = null; // Remove database connection for form toggles
+        this.logger = null;
+        this.database = null; // Remove database connection for form toggles
         this.displayName = displayName;
         this.permissionNode = permissionNode;
         this.defaultValue = defaultValue;
@@ -66,63 +73,64 @@ public class PermissionToggle implements AutoCloseable {
     // Original constructor for permission management
     public PermissionToggle(AdminAreaProtectionPlugin plugin) throws SQLException {
         this.plugin = plugin;
+        this.logger = new Logger(plugin, DebugCategory.PERMISSIONS, "PermissionToggle");
         this.playerToggles = new ConcurrentHashMap<>();
         this.groupToggles = new ConcurrentHashMap<>();
         this.groupMembership = new ConcurrentHashMap<>();
         this.defaultToggles = new ConcurrentHashMap<>();
         this.scheduler = Executors.newScheduledThreadPool(1);
         this.toggleCache = new Cache<>(CACHE_SIZE, CACHE_DURATION);
+        plugin.getPerformanceMonitor().getCacheRegistry().register("toggle_states", toggleCache.map, toggleCache.counters);
         this.backupPath = plugin.getDataFolder().toPath().resolve("toggle_backups");
         this.displayName = null; // Not needed for permission management
         this.permissionNode = null; // Not needed for permission management
         this.defaultValue = false; // Not needed for permission management
         this.category = null; // Not needed for permission management
         
-        Path dbPath = plugin.getDataFolder().toPath().resolve(DB_FILE);
-        this.dbConnection = DriverManager.getConnection("jdbc:sqlite:" + dbPath);
+        this.database = plugin.getStorage().open(DB_FILE);
         initializeDatabase();
         loadDefaultToggles();
         setupScheduledTasks();
     }
 
     private void initializeDatabase() throws SQLException {
-        Path dbPath = plugin.getDataFolder().toPath().resolve(DB_FILE);
-        dbConnection = DriverManager.getConnection("jdbc:sqlite:" + dbPath);
-    
-    try (Statement stmt = dbConnection.createStatement()) {
-        // Create tables
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS player_toggles (
-                player_id TEXT NOT NULL,
-                permission TEXT NOT NULL,
-                state BOOLEAN NOT NULL,
-                last_modified TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                PRIMARY KEY (player_id, permission)
-            )
-        """);
-        
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS group_toggles (
-                group_id TEXT NOT NULL,
-                permission TEXT NOT NULL,
-                state BOOLEAN NOT NULL,
-                last_modified TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                PRIMARY KEY (group_id, permission)
-            )
-        """);
-        
-        stmt.execute("""
-            CREATE TABLE IF NOT EXISTS group_membership (
-                player_id TEXT NOT NULL,
-                group_id TEXT NOT NULL,
-                PRIMARY KEY (player_id, group_id)
-            )
-        """);
-        
-        // Initialize default toggles after table creation
-        initializeDefaultToggles();
+        database.write(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                // Create tables
+                stmt.execute("""
+                    CREATE TABLE IF NOT EXISTS player_toggles (
+                        player_id TEXT NOT NULL,
+                        permission TEXT NOT NULL,
+                        state BOOLEAN NOT NULL,
+                        last_modified TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                        PRIMARY KEY (player_id, permission)
+                    )
+                """);
+        
+                stmt.execute("""
+                    CREATE TABLE IF NOT EXISTS group_toggles (
+                        group_id TEXT NOT NULL,
+                        permission TEXT NOT NULL,
+                        state BOOLEAN NOT NULL,
+                        last_modified TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                        PRIMARY KEY (group_id, permission)
+                    )
+                """);
+        
+                stmt.execute("""
+                    CREATE TABLE IF NOT EXISTS group_membership (
+                        player_id TEXT NOT NULL,
+                        group_id TEXT NOT NULL,
+                        PRIMARY KEY (player_id, group_id)
+                    )
+                """);
+        
+                // Initialize default toggles after table creation
+                initializeDefaultToggles();
+            }
+            return null;
+        });
     }
-}
 
 /**
  * Initialize default toggle values in the database
@@ -130,44 +138,43 @@ public class PermissionToggle implements AutoCloseable {
  */
 private void initializeDefaultToggles() {
     try {
-        // Check if we need to initialize the default toggles (only on first run)
-        try (PreparedStatement stmt = dbConnection.prepareStatement(
-                "SELECT COUNT(*) FROM group_toggles WHERE group_id = 'default'")) {
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next() && rs.getInt(1) == 0) {
-                // No default toggles exist, initialize them all
-                for (PermissionToggle toggle : getDefaultToggles()) {
-                    String permissionNode = toggle.getPermissionNode();
-                    // Ensure the permission node has the proper prefix
-                    if (!permissionNode.startsWith("gui.permissions.toggles.")) {
-                        permissionNode = "gui.permissions.toggles." + permissionNode;
-                    }
+        database.write(conn -> {
+            // Check if we need to initialize the default toggles (only on first run)
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT COUNT(*) FROM group_toggles WHERE group_id = 'default'")) {
+                ResultSet rs = stmt.executeQuery();
+                if (rs.next() && rs.getInt(1) == 0) {
+                    // No default toggles exist, initialize them all
+                    for (PermissionToggle toggle : getDefaultToggles()) {
+                        String permissionNode = toggle.getPermissionNode();
+                        // Ensure the permission node has the proper prefix
+                        if (!permissionNode.startsWith("gui.permissions.toggles.")) {
+                            permissionNode = "gui.permissions.toggles." + permissionNode;
+                        }
                     
-                    try (PreparedStatement insertStmt = dbConnection.prepareStatement(
-                            "INSERT OR IGNORE INTO group_toggles (group_id, permission, state) VALUES ('default', ?, ?)")) {
-                        insertStmt.setString(1, permissionNode);
-                        insertStmt.setBoolean(2, toggle.getDefaultValue());
-                        insertStmt.executeUpdate();
+                        try (PreparedStatement insertStmt = conn.prepareStatement(
+                                "INSERT OR IGNORE INTO group_toggles (group_id, permission, state) VALUES ('default', ?, ?)")) {
+                            insertStmt.setString(1, permissionNode);
+                            insertStmt.setBoolean(2, toggle.getDefaultValue());
+                            insertStmt.executeUpdate();
                         
-                        if (plugin.isDebugMode()) {
-                            plugin.debug("Initialized default toggle: " + permissionNode + " = " + toggle.getDefaultValue());
+                            logger.debug("Initialized default toggle: %s = %s", permissionNode, toggle.getDefaultValue());
                         }
                     }
-                }
                 
-                // Explicitly ensure showEffectMessages is included
-                try (PreparedStatement insertStmt = dbConnection.prepareStatement(
-                        "INSERT OR IGNORE INTO group_toggles (group_id, permission, state) VALUES ('default', ?, ?)")) {
-                    insertStmt.setString(1, "gui.permissions.toggles.showEffectMessages");
-                    insertStmt.setBoolean(2, true);
-                    insertStmt.executeUpdate();
+                    // Explicitly ensure showEffectMessages is included
+                    try (PreparedStatement insertStmt = conn.prepareStatement(
+                            "INSERT OR IGNORE INTO group_toggles (group_id, permission, state) VALUES ('default', ?, ?)")) {
+                        insertStmt.setString(1, "gui.permissions.toggles.showEffectMessages");
+                        insertStmt.setBoolean(2, true);
+                        insertStmt.executeUpdate();
                     
-                    if (plugin.isDebugMode()) {
-                        plugin.debug("Explicitly initialized showEffectMessages toggle in database with default value: true");
+                        logger.debug("Explicitly initialized showEffectMessages toggle in database with default value: true");
                     }
                 }
             }
-        }
+            return null;
+        });
     } catch (SQLException e) {
         plugin.getLogger().error("Failed to initialize default toggles", e);
     }
@@ -195,13 +202,15 @@ private void initializeDefaultToggles() {
             
             try {
                 // Update database
-                try (PreparedStatement stmt = dbConnection.prepareStatement(
-                    "INSERT OR REPLACE INTO player_toggles (player_id, permission, state) VALUES (?, ?, ?)")) {
-                    stmt.setString(1, playerId);
-                    stmt.setString(2, permission);
-                    stmt.setBoolean(3, state);
-                    stmt.executeUpdate();
-                }
+                database.write(conn -> {
+                    try (PreparedStatement stmt = conn.prepareStatement(
+                        "INSERT OR REPLACE INTO player_toggles (player_id, permission, state) VALUES (?, ?, ?)")) {
+                        stmt.setString(1, playerId);
+                        stmt.setString(2, permission);
+                        stmt.setBoolean(3, state);
+                        return stmt.executeUpdate();
+                    }
+                });
                 
                 // Update cache
                 playerToggles.computeIfAbsent(playerId, k -> new ConcurrentHashMap<>())
@@ -228,13 +237,15 @@ private void initializeDefaultToggles() {
             
             try {
                 // Update database
-                try (PreparedStatement stmt = dbConnection.prepareStatement(
-                    "INSERT OR REPLACE INTO group_toggles (group_id, permission, state) VALUES (?, ?, ?)")) {
-                    stmt.setString(1, groupId);
-                    stmt.setString(2, permission);
-                    stmt.setBoolean(3, state);
-                    stmt.executeUpdate();
-                }
+                database.write(conn -> {
+                    try (PreparedStatement stmt = conn.prepareStatement(
+                        "INSERT OR REPLACE INTO group_toggles (group_id, permission, state) VALUES (?, ?, ?)")) {
+                        stmt.setString(1, groupId);
+                        stmt.setString(2, permission);
+                        stmt.setBoolean(3, state);
+                        return stmt.executeUpdate();
+                    }
+                });
                 
                 // Update cache
                 groupToggles.computeIfAbsent(groupId, k -> new ConcurrentHashMap<>())
@@ -328,60 +339,63 @@ private void initializeDefaultToggles() {
      */
     private void ensureCriticalTogglesExist() {
         try {
-            // Get a list of all defined toggles
-            List<PermissionToggle> allToggles = getDefaultToggles();
+            // Checks and inserts run as one transaction on the writer thread
+            database.write(conn -> {
+                // Get a list of all defined toggles
+                List<PermissionToggle> allToggles = getDefaultToggles();
             
-            // Check if each toggle exists in the database
-            for (PermissionToggle toggle : allToggles) {
-                String toggleName = toggle.getPermissionNode();
-                // Ensure the toggle name has the proper prefix
-                if (!toggleName.startsWith("gui.permissions.toggles.")) {
-                    toggleName = "gui.permissions.toggles." + toggleName;
-                }
+                // Check if each toggle exists in the database
+                for (PermissionToggle toggle : allToggles) {
+                    String toggleName = toggle.getPermissionNode();
+                    // Ensure the toggle name has the proper prefix
+                    if (!toggleName.startsWith("gui.permissions.toggles.")) {
+                        toggleName = "gui.permissions.toggles." + toggleName;
+                    }
                 
-                // Check if this toggle exists in any group's toggles in the database
-                try (PreparedStatement stmt = dbConnection.prepareStatement(
-                    "SELECT COUNT(*) FROM group_toggles WHERE permission = ?")) {
-                    stmt.setString(1, toggleName);
-                    ResultSet rs = stmt.executeQuery();
-                    if (rs.next() && rs.getInt(1) == 0) {
-                        // Toggle doesn't exist in group_toggles, add default to default group
-                        try (PreparedStatement insertStmt = dbConnection.prepareStatement(
-                            "INSERT OR IGNORE INTO group_toggles (group_id, permission, state) VALUES ('default', ?, ?)")) {
-                            insertStmt.setString(1, toggleName);
-                            insertStmt.setBoolean(2, toggle.getDefaultValue());
-                            insertStmt.executeUpdate();
+                    // Check if this toggle exists in any group's toggles in the database
+                    try (PreparedStatement stmt = conn.prepareStatement(
+                        "SELECT COUNT(*) FROM group_toggles WHERE permission = ?")) {
+                        stmt.setString(1, toggleName);
+                        ResultSet rs = stmt.executeQuery();
+                        if (rs.next() && rs.getInt(1) == 0) {
+                            // Toggle doesn't exist in group_toggles, add default to default group
+                            try (PreparedStatement insertStmt = conn.prepareStatement(
+                                "INSERT OR IGNORE INTO group_toggles (group_id, permission, state) VALUES ('default', ?, ?)")) {
+                                insertStmt.setString(1, toggleName);
+                                insertStmt.setBoolean(2, toggle.getDefaultValue());
+                                insertStmt.executeUpdate();
                             
-                            plugin.debug("Initialized missing toggle in database: " + toggleName + 
-                                       " = " + toggle.getDefaultValue());
+                                logger.debug("Initialized missing toggle in database: %s = %s", toggleName, toggle.getDefaultValue());
+                            }
                         }
                     }
                 }
-            }
             
-            // Specifically ensure the showEffectMessages toggle exists (the toggle we're fixing)
-            String showEffectToggleName = "gui.permissions.toggles.showEffectMessages";
-            boolean defaultValue = true;
+                // Specifically ensure the showEffectMessages toggle exists (the toggle we're fixing)
+                String showEffectToggleName = "gui.permissions.toggles.showEffectMessages";
+                boolean defaultValue = true;
             
-            try (PreparedStatement stmt = dbConnection.prepareStatement(
-                "SELECT COUNT(*) FROM group_toggles WHERE permission = ?")) {
-                stmt.setString(1, showEffectToggleName);
-                ResultSet rs = stmt.executeQuery();
-                if (rs.next() && rs.getInt(1) == 0) {
-                    // showEffectMessages toggle doesn't exist in group_toggles, add it
-                    try (PreparedStatement insertStmt = dbConnection.prepareStatement(
-                        "INSERT OR IGNORE INTO group_toggles (group_id, permission, state) VALUES ('default', ?, ?)")) {
-                        insertStmt.setString(1, showEffectToggleName);
-                        insertStmt.setBoolean(2, defaultValue);
-                        insertStmt.executeUpdate();
+                try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT COUNT(*) FROM group_toggles WHERE permission = ?")) {
+                    stmt.setString(1, showEffectToggleName);
+                    ResultSet rs = stmt.executeQuery();
+                    if (rs.next() && rs.getInt(1) == 0) {
+                        // showEffectMessages toggle doesn't exist in group_toggles, add it
+                        try (PreparedStatement insertStmt = conn.prepareStatement(
+                            "INSERT OR IGNORE INTO group_toggles (group_id, permission, state) VALUES ('default', ?, ?)")) {
+                            insertStmt.setString(1, showEffectToggleName);
+                            insertStmt.setBoolean(2, defaultValue);
+                            insertStmt.executeUpdate();
                         
-                        plugin.debug("Explicitly initialized showEffectMessages toggle in database with default value: " + defaultValue);
-                    }
+                            logger.debug("Explicitly initialized showEffectMessages toggle in database with default value: %s", defaultValue);
+                        }
                     
-                    // Also add to default toggles map in memory
-                    defaultToggles.put(showEffectToggleName, defaultValue);
+                        // Also add to default toggles map in memory
+                        defaultToggles.put(showEffectToggleName, defaultValue);
+                    }
                 }
-            }
+                return null;
+            });
             
         } catch (SQLException e) {
             plugin.getLogger().error("Failed to initialize critical toggles", e);
@@ -395,11 +409,13 @@ private void initializeDefaultToggles() {
             String timestamp = LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
             Path backupFile = backupPath.resolve("toggles_" + timestamp + ".db");
             
-            // Backup database
-            try (PreparedStatement stmt = dbConnection.prepareStatement("BACKUP TO ?")) {
-                stmt.setString(1, backupFile.toString());
-                stmt.execute();
-            }
+            // Backup database on the writer so no write is in progress
+            database.execute(conn -> {
+                try (PreparedStatement stmt = conn.prepareStatement("BACKUP TO ?")) {
+                    stmt.setString(1, backupFile.toString());
+                    return stmt.execute();
+                }
+            });
             
             // Backup in-memory state
             Gson gson = new GsonBuilder().setPrettyPrinting().create();
@@ -470,7 +486,7 @@ private void initializeDefaultToggles() {
                 scheduler.shutdownNow();
             }
             backup();
-            dbConnection.close();
+            database.close();
         } catch (Exception e) {
             plugin.getLogger().error("Error closing PermissionToggle", e);
         }
@@ -736,6 +752,7 @@ private void initializeDefaultToggles() {
         private final Map<K, CacheEntry<V>> map;
         private final int maxSize;
         private final long duration;
+        private final CacheRegistry.Counters counters = new CacheRegistry.Counters();
 
         private static class CacheEntry<V> {
             final V value;
@@ -761,6 +778,7 @@ private void initializeDefaultToggles() {
                 if (it.hasNext()) {
                     it.next();
                     it.remove();
+                    counters.evicted();
                 }
             }
             map.put(key, new CacheEntry<>(value, 
@@ -770,8 +788,10 @@ private void initializeDefaultToggles() {
         V get(K key) {
             CacheEntry<V> entry = map.get(key);
             if (entry != null && System.currentTimeMillis() < entry.expiry) {
+                counters.hit();
                 return entry.value;
             }
+            counters.miss();
             map.remove(key);
             return null;
         }
@@ -782,7 +802,13 @@ private void initializeDefaultToggles() {
 
         void cleanup() {
             long now = System.currentTimeMillis();
-            map.entrySet().removeIf(entry -> now >= entry.getValue().expiry);
+            map.entrySet().removeIf(entry -> {
+                if (now >= entry.getValue().expiry) {
+                    counters.evicted();
+                    return true;
+                }
+                return false;
+            });
         }
     }
     
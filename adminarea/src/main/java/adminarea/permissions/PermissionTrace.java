@@ -0,0 +1,181 @@
+package adminarea.permissions;
+
+import adminarea.AdminAreaProtectionPlugin;
+import adminarea.area.Area;
+import adminarea.util.RingBuffer;
+import cn.nukkit.Player;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records how {@link PermissionChecker#isAllowed} reached its decisions for selected players
+ * and areas, so a single player's complaint can be investigated without turning on debug
+ * logging for every check on the server.
+ * <p>
+ * Checks for subjects that are not traced only pay a volatile read, plus a set lookup while
+ * any trace is active. Traced checks collect the layers they consulted and hand the result to
+ * a ring buffer; when it is full the oldest decision is dropped. Decisions are moved from the
+ * buffer into a history of the same size when they are viewed.
+ */
+public class PermissionTrace {
+    private final Set<String> tracedPlayers = ConcurrentHashMap.newKeySet();
+    private final Set<String> tracedAreas = ConcurrentHashMap.newKeySet();
+    private final RingBuffer<Decision> buffer;
+    private final Deque<Decision> history;
+    private final int capacity;
+    private final int sampleRate;
+    private final AtomicLong tracedChecks = new AtomicLong();
+    private volatile boolean active;
+
+    /**
+     * The layer of the permission check that decided the outcome, in the order they are consulted
+     */
+    public enum Layer {
+        NO_AREA,
+        TOGGLE_ONLY,
+        BYPASS,
+        PLAYER,
+        GROUP,
+        TRACK,
+        TOGGLE
+    }
+
+    /**
+     * One traced decision. The path lists every layer consulted before the deciding one.
+     */
+    public record Decision(long timestamp, String player, String area, String permission,
+                           Layer layer, boolean allowed, String path) {
+    }
+
+    /**
+     * Decision path of one traced check, filled in by the checker as it goes
+     */
+    static final class Path {
+        private final StringBuilder consulted = new StringBuilder();
+        private Layer layer;
+
+        void consulted(Layer layer, String result) {
+            consulted.append(layer).append('=').append(result).append(" > ");
+        }
+
+        void decided(Layer layer, String detail) {
+            this.layer = layer;
+            consulted.append(layer).append('=').append(detail);
+        }
+    }
+
+    PermissionTrace(AdminAreaProtectionPlugin plugin) {
+        this.capacity = Math.max(16, plugin.getConfigManager().getInt("permissionTrace.bufferSize", 256));
+        this.sampleRate = Math.max(1, plugin.getConfigManager().getInt("permissionTrace.sampleRate", 1));
+        this.buffer = new RingBuffer<>(capacity);
+        this.history = new ArrayDeque<>(capacity);
+    }
+
+    /**
+     * Starts or stops tracing a player
+     *
+     * @param player The player's exact name
+     * @return true if the player is traced now
+     */
+    public boolean togglePlayer(String player) {
+        return toggle(tracedPlayers, player);
+    }
+
+    /**
+     * Starts or stops tracing every check in an area
+     *
+     * @param area The area's exact name
+     * @return true if the area is traced now
+     */
+    public boolean toggleArea(String area) {
+        return toggle(tracedAreas, area);
+    }
+
+    private boolean toggle(Set<String> subjects, String name) {
+        boolean traced = subjects.add(name) || !subjects.remove(name);
+        active = !tracedPlayers.isEmpty() || !tracedAreas.isEmpty();
+        return traced;
+    }
+
+    public Set<String> getTracedPlayers() {
+        return Set.copyOf(tracedPlayers);
+    }
+
+    public Set<String> getTracedAreas() {
+        return Set.copyOf(tracedAreas);
+    }
+
+    /**
+     * Stops every trace and discards the recorded decisions
+     */
+    public void clear() {
+        tracedPlayers.clear();
+        tracedAreas.clear();
+        active = false;
+        while (buffer.poll() != null) {
+            // Discard
+        }
+        synchronized (history) {
+            history.clear();
+        }
+    }
+
+    /**
+     * Starts the path of a check if its player or area is traced and the check is sampled
+     *
+     * @return The path to fill in, or null if the check is not traced
+     */
+    Path start(Player player, Area area) {
+        if (!active) {
+            return null;
+        }
+        boolean traced = (player != null && tracedPlayers.contains(player.getName()))
+            || (area != null && tracedAreas.contains(area.getName()));
+        if (!traced || (sampleRate > 1 && tracedChecks.incrementAndGet() % sampleRate != 0)) {
+            return null;
+        }
+        return new Path();
+    }
+
+    void record(Player player, Area area, String permission, Path path, boolean allowed) {
+        Decision decision = new Decision(System.currentTimeMillis(),
+            player != null ? player.getName() : null,
+            area != null ? area.getName() : null,
+            permission, path.layer, allowed, path.consulted.toString());
+        // Drop the oldest decision to make room; another thread may take the slot first
+        while (!buffer.offer(decision)) {
+            buffer.poll();
+        }
+    }
+
+    /**
+     * Gets the most recent decisions, newest first
+     *
+     * @param count The maximum number of decisions to return
+     */
+    public List<Decision> getRecent(int count) {
+        synchronized (history) {
+            Decision decision;
+            while ((decision = buffer.poll()) != null) {
+                if (history.size() == capacity) {
+                    history.removeFirst();
+                }
+                history.addLast(decision);
+            }
+
+            List<Decision> recent = new ArrayList<>(Math.min(count, history.size()));
+            Iterator<Decision> it = history.descendingIterator();
+            while (it.hasNext() && recent.size() < count) {
+                recent.add(it.next());
+            }
+            return recent;
+        }
+    }
+}
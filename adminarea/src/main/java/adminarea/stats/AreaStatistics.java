@@ -1,7 +1,10 @@
 package adminarea.stats;
 
 import adminarea.AdminAreaProtectionPlugin;
+import adminarea.util.LoadShedder;
+import adminarea.util.SqliteDatabase;
 import adminarea.util.ValidationUtils;
+import adminarea.util.WalCheckpointManager;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import io.micrometer.core.instrument.Counter;
@@ -24,7 +27,8 @@ import java.util.stream.Collectors;
  */
 public class AreaStatistics implements AutoCloseable {
     private final AdminAreaProtectionPlugin plugin;
-    private Connection dbConnection;
+    // Shared by every area's statistics; writes are serialized on its writer thread
+    private SqliteDatabase database;
     private final ScheduledExecutorService scheduler;
     private final Map<String, AtomicInteger> interactionCounters;
     private final Map<String, AtomicInteger> violationCounters;
@@ -34,6 +38,8 @@ public class AreaStatistics implements AutoCloseable {
     private final Path backupPath;
     private final Instant creationTime;
     private final Map<String, AtomicLong> eventCounts;
+    // Rows are buffered here and written in batches off the calling thread; shared by all areas
+    private final StatisticsEventLog eventLog;
     
     private static final int MAX_HISTORY_SIZE = 1000;
     private static final int BACKUP_INTERVAL_HOURS = 24;
@@ -53,78 +59,82 @@ public class AreaStatistics implements AutoCloseable {
         this.eventCounts = new ConcurrentHashMap<>();
         
         initializeDatabase();
+        this.eventLog = StatisticsEventLog.acquire(plugin, database);
         setupScheduledTasks();
     }
 
     private void initializeDatabase() throws SQLException {
-        Path dbPath = plugin.getDataFolder().toPath().resolve(DB_FILE);
-        dbConnection = DriverManager.getConnection("jdbc:sqlite:" + dbPath);
-        
-        try (Statement stmt = dbConnection.createStatement()) {
-            // Create tables
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS interactions (
-                    area_id TEXT NOT NULL,
-                    player_id TEXT NOT NULL,
-                    action_type TEXT NOT NULL,
-                    details TEXT,
-                    timestamp DATETIME DEFAULT CURRENT_TIMESTAMP
-                )
-            """);
+        database = plugin.getStorage().open(DB_FILE);
+        database.write(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                // Create tables
+                stmt.execute("""
+                    CREATE TABLE IF NOT EXISTS interactions (
+                        area_id TEXT NOT NULL,
+                        player_id TEXT NOT NULL,
+                        action_type TEXT NOT NULL,
+                        details TEXT,
+                        timestamp DATETIME DEFAULT CURRENT_TIMESTAMP
+                    )
+                """);
             
-            // Add details column if it doesn't exist (for backward compatibility)
-            try {
-                // Check if details column exists
-                ResultSet rs = dbConnection.getMetaData().getColumns(null, null, "interactions", "details");
-                if (!rs.next()) {
-                    // Details column doesn't exist, add it
-                    plugin.getLogger().info("Adding 'details' column to interactions table for advanced stats tracking");
-                    stmt.execute("ALTER TABLE interactions ADD COLUMN details TEXT");
+                // Add details column if it doesn't exist (for backward compatibility)
+                try {
+                    // Check if details column exists
+                    ResultSet rs = conn.getMetaData().getColumns(null, null, "interactions", "details");
+                    if (!rs.next()) {
+                        // Details column doesn't exist, add it
+                        plugin.getLogger().info("Adding 'details' column to interactions table for advanced stats tracking");
+                        stmt.execute("ALTER TABLE interactions ADD COLUMN details TEXT");
+                    }
+                    rs.close();
+                } catch (SQLException e) {
+                    plugin.getLogger().error("Failed to check or add details column", e);
                 }
-                rs.close();
-            } catch (SQLException e) {
-                plugin.getLogger().error("Failed to check or add details column", e);
-            }
             
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS violations (
-                    area_id TEXT NOT NULL,
-                    player_id TEXT NOT NULL,
-                    violation_type TEXT NOT NULL,
-                    timestamp DATETIME DEFAULT CURRENT_TIMESTAMP
-                )
-            """);
+                stmt.execute("""
+                    CREATE TABLE IF NOT EXISTS violations (
+                        area_id TEXT NOT NULL,
+                        player_id TEXT NOT NULL,
+                        violation_type TEXT NOT NULL,
+                        timestamp DATETIME DEFAULT CURRENT_TIMESTAMP
+                    )
+                """);
             
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS modifications (
-                    area_id TEXT NOT NULL,
-                    player_id TEXT NOT NULL,
-                    modification_type TEXT NOT NULL,
-                    details TEXT,
-                    timestamp DATETIME DEFAULT CURRENT_TIMESTAMP
-                )
-            """);
+                stmt.execute("""
+                    CREATE TABLE IF NOT EXISTS modifications (
+                        area_id TEXT NOT NULL,
+                        player_id TEXT NOT NULL,
+                        modification_type TEXT NOT NULL,
+                        details TEXT,
+                        timestamp DATETIME DEFAULT CURRENT_TIMESTAMP
+                    )
+                """);
             
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS area_statistics (
-                    area_name TEXT NOT NULL,
-                    event_type TEXT NOT NULL,
-                    count INTEGER NOT NULL,
-                    last_updated TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                    PRIMARY KEY (area_name, event_type)
-                )
-            """);
+                stmt.execute("""
+                    CREATE TABLE IF NOT EXISTS area_statistics (
+                        area_name TEXT NOT NULL,
+                        event_type TEXT NOT NULL,
+                        count INTEGER NOT NULL,
+                        last_updated TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                        PRIMARY KEY (area_name, event_type)
+                    )
+                """);
             
-            // Create indexes
-            stmt.execute("CREATE INDEX IF NOT EXISTS idx_interactions_area ON interactions(area_id)");
-            stmt.execute("CREATE INDEX IF NOT EXISTS idx_violations_area ON violations(area_id)");
-            stmt.execute("CREATE INDEX IF NOT EXISTS idx_modifications_area ON modifications(area_id)");
-        }
+                // Create indexes
+                stmt.execute("CREATE INDEX IF NOT EXISTS idx_interactions_area ON interactions(area_id)");
+                stmt.execute("CREATE INDEX IF NOT EXISTS idx_violations_area ON violations(area_id)");
+                stmt.execute("CREATE INDEX IF NOT EXISTS idx_modifications_area ON modifications(area_id)");
+            }
+            
+            // Minute, hour and day counts; filled from existing rows the first time
+            StatisticsRollups.createTables(conn);
+            return null;
+        });
     }
 
     private void setupScheduledTasks() {
-        // Schedule periodic data aggregation
-        scheduler.scheduleAtFixedRate(this::aggregateData, 1, 1, TimeUnit.HOURS);
+        // Rollups are maintained as events are written, so there is no separate aggregation
         
         // Schedule backups
         scheduler.scheduleAtFixedRate(this::performBackup, 
@@ -136,77 +146,51 @@ public class AreaStatistics implements AutoCloseable {
 
     public void recordInteraction(String areaId, String playerId, String actionType) {
         ValidationUtils.validateAreaName(areaId);
-        try {
-            // Update in-memory counter
-            interactionCounters.computeIfAbsent(areaId, k -> new AtomicInteger())
-                             .incrementAndGet();
-            
-            // Record in database
-            try (PreparedStatement stmt = dbConnection.prepareStatement(
-                "INSERT INTO interactions (area_id, player_id, action_type) VALUES (?, ?, ?)")) {
-                stmt.setString(1, areaId);
-                stmt.setString(2, playerId);
-                stmt.setString(3, actionType);
-                stmt.executeUpdate();
-            }
-            
-            // Update metrics
-            Counter.builder("area.interactions")
-                  .tag("area", areaId)
-                  .tag("action", actionType)
-                  .register(meterRegistry)
-                  .increment();
-        } catch (SQLException e) {
-            plugin.getLogger().error("Failed to record interaction", e);
+        if (plugin.getPerformanceMonitor().getLoadShedder().shouldShed(LoadShedder.Feature.STATISTICS)) {
+            return;
         }
+        // Update in-memory counter
+        interactionCounters.computeIfAbsent(areaId, k -> new AtomicInteger())
+                         .incrementAndGet();
+        
+        // Queue for the database
+        eventLog.interaction(areaId, playerId, actionType, null);
+        
+        // Update metrics
+        Counter.builder("area.interactions")
+              .tag("area", areaId)
+              .tag("action", actionType)
+              .register(meterRegistry)
+              .increment();
     }
 
     public void recordViolation(String areaId, String playerId, String violationType) {
-        try {
-            // Fix: Increment counter first before DB operation
-            violationCounters.computeIfAbsent(areaId, k -> new AtomicInteger()).incrementAndGet();
-            
-            try (PreparedStatement stmt = dbConnection.prepareStatement(
-                "INSERT INTO violations (area_id, player_id, violation_type) VALUES (?, ?, ?)")) {
-                stmt.setString(1, areaId);
-                stmt.setString(2, playerId); 
-                stmt.setString(3, violationType);
-                stmt.executeUpdate();
-            }
-            
-            Counter.builder("area.violations")
-                  .tag("area", areaId)
-                  .tag("type", violationType) 
-                  .register(meterRegistry)
-                  .increment();
-
-    } catch (SQLException e) {
-        plugin.getLogger().error("Failed to record violation", e);
+        if (plugin.getPerformanceMonitor().getLoadShedder().shouldShed(LoadShedder.Feature.STATISTICS)) {
+            return;
+        }
+        // Fix: Increment counter first before DB operation
+        violationCounters.computeIfAbsent(areaId, k -> new AtomicInteger()).incrementAndGet();
+        
+        eventLog.violation(areaId, playerId, violationType);
+        
+        Counter.builder("area.violations")
+              .tag("area", areaId)
+              .tag("type", violationType) 
+              .register(meterRegistry)
+              .increment();
     }
-}
 
     public void recordModification(String areaId, String playerId, 
                                  String modificationType, String details) {
-        try {
-            AreaModification mod = new AreaModification(areaId, playerId, 
-                modificationType, details, Instant.now());
-            
-            modificationHistory.offer(mod);
-            while (modificationHistory.size() > MAX_HISTORY_SIZE) {
-                modificationHistory.poll();
-            }
-            
-            try (PreparedStatement stmt = dbConnection.prepareStatement(
-                "INSERT INTO modifications (area_id, player_id, modification_type, details) VALUES (?, ?, ?, ?)")) {
-                stmt.setString(1, areaId);
-                stmt.setString(2, playerId);
-                stmt.setString(3, modificationType);
-                stmt.setString(4, details);
-                stmt.executeUpdate();
-            }
-        } catch (SQLException e) {
-            plugin.getLogger().error("Failed to record modification", e);
+        AreaModification mod = new AreaModification(areaId, playerId, 
+            modificationType, details, Instant.now());
+        
+        modificationHistory.offer(mod);
+        while (modificationHistory.size() > MAX_HISTORY_SIZE) {
+            modificationHistory.poll();
         }
+        
+        eventLog.modification(areaId, playerId, modificationType, details);
     }
 
     /**
@@ -220,22 +204,14 @@ public class AreaStatistics implements AutoCloseable {
             interactionCounters.computeIfAbsent(eventType, k -> new AtomicInteger())
                              .incrementAndGet();
             
-            // Record in database
-            try (PreparedStatement stmt = dbConnection.prepareStatement(
-                "INSERT INTO interactions (area_id, player_id, action_type) VALUES (?, 'SYSTEM', ?)")) {
-                stmt.setString(1, "GENERAL");
-                stmt.setString(2, eventType);
-                stmt.executeUpdate();
-            }
+            // Queue for the database
+            eventLog.interaction("GENERAL", "SYSTEM", eventType, null);
             
             // Update metrics
             Counter.builder("area.events")
                   .tag("type", eventType)
                   .register(meterRegistry)
                   .increment();
-                  
-        } catch (SQLException e) {
-            plugin.getLogger().error("Failed to increment event counter", e);
         } finally {
             plugin.getPerformanceMonitor().stopTimer(sample, "increment_event");
         }
@@ -243,29 +219,52 @@ public class AreaStatistics implements AutoCloseable {
 
     private void updateDatabase(String eventType) throws SQLException {
         long count = eventCounts.get(eventType).get();
-        try (PreparedStatement stmt = dbConnection.prepareStatement(
-            "INSERT OR REPLACE INTO area_statistics (area_name, event_type, count) VALUES (?, ?, ?)"
-        )) {
-            stmt.setString(1, plugin.getName());
-            stmt.setString(2, eventType);
-            stmt.setLong(3, count);
-            stmt.executeUpdate();
-        }
+        database.write(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT OR REPLACE INTO area_statistics (area_name, event_type, count) VALUES (?, ?, ?)"
+            )) {
+                stmt.setString(1, plugin.getName());
+                stmt.setString(2, eventType);
+                stmt.setLong(3, count);
+                return stmt.executeUpdate();
+            }
+        });
+    }
+
+    /**
+     * Writes all buffered events now. Used before reading rows that must include
+     * recent events; blocks until the batch is committed.
+     */
+    public void flushEvents() {
+        eventLog.drain();
     }
 
+    /**
+     * Gets the number of statistics events dropped because the buffer was full.
+     * The buffer is shared by all areas, so this counts events of every area.
+     */
+    public long getDroppedEventCount() {
+        return eventLog.getDroppedCount();
+    }
+
+    /**
+     * Gets the all-time interaction counts of an area by action type, read from the day rollup
+     */
     public Map<String, Integer> getInteractionStats(String areaId) {
-        Map<String, Integer> stats = new HashMap<>();
-        try (PreparedStatement stmt = dbConnection.prepareStatement(
-            "SELECT action_type, COUNT(*) as count FROM interactions WHERE area_id = ? GROUP BY action_type")) {
-            stmt.setString(1, areaId);
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                stats.put(rs.getString("action_type"), rs.getInt("count"));
-            }
+        flushEvents();
+        try (Connection conn = database.getReadConnection()) {
+            return StatisticsRollups.totals(conn, areaId);
         } catch (SQLException e) {
             plugin.getLogger().error("Failed to get interaction stats", e);
+            return new HashMap<>();
         }
-        return stats;
+    }
+
+    /**
+     * Removes the rollups of an area as part of a caller's write transaction
+     */
+    public void deleteRollups(Connection conn, String areaId) throws SQLException {
+        StatisticsRollups.deleteArea(conn, areaId);
     }
 
     public List<AreaModification> getRecentModifications(String areaId, int limit) {
@@ -276,44 +275,24 @@ public class AreaStatistics implements AutoCloseable {
             .collect(Collectors.toList());
     }
 
-    private void aggregateData() {
-        try {
-            // Aggregate daily statistics
-            try (PreparedStatement stmt = dbConnection.prepareStatement("""
-                INSERT INTO daily_stats 
-                SELECT area_id, DATE(timestamp), 
-                       COUNT(*) as interaction_count,
-                       SUM(CASE WHEN action_type = 'VIOLATION' THEN 1 ELSE 0 END) as violation_count
-                FROM interactions 
-                WHERE DATE(timestamp) = DATE('now', '-1 day')
-                GROUP BY area_id, DATE(timestamp)
-            """)) {
-                stmt.executeUpdate();
-            }
-        } catch (SQLException e) {
-            plugin.getLogger().error("Failed to aggregate data", e);
-        }
-    }
-
     private void performBackup() {
         try {
             Files.createDirectories(backupPath);
             String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
             Path backupFile = backupPath.resolve("statistics_" + timestamp + ".db");
             
-            // Close the connection before copying the file
-            boolean connectionWasClosed = false;
-            if (dbConnection != null && !dbConnection.isClosed()) {
+            // Compact and checkpoint on the writer so the copied file is complete
+            if (!database.isClosed()) {
                 try {
-                    // Execute VACUUM to compact the database first
-                    try (Statement stmt = dbConnection.createStatement()) {
-                        stmt.execute("VACUUM");
-                    }
+                    // Execute VACUUM to compact the database first (not allowed inside a transaction)
+                    database.execute(conn -> {
+                        try (Statement stmt = conn.createStatement()) {
+                            return stmt.execute("VACUUM");
+                        }
+                    });
                     
-                    // Force checkpoint to ensure all data is written to disk
-                    try (Statement stmt = dbConnection.createStatement()) {
-                        stmt.execute("PRAGMA wal_checkpoint(FULL)");
-                    }
+                    // Move the WAL into the main file before copying it
+                    database.getCheckpointManager().checkpoint(WalCheckpointManager.Mode.TRUNCATE);
                 } catch (SQLException e) {
                     plugin.getLogger().error("Error preparing database for backup", e);
                 }
@@ -363,10 +342,11 @@ public class AreaStatistics implements AutoCloseable {
 
     public void cleanup() {
         try {
-            // Remove old data
-            try (PreparedStatement stmt = dbConnection.prepareStatement(
-                "DELETE FROM interactions WHERE timestamp < DATE('now', '-30 days')")) {
-                stmt.executeUpdate();
+            // Compact raw rows past their retention; their counts live on in the rollups
+            int retentionDays = Math.max(1, plugin.getConfigManager().getInt("database.statistics.rawRetentionDays", 30));
+            int compacted = database.write(conn -> StatisticsRollups.compact(conn, retentionDays));
+            if (plugin.isDebugMode()) {
+                plugin.debug("Compacted " + compacted + " raw interaction rows older than " + retentionDays + " days");
             }
             
             // Remove old backups
@@ -406,6 +386,13 @@ public class AreaStatistics implements AutoCloseable {
                 }
             }
             
+            // Write whatever is still buffered before the backup and release
+            try {
+                eventLog.drain();
+            } catch (Exception e) {
+                plugin.getLogger().error("Error writing buffered statistics on close", e);
+            }
+            
             // Try to perform backup but don't let it prevent closing the connection
             try {
                 performBackup();
@@ -414,14 +401,17 @@ public class AreaStatistics implements AutoCloseable {
                 // Continue execution to ensure connection is closed
             }
             
-            // Always close the database connection
-            if (dbConnection != null && !dbConnection.isClosed()) {
-                try {
-                    dbConnection.close();
-                    plugin.getLogger().debug("Closed statistics database connection");
-                } catch (SQLException e) {
-                    plugin.getLogger().error("Error closing database connection", e);
-                }
+            // The last area to release the shared log writes what is left in it
+            try {
+                eventLog.release();
+            } catch (Exception e) {
+                plugin.getLogger().error("Error releasing statistics event log", e);
+            }
+            
+            // Always release the shared database
+            if (database != null) {
+                database.close();
+                plugin.getLogger().debug("Released statistics database");
             }
         } catch (Exception e) {
             plugin.getLogger().error("Error while closing AreaStatistics", e);
@@ -469,9 +459,11 @@ public class AreaStatistics implements AutoCloseable {
         }
     }
 
-    // Add protected getter for testing
-    protected Connection getConnection() {
-        return dbConnection;
+    /**
+     * Gets the statistics database. Writes must go through its writer.
+     */
+    public SqliteDatabase getDatabase() {
+        return database;
     }
 
     /**
@@ -508,46 +500,19 @@ public class AreaStatistics implements AutoCloseable {
      * @param victimId The victim identifier
      */
     public void recordPvpFight(String areaId, String attackerId, String victimId) {
-        try {
-            // Update in-memory counter - only do this once
-            interactionCounters.computeIfAbsent("pvp_fights", k -> new AtomicInteger())
-                .incrementAndGet();
-            
-            // Try to record in database with details column
-            boolean recorded = false;
-            try {
-                try (PreparedStatement stmt = dbConnection.prepareStatement(
-                    "INSERT INTO interactions (area_id, player_id, action_type, details) VALUES (?, ?, ?, ?)")) {
-                    stmt.setString(1, areaId);
-                    stmt.setString(2, attackerId);
-                    stmt.setString(3, "pvp_fights");
-                    stmt.setString(4, "victim:" + victimId);
-                    stmt.executeUpdate();
-                    recorded = true;
-                }
-            } catch (SQLException e) {
-                // Only fallback if the first attempt failed
-                if (!recorded) {
-                    // Fallback to insert without details column (backwards compatibility)
-                    try (PreparedStatement stmt = dbConnection.prepareStatement(
-                        "INSERT INTO interactions (area_id, player_id, action_type) VALUES (?, ?, ?)")) {
-                        stmt.setString(1, areaId);
-                        stmt.setString(2, attackerId);
-                        stmt.setString(3, "pvp_fights");
-                        stmt.executeUpdate();
-                    }
-                }
-            }
-            
-            // Update metrics - only do this once
-            Counter.builder("area.interactions")
-                  .tag("area", areaId)
-                  .tag("action", "pvp_fights")
-                  .register(meterRegistry)
-                  .increment();
-        } catch (SQLException e) {
-            plugin.getLogger().error("Failed to record PvP fight", e);
-        }
+        // Update in-memory counter - only do this once
+        interactionCounters.computeIfAbsent("pvp_fights", k -> new AtomicInteger())
+            .incrementAndGet();
+        
+        // Queue for the database with details column
+        eventLog.interaction(areaId, attackerId, "pvp_fights", "victim:" + victimId);
+        
+        // Update metrics - only do this once
+        Counter.builder("area.interactions")
+              .tag("area", areaId)
+              .tag("action", "pvp_fights")
+              .register(meterRegistry)
+              .increment();
     }
     
     /**
@@ -557,47 +522,20 @@ public class AreaStatistics implements AutoCloseable {
      * @param containerType The type of container accessed
      */
     public void recordContainerAccess(String areaId, String playerId, String containerType) {
-        try {
-            // Update in-memory counter - only do this once
-            interactionCounters.computeIfAbsent("container_accesses", k -> new AtomicInteger())
-                .incrementAndGet();
-            
-            // Try to record in database with details column
-            boolean recorded = false;
-            try {
-                try (PreparedStatement stmt = dbConnection.prepareStatement(
-                    "INSERT INTO interactions (area_id, player_id, action_type, details) VALUES (?, ?, ?, ?)")) {
-                    stmt.setString(1, areaId);
-                    stmt.setString(2, playerId);
-                    stmt.setString(3, "container_accesses");
-                    stmt.setString(4, containerType);
-                    stmt.executeUpdate();
-                    recorded = true;
-                }
-            } catch (SQLException e) {
-                // Only fallback if the first attempt failed
-                if (!recorded) {
-                    // Fallback to insert without details column (backwards compatibility)
-                    try (PreparedStatement stmt = dbConnection.prepareStatement(
-                        "INSERT INTO interactions (area_id, player_id, action_type) VALUES (?, ?, ?)")) {
-                        stmt.setString(1, areaId);
-                        stmt.setString(2, playerId);
-                        stmt.setString(3, "container_accesses");
-                        stmt.executeUpdate();
-                    }
-                }
-            }
-            
-            // Update metrics - only do this once
-            Counter.builder("area.interactions")
-                  .tag("area", areaId)
-                  .tag("action", "container_accesses")
-                  .tag("container", containerType)
-                  .register(meterRegistry)
-                  .increment();
-        } catch (SQLException e) {
-            plugin.getLogger().error("Failed to record container access", e);
-        }
+        // Update in-memory counter - only do this once
+        interactionCounters.computeIfAbsent("container_accesses", k -> new AtomicInteger())
+            .incrementAndGet();
+        
+        // Queue for the database with details column
+        eventLog.interaction(areaId, playerId, "container_accesses", containerType);
+        
+        // Update metrics - only do this once
+        Counter.builder("area.interactions")
+              .tag("area", areaId)
+              .tag("action", "container_accesses")
+              .tag("container", containerType)
+              .register(meterRegistry)
+              .increment();
     }
     
     /**
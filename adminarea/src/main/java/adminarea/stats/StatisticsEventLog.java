@@ -0,0 +1,267 @@
+package adminarea.stats;
+
+import adminarea.AdminAreaProtectionPlugin;
+import adminarea.util.RingBuffer;
+import adminarea.util.SqliteDatabase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buffers statistics rows and writes them in batches.
+ * Recording an event only places it in a lock-free ring buffer; a background task drains
+ * the buffer and inserts everything it finds in one transaction, so event handlers never
+ * wait for the database. When the buffer is full new events are dropped and counted
+ * instead of blocking the caller.
+ * <p>
+ * There is one log per statistics database, shared by the statistics of every area, so
+ * all events go through one buffer and one drain task and are committed together.
+ */
+class StatisticsEventLog {
+    // Guarded by itself
+    private static final Map<SqliteDatabase, StatisticsEventLog> logs = new HashMap<>();
+
+    private final AdminAreaProtectionPlugin plugin;
+    private final SqliteDatabase database;
+    private final ScheduledExecutorService executor;
+    private final RingBuffer<Event> buffer;
+    private final int maxBatchSize;
+    // Guarded by "logs"
+    private int references = 1;
+
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final Counter droppedCounter;
+    private long droppedReported;
+
+    // Same format as SQLite's CURRENT_TIMESTAMP, so existing date queries keep working
+    private static final DateTimeFormatter TIMESTAMP_FORMAT =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneOffset.UTC);
+
+    private enum Table {
+        INTERACTIONS("INSERT INTO interactions (area_id, player_id, action_type, details, timestamp) VALUES (?, ?, ?, ?, ?)"),
+        VIOLATIONS("INSERT INTO violations (area_id, player_id, violation_type, timestamp) VALUES (?, ?, ?, ?)"),
+        MODIFICATIONS("INSERT INTO modifications (area_id, player_id, modification_type, details, timestamp) VALUES (?, ?, ?, ?, ?)");
+
+        private final String sql;
+
+        Table(String sql) {
+            this.sql = sql;
+        }
+    }
+
+    /**
+     * One row waiting to be written, stamped with the time it was recorded
+     */
+    private record Event(Table table, String areaId, String playerId, String type, String details, long time) {
+    }
+
+    /**
+     * Gets the log of a statistics database, creating it on first use.
+     * Each call must be paired with a {@link #release()}.
+     *
+     * @param plugin The plugin instance
+     * @param database The statistics database
+     * @return The log shared by everything that writes to the database
+     */
+    static StatisticsEventLog acquire(AdminAreaProtectionPlugin plugin, SqliteDatabase database) {
+        synchronized (logs) {
+            StatisticsEventLog log = logs.get(database);
+            if (log != null) {
+                log.references++;
+                return log;
+            }
+            log = new StatisticsEventLog(plugin, database);
+            logs.put(database, log);
+            return log;
+        }
+    }
+
+    private StatisticsEventLog(AdminAreaProtectionPlugin plugin, SqliteDatabase database) {
+        this.plugin = plugin;
+        this.database = database;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "AdminArea-statistics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.buffer = new RingBuffer<>(Math.max(16, plugin.getConfigManager().getInt("database.statistics.bufferSize", 8192)));
+        this.maxBatchSize = Math.max(1, plugin.getConfigManager().getInt("database.statistics.maxBatchSize", 256));
+        long flushIntervalMs = Math.max(10, plugin.getConfigManager().getInt("database.statistics.flushIntervalMs", 1000));
+
+        this.droppedCounter = Counter.builder("area_protection_statistics_dropped")
+            .description("Statistics events dropped because the event buffer was full")
+            .register(plugin.getPerformanceMonitor().getRegistry());
+
+        executor.scheduleWithFixedDelay(this::drain, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    void interaction(String areaId, String playerId, String actionType, String details) {
+        offer(new Event(Table.INTERACTIONS, areaId, playerId, actionType, details, System.currentTimeMillis()));
+    }
+
+    void violation(String areaId, String playerId, String violationType) {
+        offer(new Event(Table.VIOLATIONS, areaId, playerId, violationType, null, System.currentTimeMillis()));
+    }
+
+    void modification(String areaId, String playerId, String modificationType, String details) {
+        offer(new Event(Table.MODIFICATIONS, areaId, playerId, modificationType, details, System.currentTimeMillis()));
+    }
+
+    private void offer(Event event) {
+        if (!buffer.offer(event)) {
+            dropped.incrementAndGet();
+            droppedCounter.increment();
+            return;
+        }
+
+        // Drain early once the buffer is half full instead of waiting for the next interval
+        if (buffer.size() >= buffer.capacity() / 2 && drainScheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> {
+                    drainScheduled.set(false);
+                    drain();
+                });
+            } catch (RejectedExecutionException e) {
+                // Shutting down; close() drains what is left
+                drainScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Writes everything buffered so far. Runs on the drain task, and on the caller's
+     * thread before reads that must see recent events and on close.
+     */
+    synchronized void drain() {
+        long droppedNow = dropped.get();
+        if (droppedNow > droppedReported) {
+            plugin.getLogger().warning("Statistics buffer full, dropped " + (droppedNow - droppedReported) + " events");
+            droppedReported = droppedNow;
+        }
+
+        List<Event> batch = new ArrayList<>(Math.min(maxBatchSize, buffer.capacity()));
+        while (buffer.drainTo(batch, maxBatchSize) > 0) {
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<Event> batch) {
+        Timer.Sample sample = plugin.getPerformanceMonitor().startTimer();
+        try {
+            // Group commit: the whole batch and its rollups are one transaction on the writer thread
+            database.write(conn -> {
+                PreparedStatement[] statements = new PreparedStatement[Table.values().length];
+                StatisticsRollups.Batch rollups = new StatisticsRollups.Batch();
+                try {
+                    for (Event event : batch) {
+                        if (event.table() == Table.INTERACTIONS) {
+                            rollups.add(event.areaId(), event.type(), event.time());
+                        }
+                        PreparedStatement stmt = statements[event.table().ordinal()];
+                        if (stmt == null) {
+                            stmt = conn.prepareStatement(event.table().sql);
+                            statements[event.table().ordinal()] = stmt;
+                        }
+                        bind(stmt, event);
+                        stmt.addBatch();
+                    }
+                    for (PreparedStatement stmt : statements) {
+                        if (stmt != null) {
+                            stmt.executeBatch();
+                        }
+                    }
+                    if (!rollups.isEmpty()) {
+                        rollups.write(conn);
+                    }
+                } finally {
+                    for (PreparedStatement stmt : statements) {
+                        if (stmt != null) {
+                            stmt.close();
+                        }
+                    }
+                }
+                return null;
+            });
+            written.addAndGet(batch.size());
+
+            if (plugin.isDebugMode()) {
+                plugin.debug("Wrote " + batch.size() + " statistics events");
+            }
+        } catch (SQLException e) {
+            // Statistics are not worth retrying; the counters in memory stay correct
+            plugin.getLogger().error("Failed to write " + batch.size() + " statistics events", e);
+        } finally {
+            plugin.getPerformanceMonitor().stopTimer(sample, "statistics_flush");
+        }
+    }
+
+    private static void bind(PreparedStatement stmt, Event event) throws SQLException {
+        String timestamp = TIMESTAMP_FORMAT.format(Instant.ofEpochMilli(event.time()));
+        stmt.setString(1, event.areaId());
+        stmt.setString(2, event.playerId());
+        stmt.setString(3, event.type());
+        if (event.table() == Table.VIOLATIONS) {
+            stmt.setString(4, timestamp);
+        } else {
+            stmt.setString(4, event.details());
+            stmt.setString(5, timestamp);
+        }
+    }
+
+    /**
+     * Drops one reference to the log. The last release stops the drain task and writes
+     * everything still buffered; the database must still be open.
+     */
+    void release() {
+        synchronized (logs) {
+            if (references <= 0 || --references > 0) {
+                return;
+            }
+            logs.remove(database, this);
+        }
+
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+        drain();
+    }
+
+    /**
+     * Gets the number of events waiting to be written
+     */
+    int pendingCount() {
+        return buffer.size();
+    }
+
+    long getDroppedCount() {
+        return dropped.get();
+    }
+
+    long getWrittenCount() {
+        return written.get();
+    }
+}
@@ -0,0 +1,170 @@
+package adminarea.stats;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Interaction counts per area and action, bucketed by minute, hour and day.
+ * The rollups are updated in the same transaction that inserts the raw rows, so they
+ * always agree with what was written. Stats queries read the day rollup instead of
+ * counting raw rows, which keeps them fast however long the server has been running,
+ * and lets raw rows be deleted after their retention without losing totals.
+ */
+final class StatisticsRollups {
+
+    /**
+     * Bucket sizes; finer rollups are only kept for a limited time
+     */
+    enum Resolution {
+        MINUTE("interaction_rollup_minute", 60, Duration.ofDays(2)),
+        HOUR("interaction_rollup_hour", 3600, Duration.ofDays(90)),
+        DAY("interaction_rollup_day", 86400, null);
+
+        private final String table;
+        private final long seconds;
+        private final Duration retention;
+
+        Resolution(String table, long seconds, Duration retention) {
+            this.table = table;
+            this.seconds = seconds;
+            this.retention = retention;
+        }
+    }
+
+    private record Key(String areaId, String actionType, long bucket) {
+    }
+
+    private StatisticsRollups() {
+    }
+
+    /**
+     * Creates the rollup tables. Tables created here for the first time are filled
+     * from the raw rows that already exist.
+     */
+    static void createTables(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (Resolution resolution : Resolution.values()) {
+                boolean exists;
+                try (ResultSet rs = stmt.executeQuery(
+                        "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = '" + resolution.table + "'")) {
+                    exists = rs.next();
+                }
+                if (exists) {
+                    continue;
+                }
+
+                stmt.execute("CREATE TABLE " + resolution.table + " (" +
+                    "area_id TEXT NOT NULL, " +
+                    "action_type TEXT NOT NULL, " +
+                    "bucket INTEGER NOT NULL, " +
+                    "count INTEGER NOT NULL, " +
+                    "PRIMARY KEY (area_id, action_type, bucket)) WITHOUT ROWID");
+                stmt.execute("INSERT INTO " + resolution.table + " (area_id, action_type, bucket, count) " +
+                    "SELECT area_id, action_type, " +
+                    "(CAST(strftime('%s', timestamp) AS INTEGER) / " + resolution.seconds + ") * " + resolution.seconds + ", " +
+                    "COUNT(*) FROM interactions WHERE timestamp IS NOT NULL GROUP BY 1, 2, 3");
+            }
+        }
+    }
+
+    /**
+     * Interaction counts of one write batch, added to the rollups in one statement per bucket
+     */
+    static final class Batch {
+        private final Map<Resolution, Map<Key, Integer>> counts = new EnumMap<>(Resolution.class);
+
+        void add(String areaId, String actionType, long timeMillis) {
+            long seconds = timeMillis / 1000;
+            for (Resolution resolution : Resolution.values()) {
+                Key key = new Key(areaId, actionType, (seconds / resolution.seconds) * resolution.seconds);
+                counts.computeIfAbsent(resolution, r -> new HashMap<>()).merge(key, 1, Integer::sum);
+            }
+        }
+
+        boolean isEmpty() {
+            return counts.isEmpty();
+        }
+
+        void write(Connection conn) throws SQLException {
+            for (Map.Entry<Resolution, Map<Key, Integer>> entry : counts.entrySet()) {
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "INSERT INTO " + entry.getKey().table + " (area_id, action_type, bucket, count) VALUES (?, ?, ?, ?) " +
+                        "ON CONFLICT(area_id, action_type, bucket) DO UPDATE SET count = count + excluded.count")) {
+                    for (Map.Entry<Key, Integer> count : entry.getValue().entrySet()) {
+                        stmt.setString(1, count.getKey().areaId());
+                        stmt.setString(2, count.getKey().actionType());
+                        stmt.setLong(3, count.getKey().bucket());
+                        stmt.setInt(4, count.getValue());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the all-time interaction counts of an area by action type
+     */
+    static Map<String, Integer> totals(Connection conn, String areaId) throws SQLException {
+        Map<String, Integer> totals = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT action_type, SUM(count) FROM " + Resolution.DAY.table + " WHERE area_id = ? GROUP BY action_type")) {
+            stmt.setString(1, areaId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    totals.put(rs.getString(1), rs.getInt(2));
+                }
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Deletes raw interaction rows older than the retention, along with expired minute
+     * and hour buckets. Counts stay in the coarser rollups.
+     *
+     * @return The number of raw rows deleted
+     */
+    static int compact(Connection conn, int rawRetentionDays) throws SQLException {
+        int deleted;
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "DELETE FROM interactions WHERE timestamp < datetime('now', ?)")) {
+            stmt.setString(1, "-" + rawRetentionDays + " days");
+            deleted = stmt.executeUpdate();
+        }
+
+        long now = System.currentTimeMillis() / 1000;
+        for (Resolution resolution : Resolution.values()) {
+            if (resolution.retention == null) {
+                continue;
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "DELETE FROM " + resolution.table + " WHERE bucket < ?")) {
+                stmt.setLong(1, now - resolution.retention.toSeconds());
+                stmt.executeUpdate();
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Removes all rollups of an area
+     */
+    static void deleteArea(Connection conn, String areaId) throws SQLException {
+        for (Resolution resolution : Resolution.values()) {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "DELETE FROM " + resolution.table + " WHERE area_id = ?")) {
+                stmt.setString(1, areaId);
+                stmt.executeUpdate();
+            }
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package adminarea.util;
+
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Central list of the plugin's caches with their size, hit rate, evictions and an
+ * estimate of the heap they hold.
+ * <p>
+ * Components register their caches once when they are created; registering a name again
+ * replaces the previous cache, so reloads do not leave stale entries behind. Several of the
+ * collections behind the caches are not thread-safe, so caches are only read by
+ * {@link #refresh()} on the main thread. The tick scheduler runs it every few seconds, and
+ * the metrics report the last refresh.
+ * <p>
+ * Memory is estimated from a sample of entries. Strings, boxed numbers and collections
+ * held by the cache are counted; objects that live elsewhere anyway, such as areas and
+ * players, only count as a reference.
+ */
+public class CacheRegistry {
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Source> sources = new ConcurrentHashMap<>();
+    private volatile Map<String, CacheStats> stats = Map.of();
+
+    private static final int SAMPLE_SIZE = 32;
+    private static final int NESTED_SAMPLE_SIZE = 8;
+
+    // Approximate per-entry overhead of each cache implementation, excluding key and value
+    private static final int CAFFEINE_ENTRY_BYTES = 96;
+    private static final int GUAVA_ENTRY_BYTES = 88;
+    private static final int MAP_ENTRY_BYTES = 40;
+
+    /**
+     * Figures of one cache at the last refresh. Hit and miss counts are -1 for caches
+     * that do not track lookups.
+     */
+    public record CacheStats(String name, long size, long hits, long misses, long evictions, long estimatedBytes) {
+
+        public boolean tracksLookups() {
+            return hits >= 0;
+        }
+
+        /**
+         * Gets the fraction of lookups that were hits, or NaN if there were none
+         */
+        public double hitRate() {
+            long requests = hits + misses;
+            return !tracksLookups() || requests == 0 ? Double.NaN : (double) hits / requests;
+        }
+    }
+
+    /**
+     * Lookup counts for caches that do not keep their own
+     */
+    public static final class Counters {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+
+        public void hit() {
+            hits.increment();
+        }
+
+        public void miss() {
+            misses.increment();
+        }
+
+        public void evicted() {
+            evictions.increment();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Source {
+        CacheStats read(String name);
+    }
+
+    CacheRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Registers a Caffeine cache. Hit counts are only available if it was built with recordStats().
+     */
+    public void register(String name, com.github.benmanes.caffeine.cache.Cache<?, ?> cache) {
+        add(name, n -> {
+            com.github.benmanes.caffeine.cache.stats.CacheStats s = cache.stats();
+            long size = cache.estimatedSize();
+            return new CacheStats(n, size, s.hitCount(), s.missCount(), s.evictionCount(),
+                estimateBytes(size, CAFFEINE_ENTRY_BYTES, List.of(cache.asMap())));
+        });
+    }
+
+    /**
+     * Registers a Guava cache. Hit counts are only available if it was built with recordStats().
+     */
+    public void register(String name, com.google.common.cache.Cache<?, ?> cache) {
+        add(name, n -> {
+            com.google.common.cache.CacheStats s = cache.stats();
+            long size = cache.size();
+            return new CacheStats(n, size, s.hitCount(), s.missCount(), s.evictionCount(),
+                estimateBytes(size, GUAVA_ENTRY_BYTES, List.of(cache.asMap())));
+        });
+    }
+
+    /**
+     * Registers a family of Caffeine caches reported as one, such as the per-area caches.
+     * The caches share one stats counter, passed to recordStats() when each is built.
+     *
+     * @param name The name the family is reported under
+     * @param stats The stats counter shared by every cache in the family
+     * @param caches Supplies the current caches; called on the main thread
+     */
+    public void registerGroup(String name, StatsCounter stats,
+                              Supplier<? extends Collection<? extends com.github.benmanes.caffeine.cache.Cache<?, ?>>> caches) {
+        add(name, n -> {
+            Collection<? extends com.github.benmanes.caffeine.cache.Cache<?, ?>> current = caches.get();
+            long size = 0;
+            List<Map<?, ?>> maps = new ArrayList<>(current.size());
+            for (com.github.benmanes.caffeine.cache.Cache<?, ?> cache : current) {
+                size += cache.estimatedSize();
+                maps.add(cache.asMap());
+            }
+            com.github.benmanes.caffeine.cache.stats.CacheStats s = stats.snapshot();
+            return new CacheStats(n, size, s.hitCount(), s.missCount(), s.evictionCount(),
+                estimateBytes(size, CAFFEINE_ENTRY_BYTES, maps));
+        });
+    }
+
+    /**
+     * Registers a plain map used as a cache
+     *
+     * @param name The name the cache is reported under
+     * @param map The map holding the cached entries
+     * @param counters The lookup counts kept by the owner, or null if lookups are not counted
+     */
+    public void register(String name, Map<?, ?> map, Counters counters) {
+        add(name, n -> {
+            long size = map.size();
+            long bytes = estimateBytes(size, MAP_ENTRY_BYTES, List.of(map));
+            if (counters == null) {
+                return new CacheStats(n, size, -1, -1, 0, bytes);
+            }
+            return new CacheStats(n, size, counters.hits.sum(), counters.misses.sum(), counters.evictions.sum(), bytes);
+        });
+    }
+
+    /**
+     * Registers a family of plain maps used as caches and reported as one
+     *
+     * @param name The name the family is reported under
+     * @param counters The lookup counts shared by every map in the family
+     * @param maps Supplies the current maps; called on the main thread
+     */
+    public void registerMapGroup(String name, Counters counters, Supplier<? extends Collection<? extends Map<?, ?>>> maps) {
+        add(name, n -> {
+            Collection<? extends Map<?, ?>> current = maps.get();
+            long size = 0;
+            for (Map<?, ?> map : current) {
+                size += map.size();
+            }
+            return new CacheStats(n, size, counters.hits.sum(), counters.misses.sum(), counters.evictions.sum(),
+                estimateBytes(size, MAP_ENTRY_BYTES, current));
+        });
+    }
+
+    private void add(String name, Source source) {
+        if (sources.put(name, source) == null) {
+            registerMeters(name);
+        }
+    }
+
+    private void registerMeters(String name) {
+        gauge("area_protection_cache_size", "Entries held by the cache", name, CacheStats::size);
+        gauge("area_protection_cache_estimated_bytes", "Estimated heap held by the cache", name, CacheStats::estimatedBytes);
+        gauge("area_protection_cache_hit_ratio", "Fraction of cache lookups that were hits", name, CacheStats::hitRate);
+        counter("area_protection_cache_hits", "Cache lookups that found an entry", name, CacheStats::hits);
+        counter("area_protection_cache_misses", "Cache lookups that found no entry", name, CacheStats::misses);
+        counter("area_protection_cache_evictions", "Entries removed by size or expiry", name, CacheStats::evictions);
+    }
+
+    private void gauge(String meter, String description, String name, ToDoubleFunction<CacheStats> value) {
+        Gauge.builder(meter, this, r -> r.value(name, value))
+             .description(description)
+             .tag("cache", name)
+             .register(meterRegistry);
+    }
+
+    private void counter(String meter, String description, String name, ToDoubleFunction<CacheStats> value) {
+        FunctionCounter.builder(meter, this, r -> Math.max(0, r.value(name, value)))
+            .description(description)
+            .tag("cache", name)
+            .register(meterRegistry);
+    }
+
+    private double value(String name, ToDoubleFunction<CacheStats> value) {
+        CacheStats current = stats.get(name);
+        return current != null ? value.applyAsDouble(current) : Double.NaN;
+    }
+
+    /**
+     * Reads every registered cache. Must run on the main thread.
+     */
+    public void refresh() {
+        Map<String, CacheStats> previous = stats;
+        Map<String, CacheStats> current = new LinkedHashMap<>();
+        for (Map.Entry<String, Source> entry : sources.entrySet()) {
+            try {
+                current.put(entry.getKey(), entry.getValue().read(entry.getKey()));
+            } catch (RuntimeException e) {
+                // A cache changing while sampled is reported from the previous refresh
+                CacheStats last = previous.get(entry.getKey());
+                if (last != null) {
+                    current.put(entry.getKey(), last);
+                }
+            }
+        }
+        stats = current;
+    }
+
+    /**
+     * Gets the figures of every cache at the last refresh, largest estimated memory first
+     */
+    public List<CacheStats> getStats() {
+        List<CacheStats> list = new ArrayList<>(stats.values());
+        list.sort((a, b) -> Long.compare(b.estimatedBytes(), a.estimatedBytes()));
+        return list;
+    }
+
+    private static long estimateBytes(long size, int entryBytes, Collection<? extends Map<?, ?>> maps) {
+        if (size <= 0) {
+            return 0;
+        }
+        long sampled = 0;
+        int count = 0;
+        for (Map<?, ?> map : maps) {
+            Iterator<? extends Map.Entry<?, ?>> it = map.entrySet().iterator();
+            while (it.hasNext() && count < SAMPLE_SIZE) {
+                Map.Entry<?, ?> entry = it.next();
+                sampled += estimate(entry.getKey()) + estimate(entry.getValue());
+                count++;
+            }
+            if (count == SAMPLE_SIZE) {
+                break;
+            }
+        }
+        return size * (entryBytes + (count == 0 ? 0 : sampled / count));
+    }
+
+    /**
+     * Estimates the heap retained by a cached key or value, assuming compressed references
+     */
+    private static long estimate(Object value) {
+        if (value instanceof String s) {
+            // String object plus its byte array; cached strings are almost always Latin-1
+            return 24 + align(16 + s.length());
+        }
+        if (value instanceof Integer || value instanceof Float || value instanceof Short) {
+            return 16;
+        }
+        if (value instanceof Long || value instanceof Double) {
+            return 24;
+        }
+        if (value instanceof Collection<?> collection) {
+            long bytes = 24 + align(16 + 4L * collection.size());
+            return bytes + collection.size() * averageElement(collection);
+        }
+        if (value instanceof Map<?, ?> map) {
+            long bytes = 48 + align(16 + 4L * map.size() * 4 / 3);
+            long sampled = 0;
+            int count = 0;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                sampled += estimate(entry.getKey()) + estimate(entry.getValue());
+                if (++count == NESTED_SAMPLE_SIZE) {
+                    break;
+                }
+            }
+            return bytes + map.size() * (32 + (count == 0 ? 0 : sampled / count));
+        }
+        // Booleans, enums and shared objects such as areas cost only the reference
+        return 0;
+    }
+
+    private static long averageElement(Collection<?> collection) {
+        long sampled = 0;
+        int count = 0;
+        for (Object element : collection) {
+            sampled += estimate(element);
+            if (++count == NESTED_SAMPLE_SIZE) {
+                break;
+            }
+        }
+        return count == 0 ? 0 : sampled / count;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
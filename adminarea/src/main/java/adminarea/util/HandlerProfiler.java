@@ -0,0 +1,192 @@
+package adminarea.util;
+
+import adminarea.AdminAreaProtectionPlugin;
+import adminarea.jfr.HandlerEvent;
+import cn.nukkit.event.Cancellable;
+import cn.nukkit.event.Event;
+import cn.nukkit.event.EventHandler;
+import cn.nukkit.event.Listener;
+import cn.nukkit.plugin.EventExecutor;
+import cn.nukkit.plugin.MethodEventExecutor;
+import cn.nukkit.utils.EventException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps every event handler of the plugin's listeners.
+ * Listeners are registered through this class instead of directly with the plugin manager,
+ * and each handler method gets an executor that:
+ * <ul>
+ *   <li>emits a {@link HandlerEvent} for JDK Flight Recorder, which costs nothing unless a
+ *       recording with the event enabled is running</li>
+ *   <li>when allocation sampling is enabled, reads the thread's allocated byte counter
+ *       before and after one in every {@code sampleRate} calls and records the difference
+ *       per handler</li>
+ * </ul>
+ * Bytes allocated by events fired from inside a handler are counted for the outer handler
+ * as well.
+ */
+public class HandlerProfiler {
+    private final AdminAreaProtectionPlugin plugin;
+    private final MeterRegistry registry;
+    private final com.sun.management.ThreadMXBean threads;
+    private final boolean samplingAllocations;
+    private final int sampleRate;
+    // Keyed by handler method, so a reloaded listener keeps its counts
+    private final Map<Method, ProfiledExecutor> executors = new ConcurrentHashMap<>();
+
+    /**
+     * Allocation of one handler. The total is extrapolated from the sampled mean.
+     */
+    public record HandlerAllocation(String handler, long invocations, long samples,
+                                    double meanBytes, double maxBytes, long estimatedTotalBytes) {
+    }
+
+    HandlerProfiler(AdminAreaProtectionPlugin plugin, MeterRegistry registry) {
+        this.plugin = plugin;
+        this.registry = registry;
+        this.sampleRate = Math.max(1, plugin.getConfigManager().getInt("metrics.allocation.sampleRate", 100));
+        this.threads = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+            && bean.isThreadAllocatedMemorySupported() ? bean : null;
+
+        boolean requested = plugin.getConfigManager().getBoolean("metrics.allocation.enabled", false);
+        if (requested && threads == null) {
+            plugin.getLogger().warning("Allocation sampling is enabled but this JVM does not report allocated bytes per thread");
+        } else if (requested && !threads.isThreadAllocatedMemoryEnabled()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        this.samplingAllocations = requested && threads != null;
+    }
+
+    public boolean isSamplingAllocations() {
+        return samplingAllocations;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Registers every event handler of a listener with the server through a profiling executor
+     *
+     * @param listener The listener to register
+     */
+    public void registerEvents(Listener listener) {
+        // Same method discovery as the plugin manager: public methods plus the listener's own
+        Set<Method> methods = new LinkedHashSet<>();
+        Collections.addAll(methods, listener.getClass().getMethods());
+        Collections.addAll(methods, listener.getClass().getDeclaredMethods());
+
+        for (Method method : methods) {
+            EventHandler annotation = method.getAnnotation(EventHandler.class);
+            if (annotation == null || method.isBridge() || method.isSynthetic()
+                    || method.getParameterCount() != 1
+                    || !Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                continue;
+            }
+
+            Class<? extends Event> eventClass = method.getParameterTypes()[0].asSubclass(Event.class);
+            String handler = listener.getClass().getSimpleName() + "." + method.getName();
+            method.setAccessible(true);
+            ProfiledExecutor executor = executors.computeIfAbsent(method,
+                m -> new ProfiledExecutor(handler, new MethodEventExecutor(m)));
+            try {
+                plugin.getServer().getPluginManager().registerEvent(eventClass, listener,
+                    annotation.priority(), executor, plugin, annotation.ignoreCancelled());
+            } catch (Exception e) {
+                plugin.getLogger().error("Failed to register event handler " + handler, e);
+            }
+        }
+    }
+
+    /**
+     * Gets the allocation of every handler that has been sampled, highest estimated total first
+     */
+    public List<HandlerAllocation> getAllocations() {
+        // Overloaded handlers share a name and therefore one summary; their calls are added up
+        Map<String, Long> invocations = new LinkedHashMap<>();
+        Map<String, DistributionSummary> summaries = new LinkedHashMap<>();
+        for (ProfiledExecutor executor : executors.values()) {
+            if (executor.allocations == null) {
+                continue;
+            }
+            invocations.merge(executor.handler, executor.invocations, Long::sum);
+            summaries.put(executor.handler, executor.allocations);
+        }
+
+        List<HandlerAllocation> allocations = new ArrayList<>(summaries.size());
+        for (Map.Entry<String, DistributionSummary> entry : summaries.entrySet()) {
+            DistributionSummary summary = entry.getValue();
+            long samples = summary.count();
+            if (samples == 0) {
+                continue;
+            }
+            long calls = invocations.get(entry.getKey());
+            double mean = summary.mean();
+            allocations.add(new HandlerAllocation(entry.getKey(), calls, samples,
+                mean, summary.max(), (long) (mean * calls)));
+        }
+        allocations.sort((a, b) -> Long.compare(b.estimatedTotalBytes(), a.estimatedTotalBytes()));
+        return allocations;
+    }
+
+    private final class ProfiledExecutor implements EventExecutor {
+        private final String handler;
+        private final EventExecutor delegate;
+        // Null unless allocation sampling is enabled
+        private final DistributionSummary allocations;
+        // Updated without synchronization; a lost increment only shifts the next sample
+        private long invocations;
+
+        private ProfiledExecutor(String handler, EventExecutor delegate) {
+            this.handler = handler;
+            this.delegate = delegate;
+            this.allocations = !samplingAllocations ? null :
+                DistributionSummary.builder("area_protection_handler_allocated_bytes")
+                    .description("Heap allocated by one call of an event handler, sampled")
+                    .baseUnit("bytes")
+                    .tag("handler", handler)
+                    .register(registry);
+        }
+
+        @Override
+        public void execute(Listener listener, Event event) throws EventException {
+            HandlerEvent jfrEvent = new HandlerEvent();
+            jfrEvent.begin();
+            if (allocations != null && ++invocations % sampleRate == 0) {
+                executeSampled(listener, event);
+            } else {
+                delegate.execute(listener, event);
+            }
+            if (jfrEvent.shouldCommit()) {
+                jfrEvent.handler = handler;
+                jfrEvent.eventType = event.getClass().getSimpleName();
+                jfrEvent.cancelled = event instanceof Cancellable cancellable && cancellable.isCancelled();
+                jfrEvent.commit();
+            }
+        }
+
+        private void executeSampled(Listener listener, Event event) throws EventException {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            try {
+                delegate.execute(listener, event);
+            } finally {
+                long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+                if (allocated >= 0) {
+                    allocations.record(allocated);
+                }
+            }
+        }
+    }
+}
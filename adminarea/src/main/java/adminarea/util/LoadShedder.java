@@ -0,0 +1,307 @@
+package adminarea.util;
+
+import adminarea.AdminAreaProtectionPlugin;
+import adminarea.managers.ConfigManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Measures how much of each server tick the plugin spends in its own handlers and
+ * scheduled jobs, and switches into a degraded mode when that exceeds the budget.
+ * <p>
+ * Time is taken from the operation timers: every top-level timer stopped on the main
+ * thread is charged to the current tick and to its operation, while timers nested inside
+ * another one are already part of the outer duration and are not counted twice. Ticks are
+ * grouped into windows; at the end of each window the average plugin time per tick is
+ * compared with the budget. In degraded mode the features in {@link Feature} are skipped,
+ * protection checks always run. The mode ends once the average has stayed below the
+ * recovery threshold for the minimum degraded time.
+ */
+public class LoadShedder {
+    private final AdminAreaProtectionPlugin plugin;
+    private final boolean enabled;
+    private final long budgetNanos;
+    private final long recoveryNanos;
+    private final int windowTicks;
+    private final long minDegradedNanos;
+    private final boolean[] shed = new boolean[Feature.values().length];
+    private final AtomicLongArray shedCounts = new AtomicLongArray(Feature.values().length);
+    private final Counter degradedCounter;
+
+    // Main thread only
+    private Thread mainThread;
+    private int depth;
+    private long tickNanos;
+    private long windowNanos;
+    private long windowPeakNanos;
+    private int windowTickCount;
+    private final Map<String, Long> windowByOperation = new HashMap<>();
+    private volatile long degradedSince;
+
+    // Published at the end of each window for commands and gauges
+    private volatile boolean degraded;
+    private volatile long lastWindowAverageNanos;
+    private volatile long lastWindowPeakNanos;
+    private volatile List<Contribution> lastWindowContributions = Collections.emptyList();
+    private volatile long degradedTotalNanos;
+    private volatile long degradedEntries;
+    private final ArrayDeque<Trigger> triggers = new ArrayDeque<>();
+
+    private static final int MAX_TRIGGERS = 5;
+    private static final int MAX_CONTRIBUTIONS = 5;
+
+    /**
+     * Non-essential work that is skipped while degraded
+     */
+    public enum Feature {
+        TITLES("titles"),
+        STATISTICS("statistics"),
+        PARTICLES("particles"),
+        EFFECT_REFRESH("effectRefresh");
+
+        private final String configKey;
+
+        Feature(String configKey) {
+            this.configKey = configKey;
+        }
+    }
+
+    /**
+     * Plugin time charged to one operation, as an average per tick
+     */
+    public record Contribution(String operation, long microsPerTick) {
+    }
+
+    /**
+     * One switch into degraded mode with the measurement that caused it
+     */
+    public record Trigger(long timestamp, long averageMicros, long peakMicros, String topOperation) {
+    }
+
+    LoadShedder(AdminAreaProtectionPlugin plugin, MeterRegistry registry) {
+        this.plugin = plugin;
+        ConfigManager config = plugin.getConfigManager();
+        this.enabled = config.getBoolean("loadShedding.enabled", true);
+        long budgetMicros = Math.max(100, config.getInt("loadShedding.tickBudgetMicros", 10000));
+        this.budgetNanos = TimeUnit.MICROSECONDS.toNanos(budgetMicros);
+        int recoveryPercent = Math.min(100, Math.max(1, config.getInt("loadShedding.recoveryPercent", 70)));
+        this.recoveryNanos = budgetNanos * recoveryPercent / 100;
+        this.windowTicks = Math.max(1, config.getInt("loadShedding.windowTicks", 20));
+        this.minDegradedNanos = TimeUnit.SECONDS.toNanos(Math.max(0, config.getInt("loadShedding.minDegradedSeconds", 10)));
+        for (Feature feature : Feature.values()) {
+            shed[feature.ordinal()] = config.getBoolean("loadShedding.shed." + feature.configKey, true);
+        }
+
+        Gauge.builder("area_protection_tick_plugin_time", this, s -> TimeUnit.NANOSECONDS.toMicros(s.lastWindowAverageNanos))
+             .description("Average plugin time per server tick over the last window in microseconds")
+             .register(registry);
+        Gauge.builder("area_protection_degraded", this, s -> s.degraded ? 1 : 0)
+             .description("Whether non-essential work is being shed to stay within the tick budget")
+             .register(registry);
+        this.degradedCounter = Counter.builder("area_protection_degraded_entries")
+            .description("Times the plugin switched into degraded mode")
+            .register(registry);
+        for (Feature feature : Feature.values()) {
+            Gauge.builder("area_protection_shed_work", shedCounts, counts -> counts.get(feature.ordinal()))
+                 .description("Units of non-essential work skipped in degraded mode")
+                 .tag("feature", feature.configKey)
+                 .register(registry);
+        }
+    }
+
+    /**
+     * Marks the start of a timed operation
+     */
+    void operationStarted() {
+        if (Thread.currentThread() == mainThread) {
+            depth++;
+        }
+    }
+
+    /**
+     * Charges a finished operation to the current tick unless it ran inside another one
+     */
+    void operationStopped(String operation, long nanos) {
+        if (Thread.currentThread() != mainThread) {
+            return;
+        }
+        if (depth > 0) {
+            depth--;
+        }
+        if (depth == 0) {
+            tickNanos += nanos;
+            windowByOperation.merge(operation, nanos, Long::sum);
+        }
+    }
+
+    /**
+     * Closes the current tick. Called once per tick on the main thread by the tick scheduler.
+     */
+    public void onTick() {
+        if (mainThread == null) {
+            mainThread = Thread.currentThread();
+        }
+        // A sample started on this thread and stopped elsewhere must not leave the count raised
+        depth = 0;
+
+        windowNanos += tickNanos;
+        windowPeakNanos = Math.max(windowPeakNanos, tickNanos);
+        tickNanos = 0;
+        if (++windowTickCount < windowTicks) {
+            return;
+        }
+
+        long average = windowNanos / windowTickCount;
+        lastWindowAverageNanos = average;
+        lastWindowPeakNanos = windowPeakNanos;
+        lastWindowContributions = topContributions(windowTickCount);
+        evaluate(average);
+
+        windowNanos = 0;
+        windowPeakNanos = 0;
+        windowTickCount = 0;
+        windowByOperation.clear();
+    }
+
+    private List<Contribution> topContributions(int ticks) {
+        List<Contribution> contributions = new ArrayList<>(windowByOperation.size());
+        for (Map.Entry<String, Long> entry : windowByOperation.entrySet()) {
+            contributions.add(new Contribution(entry.getKey(), TimeUnit.NANOSECONDS.toMicros(entry.getValue() / ticks)));
+        }
+        contributions.sort((a, b) -> Long.compare(b.microsPerTick(), a.microsPerTick()));
+        return List.copyOf(contributions.subList(0, Math.min(MAX_CONTRIBUTIONS, contributions.size())));
+    }
+
+    private void evaluate(long averageNanos) {
+        long now = System.nanoTime();
+        if (!degraded) {
+            if (enabled && averageNanos > budgetNanos) {
+                enterDegraded(now, averageNanos);
+            }
+        } else if (averageNanos < recoveryNanos && now - degradedSince >= minDegradedNanos) {
+            degradedTotalNanos += now - degradedSince;
+            degraded = false;
+            plugin.getLogger().info(String.format(
+                "Plugin tick time back to %dus (budget %dus), resuming non-essential work after %ds",
+                TimeUnit.NANOSECONDS.toMicros(averageNanos),
+                TimeUnit.NANOSECONDS.toMicros(budgetNanos),
+                TimeUnit.NANOSECONDS.toSeconds(now - degradedSince)));
+        }
+    }
+
+    private void enterDegraded(long now, long averageNanos) {
+        List<Contribution> contributions = lastWindowContributions;
+        String top = contributions.isEmpty() ? "-" : contributions.get(0).operation();
+        Trigger trigger = new Trigger(System.currentTimeMillis(),
+            TimeUnit.NANOSECONDS.toMicros(averageNanos),
+            TimeUnit.NANOSECONDS.toMicros(lastWindowPeakNanos),
+            top);
+        synchronized (triggers) {
+            if (triggers.size() == MAX_TRIGGERS) {
+                triggers.removeFirst();
+            }
+            triggers.addLast(trigger);
+        }
+
+        degradedSince = now;
+        degradedEntries++;
+        degradedCounter.increment();
+        degraded = true;
+        plugin.getLogger().warning(String.format(
+            "Plugin tick time %dus exceeds the budget of %dus (mostly %s), shedding non-essential work",
+            trigger.averageMicros(), TimeUnit.NANOSECONDS.toMicros(budgetNanos), top));
+    }
+
+    /**
+     * Checks whether a feature should be skipped right now, counting the skip if so
+     *
+     * @param feature The non-essential work about to run
+     * @return true if the caller should skip it
+     */
+    public boolean shouldShed(Feature feature) {
+        if (!degraded || !shed[feature.ordinal()]) {
+            return false;
+        }
+        shedCounts.incrementAndGet(feature.ordinal());
+        return true;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    public long getBudgetMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(budgetNanos);
+    }
+
+    /**
+     * Gets the average plugin time per tick over the last completed window
+     */
+    public long getAverageMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(lastWindowAverageNanos);
+    }
+
+    /**
+     * Gets the slowest tick of the last completed window
+     */
+    public long getPeakMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(lastWindowPeakNanos);
+    }
+
+    /**
+     * Gets the operations that took the most plugin time in the last completed window
+     */
+    public List<Contribution> getContributions() {
+        return lastWindowContributions;
+    }
+
+    /**
+     * Gets the most recent switches into degraded mode, oldest first
+     */
+    public List<Trigger> getTriggers() {
+        synchronized (triggers) {
+            return List.copyOf(triggers);
+        }
+    }
+
+    public long getDegradedEntries() {
+        return degradedEntries;
+    }
+
+    /**
+     * Gets the total time spent in degraded mode, including the current period
+     */
+    public long getDegradedMillis() {
+        long total = degradedTotalNanos;
+        if (degraded) {
+            total += System.nanoTime() - degradedSince;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(total);
+    }
+
+    /**
+     * Gets the number of skipped units of work per feature
+     */
+    public Map<String, Long> getShedCounts() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Feature feature : Feature.values()) {
+            counts.put(feature.configKey, shedCounts.get(feature.ordinal()));
+        }
+        return counts;
+    }
+}
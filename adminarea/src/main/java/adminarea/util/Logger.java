@@ -1,35 +1,101 @@
 package adminarea.util;
 
 import adminarea.AdminAreaProtectionPlugin;
+import adminarea.logging.DebugCategory;
 
+import java.util.function.Supplier;
+
+/**
+ * Logger for one class, with debug output belonging to a {@link DebugCategory}.
+ * Debug messages are only built when debug is enabled for the category: the parameterized
+ * variants take the values unformatted and the supplier variant defers the whole message,
+ * so neither concatenates anything otherwise. Messages are handed to the plugin's
+ * asynchronous appender rather than written by the caller.
+ */
 public class Logger {
     private final AdminAreaProtectionPlugin plugin;
+    private final DebugCategory category;
     private final String prefix;
 
     public Logger(AdminAreaProtectionPlugin plugin, String className) {
+        this(plugin, DebugCategory.GENERAL, className);
+    }
+
+    public Logger(AdminAreaProtectionPlugin plugin, DebugCategory category, String className) {
         this.plugin = plugin;
+        this.category = category;
         this.prefix = "[" + className + "] ";
     }
 
+    /**
+     * Creates a logger that looks the plugin up on every call, for static loggers
+     * shared by many instances. A reload that replaces the plugin is picked up.
+     */
+    public Logger(DebugCategory category, String className) {
+        this(null, category, className);
+    }
+
+    private AdminAreaProtectionPlugin plugin() {
+        return plugin != null ? plugin : AdminAreaProtectionPlugin.getInstance();
+    }
+
+    /**
+     * Checks whether debug messages of this logger's category are written.
+     * Use it to guard work that is only done to produce a debug message.
+     */
+    public boolean isDebugEnabled() {
+        return plugin().isDebugEnabled(category);
+    }
+
+    public void debug(String message) {
+        if (isDebugEnabled()) {
+            plugin().debug(category, prefix + message);
+        }
+    }
+
+    public void debug(Supplier<String> message) {
+        if (isDebugEnabled()) {
+            plugin().debug(category, prefix + message.get());
+        }
+    }
+
+    public void debug(String message, Object arg) {
+        if (isDebugEnabled()) {
+            plugin().debug(category, prefix + String.format(message, arg));
+        }
+    }
+
+    public void debug(String message, Object arg1, Object arg2) {
+        if (isDebugEnabled()) {
+            plugin().debug(category, prefix + String.format(message, arg1, arg2));
+        }
+    }
+
+    public void debug(String message, Object arg1, Object arg2, Object arg3) {
+        if (isDebugEnabled()) {
+            plugin().debug(category, prefix + String.format(message, arg1, arg2, arg3));
+        }
+    }
+
     public void debug(String message, Object... args) {
-        if (plugin.isDebugMode()) {
-            plugin.getLogger().info(prefix + "[Debug] " + String.format(message, args));
+        if (isDebugEnabled()) {
+            plugin().debug(category, prefix + String.format(message, args));
         }
     }
 
     public void info(String message, Object... args) {
-        plugin.getLogger().info(prefix + String.format(message, args));
+        plugin().getLogger().info(prefix + String.format(message, args));
     }
 
     public void warn(String message, Object... args) {
-        plugin.getLogger().warning(prefix + String.format(message, args));
+        plugin().getLogger().warning(prefix + String.format(message, args));
     }
 
     public void error(String message, Object... args) {
-        plugin.getLogger().error(prefix + String.format(message, args));
+        plugin().getLogger().error(prefix + String.format(message, args));
     }
 
     public void error(String message, Throwable error) {
-        plugin.getLogger().error(prefix + message, error);
+        plugin().getLogger().error(prefix + message, error);
     }
 }
@@ -2,12 +2,20 @@ package adminarea.util;
 
 import adminarea.AdminAreaProtectionPlugin;
 import io.micrometer.core.instrument.*;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
 import java.lang.management.*;
 import java.util.concurrent.*;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.function.Consumer;
 import java.nio.file.*;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -26,10 +34,27 @@ public class PerformanceMonitor implements AutoCloseable {
     private final ThreadMXBean threadBean;
     private final MemoryMXBean memoryBean;
     private volatile boolean isRunning;
+    private PrometheusEndpoint prometheusEndpoint;
+    private final LoadShedder loadShedder;
+    private final CacheRegistry cacheRegistry;
+    private final HandlerProfiler handlerProfiler;
 
     private static final long DEFAULT_THRESHOLD_MS = 100;
     private static final int METRICS_RETENTION_DAYS = 7;
 
+    // Percentiles kept for every timed operation, over a sliding window
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99, 0.999};
+    public static final Duration PERCENTILE_WINDOW = Duration.ofMinutes(2);
+
+    /**
+     * Latency summary of one timed operation. Times are in milliseconds; the
+     * percentiles and max cover the last {@link #PERCENTILE_WINDOW}, the count and
+     * mean cover everything since the last reset.
+     */
+    public record OperationLatency(String operation, long count, double mean,
+                                   double p50, double p95, double p99, double p999, double max) {
+    }
+
     public PerformanceMonitor(AdminAreaProtectionPlugin plugin) {
         this.plugin = plugin;
         this.registry = new SimpleMeterRegistry();
@@ -41,6 +66,9 @@ public class PerformanceMonitor implements AutoCloseable {
         this.memoryBean = ManagementFactory.getMemoryMXBean();
         this.metricsPath = plugin.getDataFolder().toPath().resolve("metrics");
         this.isRunning = true;
+        this.loadShedder = new LoadShedder(plugin, registry);
+        this.cacheRegistry = new CacheRegistry(registry);
+        this.handlerProfiler = new HandlerProfiler(plugin, registry);
 
         initializeMonitoring();
     }
@@ -87,6 +115,7 @@ public class PerformanceMonitor implements AutoCloseable {
     }
 
     public Timer.Sample startTimer() {
+        loadShedder.operationStarted();
         return Timer.start(registry);
     }
 
@@ -100,9 +129,12 @@ public class PerformanceMonitor implements AutoCloseable {
                 k -> Timer.builder("area_protection_" + k)
                          .description("Time taken for " + k)
                          .tag("operation", k)
+                         .publishPercentiles(PERCENTILES)
+                         .distributionStatisticExpiry(PERCENTILE_WINDOW)
                          .register(registry));
 
             long duration = sample.stop(timer);
+            loadShedder.operationStopped(operation, duration);
             long durationMs = TimeUnit.NANOSECONDS.toMillis(duration);
 
             // Check threshold and alert if necessary
@@ -136,6 +168,25 @@ public class PerformanceMonitor implements AutoCloseable {
         }
     }
 
+    /**
+     * Starts the Prometheus scrape endpoint if it is enabled in the config.
+     * It binds to localhost unless another host is configured.
+     */
+    public void startPrometheusEndpoint() {
+        if (!plugin.getConfigManager().getBoolean("metrics.prometheus.enabled", false)) {
+            return;
+        }
+
+        String host = plugin.getConfigManager().getSettingString("metrics.prometheus.host", "127.0.0.1");
+        int port = plugin.getConfigManager().getInt("metrics.prometheus.port", 9464);
+        try {
+            prometheusEndpoint = new PrometheusEndpoint(registry, host, port);
+            plugin.getLogger().info("Serving Prometheus metrics at http://" + host + ":" + port + "/metrics");
+        } catch (IOException e) {
+            plugin.getLogger().error("Failed to start Prometheus metrics endpoint on " + host + ":" + port, e);
+        }
+    }
+
     public void setThresholdAlert(String operation, Consumer<Long> alert) {
         thresholdAlerts.put(operation, alert);
     }
@@ -145,17 +196,67 @@ public class PerformanceMonitor implements AutoCloseable {
         return timer != null ? timer.mean(TimeUnit.SECONDS) : 0.0;
     }
 
+    /**
+     * Gets the latency percentiles of every operation timed through stopTimer,
+     * slowest p99 first
+     */
+    public List<OperationLatency> getLatencies() {
+        List<OperationLatency> latencies = new ArrayList<>(timers.size());
+        for (Map.Entry<String, Timer> entry : timers.entrySet()) {
+            HistogramSnapshot snapshot = entry.getValue().takeSnapshot();
+            double[] values = new double[PERCENTILES.length];
+            for (ValueAtPercentile value : snapshot.percentileValues()) {
+                for (int i = 0; i < PERCENTILES.length; i++) {
+                    if (value.percentile() == PERCENTILES[i]) {
+                        values[i] = value.value(TimeUnit.MILLISECONDS);
+                    }
+                }
+            }
+            latencies.add(new OperationLatency(entry.getKey(), snapshot.count(),
+                snapshot.mean(TimeUnit.MILLISECONDS),
+                values[0], values[1], values[2], values[3],
+                snapshot.max(TimeUnit.MILLISECONDS)));
+        }
+        latencies.sort(Comparator.comparingDouble(OperationLatency::p99).reversed());
+        return latencies;
+    }
+
+    /**
+     * Writes the current latency percentiles to a CSV file in the metrics folder
+     *
+     * @return The file written
+     */
+    public Path exportLatencies() throws IOException {
+        Files.createDirectories(metricsPath);
+        Path file = metricsPath.resolve(String.format("latency_%s.csv",
+            LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"))));
+
+        StringBuilder csv = new StringBuilder("Operation,Count,MeanMs,P50Ms,P95Ms,P99Ms,P999Ms,MaxMs\n");
+        for (OperationLatency latency : getLatencies()) {
+            csv.append(String.format(Locale.ROOT, "%s,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+                latency.operation(), latency.count(), latency.mean(),
+                latency.p50(), latency.p95(), latency.p99(), latency.p999(), latency.max()));
+        }
+        Files.writeString(file, csv);
+        return file;
+    }
+
+    /**
+     * Discards the recorded operation latencies. Meters registered by other components,
+     * such as the cache and write queue gauges, are kept.
+     */
     public void reset() {
+        for (Timer timer : timers.values()) {
+            registry.remove(timer);
+        }
         timers.clear();
-        registry.clear();
-        setupMemoryMonitoring();
-        setupGCMonitoring();
     }
 
     private void setupPeriodicMetricsExport() {
         scheduler.scheduleAtFixedRate(() -> {
             try {
                 exportMetrics();
+                exportLatencies();
                 cleanupOldMetrics();
             } catch (Exception e) {
                 plugin.getLogger().error("Error in periodic metrics export", e);
@@ -258,6 +359,10 @@ public class PerformanceMonitor implements AutoCloseable {
     public void close() {
         isRunning = false;
         try {
+            if (prometheusEndpoint != null) {
+                prometheusEndpoint.close();
+            }
+
             // Safely shutdown the scheduler first
             try {
                 if (scheduler != null && !scheduler.isShutdown()) {
@@ -298,4 +403,25 @@ public class PerformanceMonitor implements AutoCloseable {
     public MeterRegistry getRegistry() {
         return registry;
     }
+
+    /**
+     * Gets the tick time accounting that decides when non-essential work is shed
+     */
+    public LoadShedder getLoadShedder() {
+        return loadShedder;
+    }
+
+    /**
+     * Gets the registry every plugin cache reports its size and hit rate to
+     */
+    public CacheRegistry getCacheRegistry() {
+        return cacheRegistry;
+    }
+
+    /**
+     * Gets the profiler that wraps every event handler with JFR events and allocation sampling
+     */
+    public HandlerProfiler getHandlerProfiler() {
+        return handlerProfiler;
+    }
 }
@@ -0,0 +1,252 @@
+package adminarea.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves every meter in a registry at /metrics in the Prometheus text format.
+ * Nothing is computed between scrapes: each request walks the registry and reads the
+ * current values, so an idle endpoint costs nothing. Timers are written as summaries in
+ * seconds with their published percentiles as quantiles, counters get a _total suffix,
+ * and gauges are read when scraped. Requests are answered on one daemon thread.
+ */
+final class PrometheusEndpoint implements AutoCloseable {
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final MeterRegistry registry;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    PrometheusEndpoint(MeterRegistry registry, String host, int port) throws IOException {
+        this.registry = registry;
+        this.server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "AdminArea-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext("/metrics", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("HEAD")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if (method.equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Writes the current value of every meter, grouped into one family per name
+     */
+    String render() {
+        Map<String, List<Meter>> families = new TreeMap<>();
+        for (Meter meter : registry.getMeters()) {
+            // Percentile gauges are written as quantiles of their timer
+            if (meter.getId().getTag("phi") != null) {
+                continue;
+            }
+            families.computeIfAbsent(sanitize(meter.getId().getName()), k -> new ArrayList<>()).add(meter);
+        }
+
+        StringBuilder out = new StringBuilder(16384);
+        for (Map.Entry<String, List<Meter>> family : families.entrySet()) {
+            String name = family.getKey();
+            List<Meter> meters = family.getValue();
+            Meter first = meters.get(0);
+            switch (first.getId().getType()) {
+                case COUNTER -> {
+                    String counter = name.endsWith("_total") ? name : name + "_total";
+                    header(out, counter, "counter", first);
+                    for (Meter meter : meters) {
+                        sample(out, counter, meter.getId().getTags(), null, firstValue(meter));
+                    }
+                }
+                case GAUGE -> {
+                    header(out, name, "gauge", first);
+                    for (Meter meter : meters) {
+                        sample(out, name, meter.getId().getTags(), null, firstValue(meter));
+                    }
+                }
+                case TIMER -> writeTimers(out, name + "_seconds", meters);
+                case DISTRIBUTION_SUMMARY -> writeSummaries(out, name, meters);
+                default -> writeUntyped(out, name, meters);
+            }
+        }
+        return out.toString();
+    }
+
+    private void writeTimers(StringBuilder out, String name, List<Meter> meters) {
+        header(out, name, "summary", meters.get(0));
+        List<Meter> withMax = new ArrayList<>();
+        for (Meter meter : meters) {
+            List<Tag> tags = meter.getId().getTags();
+            if (meter instanceof Timer timer) {
+                HistogramSnapshot snapshot = timer.takeSnapshot();
+                for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                    sample(out, name, tags, format(percentile.percentile()), percentile.value(TimeUnit.SECONDS));
+                }
+                sample(out, name + "_count", tags, null, snapshot.count());
+                sample(out, name + "_sum", tags, null, snapshot.total(TimeUnit.SECONDS));
+                withMax.add(meter);
+            } else if (meter instanceof FunctionTimer timer) {
+                sample(out, name + "_count", tags, null, timer.count());
+                sample(out, name + "_sum", tags, null, timer.totalTime(TimeUnit.SECONDS));
+            }
+        }
+
+        if (!withMax.isEmpty()) {
+            header(out, name + "_max", "gauge", withMax.get(0));
+            for (Meter meter : withMax) {
+                sample(out, name + "_max", meter.getId().getTags(), null, ((Timer) meter).max(TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    private void writeSummaries(StringBuilder out, String name, List<Meter> meters) {
+        header(out, name, "summary", meters.get(0));
+        for (Meter meter : meters) {
+            List<Tag> tags = meter.getId().getTags();
+            HistogramSnapshot snapshot = ((DistributionSummary) meter).takeSnapshot();
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                sample(out, name, tags, format(percentile.percentile()), percentile.value());
+            }
+            sample(out, name + "_count", tags, null, snapshot.count());
+            sample(out, name + "_sum", tags, null, snapshot.total());
+        }
+        header(out, name + "_max", "gauge", meters.get(0));
+        for (Meter meter : meters) {
+            sample(out, name + "_max", meter.getId().getTags(), null, ((DistributionSummary) meter).max());
+        }
+    }
+
+    private void writeUntyped(StringBuilder out, String name, List<Meter> meters) {
+        // One family per statistic, so each family's samples stay together
+        Map<String, StringBuilder> statistics = new TreeMap<>();
+        for (Meter meter : meters) {
+            for (Measurement measurement : meter.measure()) {
+                String statistic = name + "_" + measurement.getStatistic().name().toLowerCase(Locale.ROOT);
+                sample(statistics.computeIfAbsent(statistic, k -> new StringBuilder()),
+                    statistic, meter.getId().getTags(), null, measurement.getValue());
+            }
+        }
+        for (Map.Entry<String, StringBuilder> statistic : statistics.entrySet()) {
+            header(out, statistic.getKey(), "untyped", meters.get(0));
+            out.append(statistic.getValue());
+        }
+    }
+
+    private static void header(StringBuilder out, String name, String type, Meter meter) {
+        String description = meter.getId().getDescription();
+        if (description != null && !description.isEmpty()) {
+            out.append("# HELP ").append(name).append(' ')
+               .append(description.replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+        }
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, List<Tag> tags, String quantile, double value) {
+        out.append(name);
+        if (!tags.isEmpty() || quantile != null) {
+            out.append('{');
+            boolean separator = false;
+            for (Tag tag : tags) {
+                if (separator) {
+                    out.append(',');
+                }
+                out.append(sanitize(tag.getKey())).append("=\"").append(escape(tag.getValue())).append('"');
+                separator = true;
+            }
+            if (quantile != null) {
+                if (separator) {
+                    out.append(',');
+                }
+                out.append("quantile=\"").append(quantile).append('"');
+            }
+            out.append('}');
+        }
+        out.append(' ').append(format(value)).append('\n');
+    }
+
+    private static double firstValue(Meter meter) {
+        for (Measurement measurement : meter.measure()) {
+            return measurement.getValue();
+        }
+        return Double.NaN;
+    }
+
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    /**
+     * Converts a Micrometer name such as heap.used into a valid Prometheus name
+     */
+    private static String sanitize(String name) {
+        StringBuilder sanitized = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c == ':'
+                || (i > 0 && c >= '0' && c <= '9');
+            sanitized.append(valid ? c : '_');
+        }
+        return sanitized.toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,261 @@
+package adminarea.util;
+
+import adminarea.AdminAreaProtectionPlugin;
+import adminarea.jfr.DatabaseTransactionEvent;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Access to one SQLite database file.
+ * SQLite allows a single writer per file, so all writes go through one connection owned
+ * by a dedicated writer thread and are serialized there instead of competing for the file
+ * lock. Reads use a small pool of separate connections, which WAL mode lets run alongside
+ * the writer. Instances are shared through {@link SqliteStorage}; {@link #close()} releases
+ * one reference and the file is closed once the last user is done.
+ */
+public class SqliteDatabase implements AutoCloseable {
+    private final AdminAreaProtectionPlugin plugin;
+    private final SqliteStorage storage;
+    private final String name;
+    private final File file;
+    private final Connection writeConnection;
+    private final ThreadPoolExecutor writer;
+    private final HikariDataSource readPool;
+    private final WalCheckpointManager checkpointManager;
+    private final AtomicBoolean closing = new AtomicBoolean(false);
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private volatile Thread writerThread;
+
+    // Guarded by the storage
+    int references = 1;
+
+    private static final int BUSY_TIMEOUT_MS = 5000;
+
+    /**
+     * Work run against a connection of this database
+     */
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T run(Connection conn) throws SQLException;
+    }
+
+    SqliteDatabase(AdminAreaProtectionPlugin plugin, SqliteStorage storage, String name, File file) throws SQLException {
+        this.plugin = plugin;
+        this.storage = storage;
+        this.name = name;
+        this.file = file;
+
+        try {
+            Class.forName("org.sqlite.JDBC");
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("SQLite JDBC driver not found", e);
+        }
+
+        String jdbcUrl = "jdbc:sqlite:" + file.getPath();
+        this.writeConnection = DriverManager.getConnection(jdbcUrl);
+        try (Statement stmt = writeConnection.createStatement()) {
+            stmt.execute("PRAGMA journal_mode = WAL");
+            stmt.execute("PRAGMA synchronous = NORMAL");
+            stmt.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MS);
+            stmt.execute("PRAGMA cache_size = 2000");
+        }
+
+        this.writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "AdminArea-" + name + "-db");
+            thread.setDaemon(true);
+            writerThread = thread;
+            return thread;
+        });
+
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(jdbcUrl);
+        config.setPoolName("AdminArea-" + name + "-read");
+        config.setMaximumPoolSize(Math.max(1, plugin.getConfigManager().getInt("database.readPoolSize", 4)));
+        config.setMinimumIdle(1);
+        config.setIdleTimeout(60000);
+        config.setMaxLifetime(1800000);
+        config.setConnectionTimeout(30000);
+        config.setConnectionInitSql("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MS);
+        config.addDataSourceProperty("journal_mode", "WAL");
+        config.addDataSourceProperty("synchronous", "NORMAL");
+        config.addDataSourceProperty("cache_size", "2000");
+        this.readPool = new HikariDataSource(config);
+
+        Gauge.builder("area_protection_db_writer_queue", writer, executor -> executor.getQueue().size())
+            .description("Write tasks waiting for the database writer thread")
+            .tag("db", name)
+            .register(plugin.getPerformanceMonitor().getRegistry());
+
+        this.checkpointManager = new WalCheckpointManager(plugin, this);
+    }
+
+    /**
+     * Runs work in a single transaction on the writer thread and waits for it.
+     * Calls made from the writer thread itself run inline, joining any transaction in progress.
+     *
+     * @param work The work to run; must not close the connection
+     * @return The result of the work
+     */
+    public <T> T write(SqlWork<T> work) throws SQLException {
+        return submit(conn -> runTransaction(work), "sqlite_write_" + name);
+    }
+
+    /**
+     * Runs work on the writer connection in auto-commit mode and waits for it.
+     * Used for statements that cannot run inside a transaction, such as checkpoints and VACUUM.
+     *
+     * @param work The work to run; must not close the connection
+     * @return The result of the work
+     */
+    public <T> T execute(SqlWork<T> work) throws SQLException {
+        return submit(work, "sqlite_execute_" + name);
+    }
+
+    /**
+     * Gets a pooled connection for reads. The caller must close it.
+     * Writes must go through {@link #write(SqlWork)}; a write on a read connection still
+     * works but waits for the file lock like any second writer would.
+     */
+    public Connection getReadConnection() throws SQLException {
+        if (closed.get()) {
+            throw new SQLException(name + " database is closed");
+        }
+        return readPool.getConnection();
+    }
+
+    private <T> T submit(SqlWork<T> task, String operation) throws SQLException {
+        if (Thread.currentThread() == writerThread) {
+            return task.run(writeConnection);
+        }
+        if (closed.get()) {
+            throw new SQLException(name + " database is closed");
+        }
+
+        Timer.Sample sample = plugin.getPerformanceMonitor().startTimer();
+        try {
+            Future<T> future = writer.submit(() -> task.run(writeConnection));
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for " + name + " database writer", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new SQLException("Write to " + name + " database failed", cause);
+        } catch (RejectedExecutionException e) {
+            throw new SQLException(name + " database is closed", e);
+        } finally {
+            plugin.getPerformanceMonitor().stopTimer(sample, operation);
+        }
+    }
+
+    private <T> T runTransaction(SqlWork<T> work) throws SQLException {
+        if (!writeConnection.getAutoCommit()) {
+            // Nested write from inside another write - part of the outer transaction
+            return work.run(writeConnection);
+        }
+
+        DatabaseTransactionEvent event = new DatabaseTransactionEvent();
+        event.begin();
+        boolean committed = false;
+        writeConnection.setAutoCommit(false);
+        try {
+            T result = work.run(writeConnection);
+            writeConnection.commit();
+            committed = true;
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            writeConnection.rollback();
+            throw e;
+        } finally {
+            writeConnection.setAutoCommit(true);
+            if (event.shouldCommit()) {
+                event.database = name;
+                event.committed = committed;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Gets the checkpoint manager for this file
+     */
+    public WalCheckpointManager getCheckpointManager() {
+        return checkpointManager;
+    }
+
+    /**
+     * Gets the number of write tasks waiting for the writer thread
+     */
+    public int getPendingWrites() {
+        return writer.getQueue().size();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * Releases this reference. The last release checkpoints and closes the file.
+     */
+    @Override
+    public void close() {
+        if (storage.release(this)) {
+            closeNow();
+        }
+    }
+
+    void closeNow() {
+        if (!closing.compareAndSet(false, true)) {
+            return;
+        }
+        // Final checkpoint goes through the writer, after everything already submitted
+        checkpointManager.close();
+        closed.set(true);
+
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+                writer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.shutdownNow();
+        }
+
+        try {
+            writeConnection.close();
+        } catch (SQLException e) {
+            plugin.getLogger().error("Failed to close " + name + " database writer connection", e);
+        }
+        readPool.close();
+    }
+}
@@ -0,0 +1,85 @@
+package adminarea.util;
+
+import adminarea.AdminAreaProtectionPlugin;
+
+import java.io.File;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hands out one shared {@link SqliteDatabase} per database file in the plugin folder,
+ * so every component that uses a file goes through the same writer thread.
+ */
+public class SqliteStorage {
+    private final AdminAreaProtectionPlugin plugin;
+    // Guarded by "this"
+    private final Map<String, SqliteDatabase> databases = new HashMap<>();
+
+    public SqliteStorage(AdminAreaProtectionPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Opens a database file, or shares the already open instance.
+     * Each call must be paired with a {@link SqliteDatabase#close()}.
+     *
+     * @param fileName The file name inside the plugin data folder
+     * @return The shared database
+     */
+    public synchronized SqliteDatabase open(String fileName) throws SQLException {
+        SqliteDatabase database = databases.get(fileName);
+        if (database != null && !database.isClosed()) {
+            database.references++;
+            return database;
+        }
+
+        String name = fileName.endsWith(".db") ? fileName.substring(0, fileName.length() - 3) : fileName;
+        database = new SqliteDatabase(plugin, this, name, new File(plugin.getDataFolder(), fileName));
+        databases.put(fileName, database);
+        if (plugin.isDebugMode()) {
+            plugin.debug("Opened " + fileName + " with a single writer thread");
+        }
+        return database;
+    }
+
+    /**
+     * Drops one reference to a database
+     *
+     * @return true if this was the last reference and the database should close
+     */
+    synchronized boolean release(SqliteDatabase database) {
+        if (database.references <= 0 || --database.references > 0) {
+            return false;
+        }
+        databases.values().remove(database);
+        return true;
+    }
+
+    /**
+     * Gets the currently open databases
+     */
+    public synchronized List<SqliteDatabase> getOpenDatabases() {
+        return new ArrayList<>(databases.values());
+    }
+
+    /**
+     * Closes every database that is still open, regardless of references.
+     * Called last during shutdown.
+     */
+    public void closeAll() {
+        List<SqliteDatabase> open;
+        synchronized (this) {
+            open = new ArrayList<>(databases.values());
+            databases.clear();
+            for (SqliteDatabase database : open) {
+                database.references = 0;
+            }
+        }
+        for (SqliteDatabase database : open) {
+            database.closeNow();
+        }
+    }
+}
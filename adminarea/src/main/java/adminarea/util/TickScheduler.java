@@ -0,0 +1,316 @@
+package adminarea.util;
+
+import adminarea.AdminAreaProtectionPlugin;
+import cn.nukkit.Player;
+import cn.nukkit.scheduler.TaskHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Plugin-level scheduler for periodic main-thread work.
+ * All jobs share a single Nukkit repeating task. Each tick the scheduler runs the
+ * jobs that are due until the per-tick budget is used up; jobs that did not get a
+ * turn stay due and run on the next tick. Per-player jobs are spread over their
+ * cycle in round-robin slices instead of processing every player in one tick.
+ * Jobs that exceed their own budget are counted and reported as overruns.
+ */
+public class TickScheduler {
+    private final AdminAreaProtectionPlugin plugin;
+    private final List<Job> jobs = new CopyOnWriteArrayList<>();
+    private final long tickBudgetNanos;
+    private final long jobBudgetNanos;
+    private TaskHandler tickTask;
+    private long currentTick;
+    private long deferredRuns;
+
+    // Minimum interval between overrun warnings for the same job
+    private static final long OVERRUN_WARNING_INTERVAL_MS = TimeUnit.SECONDS.toMillis(30);
+
+    public TickScheduler(AdminAreaProtectionPlugin plugin) {
+        this.plugin = plugin;
+        this.tickBudgetNanos = TimeUnit.MICROSECONDS.toNanos(
+            Math.max(100, plugin.getConfigManager().getInt("scheduler.tickBudgetMicros", 5000)));
+        this.jobBudgetNanos = TimeUnit.MICROSECONDS.toNanos(
+            Math.max(50, plugin.getConfigManager().getInt("scheduler.jobBudgetMicros", 2000)));
+    }
+
+    /**
+     * Starts the shared tick task
+     */
+    public void start() {
+        if (tickTask != null && !tickTask.isCancelled()) {
+            return;
+        }
+        tickTask = plugin.getServer().getScheduler().scheduleRepeatingTask(plugin, this::tick, 1);
+
+        if (plugin.isDebugMode()) {
+            plugin.debug("Tick scheduler started with a budget of " +
+                TimeUnit.NANOSECONDS.toMicros(tickBudgetNanos) + "us per tick");
+        }
+    }
+
+    /**
+     * Stops the shared tick task and drops all jobs
+     */
+    public void shutdown() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        for (Job job : jobs) {
+            job.cancel();
+        }
+        jobs.clear();
+    }
+
+    /**
+     * Schedules a repeating job that runs every {@code periodTicks} ticks
+     *
+     * @param name The job name used for metrics and overrun reports
+     * @param periodTicks The interval between runs in ticks
+     * @param task The work to run
+     * @return The handle of the scheduled job
+     */
+    public Job schedule(String name, int periodTicks, Runnable task) {
+        return schedule(name, periodTicks, () -> {
+            task.run();
+            return true;
+        });
+    }
+
+    /**
+     * Schedules a repeating job that cancels itself once it reports that it has no more work
+     *
+     * @param name The job name used for metrics and overrun reports
+     * @param periodTicks The interval between runs in ticks
+     * @param task The work to run, returning false when the job is finished
+     * @return The handle of the scheduled job
+     */
+    public Job schedule(String name, int periodTicks, BooleanSupplier task) {
+        return register(new PeriodicJob(name, periodTicks, task));
+    }
+
+    /**
+     * Schedules a job that visits every online player once per cycle.
+     * The players are split into slices processed on consecutive ticks, so a cycle
+     * of 40 ticks with 300 players handles about 8 players per tick.
+     *
+     * @param name The job name used for metrics and overrun reports
+     * @param cycleTicks The number of ticks over which all players are visited
+     * @param task The work to run for each player
+     * @return The handle of the scheduled job
+     */
+    public Job schedulePerPlayer(String name, int cycleTicks, Consumer<Player> task) {
+        return register(new PlayerSliceJob(name, cycleTicks, task));
+    }
+
+    private Job register(Job job) {
+        job.nextRunTick = currentTick + 1;
+        jobs.add(job);
+        return job;
+    }
+
+    private void tick() {
+        currentTick++;
+        // Closes the plugin time of the previous tick before this tick's jobs are charged
+        plugin.getPerformanceMonitor().getLoadShedder().onTick();
+        Job[] snapshot = jobs.toArray(new Job[0]);
+        if (snapshot.length == 0) {
+            return;
+        }
+
+        long tickDeadline = System.nanoTime() + tickBudgetNanos;
+        // Rotate the starting job so the same jobs are not always deferred
+        int start = (int) (currentTick % snapshot.length);
+
+        for (int i = 0; i < snapshot.length; i++) {
+            Job job = snapshot[(start + i) % snapshot.length];
+
+            if (job.cancelled) {
+                jobs.remove(job);
+                continue;
+            }
+            if (currentTick < job.nextRunTick) {
+                continue;
+            }
+
+            long now = System.nanoTime();
+            if (now >= tickDeadline) {
+                // Out of budget - remaining due jobs keep their slot for the next tick
+                deferredRuns++;
+                continue;
+            }
+
+            runJob(job, now, Math.min(now + jobBudgetNanos, tickDeadline));
+        }
+    }
+
+    private void runJob(Job job, long startNanos, long deadlineNanos) {
+        Timer.Sample sample = plugin.getPerformanceMonitor().startTimer();
+        try {
+            job.execute(deadlineNanos);
+        } catch (Exception e) {
+            plugin.getLogger().error("Error in scheduled job " + job.name, e);
+        } finally {
+            plugin.getPerformanceMonitor().stopTimer(sample, "scheduler_" + job.name);
+        }
+
+        long elapsed = System.nanoTime() - startNanos;
+        if (elapsed > jobBudgetNanos) {
+            reportOverrun(job, elapsed);
+        }
+    }
+
+    private void reportOverrun(Job job, long elapsedNanos) {
+        job.overruns++;
+        job.overrunCounter().increment();
+
+        long now = System.currentTimeMillis();
+        if (now - job.lastOverrunWarning >= OVERRUN_WARNING_INTERVAL_MS) {
+            job.lastOverrunWarning = now;
+            plugin.getLogger().warning(String.format(
+                "Scheduled job %s exceeded its tick budget: %dus (budget %dus, %d overruns so far)",
+                job.name,
+                TimeUnit.NANOSECONDS.toMicros(elapsedNanos),
+                TimeUnit.NANOSECONDS.toMicros(jobBudgetNanos),
+                job.overruns));
+        } else if (plugin.isDebugMode()) {
+            plugin.debug("Scheduled job " + job.name + " overran: " +
+                TimeUnit.NANOSECONDS.toMicros(elapsedNanos) + "us");
+        }
+    }
+
+    /**
+     * Gets a snapshot of the scheduled jobs
+     */
+    public List<Job> getJobs() {
+        return Collections.unmodifiableList(new ArrayList<>(jobs));
+    }
+
+    /**
+     * Gets the number of job runs postponed because the tick budget was exhausted
+     */
+    public long getDeferredRuns() {
+        return deferredRuns;
+    }
+
+    /**
+     * Handle of a job registered with the scheduler
+     */
+    public abstract class Job {
+        protected final String name;
+        protected final int periodTicks;
+        protected long nextRunTick;
+        private volatile boolean cancelled;
+        private long overruns;
+        private long lastOverrunWarning;
+        private Counter overrunCounter;
+
+        private Job(String name, int periodTicks) {
+            this.name = name;
+            this.periodTicks = Math.max(1, periodTicks);
+        }
+
+        /**
+         * Runs one step of the job, stopping early once the deadline has passed
+         */
+        protected abstract void execute(long deadlineNanos);
+
+        private Counter overrunCounter() {
+            if (overrunCounter == null) {
+                overrunCounter = Counter.builder("area_protection_scheduler_overruns")
+                    .description("Ticks in which a scheduled job exceeded its budget")
+                    .tag("job", name)
+                    .register(plugin.getPerformanceMonitor().getRegistry());
+            }
+            return overrunCounter;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getOverruns() {
+            return overruns;
+        }
+    }
+
+    private final class PeriodicJob extends Job {
+        private final BooleanSupplier task;
+
+        private PeriodicJob(String name, int periodTicks, BooleanSupplier task) {
+            super(name, periodTicks);
+            this.task = task;
+        }
+
+        @Override
+        protected void execute(long deadlineNanos) {
+            nextRunTick = currentTick + periodTicks;
+            if (!task.getAsBoolean()) {
+                cancel();
+            }
+        }
+    }
+
+    private final class PlayerSliceJob extends Job {
+        private final Consumer<Player> task;
+        private List<Player> round = Collections.emptyList();
+        private int cursor;
+        private int sliceSize;
+        private long cycleStartTick;
+
+        private PlayerSliceJob(String name, int cycleTicks, Consumer<Player> task) {
+            super(name, cycleTicks);
+            this.task = task;
+            // Allow the first round to start immediately
+            this.cycleStartTick = -periodTicks;
+        }
+
+        @Override
+        protected void execute(long deadlineNanos) {
+            if (cursor >= round.size()) {
+                // Previous round finished - start a new one once the cycle has elapsed
+                if (currentTick - cycleStartTick < periodTicks) {
+                    nextRunTick = cycleStartTick + periodTicks;
+                    return;
+                }
+                round = new ArrayList<>(plugin.getServer().getOnlinePlayers().values());
+                cursor = 0;
+                cycleStartTick = currentTick;
+                sliceSize = Math.max(1, (round.size() + periodTicks - 1) / periodTicks);
+                if (round.isEmpty()) {
+                    nextRunTick = cycleStartTick + periodTicks;
+                    return;
+                }
+            }
+
+            int end = Math.min(round.size(), cursor + sliceSize);
+            while (cursor < end) {
+                Player player = round.get(cursor++);
+                if (player != null && player.isOnline()) {
+                    task.accept(player);
+                }
+                if (System.nanoTime() >= deadlineNanos) {
+                    break; // Rest of the slice carries over to the next tick
+                }
+            }
+            nextRunTick = currentTick + 1;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package adminarea.util;
+
+import adminarea.AdminAreaProtectionPlugin;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.File;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Owns WAL checkpointing for one SQLite database file.
+ * Committed transactions are already durable in the WAL, so checkpoints only keep the
+ * WAL from growing. They run as PASSIVE checkpoints on a background thread, which never
+ * wait for readers or block writers. A blocking TRUNCATE checkpoint is only used when the
+ * WAL has grown past the configured size, when a caller needs the main file to be
+ * complete (backups), and on close.
+ */
+public class WalCheckpointManager {
+    private final AdminAreaProtectionPlugin plugin;
+    private final String name;
+    private final File walFile;
+    private final SqliteDatabase database;
+    private final long escalationBytes;
+    private final ScheduledExecutorService executor;
+
+    private final Map<Mode, Timer> durations = new ConcurrentHashMap<>();
+    private final Counter busyCounter;
+    private final AtomicBoolean requested = new AtomicBoolean(false);
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final AtomicLong lastDurationNanos = new AtomicLong();
+
+    /**
+     * SQLite checkpoint modes, from least to most blocking
+     */
+    public enum Mode {
+        PASSIVE,
+        FULL,
+        RESTART,
+        TRUNCATE
+    }
+
+    /**
+     * @param plugin The plugin instance
+     * @param database The database to checkpoint; checkpoints run on its writer thread
+     */
+    WalCheckpointManager(AdminAreaProtectionPlugin plugin, SqliteDatabase database) {
+        this.plugin = plugin;
+        this.name = database.getName();
+        this.walFile = new File(database.getFile().getPath() + "-wal");
+        this.database = database;
+        this.escalationBytes = Math.max(1, plugin.getConfigManager().getInt("database.checkpoint.escalateWalBytes", 16777216));
+        long intervalSeconds = Math.max(1, plugin.getConfigManager().getInt("database.checkpoint.intervalSeconds", 60));
+
+        MeterRegistry registry = plugin.getPerformanceMonitor().getRegistry();
+        Gauge.builder("area_protection_wal_size_bytes", this, WalCheckpointManager::getWalSize)
+            .description("Size of the SQLite write-ahead log")
+            .tag("db", name)
+            .register(registry);
+        this.busyCounter = Counter.builder("area_protection_wal_checkpoint_busy")
+            .description("Checkpoints that could not complete because of concurrent readers or writers")
+            .tag("db", name)
+            .register(registry);
+
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "AdminArea-" + name + "-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleWithFixedDelay(this::runScheduled, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Asks for a passive checkpoint soon, without waiting for it.
+     * Repeated requests before the checkpoint runs collapse into one.
+     */
+    public void requestCheckpoint() {
+        if (closed.get() || !requested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                requested.set(false);
+                runScheduled();
+            });
+        } catch (Exception e) {
+            // Executor already shut down; close() checkpoints anyway
+            requested.set(false);
+        }
+    }
+
+    /**
+     * Runs a checkpoint on the writer thread and waits for it
+     *
+     * @param mode The checkpoint mode
+     * @return true if the checkpoint completed without being blocked
+     */
+    public boolean checkpoint(Mode mode) {
+        Timer.Sample sample = Timer.start(plugin.getPerformanceMonitor().getRegistry());
+        boolean complete = false;
+        try {
+            // Columns are busy, frames in the WAL, frames checkpointed
+            complete = database.execute(conn -> {
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery("PRAGMA wal_checkpoint(" + mode.name() + ")")) {
+                    return !rs.next() || rs.getInt(1) == 0;
+                }
+            });
+            if (!complete) {
+                busyCounter.increment();
+            }
+            if (plugin.isDebugMode()) {
+                plugin.debug(mode + " checkpoint of " + name + " database: " +
+                    (complete ? "complete" : "busy") + ", WAL now " + getWalSize() + " bytes");
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().error("Failed to run " + mode + " checkpoint on " + name + " database", e);
+        } finally {
+            lastDurationNanos.set(sample.stop(durations.computeIfAbsent(mode, m ->
+                Timer.builder("area_protection_wal_checkpoint")
+                    .description("Time taken for WAL checkpoints")
+                    .tag("db", name)
+                    .tag("mode", m.name().toLowerCase())
+                    .register(plugin.getPerformanceMonitor().getRegistry()))));
+        }
+        return complete;
+    }
+
+    /**
+     * Stops scheduled checkpoints and truncates the WAL.
+     * Called by the database before its writer stops.
+     */
+    void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+        checkpoint(Mode.TRUNCATE);
+    }
+
+    private void runScheduled() {
+        if (closed.get()) {
+            return;
+        }
+        long walSize = getWalSize();
+        if (walSize == 0) {
+            return;
+        }
+        if (walSize > escalationBytes) {
+            // Passive checkpoints are not keeping up - wait for readers once and reset the WAL
+            if (plugin.isDebugMode()) {
+                plugin.debug("WAL of " + name + " database is " + walSize + " bytes, escalating to TRUNCATE checkpoint");
+            }
+            checkpoint(Mode.TRUNCATE);
+        } else {
+            checkpoint(Mode.PASSIVE);
+        }
+    }
+
+    /**
+     * Gets the current WAL file size in bytes, or 0 if there is no WAL
+     */
+    public long getWalSize() {
+        return walFile.length();
+    }
+
+    /**
+     * Gets the duration of the most recent checkpoint in milliseconds
+     */
+    public double getLastCheckpointMillis() {
+        return lastDurationNanos.get() / 1_000_000.0;
+    }
+}
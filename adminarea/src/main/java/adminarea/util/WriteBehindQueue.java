@@ -0,0 +1,346 @@
+package adminarea.util;
+
+import adminarea.AdminAreaProtectionPlugin;
+import adminarea.jfr.DatabaseWriteEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
+
+/**
+ * Write-behind queue for database rows.
+ * Writes are keyed; a newer write for a key replaces the pending one, so a burst of
+ * saves for the same row costs a single statement. Pending writes are flushed in one
+ * transaction per batch through the database's writer thread, either periodically or
+ * as soon as the batch size is reached. {@link #flush()} blocks until everything queued so far
+ * is on disk and is used for shutdown and before statements that must observe queued rows.
+ *
+ * @param <V> The snapshot type written for each key
+ */
+public class WriteBehindQueue<V> {
+    private final AdminAreaProtectionPlugin plugin;
+    private final String name;
+    private final SqliteDatabase database;
+    private final RowWriter<V> rowWriter;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService writer;
+
+    // Guarded by "this"; insertion order keeps flushes close to submission order
+    private LinkedHashMap<String, V> pending = new LinkedHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private volatile boolean flushing;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    // Maximum time flush() waits for the writer before giving up
+    private static final long FLUSH_TIMEOUT_SECONDS = 30;
+
+    /**
+     * Writes the snapshot for one key using the batch connection
+     */
+    @FunctionalInterface
+    public interface RowWriter<V> {
+        void write(Connection conn, String key, V value) throws SQLException;
+    }
+
+    /**
+     * Runs after every committed batch on the writer thread
+     */
+    @FunctionalInterface
+    public interface BatchListener {
+        void afterCommit(int rows);
+    }
+
+    private volatile BatchListener batchListener;
+
+    public WriteBehindQueue(AdminAreaProtectionPlugin plugin, String name,
+                            SqliteDatabase database, RowWriter<V> rowWriter) {
+        this.plugin = plugin;
+        this.name = name;
+        this.database = database;
+        this.rowWriter = rowWriter;
+        this.maxBatchSize = Math.max(1, plugin.getConfigManager().getInt("database.writeBehind.maxBatchSize", 256));
+        long flushIntervalMs = Math.max(10, plugin.getConfigManager().getInt("database.writeBehind.flushIntervalMs", 250));
+
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "AdminArea-" + name + "-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writer.scheduleWithFixedDelay(this::flushPending, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("area_protection_write_queue_pending", this, WriteBehindQueue::pendingCount)
+            .description("Writes waiting in the write-behind queue")
+            .tag("queue", name)
+            .register(plugin.getPerformanceMonitor().getRegistry());
+    }
+
+    /**
+     * Sets a callback that runs on the writer thread after each committed batch
+     */
+    public void setBatchListener(BatchListener batchListener) {
+        this.batchListener = batchListener;
+    }
+
+    /**
+     * Queues a write, replacing any pending write for the same key
+     *
+     * @param key The row key
+     * @param value An immutable snapshot of the row
+     */
+    public void enqueue(String key, V value) {
+        merge(key, value, (queued, latest) -> latest);
+    }
+
+    /**
+     * Queues a write, or combines it with the pending write for the same key
+     *
+     * @param key The row key
+     * @param value An immutable snapshot of the row
+     * @param combine Builds the write that replaces the pending one from it and the new value
+     */
+    public void merge(String key, V value, BinaryOperator<V> combine) {
+        if (closed.get()) {
+            // Writer is gone - write through so nothing is lost during shutdown
+            writeBatch(List.of(Map.entry(key, value)));
+            return;
+        }
+
+        int size;
+        synchronized (this) {
+            V queued = pending.get(key);
+            if (queued != null) {
+                coalesced.incrementAndGet();
+                pending.put(key, combine.apply(queued, value));
+            } else {
+                pending.put(key, value);
+            }
+            size = pending.size();
+        }
+        enqueued.incrementAndGet();
+
+        if (size >= maxBatchSize && flushScheduled.compareAndSet(false, true)) {
+            writer.execute(() -> {
+                flushScheduled.set(false);
+                flushPending();
+            });
+        }
+    }
+
+    /**
+     * Gets the pending snapshot for a key, or null if nothing is queued
+     */
+    public synchronized V peek(String key) {
+        return pending.get(key);
+    }
+
+    /**
+     * Visits all pending writes whose key matches the filter
+     */
+    public void forEachPending(Predicate<String> keyFilter, BiConsumer<String, V> action) {
+        List<Map.Entry<String, V>> matches = new ArrayList<>();
+        synchronized (this) {
+            for (Map.Entry<String, V> entry : pending.entrySet()) {
+                if (keyFilter.test(entry.getKey())) {
+                    matches.add(Map.entry(entry.getKey(), entry.getValue()));
+                }
+            }
+        }
+        for (Map.Entry<String, V> entry : matches) {
+            action.accept(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Drops pending writes whose key matches the filter
+     *
+     * @return The number of dropped writes
+     */
+    public synchronized int discard(Predicate<String> keyFilter) {
+        int before = pending.size();
+        pending.keySet().removeIf(keyFilter);
+        return before - pending.size();
+    }
+
+    /**
+     * Blocks until every write queued before this call has been committed
+     */
+    public void flush() {
+        if (!flushing && pendingCount() == 0) {
+            return;
+        }
+        if (closed.get() || writer.isShutdown()) {
+            flushPending();
+            return;
+        }
+
+        Future<?> future = writer.submit(this::flushPending);
+        try {
+            future.get(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            plugin.getLogger().error("Failed to flush " + name + " write queue", e);
+        }
+    }
+
+    /**
+     * Flushes all pending writes and stops the writer thread
+     */
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                writer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.shutdownNow();
+        }
+        // Anything queued while the writer was stopping
+        flushPending();
+    }
+
+    private void flushPending() {
+        List<Map.Entry<String, V>> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pending.entrySet());
+            pending = new LinkedHashMap<>();
+            flushing = true;
+        }
+        try {
+            for (int start = 0; start < batch.size(); start += maxBatchSize) {
+                writeBatch(batch.subList(start, Math.min(batch.size(), start + maxBatchSize)));
+            }
+        } finally {
+            flushing = false;
+        }
+    }
+
+    private void writeBatch(List<Map.Entry<String, V>> batch) {
+        Timer.Sample sample = plugin.getPerformanceMonitor().startTimer();
+        try {
+            // The whole batch is one transaction on the database's writer thread
+            database.write(conn -> {
+                for (Map.Entry<String, V> entry : batch) {
+                    writeRow(conn, entry);
+                }
+                return null;
+            });
+            written.addAndGet(batch.size());
+
+            if (plugin.isDebugMode()) {
+                plugin.debug("Flushed " + batch.size() + " queued writes to " + name);
+            }
+            notifyBatchListener(batch.size());
+        } catch (SQLException e) {
+            if (database.isClosed()) {
+                failed.addAndGet(batch.size());
+                plugin.getLogger().error("Database closed before " + batch.size() + " queued writes to " +
+                    name + " could be committed", e);
+                return;
+            }
+            // One bad row must not sink the whole batch - retry rows individually
+            writeIndividually(batch, e);
+        } finally {
+            plugin.getPerformanceMonitor().stopTimer(sample, "write_queue_flush_" + name);
+        }
+    }
+
+    private void writeIndividually(List<Map.Entry<String, V>> batch, SQLException cause) {
+        plugin.getLogger().warning("Batch write to " + name + " failed (" + cause.getMessage() +
+            "), retrying " + batch.size() + " rows individually");
+        int succeeded = 0;
+        for (Map.Entry<String, V> entry : batch) {
+            try {
+                database.write(conn -> {
+                    writeRow(conn, entry);
+                    return null;
+                });
+                succeeded++;
+            } catch (SQLException e) {
+                failed.incrementAndGet();
+                plugin.getLogger().error("Dropping queued write for " + entry.getKey() + " in " + name, e);
+            }
+        }
+        written.addAndGet(succeeded);
+        if (succeeded > 0) {
+            notifyBatchListener(succeeded);
+        }
+    }
+
+    private void writeRow(Connection conn, Map.Entry<String, V> entry) throws SQLException {
+        DatabaseWriteEvent event = new DatabaseWriteEvent();
+        event.begin();
+        boolean succeeded = false;
+        try {
+            rowWriter.write(conn, entry.getKey(), entry.getValue());
+            succeeded = true;
+        } finally {
+            if (event.shouldCommit()) {
+                event.queue = name;
+                event.key = entry.getKey();
+                event.succeeded = succeeded;
+                event.commit();
+            }
+        }
+    }
+
+    private void notifyBatchListener(int rows) {
+        BatchListener listener = batchListener;
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.afterCommit(rows);
+        } catch (Exception e) {
+            plugin.getLogger().error("Error in " + name + " write queue batch listener", e);
+        }
+    }
+
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    public long getEnqueuedCount() {
+        return enqueued.get();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+}
@@ -0,0 +1,124 @@
+package adminarea.managers;
+
+import adminarea.AdminAreaProtectionPlugin;
+import adminarea.area.Area;
+import adminarea.util.PerformanceMonitor;
+import adminarea.util.SqliteStorage;
+import cn.nukkit.plugin.PluginLogger;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the area database against a real SQLite file in a temporary folder. The plugin and
+ * its config are mocks; every setting is at its default except the write-behind flush
+ * interval, which is long enough that nothing is written unless a test flushes.
+ */
+class DatabaseManagerTest {
+    private static final Map<String, Object> SETTINGS = Map.of(
+        "database.writeBehind.flushIntervalMs", 60_000
+    );
+
+    @TempDir
+    File dataFolder;
+
+    private PerformanceMonitor performanceMonitor;
+    private DatabaseManager databaseManager;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        AdminAreaProtectionPlugin plugin = mock(AdminAreaProtectionPlugin.class);
+        ConfigManager config = mock(ConfigManager.class, invocation -> {
+            Object[] args = invocation.getArguments();
+            if (args.length == 2 && args[0] instanceof String path) {
+                return SETTINGS.getOrDefault(path, args[1]);
+            }
+            return RETURNS_DEFAULTS.answer(invocation);
+        });
+        when(plugin.getDataFolder()).thenReturn(dataFolder);
+        when(plugin.getConfigManager()).thenReturn(config);
+        when(plugin.getLogger()).thenReturn(mock(PluginLogger.class));
+        SqliteStorage storage = new SqliteStorage(plugin);
+        when(plugin.getStorage()).thenReturn(storage);
+        performanceMonitor = new PerformanceMonitor(plugin);
+        when(plugin.getPerformanceMonitor()).thenReturn(performanceMonitor);
+        setPluginInstance(plugin);
+
+        databaseManager = new DatabaseManager(plugin);
+        databaseManager.init();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        databaseManager.close();
+        performanceMonitor.close();
+        setPluginInstance(null);
+    }
+
+    @Test
+    void deleteBeforeFlushRemovesQueuedArea() throws Exception {
+        databaseManager.saveArea(area("spawn"));
+        assertTrue(databaseManager.getWriteQueue().pendingCount() > 0, "save should still be queued");
+
+        databaseManager.deleteArea("spawn");
+
+        assertNull(databaseManager.loadArea("spawn"));
+        assertTrue(databaseManager.loadAreas().isEmpty());
+    }
+
+    @Test
+    void deleteAfterFlushRemovesStoredArea() throws Exception {
+        databaseManager.saveArea(area("spawn"));
+        databaseManager.flushPendingWrites();
+        assertNotNull(databaseManager.loadArea("spawn"));
+
+        databaseManager.deleteArea("spawn");
+
+        assertNull(databaseManager.loadArea("spawn"));
+        assertTrue(databaseManager.loadAreas().isEmpty());
+    }
+
+    @Test
+    void toggleUpdateOfQueuedAreaKeepsTheRow() throws Exception {
+        databaseManager.saveArea(area("spawn"));
+        JSONObject toggles = new JSONObject().put("gui.permissions.toggles.allowBlockBreak", true);
+
+        databaseManager.updateAllAreaToggleStates("spawn", toggles);
+        assertEquals(1, databaseManager.getWriteQueue().pendingCount());
+        databaseManager.flushPendingWrites();
+
+        Area loaded = databaseManager.loadArea("spawn");
+        assertNotNull(loaded);
+        assertTrue(loaded.getToggleState("gui.permissions.toggles.allowBlockBreak"));
+    }
+
+    private static Area area(String name) {
+        return Area.builder()
+            .name(name)
+            .world("world")
+            .coordinates(0, 16, 0, 64, 0, 16)
+            .priority(1)
+            .showTitle(false)
+            .build();
+    }
+
+    private static void setPluginInstance(AdminAreaProtectionPlugin plugin) throws ReflectiveOperationException {
+        Field instance = AdminAreaProtectionPlugin.class.getDeclaredField("instance");
+        instance.setAccessible(true);
+        instance.set(null, plugin);
+    }
+}